@@ -1,5 +1,6 @@
 package com.banking.system.adapter.in.web;
 
+import com.banking.system.application.pagination.CursorPage;
 import com.banking.system.application.port.in.AccountUseCase;
 import com.banking.system.domain.model.BankAccount;
 import org.springframework.http.HttpStatus;
@@ -14,14 +15,23 @@ import java.util.List;
 public class AccountController {
 
     private final AccountUseCase accountUseCase;
+    private final IdempotencyStore idempotencyStore;
 
-    public AccountController(AccountUseCase accountUseCase) {
+    public AccountController(AccountUseCase accountUseCase, IdempotencyStore idempotencyStore) {
         this.accountUseCase = accountUseCase;
+        this.idempotencyStore = idempotencyStore;
     }
 
+    // Keyset pages: pass nextCursor back as ?cursor= until it is null
     @GetMapping
-    public List<BankAccount> getAllAccounts() {
-        return accountUseCase.getAllAccounts();
+    public ResponseEntity<CursorPage<BankAccount>> getAllAccounts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(accountUseCase.listAccounts(cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(null);
+        }
     }
 
     @PostMapping("/users/{userId}/create")
@@ -55,25 +65,29 @@ public class AccountController {
         return accountUseCase.getUserAccounts(userId);
     }
 
+    // Retries with the same Idempotency-Key replay the first response instead of moving money again
     @PostMapping("/{accountNumber}/deposit")
     public ResponseEntity<BankAccount> deposit(
             @PathVariable String accountNumber,
-            @RequestParam BigDecimal amount) {
+            @RequestParam BigDecimal amount,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
         try {
-            BankAccount account = accountUseCase.deposit(accountNumber, amount);
-            return ResponseEntity.ok(account);
+            return idempotencyStore.execute(idempotencyKey, "deposit:" + accountNumber + ":" + IdempotencyStore.scopeOf(amount),
+                    BankAccount.class, () -> accountUseCase.deposit(accountNumber, amount)).toResponse();
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(null);
         }
     }
 
+    // Retries with the same Idempotency-Key replay the first response instead of moving money again
     @PostMapping("/{accountNumber}/withdraw")
     public ResponseEntity<BankAccount> withdraw(
             @PathVariable String accountNumber,
-            @RequestParam BigDecimal amount) {
+            @RequestParam BigDecimal amount,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
         try {
-            BankAccount account = accountUseCase.withdraw(accountNumber, amount);
-            return ResponseEntity.ok(account);
+            return idempotencyStore.execute(idempotencyKey, "withdraw:" + accountNumber + ":" + IdempotencyStore.scopeOf(amount),
+                    BankAccount.class, () -> accountUseCase.withdraw(accountNumber, amount)).toResponse();
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(null);
         }
@@ -1,22 +1,72 @@
 package com.banking.system.adapter.in.web;
 
+import com.banking.system.adapter.out.pdf.ReceiptCache;
+import com.banking.system.adapter.out.persistence.cache.CachingBankAccountRepository;
+import com.banking.system.adapter.out.persistence.cache.RecentTransactionCache;
+import com.banking.system.adapter.out.persistence.mongodb.migration.TransactionSchemaMigration;
+import com.banking.system.adapter.out.persistence.mongodb.repository.TransactionMongoAdapter;
 import com.banking.system.adapter.out.persistence.postgres.repository.BankAccountJpaRepository;
 import com.banking.system.adapter.out.persistence.postgres.repository.UserJpaRepository;
+import com.banking.system.application.service.OutboxRelay;
+import com.banking.system.application.service.StatementJobService;
+import com.banking.system.application.service.TransactionLogWriter;
+import com.banking.system.application.service.TransactionSpoolReplayer;
+import com.banking.system.application.service.TransferEngine;
+import com.banking.system.application.service.ledger.ShardedLedger;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Optional;
+
 @RestController
 @RequestMapping("/api/debug")
 public class DebugController {
 
     private final BankAccountJpaRepository bankAccountJpaRepository;
     private final UserJpaRepository userJpaRepository;
+    private final TransferEngine transferEngine;
+    private final Optional<ShardedLedger> ledger;
+    private final IdempotencyStore idempotencyStore;
+    private final Optional<CachingBankAccountRepository> accountCache;
+    private final TransactionLogWriter transactionLogWriter;
+    private final Optional<OutboxRelay> outboxRelay;
+    private final Optional<TransactionSpoolReplayer> spoolReplayer;
+    private final Optional<TransactionSchemaMigration> schemaMigration;
+    private final Optional<TransactionMongoAdapter> legacyHistory;
+    private final Optional<RecentTransactionCache> recentTransactions;
+    private final StatementJobService statementJobService;
+    private final ReceiptCache receiptCache;
 
     public DebugController(BankAccountJpaRepository bankAccountJpaRepository,
-                           UserJpaRepository userJpaRepository) {
+                           UserJpaRepository userJpaRepository,
+                           TransferEngine transferEngine,
+                           Optional<ShardedLedger> ledger,
+                           IdempotencyStore idempotencyStore,
+                           Optional<CachingBankAccountRepository> accountCache,
+                           TransactionLogWriter transactionLogWriter,
+                           Optional<OutboxRelay> outboxRelay,
+                           Optional<TransactionSpoolReplayer> spoolReplayer,
+                           Optional<TransactionSchemaMigration> schemaMigration,
+                           Optional<TransactionMongoAdapter> legacyHistory,
+                           Optional<RecentTransactionCache> recentTransactions,
+                           StatementJobService statementJobService,
+                           ReceiptCache receiptCache) {
         this.bankAccountJpaRepository = bankAccountJpaRepository;
         this.userJpaRepository = userJpaRepository;
+        this.transferEngine = transferEngine;
+        this.ledger = ledger;
+        this.idempotencyStore = idempotencyStore;
+        this.accountCache = accountCache;
+        this.transactionLogWriter = transactionLogWriter;
+        this.outboxRelay = outboxRelay;
+        this.spoolReplayer = spoolReplayer;
+        this.schemaMigration = schemaMigration;
+        this.legacyHistory = legacyHistory;
+        this.recentTransactions = recentTransactions;
+        this.statementJobService = statementJobService;
+        this.receiptCache = receiptCache;
     }
 
     @GetMapping("/database")
@@ -50,4 +100,84 @@ public class DebugController {
 
         return result.toString();
     }
-}
\ No newline at end of file
+
+    // Transfer engine counters: completed transfers, lock conflicts, retries, give-ups
+    @GetMapping("/transfers")
+    public TransferEngine.TransferStats transferStats() {
+        return transferEngine.stats();
+    }
+
+    // Ledger shard counters and queue depths (404 when the ledger engine is disabled)
+    @GetMapping("/ledger")
+    public ResponseEntity<ShardedLedger.LedgerStats> ledgerStats() {
+        return ledger.map(l -> ResponseEntity.ok(l.stats()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Idempotency-Key cache counters: size, hit/miss, evictions, replays from PostgreSQL
+    @GetMapping("/idempotency")
+    public IdempotencyStore.IdempotencyStats idempotencyStats() {
+        return idempotencyStore.stats();
+    }
+
+    // Account cache counters: size, hit rate, evictions, load time (404 when the cache is disabled)
+    @GetMapping("/account-cache")
+    public ResponseEntity<CachingBankAccountRepository.AccountCacheStats> accountCacheStats() {
+        return accountCache.map(c -> ResponseEntity.ok(c.stats()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Recent-transactions cache: accounts held, hit rate, backfills from MongoDB (404 when disabled)
+    @GetMapping("/recent-transactions")
+    public ResponseEntity<RecentTransactionCache.RecentCacheStats> recentTransactionsStats() {
+        return recentTransactions.map(c -> ResponseEntity.ok(c.stats()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Statement jobs: queued/running per worker pool, users waiting, coalesced requests, on-disk cache use
+    @GetMapping("/statement-jobs")
+    public StatementJobService.JobStats statementJobStats() {
+        return statementJobService.stats();
+    }
+
+    // Receipt cache: memory hits/misses/evictions, receipts read from disk, receipts rendered
+    @GetMapping("/receipts")
+    public ReceiptCache.ReceiptCacheStats receiptCacheStats() {
+        return receiptCache.stats();
+    }
+
+    // Transaction log pipeline: queue depth, batches written, backpressure (blocked / caller-runs / dropped)
+    @GetMapping("/transaction-log")
+    public TransactionLogWriter.TransactionLogStats transactionLogStats() {
+        return transactionLogWriter.stats();
+    }
+
+    // Outbox relay: pending entries, lag of the oldest one, throughput (404 when the outbox is disabled)
+    @GetMapping("/outbox")
+    public ResponseEntity<OutboxRelay.OutboxStats> outboxStats() {
+        return outboxRelay.map(r -> ResponseEntity.ok(r.stats()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Transaction spool: entries parked on disk, segments, append latency, replay progress (404 when disabled)
+    @GetMapping("/transaction-spool")
+    public ResponseEntity<TransactionSpoolReplayer.ReplayStats> transactionSpoolStats() {
+        return spoolReplayer.map(r -> ResponseEntity.ok(r.stats()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Unique transaction_id index of the legacy history: all entries, new entries only, or none (404 for other schemas)
+    @GetMapping("/history-index")
+    public ResponseEntity<TransactionMongoAdapter.TransactionIdIndex> historyIndex() {
+        return legacyHistory.map(h -> ResponseEntity.ok(h.transactionIdIndex()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Last compact schema migration: documents moved, bytes per document before/after (404 until one ran)
+    @GetMapping("/history-migration")
+    public ResponseEntity<TransactionSchemaMigration.MigrationReport> historyMigrationReport() {
+        return schemaMigration.map(TransactionSchemaMigration::lastReport)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,260 @@
+package com.banking.system.adapter.in.web;
+
+import com.banking.system.application.port.out.persistence.IdempotencyKeyRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Makes money-moving endpoints safe to retry with an Idempotency-Key header.
+ *
+ * 1. Bounded, expiring in-memory cache (O(1)) - replays never touch a repository
+ * 2. Requests with the same key running on this node wait for the first one
+ * 3. PostgreSQL reservation - a key is handled once across all nodes
+ *
+ * A reservation is held on a short lease, and only a completed response is kept for the full TTL -
+ * a node that dies mid-request blocks its key until the lease runs out, not for the whole TTL.
+ * While the request runs its lease is renewed, so a slow request keeps its key. Each reservation has
+ * an owner, and only the owner may complete or release it. A response that could not be stored stays
+ * reserved (and renewed) until it is, so a retry cannot take the key over and run the request again.
+ */
+@Component
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private final IdempotencyKeyRepository keyRepository;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration lease;
+    private final boolean persistent;
+
+    private final Cache<String, Entry> responses;
+    private final ConcurrentHashMap<String, CompletableFuture<Entry>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Reservation> reservations = new ConcurrentHashMap<>();  // held by this node
+    private final LongAdder sharedHits = new LongAdder();
+
+    public IdempotencyStore(IdempotencyKeyRepository keyRepository,
+                            ObjectMapper objectMapper,
+                            @Value("${banking.idempotency.max-entries:100000}") long maxEntries,
+                            @Value("${banking.idempotency.ttl:24h}") Duration ttl,
+                            @Value("${banking.idempotency.lease:30s}") Duration lease,
+                            @Value("${banking.idempotency.persistent:true}") boolean persistent) {
+        this.keyRepository = keyRepository;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.lease = lease;
+        this.persistent = persistent;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public <T> Outcome<T> execute(String key, String scope, Class<T> type, Supplier<T> action) {
+        return execute(key, scope, objectMapper.constructType(type), action);
+    }
+
+    public <T> Outcome<T> execute(String key, String scope, TypeReference<T> type, Supplier<T> action) {
+        return execute(key, scope, objectMapper.getTypeFactory().constructType(type), action);
+    }
+
+    /**
+     * Run the action once per key, replaying its response for every retry
+     * @param key the Idempotency-Key header (no key = plain execution)
+     * @param scope endpoint + parameters - a key cannot be reused for a different request
+     */
+    private <T> Outcome<T> execute(String key, String scope, JavaType type, Supplier<T> action) {
+        if (key == null || key.isBlank()) {
+            return new Outcome<>(action.get(), false);
+        }
+
+        // 1. Already answered on this node
+        Entry cached = responses.getIfPresent(key);
+        if (cached != null) {
+            return replay(cached, scope);
+        }
+
+        // 2. Same key is running on this node - wait and replay (or retry if it failed)
+        CompletableFuture<Entry> running = new CompletableFuture<>();
+        CompletableFuture<Entry> existing = inFlight.putIfAbsent(key, running);
+        if (existing != null) {
+            try {
+                return replay(existing.join(), scope);
+            } catch (CompletionException e) {
+                return execute(key, scope, type, action);
+            }
+        }
+
+        Reservation reservation = new Reservation(UUID.randomUUID().toString());
+        try {
+            // 3. Another node handled (or is handling) this key
+            if (persistent && !keyRepository.reserve(key, scope, reservation.owner, Instant.now().plus(lease))) {
+                Entry shared = loadShared(key, type);
+                responses.put(key, shared);
+                running.complete(shared);
+                sharedHits.increment();
+                return replay(shared, scope);
+            }
+
+            // 4. First time this key is seen - run the request, renewing its lease meanwhile
+            if (persistent) {
+                reservations.put(key, reservation);
+            }
+            T body;
+            try {
+                body = action.get();
+            } catch (RuntimeException e) {
+                if (persistent) {
+                    reservations.remove(key, reservation);
+                    keyRepository.release(key, reservation.owner); // failed requests may be retried with the same key
+                }
+                throw e;
+            }
+            Entry entry = new Entry(scope, body);
+            if (persistent) {
+                reservation.responseBody = write(body);
+                complete(key, reservation);
+            }
+            responses.put(key, entry);
+            running.complete(entry);
+            return new Outcome<>(body, false);
+        } catch (RuntimeException e) {
+            running.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, running);
+        }
+    }
+
+    // Amount as it goes into a scope - "100" and "100.00" are the same request
+    public static String scopeOf(BigDecimal amount) {
+        return amount.stripTrailingZeros().toPlainString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Outcome<T> replay(Entry entry, String scope) {
+        if (!entry.scope().equals(scope)) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Idempotency-Key was already used for a different request");
+        }
+        return new Outcome<>((T) entry.body(), true);
+    }
+
+    private Entry loadShared(String key, JavaType type) {
+        IdempotencyKeyRepository.StoredResponse stored = keyRepository.find(key)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.CONFLICT,
+                        "Idempotency-Key is being released, retry the request"));
+        if (stored.responseBody() == null) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "A request with this Idempotency-Key is still in progress");
+        }
+        try {
+            return new Entry(stored.scope(), objectMapper.readValue(stored.responseBody(), type));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored idempotent response is unreadable", e);
+        }
+    }
+
+    private String write(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Response cannot be stored for idempotency", e);
+        }
+    }
+
+    // Store the response - until that works the key stays reserved and renewLeases() retries it
+    private void complete(String key, Reservation reservation) {
+        try {
+            if (!keyRepository.complete(key, reservation.owner, reservation.responseBody, Instant.now().plus(ttl))) {
+                System.err.println("❌ Idempotency-Key " + key + " lost its reservation before completing"
+                        + " - the lease ran out and another request took it over");
+            }
+            reservations.remove(key, reservation);
+        } catch (RuntimeException e) {
+            System.err.println("⚠️ Response for Idempotency-Key " + key + " not stored, will retry: " + e.getMessage());
+        }
+    }
+
+    // Keep the keys of running (or not yet stored) requests from being taken over
+    @Scheduled(fixedDelayString = "${banking.idempotency.renew-interval-millis:10000}")
+    public void renewLeases() {
+        reservations.forEach((key, reservation) -> {
+            if (reservation.responseBody != null) {
+                complete(key, reservation);
+                return;
+            }
+            try {
+                if (!keyRepository.renew(key, reservation.owner, Instant.now().plus(lease))) {
+                    System.err.println("❌ Idempotency-Key " + key + " lease ran out while its request was running");
+                    reservations.remove(key, reservation);
+                }
+            } catch (RuntimeException e) {
+                System.err.println("⚠️ Idempotency-Key " + key + " lease not renewed, will retry: " + e.getMessage());
+            }
+        });
+    }
+
+    // Expired keys would only be taken over lazily - sweep them so the table stays small
+    @Scheduled(fixedDelayString = "${banking.idempotency.cleanup-interval-millis:600000}")
+    public void deleteExpiredKeys() {
+        if (persistent) {
+            keyRepository.deleteExpired(Instant.now());
+        }
+    }
+
+    public IdempotencyStats stats() {
+        CacheStats cacheStats = responses.stats();
+        return new IdempotencyStats(responses.estimatedSize(), cacheStats.hitCount(), cacheStats.missCount(),
+                cacheStats.evictionCount(), sharedHits.sum(), inFlight.size());
+    }
+
+    private record Entry(String scope, Object body) {}
+
+    // Reservation held by a request on this node; the response is set once the request succeeded
+    private static final class Reservation {
+        private final String owner;
+        private volatile String responseBody;
+
+        private Reservation(String owner) {
+            this.owner = owner;
+        }
+    }
+
+    // Response body plus whether it was replayed from an earlier request
+    public record Outcome<T>(T body, boolean replayed) {
+
+        public ResponseEntity<T> toResponse() {
+            return ResponseEntity.ok()
+                    .header(REPLAYED_HEADER, String.valueOf(replayed))
+                    .body(body);
+        }
+    }
+
+    // Snapshot of the store counters
+    public record IdempotencyStats(long entries, long hits, long misses, long evictions,
+                                   long sharedHits, int inFlight) {}
+}
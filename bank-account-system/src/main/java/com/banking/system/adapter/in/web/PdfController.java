@@ -1,16 +1,34 @@
 package com.banking.system.adapter.in.web;
 
+import com.banking.system.adapter.out.pdf.ReceiptCache;
 import com.banking.system.application.port.out.pdf.PdfGenerator;
 import com.banking.system.application.port.out.persistence.TransactionRepository;
+import com.banking.system.application.service.MonthEndStatementBatch;
+import com.banking.system.application.service.StatementBalanceService;
+import com.banking.system.application.service.StatementJobService;
 import com.banking.system.domain.model.BankAccount;
 import com.banking.system.domain.model.Transaction;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.math.BigDecimal;
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/pdf")
@@ -19,17 +37,37 @@ public class PdfController {
     private final PdfGenerator pdfGenerator;
     private final TransactionRepository transactionRepository;
     private final AccountController accountController;
+    private final StatementBalanceService statementBalanceService;
+    private final StatementJobService statementJobService;
+    private final MonthEndStatementBatch monthEndStatementBatch;
+    private final ReceiptCache receiptCache;
+    private final int statementBatchSize;
 
     public PdfController(PdfGenerator pdfGenerator,
                          TransactionRepository transactionRepository,
-                         AccountController accountController) {
+                         AccountController accountController,
+                         StatementBalanceService statementBalanceService,
+                         StatementJobService statementJobService,
+                         MonthEndStatementBatch monthEndStatementBatch,
+                         ReceiptCache receiptCache,
+                         @Value("${banking.statement.batch-size:1000}") int statementBatchSize) {
         this.pdfGenerator = pdfGenerator;
         this.transactionRepository = transactionRepository;
         this.accountController = accountController;
+        this.statementBalanceService = statementBalanceService;
+        this.statementJobService = statementJobService;
+        this.monthEndStatementBatch = monthEndStatementBatch;
+        this.receiptCache = receiptCache;
+        this.statementBatchSize = statementBatchSize;
     }
 
+    /**
+     * Streamed: the PDF is written to the response while the period's transactions are read from the
+     * history cursor, so memory stays flat for any period and the first page goes out before the last
+     * row is read. Errors after that point can only cut the download short.
+     */
     @GetMapping("/statement/{accountNumber}")
-    public ResponseEntity<byte[]> generateAccountStatement(
+    public ResponseEntity<StreamingResponseBody> generateAccountStatement(
             @PathVariable String accountNumber,
             @RequestParam String periodStart,
             @RequestParam String periodEnd) {
@@ -41,41 +79,204 @@ public class PdfController {
             }
             BankAccount account = accountResponse.getBody();
 
-            // Get transactions for the period
-            List<Transaction> transactions = transactionRepository.findByAccountNumber(accountNumber);
+            // Period - both dates inclusive (yyyy-MM-dd)
+            LocalDate start = LocalDate.parse(periodStart);
+            LocalDate end = LocalDate.parse(periodEnd);
+            if (end.isBefore(start)) {
+                return ResponseEntity.badRequest().build();
+            }
+
+            // Opening/closing balance from the daily rollups (none when they are disabled)
+            PdfGenerator.StatementSummary summary = statementBalanceService.summarize(account, start, end).orElse(null);
 
-            // Generate PDF
-            byte[] pdfBytes = pdfGenerator.generateAccountStatement(
-                    account, transactions, periodStart, periodEnd);
+            // Generate PDF on the response thread, fed by the history cursor
+            StreamingResponseBody body = output -> {
+                try (Stream<Transaction> transactions = transactionRepository.streamByAccountNumberBetween(
+                        accountNumber, start.atStartOfDay(), end.plusDays(1).atStartOfDay(), statementBatchSize)) {
+                    pdfGenerator.writeAccountStatement(account, transactions.iterator(), periodStart, periodEnd,
+                            summary, output);
+                }
+            };
 
             // Return PDF as downloadable file
             return ResponseEntity.ok()
                     .header(HttpHeaders.CONTENT_DISPOSITION,
                             "attachment; filename=statement-" + accountNumber + ".pdf")
                     .contentType(MediaType.APPLICATION_PDF)
-                    .body(pdfBytes);
+                    .body(body);
 
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(null);
         }
     }
 
+    /**
+     * Queue a statement instead of generating it on the request thread - 202 with the job to poll,
+     * 429 when the queue (or this account holder's share of it) is full
+     */
+    @PostMapping("/statement/{accountNumber}/jobs")
+    public ResponseEntity<StatementJobService.JobStatus> submitStatementJob(
+            @PathVariable String accountNumber,
+            @RequestParam String periodStart,
+            @RequestParam String periodEnd) {
+        LocalDate start;
+        LocalDate end;
+        try {
+            start = LocalDate.parse(periodStart);
+            end = LocalDate.parse(periodEnd);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (end.isBefore(start)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        try {
+            return statementJobService.submit(accountNumber, start, end)
+                    .map(job -> ResponseEntity.accepted()
+                            .location(URI.create("/api/pdf/statement/jobs/" + job.jobId()))
+                            .body(job))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .build();
+        }
+    }
+
+    @GetMapping("/statement/jobs/{jobId}")
+    public ResponseEntity<StatementJobService.JobStatus> getStatementJob(@PathVariable String jobId) {
+        return statementJobService.status(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * The finished PDF - 404 for an unknown job, 409 while it is queued or running (or failed),
+     * 410 when the statement cache has already dropped the file
+     */
+    @GetMapping("/statement/jobs/{jobId}/download")
+    public ResponseEntity<StreamingResponseBody> downloadStatementJob(@PathVariable String jobId) throws IOException {
+        Optional<StatementJobService.JobStatus> job = statementJobService.status(jobId);
+        if (job.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (job.get().state() != StatementJobService.State.DONE) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        Optional<Path> file = statementJobService.file(jobId);
+        if (file.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.GONE).build();
+        }
+
+        // Opened here, so a later eviction can't take the file away mid-download
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(file.get());
+        } catch (NoSuchFileException e) {
+            return ResponseEntity.status(HttpStatus.GONE).build();
+        }
+        long size = channel.size();
+        StreamingResponseBody body = output -> {
+            try (InputStream input = Channels.newInputStream(channel)) {
+                input.transferTo(output);
+            }
+        };
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=statement-" + job.get().accountNumber() + ".pdf")
+                .contentType(MediaType.APPLICATION_PDF)
+                .contentLength(size)
+                .body(body);
+    }
+
+    /**
+     * Start the statements of every account for a month (yyyy-MM) - 202, or 409 while a run is going on.
+     * A month already started resumes from its checkpoint.
+     */
+    @PostMapping("/statement/month-end")
+    public ResponseEntity<MonthEndStatementBatch.BatchProgress> startMonthEndStatements(@RequestParam String month) {
+        YearMonth yearMonth;
+        try {
+            yearMonth = YearMonth.parse(month);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!monthEndStatementBatch.start(yearMonth)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(monthEndStatementBatch.progress());
+        }
+        return ResponseEntity.accepted().build();
+    }
+
+    // Progress of the current or last month-end run: accounts read, generated, failed, statements/minute
+    @GetMapping("/statement/month-end")
+    public ResponseEntity<MonthEndStatementBatch.BatchProgress> getMonthEndStatements() {
+        return Optional.ofNullable(monthEndStatementBatch.progress())
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Receipts are cached by content: the ETag is the hash of what the receipt shows, so a client sending
+     * it back in If-None-Match gets 304 without a render. Receipts of final transactions are immutable.
+     */
     @GetMapping("/receipt/{transactionId}")
-    public ResponseEntity<byte[]> generateTransactionReceipt(@PathVariable String transactionId) {
-        // In real app, we'd find transaction by ID
-        // For now, we'll create a mock transaction
-        Transaction transaction = new Transaction(
-                "ACC123456", "ACC789012", new BigDecimal("100.00"),
-                "USD", "TRANSFER", "SUCCESS", "Test transaction"
-        );
-        transaction.setTransactionId(transactionId);
+    public ResponseEntity<byte[]> generateTransactionReceipt(
+            @PathVariable String transactionId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // 1. A final receipt already in memory - no history lookup
+        Optional<String> known = receiptCache.knownEtag(transactionId);
+        if (known.isPresent() && etagMatches(ifNoneMatch, known.get())) {
+            return notModified(known.get(), true);
+        }
 
-        byte[] pdfBytes = pdfGenerator.generateTransactionReceipt(transaction);
+        // 2. The transaction as it is now
+        Optional<ReceiptCache.ReceiptVersion> version = receiptCache.lookup(transactionId);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = version.get().etag();
+        if (etagMatches(ifNoneMatch, etag)) {
+            return notModified(etag, version.get().isFinal());
+        }
+
+        // 3. From the memory or disk tier, rendered only when neither has this version
+        byte[] pdfBytes = receiptCache.pdf(version.get());
 
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION,
                         "attachment; filename=receipt-" + transactionId + ".pdf")
+                .eTag(etag)
+                .cacheControl(receiptCacheControl(version.get().isFinal()))
                 .contentType(MediaType.APPLICATION_PDF)
                 .body(pdfBytes);
     }
-}
\ No newline at end of file
+
+    private static ResponseEntity<byte[]> notModified(String etag, boolean isFinal) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(receiptCacheControl(isFinal))
+                .build();
+    }
+
+    // Final receipts never change; pending ones may, so clients revalidate every time
+    private static CacheControl receiptCacheControl(boolean isFinal) {
+        return isFinal
+                ? CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable()
+                : CacheControl.noCache().cachePrivate();
+    }
+
+    // If-None-Match: "*" or a list of ETags, weak ones (W/"...") compared by their value
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || (value.startsWith("W/") ? value.substring(2) : value).equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,14 +1,36 @@
 package com.banking.system.adapter.in.web;
 
+import com.banking.system.adapter.out.persistence.cache.RecentTransactionCache;
+import com.banking.system.application.pagination.CursorPage;
+import com.banking.system.application.pagination.PageLimits;
 import com.banking.system.application.port.in.AccountUseCase;
+import com.banking.system.application.port.out.persistence.AccountRollupRepository;
 import com.banking.system.application.port.out.persistence.TransactionRepository;
+import com.banking.system.application.service.StatementBalanceService;
 import com.banking.system.domain.model.Transaction;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/transactions")
@@ -16,39 +38,214 @@ public class TransactionController {
 
     private final AccountUseCase accountUseCase;
     private final TransactionRepository transactionRepository;
+    private final IdempotencyStore idempotencyStore;
+    private final PageLimits pageLimits;
+    private final StatementBalanceService statementBalanceService;
+    private final Optional<RecentTransactionCache> recentTransactions;
+    private final ObjectMapper objectMapper;
+    private final int exportBatchSize;
+
+    private static final TypeReference<List<AccountUseCase.BatchTransferResult>> BATCH_RESULTS =
+            new TypeReference<>() {};
 
     public TransactionController(AccountUseCase accountUseCase,
-                                 TransactionRepository transactionRepository) {
+                                 TransactionRepository transactionRepository,
+                                 IdempotencyStore idempotencyStore,
+                                 PageLimits pageLimits,
+                                 StatementBalanceService statementBalanceService,
+                                 Optional<RecentTransactionCache> recentTransactions,
+                                 ObjectMapper objectMapper,
+                                 @Value("${banking.export.batch-size:1000}") int exportBatchSize) {
         this.accountUseCase = accountUseCase;
         this.transactionRepository = transactionRepository;
+        this.idempotencyStore = idempotencyStore;
+        this.pageLimits = pageLimits;
+        this.statementBalanceService = statementBalanceService;
+        this.recentTransactions = recentTransactions;
+        this.objectMapper = objectMapper;
+        this.exportBatchSize = exportBatchSize;
     }
 
+    // Retries with the same Idempotency-Key replay the first response instead of moving money again
     @PostMapping("/transfer")
     public ResponseEntity<AccountUseCase.TransferResult> transfer(
             @RequestParam String fromAccount,
             @RequestParam String toAccount,
-            @RequestParam BigDecimal amount) {
+            @RequestParam BigDecimal amount,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        try {
+            String scope = "transfer:" + fromAccount + ":" + toAccount + ":" + IdempotencyStore.scopeOf(amount);
+            return idempotencyStore.execute(idempotencyKey, scope, AccountUseCase.TransferResult.class,
+                    () -> accountUseCase.transfer(fromAccount, toAccount, amount)).toResponse();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(null);
+        } catch (ConcurrencyFailureException e) {
+            // Still contended after all retries - the client may try again
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(null);
+        }
+    }
+
+    // Bulk transfers (JSON list) - one result per line, failed lines don't stop the batch
+    @PostMapping(value = "/transfer/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<AccountUseCase.BatchTransferResult>> batchTransfer(
+            @RequestBody List<AccountUseCase.TransferInstruction> instructions,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        return runBatch(instructions, idempotencyKey);
+    }
+
+    // Bulk transfers as a CSV file: fromAccount,toAccount,amount per line (optional header line)
+    @PostMapping(value = "/transfer/batch", consumes = "text/csv")
+    public ResponseEntity<List<AccountUseCase.BatchTransferResult>> batchTransferCsv(
+            @RequestBody String csv,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
         try {
-            AccountUseCase.TransferResult result =
-                    accountUseCase.transfer(fromAccount, toAccount, amount);
-            return ResponseEntity.ok(result);
+            return runBatch(parseCsv(csv), idempotencyKey);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(null);
         }
     }
 
+    // Listings are keyset pages, newest first: pass nextCursor back as ?cursor= until it is null
+
     @GetMapping("/account/{accountNumber}")
-    public List<Transaction> getAccountTransactions(@PathVariable String accountNumber) {
-        return transactionRepository.findByAccountNumber(accountNumber);
+    public ResponseEntity<CursorPage<Transaction>> getAccountTransactions(
+            @PathVariable String accountNumber,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(transactionRepository.findPageByAccountNumber(
+                    accountNumber, cursor, pageLimits.clamp(limit)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(null);
+        }
+    }
+
+    // Newest entries of an account (home screen) - from memory once the account is cached, no cursor
+    @GetMapping("/account/{accountNumber}/recent")
+    public ResponseEntity<List<Transaction>> getRecentAccountTransactions(
+            @PathVariable String accountNumber,
+            @RequestParam(required = false) Integer limit) {
+        if (recentTransactions.isEmpty()) {
+            return ResponseEntity.ok(transactionRepository.findPageByAccountNumber(
+                    accountNumber, null, pageLimits.clamp(limit)).items());
+        }
+        RecentTransactionCache cache = recentTransactions.get();
+        return ResponseEntity.ok(cache.recent(accountNumber, limit != null && limit > 0 ? limit : cache.size()));
+    }
+
+    // Totals of whole days (yyyy-MM-dd, both inclusive) from the daily rollups - 404 when they are disabled
+    @GetMapping("/account/{accountNumber}/summary")
+    public ResponseEntity<AccountRollupRepository.RollupTotals> getAccountSummary(
+            @PathVariable String accountNumber,
+            @RequestParam String from,
+            @RequestParam String to) {
+        try {
+            LocalDate first = LocalDate.parse(from);
+            LocalDate last = LocalDate.parse(to);
+            if (last.isBefore(first)) {
+                return ResponseEntity.badRequest().body(null);
+            }
+            return statementBalanceService.totals(accountNumber, first, last)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(null);
+        }
     }
 
     @GetMapping("/type/{type}")
-    public List<Transaction> getTransactionsByType(@PathVariable String type) {
-        return transactionRepository.findByType(type);
+    public ResponseEntity<CursorPage<Transaction>> getTransactionsByType(
+            @PathVariable String type,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(transactionRepository.findPageByType(type, cursor, pageLimits.clamp(limit)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(null);
+        }
     }
 
     @GetMapping("/status/{status}")
-    public List<Transaction> getTransactionsByStatus(@PathVariable String status) {
-        return transactionRepository.findByStatus(status);
+    public ResponseEntity<CursorPage<Transaction>> getTransactionsByStatus(
+            @PathVariable String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(transactionRepository.findPageByStatus(status, cursor, pageLimits.clamp(limit)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(null);
+        }
+    }
+
+    // Exports: every match as NDJSON (one JSON object per line), written while the cursor is read
+
+    @GetMapping(value = "/type/{type}/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTransactionsByType(@PathVariable String type) {
+        return ndjson(() -> transactionRepository.streamByType(type, exportBatchSize));
+    }
+
+    @GetMapping(value = "/status/{status}/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTransactionsByStatus(@PathVariable String status) {
+        return ndjson(() -> transactionRepository.streamByStatus(status, exportBatchSize));
+    }
+
+    // The cursor is opened on the response thread and closed when the last line is out (or the client left)
+    private ResponseEntity<StreamingResponseBody> ndjson(Supplier<Stream<Transaction>> rows) {
+        StreamingResponseBody body = output -> {
+            try (Stream<Transaction> transactions = rows.get()) {
+                Iterator<Transaction> iterator = transactions.iterator();
+                while (iterator.hasNext()) {
+                    output.write(objectMapper.writeValueAsBytes(iterator.next()));
+                    output.write('\n');
+                }
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    // A batch key covers the whole file - the scope is the SHA-256 of its instructions
+    private ResponseEntity<List<AccountUseCase.BatchTransferResult>> runBatch(
+            List<AccountUseCase.TransferInstruction> instructions, String idempotencyKey) {
+        String scope = "batch:" + instructions.size() + ":" + digest(instructions);
+        return idempotencyStore.execute(idempotencyKey, scope, BATCH_RESULTS,
+                () -> accountUseCase.batchTransfer(instructions)).toResponse();
+    }
+
+    // One "from,to,amount" line per instruction, amounts without trailing zeros
+    static String digest(List<AccountUseCase.TransferInstruction> instructions) {
+        MessageDigest sha256;
+        try {
+            sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        for (AccountUseCase.TransferInstruction instruction : instructions) {
+            String amount = instruction.amount() == null ? "" : IdempotencyStore.scopeOf(instruction.amount());
+            String line = instruction.fromAccount() + "," + instruction.toAccount() + "," + amount + "\n";
+            sha256.update(line.getBytes(StandardCharsets.UTF_8));
+        }
+        return HexFormat.of().formatHex(sha256.digest());
+    }
+
+    private List<AccountUseCase.TransferInstruction> parseCsv(String csv) {
+        List<AccountUseCase.TransferInstruction> instructions = new ArrayList<>();
+        String[] lines = csv.split("\\R");
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i].trim();
+            if (line.isEmpty() || (i == 0 && line.toLowerCase().startsWith("from"))) {
+                continue; // blank line or header
+            }
+            String[] columns = line.split(",");
+            if (columns.length != 3) {
+                throw new IllegalArgumentException("Malformed CSV line " + (i + 1));
+            }
+            try {
+                instructions.add(new AccountUseCase.TransferInstruction(
+                        columns[0].trim(), columns[1].trim(), new BigDecimal(columns[2].trim())));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid amount on CSV line " + (i + 1));
+            }
+        }
+        return instructions;
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package com.banking.system.adapter.in.web;
 
+import com.banking.system.application.pagination.CursorPage;
 import com.banking.system.application.port.in.UserUseCase;
 import com.banking.system.domain.model.User;
 import org.springframework.http.HttpStatus;
@@ -42,9 +43,16 @@ public class UserController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // Keyset pages: pass nextCursor back as ?cursor= until it is null
     @GetMapping
-    public List<User> getAllUsers() {
-        return userUseCase.getAllUsers();
+    public ResponseEntity<CursorPage<User>> getAllUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(userUseCase.listUsers(cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(null);
+        }
     }
 
     @PostMapping("/{userId}/block")
@@ -2,9 +2,10 @@ package com.banking.system.adapter.out.pdf;
 
 import com.banking.system.application.port.out.pdf.PdfGenerator;
 import com.banking.system.domain.model.BankAccount;
+import com.banking.system.domain.model.Money;
 import com.banking.system.domain.model.Transaction;
-import com.itextpdf.kernel.pdf.PdfDocument;
-import com.itextpdf.kernel.pdf.PdfWriter;
+import com.banking.system.adapter.out.pdf.PdfTemplates.Block;
+import com.banking.system.adapter.out.pdf.PdfTemplates.TemplatedDocument;
 import com.itextpdf.layout.Document;
 import com.itextpdf.layout.element.Paragraph;
 import com.itextpdf.layout.element.Table;
@@ -12,48 +13,75 @@ import com.itextpdf.layout.properties.TextAlignment;
 import org.springframework.stereotype.Component;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
 
 @Component
 public class PdfGeneratorAdapter implements PdfGenerator {
 
+    // Rows laid out between two flushes of the large table - what stays in memory
+    private static final int TABLE_FLUSH_ROWS = 100;
+
+    private final PdfTemplates templates;
+
+    public PdfGeneratorAdapter(PdfTemplates templates) {
+        this.templates = templates;
+    }
+
     @Override
     public byte[] generateAccountStatement(BankAccount account, List<Transaction> transactions,
-                                           String periodStart, String periodEnd) {
+                                           String periodStart, String periodEnd, StatementSummary summary) {
         try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-            PdfWriter writer = new PdfWriter(outputStream);
-            PdfDocument pdfDoc = new PdfDocument(writer);
-            Document document = new Document(pdfDoc);
+            writeAccountStatement(account, transactions.iterator(), periodStart, periodEnd, summary, outputStream);
+            return outputStream.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to generate PDF statement", e);
+        }
+    }
+
+    @Override
+    public void writeAccountStatement(BankAccount account, Iterator<Transaction> transactions,
+                                      String periodStart, String periodEnd, StatementSummary summary,
+                                      OutputStream output) {
+        try {
+            TemplatedDocument target = templates.open(output);
+            Document document = target.document();  // finished pages are written out right away
 
             // Header
-            document.add(new Paragraph("BANK ACCOUNT STATEMENT")
-                    .setTextAlignment(TextAlignment.CENTER)
-                    .setBold()
-                    .setFontSize(16));
+            document.add(templates.block(target, Block.STATEMENT_TITLE));
 
             // Account Information
             document.add(new Paragraph("Account Number: " + account.getAccountNumber()));
             document.add(new Paragraph("Account Holder: " + account.getUser().getFullName()));
             document.add(new Paragraph("Statement Period: " + periodStart + " to " + periodEnd));
             document.add(new Paragraph("Current Balance: " + account.getFormattedBalance()));
+            if (summary != null) {
+                // From the daily rollups - no scan of the account's history
+                String currency = account.getCurrency();
+                document.add(new Paragraph("Opening Balance: " + Money.of(summary.openingBalance(), currency).format()));
+                document.add(new Paragraph("Money In: " + Money.of(summary.credits(), currency).format()
+                        + "   Money Out: " + Money.of(summary.debits(), currency).format()));
+                document.add(new Paragraph("Closing Balance: " + Money.of(summary.closingBalance(), currency).format()));
+            }
             document.add(new Paragraph(" ")); // Empty line
 
             // Transactions Table
-            if (transactions.isEmpty()) {
+            if (!transactions.hasNext()) {
                 document.add(new Paragraph("No transactions during this period."));
             } else {
-                document.add(createTransactionsTable(transactions));
+                writeTransactionsTable(document, transactions);
             }
 
             // Footer
             document.add(new Paragraph(" ")
                     .setTextAlignment(TextAlignment.CENTER));
             document.add(new Paragraph("Generated on: " + java.time.LocalDate.now())
-                    .setTextAlignment(TextAlignment.CENTER)
-                    .setItalic());
+                    .addStyle(PdfTemplates.FOOTER));
 
             document.close();
-            return outputStream.toByteArray();
+            output.flush();
 
         } catch (Exception e) {
             throw new RuntimeException("Failed to generate PDF statement", e);
@@ -63,15 +91,11 @@ public class PdfGeneratorAdapter implements PdfGenerator {
     @Override
     public byte[] generateTransactionReceipt(Transaction transaction) {
         try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-            PdfWriter writer = new PdfWriter(outputStream);
-            PdfDocument pdfDoc = new PdfDocument(writer);
-            Document document = new Document(pdfDoc);
+            TemplatedDocument target = templates.open(outputStream);
+            Document document = target.document();
 
             // Header
-            document.add(new Paragraph("TRANSACTION RECEIPT")
-                    .setTextAlignment(TextAlignment.CENTER)
-                    .setBold()
-                    .setFontSize(16));
+            document.add(templates.block(target, Block.RECEIPT_TITLE));
 
             // Transaction Details
             document.add(new Paragraph("Transaction ID: " + transaction.getTransactionId()));
@@ -86,9 +110,7 @@ public class PdfGeneratorAdapter implements PdfGenerator {
 
             document.add(new Paragraph(" ")
                     .setTextAlignment(TextAlignment.CENTER));
-            document.add(new Paragraph("Thank you for banking with us!")
-                    .setTextAlignment(TextAlignment.CENTER)
-                    .setItalic());
+            document.add(templates.block(target, Block.RECEIPT_FOOTER));
 
             document.close();
             return outputStream.toByteArray();
@@ -98,28 +120,38 @@ public class PdfGeneratorAdapter implements PdfGenerator {
         }
     }
 
-    private Table createTransactionsTable(List<Transaction> transactions) {
+    /**
+     * Large-table mode: the table is added to the document first, and every TABLE_FLUSH_ROWS rows the
+     * rows laid out so far are drawn onto pages and released - cells never pile up in memory.
+     */
+    private void writeTransactionsTable(Document document, Iterator<Transaction> transactions) {
         float[] columnWidths = {2, 2, 2, 2, 2, 3};
-        Table table = new Table(columnWidths);
+        Table table = new Table(columnWidths, true);
 
-        // Table Header
+        // Table Header (repeated on every page)
         table.addHeaderCell("Date");
         table.addHeaderCell("Type");
         table.addHeaderCell("From Account");
         table.addHeaderCell("To Account");
         table.addHeaderCell("Amount");
         table.addHeaderCell("Description");
+        document.add(table);
 
         // Table Rows
-        for (Transaction transaction : transactions) {
+        int rows = 0;
+        while (transactions.hasNext()) {
+            Transaction transaction = transactions.next();
             table.addCell(transaction.getTimestamp().toLocalDate().toString());
             table.addCell(transaction.getType());
             table.addCell(transaction.getFromAccount() != null ? transaction.getFromAccount() : "-");
             table.addCell(transaction.getToAccount() != null ? transaction.getToAccount() : "-");
             table.addCell(transaction.getAmount() + " " + transaction.getCurrency());
             table.addCell(transaction.getDescription());
+            if (++rows % TABLE_FLUSH_ROWS == 0) {
+                table.flush();
+            }
         }
 
-        return table;
+        table.complete();
     }
-}
\ No newline at end of file
+}
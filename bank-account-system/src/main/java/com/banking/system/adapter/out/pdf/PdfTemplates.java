@@ -0,0 +1,193 @@
+package com.banking.system.adapter.out.pdf;
+
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.FontProgramFactory;
+import com.itextpdf.io.font.PdfEncodings;
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.CompressionConstants;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfResources;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.WriterProperties;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
+import com.itextpdf.layout.Canvas;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.Style;
+import com.itextpdf.layout.element.Div;
+import com.itextpdf.layout.element.IBlockElement;
+import com.itextpdf.layout.element.Image;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.properties.HorizontalAlignment;
+import com.itextpdf.layout.properties.TextAlignment;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ADAPTER (pdf) - fonts, styles and the static parts of statements and receipts, built once per JVM
+ *
+ * 1. The font program (Helvetica, or the TrueType file in banking.pdf.font) is parsed once;
+ *    each document only wraps it in its own PdfFont - iText fonts belong to one document
+ * 2. A font file is embedded as a subset: only the glyphs a document uses go into it
+ * 3. Titles and the receipt's closing line are drawn once into a scratch document; each document
+ *    gets them as a form XObject holding a copy of those content-stream bytes - no layout, no text measuring.
+ *    All blocks of a document share one resource dictionary naming its one font
+ * 4. Documents are written with full compression (object and cross-reference streams)
+ *
+ * This saves layout and font work per document, not bytes: a one-page receipt comes out a few hundred
+ * bytes larger than a laid-out one (the form XObjects and the cross-reference stream cost more than they save).
+ *
+ * With banking.pdf.templates.enabled=false every document is built from scratch, as before -
+ * the baseline of PdfGenerationBenchmark.
+ */
+@Component
+public class PdfTemplates {
+
+    /**
+     * Static content of the generated documents
+     */
+    public enum Block {
+        STATEMENT_TITLE("BANK ACCOUNT STATEMENT", 16, true),
+        RECEIPT_TITLE("TRANSACTION RECEIPT", 16, true),
+        RECEIPT_FOOTER("Thank you for banking with us!", 12, false);
+
+        final String text;
+        final float fontSize;
+        final boolean bold;
+
+        Block(String text, float fontSize, boolean bold) {
+            this.text = text;
+            this.fontSize = fontSize;
+            this.bold = bold;
+        }
+    }
+
+    // Page width minus the default 36pt margins, what a centered paragraph spans
+    private static final float BLOCK_WIDTH = PageSize.A4.getWidth() - 72;
+
+    // Shared read-only - styles hold no font, so they are not tied to a document
+    public static final Style FOOTER = new Style().setTextAlignment(TextAlignment.CENTER).setItalic();
+
+    private final boolean enabled;
+    private final FontProgram fontProgram;
+    private final boolean embedded;
+    private final Map<Block, StaticBlock> blocks = new EnumMap<>(Block.class);
+
+    public PdfTemplates(@Value("${banking.pdf.templates.enabled:true}") boolean enabled,
+                        @Value("${banking.pdf.font:}") String fontFile) {
+        this.enabled = enabled;
+        this.embedded = !fontFile.isBlank();
+        try {
+            this.fontProgram = embedded
+                    ? FontProgramFactory.createFont(fontFile)
+                    : FontProgramFactory.createFont(StandardFonts.HELVETICA);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot load PDF font " + fontFile, e);
+        }
+        if (enabled) {
+            renderBlocks();
+            System.out.println("📄 PDF templates ready (" + (embedded ? "subset of " + fontFile : "Helvetica") + ")");
+        }
+    }
+
+    /**
+     * Content stream of a block drawn once, and the name its font has in the XObject's resources
+     */
+    private record StaticBlock(Rectangle box, byte[] content, PdfName fontName) {}
+
+    private void renderBlocks() {
+        PdfDocument scratch = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        PdfFont font = newFont();
+        for (Block block : Block.values()) {
+            Rectangle box = new Rectangle(BLOCK_WIDTH, block.fontSize * 1.5f);
+            PdfFormXObject form = new PdfFormXObject(box);
+            Canvas canvas = new Canvas(form, scratch).setFont(font).setFontSize(block.fontSize);
+            if (block.bold) {
+                canvas.setBold();
+            } else {
+                canvas.setItalic();
+            }
+            canvas.showTextAligned(block.text, BLOCK_WIDTH / 2, block.fontSize * 0.4f, TextAlignment.CENTER);
+            canvas.close();
+            Set<PdfName> fontNames = form.getResources().getResourceNames(PdfName.Font);
+            blocks.put(block, new StaticBlock(box, form.getPdfObject().getBytes(), fontNames.iterator().next()));
+        }
+        scratch.addNewPage();  // a document without pages can't be closed
+        scratch.close();
+    }
+
+    private PdfFont newFont() {
+        PdfFont font = PdfFontFactory.createFont(fontProgram, PdfEncodings.WINANSI, embedded
+                ? PdfFontFactory.EmbeddingStrategy.FORCE_EMBEDDED
+                : PdfFontFactory.EmbeddingStrategy.PREFER_NOT_EMBEDDED);
+        font.setSubset(true);
+        return font;
+    }
+
+    /**
+     * A new document writing to output, which stays open; the caller closes the document
+     */
+    public TemplatedDocument open(OutputStream output) {
+        PdfWriter writer = enabled
+                ? new PdfWriter(output, new WriterProperties()
+                        .setFullCompressionMode(true)
+                        .setCompressionLevel(CompressionConstants.BEST_COMPRESSION))
+                : new PdfWriter(output);
+        writer.setCloseStream(false);  // the caller owns the stream
+        Document document = new Document(new PdfDocument(writer));
+        if (!enabled) {
+            return new TemplatedDocument(document, null, null);
+        }
+        PdfFont font = newFont();
+        document.setFont(font);
+        // One indirect resource dictionary for every block of this document
+        PdfResources resources = new PdfResources();
+        resources.addFont(document.getPdfDocument(), font);
+        resources.makeIndirect(document.getPdfDocument());
+        return new TemplatedDocument(document, font, resources);
+    }
+
+    /**
+     * A static block for the document: its pre-drawn form XObject, or a paragraph laid out from scratch
+     */
+    public IBlockElement block(TemplatedDocument target, Block block) {
+        if (!enabled) {
+            Paragraph paragraph = new Paragraph(block.text).setTextAlignment(TextAlignment.CENTER);
+            return block.bold ? paragraph.setBold().setFontSize(block.fontSize) : paragraph.setItalic();
+        }
+        StaticBlock drawn = blocks.get(block);
+        PdfFormXObject form = new PdfFormXObject(drawn.box());
+        form.getPdfObject().setData(drawn.content());
+        form.getPdfObject().put(PdfName.Resources, target.resources().getPdfObject());
+        // The shared dictionary names its only font as the scratch one did (F1)
+        PdfName fontName = target.resources().addFont(target.document().getPdfDocument(), target.font());
+        if (!fontName.equals(drawn.fontName())) {
+            throw new IllegalStateException("Font of " + block + " is " + fontName + ", drawn as " + drawn.fontName());
+        }
+        // The copied bytes bypass the font's glyph tracking - mark the block's glyphs for the subset
+        target.font().convertToBytes(block.text);
+        return new Div().add(new Image(form).setHorizontalAlignment(HorizontalAlignment.CENTER)).setMarginBottom(4);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * A document being generated, the font it was given and the resources its blocks share
+     * (both null when templates are disabled)
+     */
+    public record TemplatedDocument(Document document, PdfFont font, PdfResources resources) {}
+}
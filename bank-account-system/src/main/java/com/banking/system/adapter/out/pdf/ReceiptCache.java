@@ -0,0 +1,161 @@
+package com.banking.system.adapter.out.pdf;
+
+import com.banking.system.application.port.out.pdf.PdfGenerator;
+import com.banking.system.application.port.out.pdf.StatementCache;
+import com.banking.system.application.port.out.persistence.TransactionRepository;
+import com.banking.system.domain.model.Transaction;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ADAPTER (pdf) - transaction receipts rendered once, kept in memory and on disk
+ *
+ * 1. A receipt's version is the SHA-256 of what it shows (the transaction's fields and the layout
+ *    version) - computed from the transaction alone, so it serves as ETag before anything is rendered
+ * 2. Receipts of final transactions (SUCCESS, FAILED) never change: they are kept in memory by
+ *    transaction ID (capped in bytes, W-TinyLFU) and on disk by transaction ID + hash (capped in bytes, LRU)
+ * 3. Lookups go memory, disk, then render - a cached receipt is only used when its hash still matches
+ * 4. Receipts of anything else are rendered on every request and not stored
+ */
+@Component
+public class ReceiptCache {
+
+    // Part of every hash - bump it when the receipt layout changes, and cached receipts stop matching
+    private static final String LAYOUT_VERSION = "receipt-1";
+    private static final Set<String> FINAL_STATUSES = Set.of("SUCCESS", "FAILED");
+
+    private final TransactionRepository transactionRepository;
+    private final PdfGenerator pdfGenerator;
+    private final Cache<String, Receipt> memory;
+    private final StatementCache disk;
+    private final LongAdder rendered = new LongAdder();
+    private final LongAdder fromDisk = new LongAdder();
+
+    public ReceiptCache(TransactionRepository transactionRepository,
+                        PdfGenerator pdfGenerator,
+                        @Value("${banking.receipts.cache.max-memory-bytes:67108864}") long maxMemoryBytes,
+                        @Value("${banking.receipts.cache.dir:./data/receipt-cache}") String directory,
+                        @Value("${banking.receipts.cache.max-disk-bytes:1073741824}") long maxDiskBytes) {
+        this.transactionRepository = transactionRepository;
+        this.pdfGenerator = pdfGenerator;
+        this.memory = Caffeine.newBuilder()
+                .maximumWeight(maxMemoryBytes)
+                .weigher((String transactionId, Receipt receipt) -> receipt.pdf().length)
+                .recordStats()
+                .build();
+        // Same capped file store as the statement jobs, in its own directory
+        this.disk = new StatementFileCache(directory, maxDiskBytes);
+    }
+
+    /**
+     * ETag of a final receipt held in memory - answers If-None-Match without reading the history
+     */
+    public Optional<String> knownEtag(String transactionId) {
+        return Optional.ofNullable(memory.getIfPresent(transactionId)).map(Receipt::etag);
+    }
+
+    /**
+     * The transaction as it is now, and the ETag of its receipt
+     * @return empty when there is no such transaction
+     */
+    public Optional<ReceiptVersion> lookup(String transactionId) {
+        return transactionRepository.findByTransactionId(transactionId)
+                .map(transaction -> new ReceiptVersion(transaction, etagOf(transaction),
+                        FINAL_STATUSES.contains(transaction.getStatus())));
+    }
+
+    /**
+     * The receipt PDF of that version - from memory, from disk, or rendered (and stored when final)
+     */
+    public byte[] pdf(ReceiptVersion version) {
+        String transactionId = version.transaction().getTransactionId();
+        if (!version.isFinal()) {
+            rendered.increment();
+            return pdfGenerator.generateTransactionReceipt(version.transaction());
+        }
+
+        // 1. Memory
+        Receipt cached = memory.getIfPresent(transactionId);
+        if (cached != null && cached.etag().equals(version.etag())) {
+            return cached.pdf();
+        }
+
+        // 2. Disk - what was rendered before a restart, or dropped from memory
+        String key = transactionId + "|" + version.etag().replace("\"", "");
+        byte[] pdf = disk.find(key).map(ReceiptCache::read).orElse(null);
+        if (pdf != null) {
+            fromDisk.increment();
+        } else {
+            // 3. Rendered once, kept on both tiers
+            rendered.increment();
+            pdf = pdfGenerator.generateTransactionReceipt(version.transaction());
+            byte[] rendering = pdf;
+            try {
+                disk.store(key, output -> output.write(rendering));
+            } catch (IOException e) {
+                System.out.println("⚠️ Receipt " + transactionId + " not stored on disk: " + e.getMessage());
+            }
+        }
+        memory.put(transactionId, new Receipt(version.etag(), pdf));
+        return pdf;
+    }
+
+    // Null when the file went away in between (evicted) - the receipt is rendered again
+    private static byte[] read(Path file) {
+        try {
+            return Files.readAllBytes(file);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // Quoted strong ETag: 128 bits of the SHA-256 of every field the receipt prints
+    static String etagOf(Transaction transaction) {
+        String content = String.join("\n", LAYOUT_VERSION,
+                transaction.getTransactionId(),
+                String.valueOf(transaction.getTimestamp()),
+                transaction.getType(),
+                transaction.getAmount() != null ? transaction.getAmount().toPlainString() : "null",
+                transaction.getCurrency(),
+                String.valueOf(transaction.getFromAccount()),
+                String.valueOf(transaction.getToAccount()),
+                transaction.getStatus(),
+                String.valueOf(transaction.getDescription()));
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public ReceiptCacheStats stats() {
+        CacheStats stats = memory.stats();
+        return new ReceiptCacheStats(memory.estimatedSize(), stats.hitCount(), stats.missCount(), stats.evictionCount(),
+                fromDisk.sum(), rendered.sum(), disk.stats());
+    }
+
+    /**
+     * A transaction and the ETag of its receipt; only final ones are cached
+     */
+    public record ReceiptVersion(Transaction transaction, String etag, boolean isFinal) {}
+
+    private record Receipt(String etag, byte[] pdf) {}
+
+    public record ReceiptCacheStats(long inMemory, long memoryHits, long memoryMisses, long memoryEvictions,
+                                    long fromDisk, long rendered, StatementCache.CacheStats disk) {}
+}
@@ -0,0 +1,159 @@
+package com.banking.system.adapter.out.pdf;
+
+import com.banking.system.application.port.out.pdf.StatementCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * ADAPTER (pdf) - generated statements as files in a local directory, capped at max-bytes
+ *
+ * 1. A statement is written to a temporary file and moved into place, so a file under its final
+ *    name is always complete - also after a crash
+ * 2. Files are kept in least-recently-used order; storing past max-bytes deletes the oldest ones
+ * 3. At startup the directory is indexed by modification time and leftover temporary files removed
+ *
+ * A download already reading an evicted file finishes normally - the OS keeps the open file.
+ */
+@Component
+public class StatementFileCache implements StatementCache {
+
+    private static final String SUFFIX = ".pdf";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final long maxBytes;
+
+    // File name -> size, least recently used first - guarded by this
+    private final LinkedHashMap<String, Long> files = new LinkedHashMap<>(64, 0.75f, true);
+    private long bytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public StatementFileCache(@Value("${banking.statement.jobs.cache.dir:./data/statement-cache}") String directory,
+                              @Value("${banking.statement.jobs.cache.max-bytes:1073741824}") long maxBytes) {
+        this.directory = Paths.get(directory);
+        this.maxBytes = maxBytes;
+        try {
+            Files.createDirectories(this.directory);
+            index();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open statement cache in " + directory, e);
+        }
+    }
+
+    private void index() throws IOException {
+        List<Path> stored;
+        try (Stream<Path> listing = Files.list(directory)) {
+            stored = listing.toList();
+        }
+        for (Path path : stored) {
+            if (path.getFileName().toString().endsWith(TEMP_SUFFIX)) {
+                Files.deleteIfExists(path);
+            }
+        }
+        List<Path> statements = stored.stream()
+                .filter(path -> path.getFileName().toString().endsWith(SUFFIX))
+                .sorted(Comparator.comparing(StatementFileCache::lastModified))
+                .toList();
+        for (Path path : statements) {
+            long size = Files.size(path);
+            files.put(path.getFileName().toString(), size);
+            bytes += size;
+        }
+        evict(null);
+        if (!files.isEmpty()) {
+            System.out.println("🗄️ Statement cache holds " + files.size() + " files, " + bytes / 1024 + " KB");
+        }
+    }
+
+    private static long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    // Keys are made of account numbers and ISO dates - anything else is replaced
+    private static String fileName(String key) {
+        return key.replaceAll("[^A-Za-z0-9-]", "_") + SUFFIX;
+    }
+
+    @Override
+    public synchronized Optional<Path> find(String key) {
+        String name = fileName(key);
+        if (files.get(name) == null) {
+            misses++;
+            return Optional.empty();
+        }
+        hits++;
+        return Optional.of(directory.resolve(name));
+    }
+
+    @Override
+    public Path store(String key, Writer writer) throws IOException {
+        String name = fileName(key);
+        Path target = directory.resolve(name);
+        Path temp = directory.resolve(name + "." + UUID.randomUUID() + TEMP_SUFFIX);
+
+        // 1. Written outside the lock - other statements are stored and found meanwhile
+        try (OutputStream output = Files.newOutputStream(temp)) {
+            writer.writeTo(output);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        long size = Files.size(temp);
+
+        // 2. Moved into place and accounted for; replaces an earlier file of the same key
+        synchronized (this) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Long replaced = files.put(name, size);
+            bytes += size - (replaced != null ? replaced : 0);
+            evict(name);
+        }
+        return target;
+    }
+
+    // Oldest files first, down to max-bytes - never the one just stored
+    private void evict(String keep) {
+        Iterator<Map.Entry<String, Long>> oldest = files.entrySet().iterator();
+        while (bytes > maxBytes && oldest.hasNext()) {
+            Map.Entry<String, Long> entry = oldest.next();
+            if (entry.getKey().equals(keep)) {
+                continue;
+            }
+            try {
+                Files.deleteIfExists(directory.resolve(entry.getKey()));
+            } catch (IOException e) {
+                System.out.println("⚠️ Could not delete cached statement " + entry.getKey() + ": " + e.getMessage());
+                continue;
+            }
+            bytes -= entry.getValue();
+            oldest.remove();
+            evictions++;
+        }
+    }
+
+    @Override
+    public synchronized CacheStats stats() {
+        return new CacheStats(files.size(), bytes, maxBytes, hits, misses, evictions);
+    }
+}
@@ -0,0 +1,260 @@
+package com.banking.system.adapter.out.persistence.cache;
+
+import com.banking.system.adapter.out.persistence.postgres.repository.BankAccountPostgresRepository;
+import com.banking.system.application.port.out.persistence.BankAccountRepository;
+import com.banking.system.domain.model.BankAccount;
+import com.banking.system.domain.model.Money;
+import com.banking.system.domain.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ADAPTER (decorator) - Read-through cache in front of the PostgreSQL account repository
+ *
+ * 1. Lookups by account number are served from a bounded Caffeine cache (W-TinyLFU eviction)
+ * 2. Every write invalidates the account - again after commit when a transaction is running,
+ *    so a reader cannot re-cache the pre-commit row
+ * 3. Cached accounts are never handed out - callers get copies they may modify
+ *
+ * Locked reads (findAllForUpdate) always go to the database; they record the ID -> number of what they
+ * lock, so the balance writes by ID that follow can find the cache entry.
+ * The TTL bounds staleness from writes made by other nodes.
+ */
+@Primary
+@Component
+@ConditionalOnProperty(name = "banking.account-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class CachingBankAccountRepository implements BankAccountRepository {
+
+    private final BankAccountPostgresRepository delegate;
+    private final Cache<String, BankAccount> accounts;
+    // Account ID -> number (never changes for an ID), so writes by ID can find the cache entry - bounded like the accounts
+    private final Cache<Long, String> numbersById;
+
+    public CachingBankAccountRepository(BankAccountPostgresRepository delegate,
+                                        @Value("${banking.account-cache.max-entries:100000}") long maxEntries,
+                                        @Value("${banking.account-cache.ttl:30s}") Duration ttl) {
+        this.delegate = delegate;
+        this.accounts = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.numbersById = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .build();
+    }
+
+    // Reads
+
+    @Override
+    public Optional<BankAccount> findByAccountNumber(String accountNumber) {
+        BankAccount cached = accounts.get(accountNumber, this::load);
+        return Optional.ofNullable(cached).map(CachingBankAccountRepository::copy);
+    }
+
+    @Override
+    public List<BankAccount> findByAccountNumbers(Collection<String> accountNumbers) {
+        // Misses are loaded together with one IN query
+        Map<String, BankAccount> found = accounts.getAll(accountNumbers, missing -> {
+            Map<String, BankAccount> loaded = new ConcurrentHashMap<>();
+            for (BankAccount account : delegate.findByAccountNumbers(toList(missing))) {
+                numbersById.put(account.getId(), account.getAccountNumber());
+                loaded.put(account.getAccountNumber(), account);
+            }
+            return loaded;
+        });
+        List<BankAccount> result = new ArrayList<>(found.size());
+        found.values().forEach(account -> result.add(copy(account)));
+        return result;
+    }
+
+    @Override
+    public Optional<BalanceSnapshot> findBalanceSnapshot(String accountNumber) {
+        BankAccount cached = accounts.getIfPresent(accountNumber);
+        if (cached != null) {
+            return Optional.of(new BalanceSnapshot(cached.balance(),
+                    cached.getUser() != null && cached.getUser().isBlocked()));
+        }
+        return delegate.findBalanceSnapshot(accountNumber);  // narrow query, not worth caching a full account
+    }
+
+    @Override
+    public boolean existsByAccountNumber(String accountNumber) {
+        return accounts.getIfPresent(accountNumber) != null || delegate.existsByAccountNumber(accountNumber);
+    }
+
+    @Override
+    public Optional<BankAccount> findById(Long id) {
+        String accountNumber = numbersById.getIfPresent(id);
+        if (accountNumber != null) {
+            BankAccount cached = accounts.getIfPresent(accountNumber);
+            if (cached != null) {
+                return Optional.of(copy(cached));
+            }
+        }
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<BankAccount> findByUserId(Long userId) {
+        return delegate.findByUserId(userId);
+    }
+
+    @Override
+    public List<BankAccount> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<BankAccount> findPageAfter(long afterId, int limit) {
+        return delegate.findPageAfter(afterId, limit);
+    }
+
+    @Override
+    public List<BankAccount> findAllForUpdate(Collection<String> accountNumbers) {
+        List<BankAccount> locked = delegate.findAllForUpdate(accountNumbers);
+        locked.forEach(account -> numbersById.put(account.getId(), account.getAccountNumber()));
+        return locked;
+    }
+
+    private BankAccount load(String accountNumber) {
+        BankAccount account = delegate.findByAccountNumber(accountNumber).orElse(null);
+        if (account != null) {
+            numbersById.put(account.getId(), accountNumber);
+        }
+        return account;  // null = not cached, unknown numbers are not remembered
+    }
+
+    // Writes - delegate, then invalidate
+
+    @Override
+    public BankAccount save(BankAccount account) {
+        BankAccount saved = delegate.save(account);
+        invalidate(saved.getAccountNumber());
+        return saved;
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        delegate.deleteById(id);
+        invalidateById(id);
+    }
+
+    @Override
+    public void updateBalance(Long accountId, Money newBalance) {
+        delegate.updateBalance(accountId, newBalance);
+        invalidateById(accountId);
+    }
+
+    @Override
+    public Optional<Money> incrementBalance(String accountNumber, Money amount) {
+        Optional<Money> balance = delegate.incrementBalance(accountNumber, amount);
+        invalidate(accountNumber);
+        return balance;
+    }
+
+    @Override
+    public Optional<Money> decrementBalanceIfSufficient(String accountNumber, Money amount) {
+        Optional<Money> balance = delegate.decrementBalanceIfSufficient(accountNumber, amount);
+        invalidate(accountNumber);
+        return balance;
+    }
+
+    @Override
+    public void updateBalances(Map<Long, Money> balances) {
+        delegate.updateBalances(balances);
+        balances.keySet().forEach(this::invalidateById);
+    }
+
+    @Override
+    public void evictUserAccounts(Long userId) {
+        // Rare (owner blocked/unblocked) - a scan is fine
+        accounts.asMap().values().removeIf(account -> account.getUser() != null
+                && userId.equals(account.getUser().getId()));
+    }
+
+    // Evicted now and, whether or not the number is known yet, again after commit - a reader may cache
+    // the pre-commit row (and record its number) in between
+    private void invalidateById(Long accountId) {
+        evictById(accountId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictById(accountId);
+                }
+            });
+        }
+    }
+
+    private void evictById(Long accountId) {
+        String accountNumber = numbersById.getIfPresent(accountId);
+        if (accountNumber != null) {
+            accounts.invalidate(accountNumber);
+        } else {
+            // Number dropped from the bounded map (rare) - the account may still be cached, so look for it
+            accounts.asMap().values().removeIf(account -> accountId.equals(account.getId()));
+        }
+    }
+
+    private void invalidate(String accountNumber) {
+        accounts.invalidate(accountNumber);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    accounts.invalidate(accountNumber);
+                }
+            });
+        }
+    }
+
+    public AccountCacheStats stats() {
+        CacheStats cacheStats = accounts.stats();
+        return new AccountCacheStats(accounts.estimatedSize(), cacheStats.hitCount(), cacheStats.missCount(),
+                cacheStats.hitRate(), cacheStats.evictionCount(), cacheStats.averageLoadPenalty() / 1_000);
+    }
+
+    private static List<String> toList(Iterable<? extends String> numbers) {
+        List<String> list = new ArrayList<>();
+        numbers.forEach(list::add);
+        return list;
+    }
+
+    // Defensive copy - domain objects are mutable (deposit/withdraw, blockUser)
+    private static BankAccount copy(BankAccount source) {
+        BankAccount account = new BankAccount();
+        account.setId(source.getId());
+        account.setAccountNumber(source.getAccountNumber());
+        account.setCurrency(source.getCurrency());
+        account.updateBalance(source.balance());
+        User owner = source.getUser();
+        if (owner != null) {
+            User user = new User(owner.getUsername(), owner.getEmail(), owner.getPassword(), owner.getFullName());
+            user.setId(owner.getId());
+            user.setBlocked(owner.isBlocked());
+            user.setRole(owner.getRole());
+            account.setUser(user);
+        }
+        return account;
+    }
+
+    // Snapshot of the cache counters (load time in microseconds)
+    public record AccountCacheStats(long entries, long hits, long misses, double hitRate,
+                                    long evictions, double averageLoadMicros) {}
+}
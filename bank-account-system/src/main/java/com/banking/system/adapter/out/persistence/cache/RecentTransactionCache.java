@@ -0,0 +1,159 @@
+package com.banking.system.adapter.out.persistence.cache;
+
+import com.banking.system.application.port.out.persistence.HistoryWriteListener;
+import com.banking.system.application.port.out.persistence.TransactionRepository;
+import com.banking.system.domain.model.Transaction;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ADAPTER (cache) - the last few history entries of each account, in memory
+ *
+ * 1. Each cached account holds its newest `size` entries, newest first
+ * 2. The first read of an account backfills it with one history query (a page of `size`);
+ *    later reads never touch MongoDB
+ * 3. Every history write (HistoryWriteListener) adds its entries to the accounts already
+ *    cached - uncached accounts are left for the backfill, so writes don't fill the cache
+ * 4. At most max-entries entries in total: cold accounts are evicted first (Caffeine W-TinyLFU)
+ *
+ * Entries written while a backfill is running land in the account's buffer first and are merged
+ * with the backfill by transaction ID. Late entries (spool replay) are placed by time.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.recent-transactions.enabled", havingValue = "true", matchIfMissing = true)
+public class RecentTransactionCache implements HistoryWriteListener {
+
+    private static final Comparator<Transaction> NEWEST_FIRST = Comparator
+            .comparing(Transaction::getTimestamp)
+            .thenComparing(Transaction::getTransactionId)
+            .reversed();
+
+    private final TransactionRepository transactionRepository;
+    private final int size;
+    private final Cache<String, RecentEntries> accounts;
+    private final LongAdder backfills = new LongAdder();
+    private final LongAdder appended = new LongAdder();
+
+    // Lazy: the repository is the decorator that calls this listener
+    public RecentTransactionCache(@Lazy TransactionRepository transactionRepository,
+                                  @Value("${banking.recent-transactions.size:20}") int size,
+                                  @Value("${banking.recent-transactions.max-entries:200000}") long maxEntries) {
+        this.transactionRepository = transactionRepository;
+        this.size = size;
+        this.accounts = Caffeine.newBuilder()
+                .maximumSize(Math.max(1, maxEntries / size))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Newest entries of the account where it was sender or receiver, newest first
+     * @param limit at most size entries are kept
+     */
+    public List<Transaction> recent(String accountNumber, int limit) {
+        RecentEntries entries = accounts.get(accountNumber, number -> new RecentEntries(size));
+        if (!entries.isLoaded()) {
+            // Outside the entries' lock - writes keep landing while MongoDB answers
+            backfills.increment();
+            entries.backfill(transactionRepository.findPageByAccountNumber(accountNumber, null, size).items());
+        }
+        return entries.newest(Math.min(limit, size));
+    }
+
+    @Override
+    public void onStored(List<Transaction> transactions) {
+        for (Transaction transaction : transactions) {
+            add(transaction.getFromAccount(), transaction);
+            if (transaction.getToAccount() != null && !transaction.getToAccount().equals(transaction.getFromAccount())) {
+                add(transaction.getToAccount(), transaction);
+            }
+        }
+    }
+
+    private void add(String accountNumber, Transaction transaction) {
+        if (accountNumber == null) {
+            return;
+        }
+        // Quietly: a write is not a read - it must not keep an account cached or count as a hit
+        RecentEntries entries = accounts.policy().getIfPresentQuietly(accountNumber);
+        if (entries != null) {
+            entries.add(transaction);
+            appended.increment();
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public RecentCacheStats stats() {
+        CacheStats stats = accounts.stats();
+        return new RecentCacheStats(accounts.estimatedSize(), size, stats.hitCount(), stats.missCount(),
+                backfills.sum(), appended.sum(), stats.evictionCount(), stats.hitRate());
+    }
+
+    public record RecentCacheStats(long accounts, int entriesPerAccount, long hits, long misses,
+                                   long backfills, long appended, long evictions, double hitRate) {}
+
+    /**
+     * Up to capacity entries sorted newest first - a few dozen, so inserts just shift the array
+     */
+    static final class RecentEntries {
+
+        private final Transaction[] entries;
+        private int count;
+        private volatile boolean loaded;
+
+        RecentEntries(int capacity) {
+            this.entries = new Transaction[capacity];
+        }
+
+        boolean isLoaded() {
+            return loaded;
+        }
+
+        synchronized void add(Transaction transaction) {
+            for (int i = 0; i < count; i++) {
+                if (entries[i].getTransactionId().equals(transaction.getTransactionId())) {
+                    return;  // retried write
+                }
+            }
+            int position = 0;
+            while (position < count && NEWEST_FIRST.compare(entries[position], transaction) < 0) {
+                position++;
+            }
+            if (position == entries.length) {
+                return;  // older than everything kept
+            }
+            int moved = Math.min(count, entries.length - 1) - position;
+            System.arraycopy(entries, position, entries, position + 1, moved);
+            entries[position] = transaction;
+            count = Math.min(count + 1, entries.length);
+        }
+
+        synchronized void backfill(List<Transaction> page) {
+            if (!loaded) {
+                page.forEach(this::add);
+                loaded = true;
+            }
+        }
+
+        synchronized List<Transaction> newest(int limit) {
+            List<Transaction> newest = new ArrayList<>(Math.min(limit, count));
+            for (int i = 0; i < count && i < limit; i++) {
+                newest.add(entries[i]);
+            }
+            return newest;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.banking.system.adapter.out.persistence.history;
+
+import com.banking.system.application.pagination.CursorPage;
+import com.banking.system.application.port.out.persistence.HistoryWriteListener;
+import com.banking.system.application.port.out.persistence.TransactionRepository;
+import com.banking.system.domain.model.Transaction;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * ADAPTER (decorator) - keeps the views derived from the transaction history in step with it
+ *
+ * 1. Writes go to the history first, then the stored entries to every {@link HistoryWriteListener}
+ *    (daily rollups, recent-transactions cache)
+ * 2. A failing listener fails the save - the log writer spools the batch and the replayer saves it
+ *    again; the history and the listeners skip the entries they already have
+ * 3. Reads go straight to the history
+ *
+ * Wraps whichever history adapter banking.history.schema selected.
+ */
+@Primary
+@Component
+public class ListeningTransactionRepository implements TransactionRepository {
+
+    private final TransactionRepository delegate;
+    private final List<HistoryWriteListener> listeners;
+
+    // The list holds the other TransactionRepository beans - Spring leaves this one out
+    public ListeningTransactionRepository(List<TransactionRepository> histories,
+                                          List<HistoryWriteListener> listeners) {
+        if (histories.size() != 1) {
+            throw new IllegalStateException("Expected one transaction history adapter, found " + histories.size());
+        }
+        this.delegate = histories.get(0);
+        this.listeners = List.copyOf(listeners);
+    }
+
+    // Writes - history, then listeners
+
+    @Override
+    public Transaction save(Transaction transaction) {
+        Transaction saved = delegate.save(transaction);
+        notifyListeners(List.of(saved));
+        return saved;
+    }
+
+    @Override
+    public List<Transaction> saveAll(List<Transaction> transactions) {
+        List<Transaction> saved = delegate.saveAll(transactions);
+        if (!saved.isEmpty()) {
+            notifyListeners(saved);
+        }
+        return saved;
+    }
+
+    private void notifyListeners(List<Transaction> saved) {
+        for (HistoryWriteListener listener : listeners) {
+            listener.onStored(saved);
+        }
+    }
+
+    // Reads
+
+    @Override
+    public List<Transaction> findByAccountNumber(String accountNumber) {
+        return delegate.findByAccountNumber(accountNumber);
+    }
+
+    @Override
+    public Optional<Transaction> findByTransactionId(String transactionId) {
+        return delegate.findByTransactionId(transactionId);
+    }
+
+    @Override
+    public List<Transaction> findByAccountNumberBetween(String accountNumber, LocalDateTime from, LocalDateTime to, int limit) {
+        return delegate.findByAccountNumberBetween(accountNumber, from, to, limit);
+    }
+
+    @Override
+    public Stream<Transaction> streamByAccountNumberBetween(String accountNumber, LocalDateTime from, LocalDateTime to, int batchSize) {
+        return delegate.streamByAccountNumberBetween(accountNumber, from, to, batchSize);
+    }
+
+    @Override
+    public List<Transaction> findByType(String type) {
+        return delegate.findByType(type);
+    }
+
+    @Override
+    public List<Transaction> findByStatus(String status) {
+        return delegate.findByStatus(status);
+    }
+
+    @Override
+    public Stream<Transaction> streamByType(String type, int batchSize) {
+        return delegate.streamByType(type, batchSize);
+    }
+
+    @Override
+    public Stream<Transaction> streamByStatus(String status, int batchSize) {
+        return delegate.streamByStatus(status, batchSize);
+    }
+
+    @Override
+    public CursorPage<Transaction> findPageByAccountNumber(String accountNumber, String cursor, int limit) {
+        return delegate.findPageByAccountNumber(accountNumber, cursor, limit);
+    }
+
+    @Override
+    public CursorPage<Transaction> findPageByType(String type, String cursor, int limit) {
+        return delegate.findPageByType(type, cursor, limit);
+    }
+
+    @Override
+    public CursorPage<Transaction> findPageByStatus(String status, String cursor, int limit) {
+        return delegate.findPageByStatus(status, cursor, limit);
+    }
+}
@@ -0,0 +1,83 @@
+package com.banking.system.adapter.out.persistence.mongodb.document;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.TypeAlias;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Compact history entry (banking.history.schema=compact)
+ *
+ * 1. _id is the business transaction ID - no second unique field and index
+ * 2. One-letter keys - field names are stored in every document
+ * 3. Type and status as small integer codes ({@link TransactionCodes})
+ * 4. Amount as Decimal128 (16 bytes, exact) instead of a string
+ * 5. Description only when it differs from the standard text for the movement
+ * 6. A short type alias instead of the full class name in _class
+ */
+@Document(collection = "transactions_compact")
+@TypeAlias("tx")
+public class CompactTransactionDocument {
+
+    @Id
+    private String id;  // business transaction ID
+
+    @Field("f")
+    private String fromAccount;
+
+    @Field("t")
+    private String toAccount;
+
+    @Field(name = "a", targetType = FieldType.DECIMAL128)
+    private BigDecimal amount;
+
+    @Field("c")
+    private String currency;
+
+    @Field("k")
+    private int type;
+
+    @Field("s")
+    private int status;
+
+    @Field("ts")
+    private LocalDateTime timestamp;
+
+    @Field("d")
+    private String description;  // null = standard description
+
+    public CompactTransactionDocument() {
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getFromAccount() { return fromAccount; }
+    public void setFromAccount(String fromAccount) { this.fromAccount = fromAccount; }
+
+    public String getToAccount() { return toAccount; }
+    public void setToAccount(String toAccount) { this.toAccount = toAccount; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+
+    public int getType() { return type; }
+    public void setType(int type) { this.type = type; }
+
+    public int getStatus() { return status; }
+    public void setStatus(int status) { this.status = status; }
+
+    public LocalDateTime getTimestamp() { return timestamp; }
+    public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+}
@@ -0,0 +1,49 @@
+package com.banking.system.adapter.out.persistence.mongodb.document;
+
+/**
+ * Stored codes for transaction type and status in {@link CompactTransactionDocument}.
+ * Codes are persisted - never renumber, only add.
+ */
+public final class TransactionCodes {
+
+    private TransactionCodes() {
+    }
+
+    public enum Type {
+        DEPOSIT(1), WITHDRAW(2), TRANSFER(3);
+
+        public final int code;
+
+        Type(int code) {
+            this.code = code;
+        }
+
+        public static Type of(int code) {
+            for (Type type : values()) {
+                if (type.code == code) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("Unknown transaction type code: " + code);
+        }
+    }
+
+    public enum Status {
+        SUCCESS(1), FAILED(2);
+
+        public final int code;
+
+        Status(int code) {
+            this.code = code;
+        }
+
+        public static Status of(int code) {
+            for (Status status : values()) {
+                if (status.code == code) {
+                    return status;
+                }
+            }
+            throw new IllegalArgumentException("Unknown transaction status code: " + code);
+        }
+    }
+}
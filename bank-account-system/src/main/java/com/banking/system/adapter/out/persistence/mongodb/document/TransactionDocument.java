@@ -40,6 +40,9 @@ public class TransactionDocument {
     @Field("description")
     private String description;
 
+    @Field("unique_id")
+    private Boolean uniqueId;  // written by the Snowflake-ID writer - its IDs are unique even if old history's are not
+
     // Default constructor
     public TransactionDocument() {
         this.timestamp = LocalDateTime.now();
@@ -90,4 +93,7 @@ public class TransactionDocument {
 
     public String getDescription() { return description; }
     public void setDescription(String description) { this.description = description; }
+
+    public Boolean getUniqueId() { return uniqueId; }
+    public void setUniqueId(Boolean uniqueId) { this.uniqueId = uniqueId; }
 }
\ No newline at end of file
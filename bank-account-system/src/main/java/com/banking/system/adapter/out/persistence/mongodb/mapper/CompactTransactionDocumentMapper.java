@@ -0,0 +1,82 @@
+package com.banking.system.adapter.out.persistence.mongodb.mapper;
+
+import com.banking.system.adapter.out.persistence.mongodb.document.CompactTransactionDocument;
+import com.banking.system.adapter.out.persistence.mongodb.document.TransactionCodes;
+import com.banking.system.adapter.out.persistence.mongodb.document.TransactionDocument;
+import com.banking.system.domain.model.Transaction;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+@Component
+public class CompactTransactionDocumentMapper {
+
+    public CompactTransactionDocument toDocument(Transaction transaction) {
+        if (transaction == null) {
+            return null;
+        }
+
+        CompactTransactionDocument document = new CompactTransactionDocument();
+        document.setId(transaction.getTransactionId());
+        document.setFromAccount(transaction.getFromAccount());
+        document.setToAccount(transaction.getToAccount());
+        document.setAmount(transaction.getAmount());
+        document.setCurrency(transaction.getCurrency());
+        document.setType(TransactionCodes.Type.valueOf(transaction.getType()).code);
+        document.setStatus(TransactionCodes.Status.valueOf(transaction.getStatus()).code);
+        document.setTimestamp(transaction.getTimestamp());
+        document.setDescription(storedDescription(transaction.getType(), transaction.getStatus(),
+                transaction.getFromAccount(), transaction.getToAccount(), transaction.getDescription()));
+
+        return document;
+    }
+
+    public Transaction toDomain(CompactTransactionDocument document) {
+        if (document == null) {
+            return null;
+        }
+
+        Transaction transaction = new Transaction();
+        transaction.setTransactionId(document.getId());
+        transaction.setFromAccount(document.getFromAccount());
+        transaction.setToAccount(document.getToAccount());
+        transaction.setAmount(document.getAmount());
+        transaction.setCurrency(document.getCurrency());
+        transaction.setType(TransactionCodes.Type.of(document.getType()).name());
+        transaction.setStatus(TransactionCodes.Status.of(document.getStatus()).name());
+        transaction.setTimestamp(document.getTimestamp());
+        transaction.setDescription(document.getDescription() != null
+                ? document.getDescription()
+                : Transaction.standardDescription(transaction.getType(), document.getFromAccount(), document.getToAccount()));
+
+        return transaction;
+    }
+
+    /**
+     * Rewrite of a legacy document - used by the schema migration
+     */
+    public CompactTransactionDocument fromLegacy(TransactionDocument legacy) {
+        CompactTransactionDocument document = new CompactTransactionDocument();
+        document.setId(legacy.getTransactionId());
+        document.setFromAccount(legacy.getFromAccount());
+        document.setToAccount(legacy.getToAccount());
+        document.setAmount(legacy.getAmount());
+        document.setCurrency(legacy.getCurrency());
+        document.setType(TransactionCodes.Type.valueOf(legacy.getType()).code);
+        document.setStatus(TransactionCodes.Status.valueOf(legacy.getStatus()).code);
+        document.setTimestamp(legacy.getTimestamp());
+        document.setDescription(storedDescription(legacy.getType(), legacy.getStatus(),
+                legacy.getFromAccount(), legacy.getToAccount(), legacy.getDescription()));
+        return document;
+    }
+
+    // Standard descriptions of successful movements are rebuilt on read - only the others are stored
+    private String storedDescription(String type, String status, String fromAccount, String toAccount, String description) {
+        if (TransactionCodes.Status.SUCCESS.name().equals(status)
+                && description != null
+                && Objects.equals(description, Transaction.standardDescription(type, fromAccount, toAccount))) {
+            return null;
+        }
+        return description;
+    }
+}
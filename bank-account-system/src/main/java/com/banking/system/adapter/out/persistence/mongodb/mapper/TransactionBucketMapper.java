@@ -0,0 +1,64 @@
+package com.banking.system.adapter.out.persistence.mongodb.mapper;
+
+import com.banking.system.adapter.out.persistence.mongodb.document.TransactionCodes;
+import com.banking.system.domain.model.Transaction;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Objects;
+
+/**
+ * Entries inside history bucket documents - same short keys and codes as the compact schema:
+ * i = transaction ID, f/t = accounts, a = amount (Decimal128), c = currency, k = type, s = status,
+ * ts = time, d = description (only when not the standard one)
+ */
+@Component
+public class TransactionBucketMapper {
+
+    public Document toEntry(Transaction transaction) {
+        Document entry = new Document("i", transaction.getTransactionId());
+        if (transaction.getFromAccount() != null) {
+            entry.append("f", transaction.getFromAccount());
+        }
+        if (transaction.getToAccount() != null) {
+            entry.append("t", transaction.getToAccount());
+        }
+        if (transaction.getAmount() != null) {
+            entry.append("a", new Decimal128(transaction.getAmount()));
+        }
+        entry.append("c", transaction.getCurrency())
+                .append("k", TransactionCodes.Type.valueOf(transaction.getType()).code)
+                .append("s", TransactionCodes.Status.valueOf(transaction.getStatus()).code)
+                .append("ts", Date.from(transaction.getTimestamp().atZone(ZoneId.systemDefault()).toInstant()));
+        boolean standard = TransactionCodes.Status.SUCCESS.name().equals(transaction.getStatus())
+                && transaction.getDescription() != null
+                && Objects.equals(transaction.getDescription(), Transaction.standardDescription(
+                        transaction.getType(), transaction.getFromAccount(), transaction.getToAccount()));
+        if (!standard && transaction.getDescription() != null) {
+            entry.append("d", transaction.getDescription());
+        }
+        return entry;
+    }
+
+    public Transaction toDomain(Document entry) {
+        Transaction transaction = new Transaction();
+        transaction.setTransactionId(entry.getString("i"));
+        transaction.setFromAccount(entry.getString("f"));
+        transaction.setToAccount(entry.getString("t"));
+        Object amount = entry.get("a");
+        transaction.setAmount(amount instanceof Decimal128 decimal ? decimal.bigDecimalValue() : null);
+        transaction.setCurrency(entry.getString("c"));
+        transaction.setType(TransactionCodes.Type.of(entry.getInteger("k")).name());
+        transaction.setStatus(TransactionCodes.Status.of(entry.getInteger("s")).name());
+        transaction.setTimestamp(LocalDateTime.ofInstant(entry.getDate("ts").toInstant(), ZoneId.systemDefault()));
+        String description = entry.getString("d");
+        transaction.setDescription(description != null
+                ? description
+                : Transaction.standardDescription(transaction.getType(), transaction.getFromAccount(), transaction.getToAccount()));
+        return transaction;
+    }
+}
@@ -23,7 +23,11 @@ public class TransactionDocumentMapper {
         document.setType(transaction.getType());
         document.setStatus(transaction.getStatus());
         document.setDescription(transaction.getDescription());
-        // timestamp is set automatically in constructor
+        document.setUniqueId(true);
+        if (transaction.getTimestamp() != null) {
+            // Keep when the money moved - entries relayed from the outbox are written later
+            document.setTimestamp(transaction.getTimestamp());
+        }
 
         return document;
     }
@@ -0,0 +1,228 @@
+package com.banking.system.adapter.out.persistence.mongodb.migration;
+
+import com.banking.system.adapter.out.persistence.mongodb.document.CompactTransactionDocument;
+import com.banking.system.adapter.out.persistence.mongodb.document.TransactionDocument;
+import com.banking.system.adapter.out.persistence.mongodb.mapper.CompactTransactionDocumentMapper;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * MIGRATION - rewrites the legacy "transactions" collection into the compact schema
+ *
+ * 1. One reader walks the legacy collection in _id order, batch-size documents per keyset query
+ * 2. A pool of writer threads converts and bulk inserts the batches in parallel; at most two
+ *    batches per thread are in flight, so memory stays bounded
+ * 3. Inserts skip documents already migrated (same _id) - the migration can be re-run at any time
+ * 4. A duplicate _id holding a DIFFERENT movement is a collision of legacy transaction IDs (old 8-hex IDs
+ *    were not unique): it is reported and left in the legacy collection, never counted as migrated
+ * 5. Collection sizes are measured before and after: bytes per document, data and index size
+ *
+ * Runs at startup with banking.history.migration.enabled=true. Cut-over: migrate, switch
+ * banking.history.schema to compact, then migrate once more for entries written in between.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.history.migration.enabled", havingValue = "true")
+public class TransactionSchemaMigration implements CommandLineRunner {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+    private final CompactTransactionDocumentMapper mapper;
+    private final int batchSize;
+    private final int threads;
+
+    private volatile MigrationReport lastReport;
+
+    public TransactionSchemaMigration(MongoTemplate mongoTemplate,
+                                      CompactTransactionDocumentMapper mapper,
+                                      @Value("${banking.history.migration.batch-size:5000}") int batchSize,
+                                      @Value("${banking.history.migration.threads:4}") int threads) {
+        this.mongoTemplate = mongoTemplate;
+        this.mapper = mapper;
+        this.batchSize = batchSize;
+        this.threads = threads;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        migrate();
+    }
+
+    public MigrationReport migrate() throws InterruptedException {
+        System.out.println("🚚 Migrating transaction history to the compact schema...");
+        long start = System.nanoTime();
+        CollectionSize before = sizeOf(mongoTemplate.getCollectionName(TransactionDocument.class));
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService writers = Executors.newFixedThreadPool(threads,
+                runnable -> new Thread(runnable, "history-migration-" + threadNumber.incrementAndGet()));
+        Semaphore inFlight = new Semaphore(threads * 2);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        LongAdder migrated = new LongAdder();
+        LongAdder alreadyMigrated = new LongAdder();
+        LongAdder skipped = new LongAdder();
+        LongAdder collisions = new LongAdder();
+
+        try {
+            ObjectId lastId = null;
+            while (failure.get() == null) {
+                // 1. Next batch after the last _id read
+                Query query = new Query();
+                if (lastId != null) {
+                    query.addCriteria(Criteria.where("id").gt(lastId));
+                }
+                query.with(Sort.by(Sort.Direction.ASC, "id")).limit(batchSize);
+                List<TransactionDocument> batch = mongoTemplate.find(query, TransactionDocument.class);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                lastId = new ObjectId(batch.get(batch.size() - 1).getId());
+
+                // 2. Convert and insert on a writer thread
+                inFlight.acquire();
+                writers.execute(() -> {
+                    try {
+                        write(batch, migrated, alreadyMigrated, skipped, collisions);
+                    } catch (RuntimeException e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        } finally {
+            writers.shutdown();
+            writers.awaitTermination(1, TimeUnit.HOURS);
+        }
+        if (failure.get() != null) {
+            throw new IllegalStateException("Transaction history migration failed - safe to re-run", failure.get());
+        }
+
+        CollectionSize after = sizeOf(mongoTemplate.getCollectionName(CompactTransactionDocument.class));
+        MigrationReport report = new MigrationReport(migrated.sum(), alreadyMigrated.sum(), skipped.sum(),
+                collisions.sum(), (System.nanoTime() - start) / 1_000_000, before, after);
+        lastReport = report;
+        System.out.println("✅ Migrated " + report.migrated() + " transactions in " + report.millis() + " ms ("
+                + report.alreadyMigrated() + " already there, " + report.skipped() + " skipped)");
+        if (report.collisions() > 0) {
+            System.err.println("❌ " + report.collisions() + " legacy transactions share their transaction ID with a "
+                    + "different movement - NOT migrated, they are still in the legacy collection only");
+        }
+        System.out.println("📏 Bytes per document: " + before.avgObjSize() + " -> " + after.avgObjSize()
+                + ", data " + before.dataBytes() + " -> " + after.dataBytes()
+                + ", indexes " + before.indexBytes() + " -> " + after.indexBytes());
+        return report;
+    }
+
+    private void write(List<TransactionDocument> batch, LongAdder migrated, LongAdder alreadyMigrated,
+                       LongAdder skipped, LongAdder collisions) {
+        List<CompactTransactionDocument> documents = new ArrayList<>(batch.size());
+        List<TransactionDocument> sources = new ArrayList<>(batch.size());  // legacy document of each compact one
+        for (TransactionDocument legacy : batch) {
+            try {
+                documents.add(mapper.fromLegacy(legacy));
+                sources.add(legacy);
+            } catch (RuntimeException e) {
+                // Unknown type/status or no transaction ID - left in the legacy collection
+                skipped.increment();
+                System.err.println("⚠️ Not migrated " + legacy.getId() + ": " + e.getMessage());
+            }
+        }
+        if (documents.isEmpty()) {
+            return;
+        }
+        BulkWriteResult result;
+        List<BulkWriteError> duplicates = List.of();
+        try {
+            result = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CompactTransactionDocument.class)
+                    .insert(documents)
+                    .execute();
+        } catch (BulkOperationException e) {
+            boolean onlyDuplicates = e.getErrors().stream().allMatch(error -> error.getCode() == DUPLICATE_KEY);
+            if (!onlyDuplicates) {
+                throw e;
+            }
+            result = e.getResult();
+            duplicates = e.getErrors();
+        }
+        migrated.add(result.getInsertedCount());
+
+        // A duplicate _id is either this movement migrated before, or another one with the same legacy ID
+        for (BulkWriteError duplicate : duplicates) {
+            CompactTransactionDocument document = documents.get(duplicate.getIndex());
+            CompactTransactionDocument existing = mongoTemplate.findById(document.getId(), CompactTransactionDocument.class);
+            if (existing != null && sameMovement(existing, document)) {
+                alreadyMigrated.increment();
+            } else {
+                collisions.increment();
+                System.err.println("❌ Not migrated " + sources.get(duplicate.getIndex()).getId()
+                        + ": transaction ID " + document.getId() + " already belongs to a different movement");
+            }
+        }
+    }
+
+    private static boolean sameMovement(CompactTransactionDocument a, CompactTransactionDocument b) {
+        return Objects.equals(a.getFromAccount(), b.getFromAccount())
+                && Objects.equals(a.getToAccount(), b.getToAccount())
+                && a.getAmount() != null && b.getAmount() != null && a.getAmount().compareTo(b.getAmount()) == 0
+                && Objects.equals(a.getCurrency(), b.getCurrency())
+                && a.getType() == b.getType()
+                && a.getStatus() == b.getStatus()
+                && Objects.equals(a.getTimestamp(), b.getTimestamp())
+                && Objects.equals(a.getDescription(), b.getDescription());
+    }
+
+    // Storage statistics of a collection; zeros when it does not exist yet
+    private CollectionSize sizeOf(String collection) {
+        try {
+            Document stats = mongoTemplate.getCollection(collection)
+                    .aggregate(List.of(new Document("$collStats", new Document("storageStats", new Document()))))
+                    .first();
+            Document storage = stats != null ? stats.get("storageStats", Document.class) : null;
+            if (storage == null) {
+                return new CollectionSize(collection, 0, 0, 0, 0);
+            }
+            return new CollectionSize(collection, number(storage, "count"), number(storage, "avgObjSize"),
+                    number(storage, "size"), number(storage, "totalIndexSize"));
+        } catch (RuntimeException e) {
+            return new CollectionSize(collection, 0, 0, 0, 0);
+        }
+    }
+
+    private static long number(Document document, String key) {
+        return document.get(key) instanceof Number value ? value.longValue() : 0;
+    }
+
+    public MigrationReport lastReport() {
+        return lastReport;
+    }
+
+    public record CollectionSize(String collection, long count, long avgObjSize, long dataBytes, long indexBytes) {}
+
+    // migrated = inserted by this run; collisions = distinct movements whose legacy ID was already taken
+    public record MigrationReport(long migrated, long alreadyMigrated, long skipped, long collisions, long millis,
+                                  CollectionSize before, CollectionSize after) {}
+}
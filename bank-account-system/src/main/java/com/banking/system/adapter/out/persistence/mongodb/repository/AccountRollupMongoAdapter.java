@@ -0,0 +1,229 @@
+package com.banking.system.adapter.out.persistence.mongodb.repository;
+
+import com.banking.system.adapter.out.persistence.mongodb.document.TransactionCodes;
+import com.banking.system.adapter.out.persistence.mongodb.mapper.TransactionBucketMapper;
+import com.banking.system.application.port.out.persistence.AccountRollupRepository;
+import com.banking.system.application.port.out.persistence.HistoryWriteListener;
+import com.banking.system.domain.model.Transaction;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import jakarta.annotation.PostConstruct;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.Decimal128;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ADAPTER - per-account daily rollups in MongoDB (banking.rollups.enabled)
+ *
+ * Fed with every history write (HistoryWriteListener), whichever history schema is active.
+ * Documents per account and day, each holding the counters of up to max-ids entries:
+ * { acct, day, n, cr (credits), db (debits), types: { DEPOSIT: 3, ... }, ids: [ ... ] }
+ * The IDs make retries idempotent; capping them keeps every write O(max-ids) and far from the
+ * document size limit however busy the account is - a busy day just has several documents.
+ *
+ * 1. Transaction IDs of the batch already added for the account (any of its documents - a retried
+ *    write) are looked up first through the multikey ids index and left out
+ * 2. A batch becomes one upsert per (account, day) chunk, all in one unordered bulk write, on a
+ *    document with room for the whole chunk - otherwise the upsert starts the next one
+ * 3. The update is a pipeline, like the history buckets: IDs already in the document (a retry racing
+ *    with its first write) are left out again, and the counters only grow by the entries actually added
+ * 4. Credits and debits only count SUCCESS entries; n and the type counts count every entry
+ *
+ * Range totals are one $group over the (acct, day) index - a few documents per day, however many
+ * transactions it had.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.rollups.enabled", havingValue = "true", matchIfMissing = true)
+public class AccountRollupMongoAdapter implements AccountRollupRepository, HistoryWriteListener {
+
+    static final String COLLECTION = "account_rollups";
+    private static final Decimal128 ZERO = new Decimal128(BigDecimal.ZERO);
+
+    private final TransactionBucketMapper mapper;
+    private final MongoTemplate mongoTemplate;
+    private final int maxIds;
+
+    public AccountRollupMongoAdapter(TransactionBucketMapper mapper, MongoTemplate mongoTemplate,
+                                     @Value("${banking.rollups.max-ids:500}") int maxIds) {
+        this.mapper = mapper;
+        this.mongoTemplate = mongoTemplate;
+        this.maxIds = maxIds;
+    }
+
+    @PostConstruct
+    void ensureIndexes() {
+        mongoTemplate.indexOps(COLLECTION)
+                .createIndex(new Index().on("acct", Sort.Direction.ASC).on("day", Sort.Direction.ASC));
+        // Multikey - one key per added transaction, for the retry lookup
+        mongoTemplate.indexOps(COLLECTION).createIndex(new Index().on("ids", Sort.Direction.ASC));
+        System.out.println("🗂️ Account rollup indexes ready");
+    }
+
+    private MongoCollection<Document> rollups() {
+        return mongoTemplate.getCollection(COLLECTION);
+    }
+
+    @Override
+    public void onStored(List<Transaction> transactions) {
+        record(transactions);
+    }
+
+    @Override
+    public void record(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+
+        // 1. Group the entries by rollup - sender's and receiver's account, day of the movement -
+        //    leaving out those already added (or twice in this batch)
+        Set<String> added = addedEntries(transactions);
+        Map<String, List<Document>> groups = new LinkedHashMap<>();
+        for (Transaction transaction : transactions) {
+            Document entry = mapper.toEntry(transaction);
+            String day = transaction.getTimestamp().toLocalDate().toString();
+            for (String account : BucketedTransactionMongoAdapter.accountsOf(transaction)) {
+                if (added.add(account + "|" + transaction.getTransactionId())) {
+                    groups.computeIfAbsent(account + "|" + day, key -> new ArrayList<>()).add(entry);
+                }
+            }
+        }
+        if (groups.isEmpty()) {
+            return;
+        }
+
+        // 2. One upsert per rollup chunk (at most max-ids entries)
+        List<UpdateOneModel<Document>> updates = new ArrayList<>();
+        groups.forEach((key, entries) -> {
+            for (int from = 0; from < entries.size(); from += maxIds) {
+                updates.add(add(key, entries.subList(from, Math.min(entries.size(), from + maxIds))));
+            }
+        });
+        rollups().bulkWrite(updates, new BulkWriteOptions().ordered(false));
+    }
+
+    // "account|transaction ID" of the batch's entries already added - one indexed query
+    private Set<String> addedEntries(List<Transaction> transactions) {
+        List<String> ids = transactions.stream().map(Transaction::getTransactionId).distinct().toList();
+        Document matchIds = new Document("ids", new Document("$in", ids));
+        List<Document> pipeline = List.of(
+                new Document("$match", matchIds),
+                new Document("$unwind", "$ids"),
+                new Document("$match", matchIds),
+                new Document("$project", new Document("_id", 0).append("acct", 1).append("i", "$ids")));
+        Set<String> added = new HashSet<>();
+        for (Document row : rollups().aggregate(pipeline).into(new ArrayList<>())) {
+            added.add(row.getString("acct") + "|" + row.getString("i"));
+        }
+        return added;
+    }
+
+    private UpdateOneModel<Document> add(String key, List<Document> entries) {
+        int separator = key.indexOf('|');
+        String account = key.substring(0, separator);
+        String day = key.substring(separator + 1);
+        Document counters = new Document()
+                .append("ids", new Document("$concatArrays", List.of(
+                        BucketedTransactionMongoAdapter.ifNull("$ids", List.of()), "$_new.i")))
+                .append("n", new Document("$add", List.of(
+                        BucketedTransactionMongoAdapter.ifNull("$n", 0), new Document("$size", "$_new"))))
+                .append("cr", new Document("$add", List.of(BucketedTransactionMongoAdapter.ifNull("$cr", ZERO),
+                        BucketedTransactionMongoAdapter.sumAmounts("t", account))))
+                .append("db", new Document("$add", List.of(BucketedTransactionMongoAdapter.ifNull("$db", ZERO),
+                        BucketedTransactionMongoAdapter.sumAmounts("f", account))));
+        for (TransactionCodes.Type type : TransactionCodes.Type.values()) {
+            counters.append("types." + type.name(), new Document("$add", List.of(
+                    BucketedTransactionMongoAdapter.ifNull("$types." + type.name(), 0), countOfType(type))));
+        }
+        List<Document> pipeline = List.of(
+                // New entries = those whose transaction ID was not added yet
+                new Document("$set", new Document("_new", new Document("$filter", new Document()
+                        .append("input", new Document("$literal", entries))
+                        .append("cond", new Document("$not", List.of(new Document("$in",
+                                List.of("$$this.i", BucketedTransactionMongoAdapter.ifNull("$ids", List.of()))))))))),
+                new Document("$set", counters),
+                new Document("$unset", "_new"));
+        // Only a document with room for every entry of the chunk matches
+        Bson filter = Filters.and(Filters.eq("acct", account), Filters.eq("day", day),
+                Filters.lte("n", maxIds - entries.size()));
+        return new UpdateOneModel<>(filter, pipeline, new UpdateOptions().upsert(true));
+    }
+
+    private static Document countOfType(TransactionCodes.Type type) {
+        return new Document("$size", new Document("$filter", new Document()
+                .append("input", "$_new")
+                .append("as", "x")
+                .append("cond", new Document("$eq", List.of("$$x.k", type.code)))));
+    }
+
+    private static Bson inRange(String accountNumber, LocalDate from, LocalDate to) {
+        // ISO days compare as strings
+        return Filters.and(Filters.eq("acct", accountNumber),
+                Filters.gte("day", from.toString()), Filters.lte("day", to.toString()));
+    }
+
+    @Override
+    public RollupTotals totals(String accountNumber, LocalDate from, LocalDate to) {
+        Document group = new Document("_id", null)
+                .append("n", new Document("$sum", "$n"))
+                .append("cr", new Document("$sum", "$cr"))
+                .append("db", new Document("$sum", "$db"));
+        for (TransactionCodes.Type type : TransactionCodes.Type.values()) {
+            group.append(type.name(), new Document("$sum", "$types." + type.name()));
+        }
+        Document row = rollups().aggregate(List.of(
+                new Document("$match", inRange(accountNumber, from, to)),
+                new Document("$group", group))).first();
+        if (row == null) {
+            return RollupTotals.EMPTY;
+        }
+
+        Map<String, Long> countByType = new LinkedHashMap<>();
+        for (TransactionCodes.Type type : TransactionCodes.Type.values()) {
+            long count = row.get(type.name(), Number.class).longValue();
+            if (count > 0) {
+                countByType.put(type.name(), count);
+            }
+        }
+        return new RollupTotals(row.get("n", Number.class).longValue(),
+                amount(row.get("cr")), amount(row.get("db")), countByType);
+    }
+
+    @Override
+    public List<DailyRollup> daily(String accountNumber, LocalDate from, LocalDate to) {
+        // A busy day has several documents - summed per day (the ID lists are never read)
+        List<DailyRollup> days = new ArrayList<>();
+        for (Document row : rollups().aggregate(List.of(
+                new Document("$match", inRange(accountNumber, from, to)),
+                new Document("$group", new Document("_id", "$day")
+                        .append("n", new Document("$sum", "$n"))
+                        .append("cr", new Document("$sum", "$cr"))
+                        .append("db", new Document("$sum", "$db"))),
+                new Document("$sort", new Document("_id", 1))))) {
+            days.add(new DailyRollup(LocalDate.parse(row.getString("_id")),
+                    row.get("n", Number.class).longValue(), amount(row.get("cr")), amount(row.get("db"))));
+        }
+        return days;
+    }
+
+    private static BigDecimal amount(Object value) {
+        return value instanceof Decimal128 decimal ? decimal.bigDecimalValue() : BigDecimal.ZERO;
+    }
+}
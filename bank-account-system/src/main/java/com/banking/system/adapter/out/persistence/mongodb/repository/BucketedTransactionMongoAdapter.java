@@ -0,0 +1,433 @@
+package com.banking.system.adapter.out.persistence.mongodb.repository;
+
+import com.banking.system.adapter.out.persistence.mongodb.document.TransactionCodes;
+import com.banking.system.adapter.out.persistence.mongodb.mapper.TransactionBucketMapper;
+import com.banking.system.application.pagination.CursorPage;
+import com.banking.system.application.pagination.PageCursor;
+import com.banking.system.application.port.out.persistence.TransactionRepository;
+import com.banking.system.domain.model.Transaction;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import jakarta.annotation.PostConstruct;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.Decimal128;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * ADAPTER - transaction history in per-account bucket documents (banking.history.schema=bucketed)
+ *
+ * One document per account and day, holding up to max-entries entries plus running totals:
+ * { acct, day: "2024-01-15", n, cr (credits), db (debits), e: [ entries ] }
+ * A transfer is appended to both accounts' buckets. A month's statement reads ~30 bucket documents
+ * through the (acct, day) index instead of one document and index entry per transaction.
+ *
+ * 1. Entries already stored in ANY bucket of their account (same transaction ID - a retried write)
+ *    are looked up first through the multikey e.i index and left out
+ * 2. Appends are upserts on a bucket of that account and day with room for the whole chunk - a bucket
+ *    without enough room does not match the filter, so the upsert starts the next one and no bucket
+ *    ever holds more than max-entries entries
+ * 3. The update is a pipeline: entries already in the bucket (a retry racing with its first write)
+ *    are left out again, and n and the totals are computed from the entries actually added
+ * 4. Credits and debits only count SUCCESS entries
+ *
+ * Made for account history. Type and status listings have to unwind every bucket.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.history.schema", havingValue = "bucketed")
+public class BucketedTransactionMongoAdapter implements TransactionRepository {
+
+    static final String COLLECTION = "transaction_buckets";
+    private static final Decimal128 ZERO = new Decimal128(BigDecimal.ZERO);
+
+    private final TransactionBucketMapper mapper;
+    private final MongoTemplate mongoTemplate;
+    private final int maxEntries;
+
+    public BucketedTransactionMongoAdapter(TransactionBucketMapper mapper,
+                                           MongoTemplate mongoTemplate,
+                                           @Value("${banking.history.bucket.max-entries:200}") int maxEntries) {
+        this.mapper = mapper;
+        this.mongoTemplate = mongoTemplate;
+        this.maxEntries = maxEntries;
+    }
+
+    @PostConstruct
+    void ensureIndexes() {
+        mongoTemplate.indexOps(COLLECTION)
+                .createIndex(new Index().on("acct", Sort.Direction.ASC).on("day", Sort.Direction.ASC));
+        // Multikey - one key per entry, for lookups by transaction ID
+        mongoTemplate.indexOps(COLLECTION).createIndex(new Index().on("e.i", Sort.Direction.ASC));
+        System.out.println("🗂️ Transaction bucket indexes ready");
+    }
+
+    private MongoCollection<Document> buckets() {
+        return mongoTemplate.getCollection(COLLECTION);
+    }
+
+    @Override
+    public Transaction save(Transaction transaction) {
+        saveAll(List.of(transaction));
+        return transaction;
+    }
+
+    @Override
+    public List<Transaction> saveAll(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return transactions;
+        }
+
+        // 1. Group the entries by bucket - sender's and receiver's account, day of the movement -
+        //    leaving out those already stored (or twice in this batch)
+        Set<StoredEntry> stored = storedEntries(transactions);
+        Map<BucketKey, List<Document>> groups = new LinkedHashMap<>();
+        for (Transaction transaction : transactions) {
+            Document entry = mapper.toEntry(transaction);
+            String day = dayOf(transaction.getTimestamp());
+            for (String account : accountsOf(transaction)) {
+                if (stored.add(new StoredEntry(account, transaction.getTransactionId()))) {
+                    groups.computeIfAbsent(new BucketKey(account, day), key -> new ArrayList<>()).add(entry);
+                }
+            }
+        }
+
+        // 2. One upsert per bucket (at most max-entries entries each), all in one unordered bulk write
+        List<UpdateOneModel<Document>> updates = new ArrayList<>();
+        groups.forEach((key, entries) -> {
+            for (int from = 0; from < entries.size(); from += maxEntries) {
+                updates.add(append(key, entries.subList(from, Math.min(entries.size(), from + maxEntries))));
+            }
+        });
+        if (!updates.isEmpty()) {
+            buckets().bulkWrite(updates, new BulkWriteOptions().ordered(false));
+        }
+        return transactions;
+    }
+
+    // (account, transaction ID) of the batch's entries found in any bucket - one indexed query
+    private Set<StoredEntry> storedEntries(List<Transaction> transactions) {
+        List<String> ids = transactions.stream().map(Transaction::getTransactionId).distinct().toList();
+        Document matchIds = new Document("e.i", new Document("$in", ids));
+        List<Document> pipeline = List.of(
+                new Document("$match", matchIds),
+                new Document("$unwind", "$e"),
+                new Document("$match", matchIds),
+                new Document("$project", new Document("_id", 0).append("acct", 1).append("i", "$e.i")));
+        Set<StoredEntry> stored = new HashSet<>();
+        for (Document row : buckets().aggregate(pipeline).into(new ArrayList<>())) {
+            stored.add(new StoredEntry(row.getString("acct"), row.getString("i")));
+        }
+        return stored;
+    }
+
+    private UpdateOneModel<Document> append(BucketKey key, List<Document> entries) {
+        // Only a bucket with room for every entry of the chunk matches
+        Bson filter = Filters.and(Filters.eq("acct", key.account()), Filters.eq("day", key.day()),
+                Filters.lte("n", maxEntries - entries.size()));
+        List<Document> pipeline = List.of(
+                // New entries = those whose transaction ID is not in the bucket yet
+                new Document("$set", new Document("_new", new Document("$filter", new Document()
+                        .append("input", new Document("$literal", entries))
+                        .append("cond", new Document("$not", List.of(new Document("$in",
+                                List.of("$$this.i", ifNull("$e.i", List.of()))))))))),
+                new Document("$set", new Document()
+                        .append("e", new Document("$concatArrays", List.of(ifNull("$e", List.of()), "$_new")))
+                        .append("n", new Document("$add", List.of(ifNull("$n", 0), new Document("$size", "$_new"))))
+                        .append("cr", new Document("$add", List.of(ifNull("$cr", ZERO), sumAmounts("t", key.account()))))
+                        .append("db", new Document("$add", List.of(ifNull("$db", ZERO), sumAmounts("f", key.account()))))),
+                new Document("$unset", "_new"));
+        return new UpdateOneModel<>(filter, pipeline, new UpdateOptions().upsert(true));
+    }
+
+    static Document ifNull(Object value, Object fallback) {
+        return new Document("$ifNull", List.of(value, fallback));
+    }
+
+    // Sum of the new (_new) successful entries where the account is on the given side
+    static Document sumAmounts(String side, String account) {
+        Document matches = new Document("$filter", new Document()
+                .append("input", "$_new")
+                .append("as", "x")
+                .append("cond", new Document("$and", List.of(
+                        new Document("$eq", List.of("$$x." + side, new Document("$literal", account))),
+                        new Document("$eq", List.of("$$x.s", TransactionCodes.Status.SUCCESS.code))))));
+        return new Document("$sum", new Document("$map", new Document()
+                .append("input", matches)
+                .append("as", "x")
+                .append("in", "$$x.a")));
+    }
+
+    static List<String> accountsOf(Transaction transaction) {
+        List<String> accounts = new ArrayList<>(2);
+        if (transaction.getFromAccount() != null) {
+            accounts.add(transaction.getFromAccount());
+        }
+        if (transaction.getToAccount() != null && !transaction.getToAccount().equals(transaction.getFromAccount())) {
+            accounts.add(transaction.getToAccount());
+        }
+        return accounts;
+    }
+
+    private static String dayOf(LocalDateTime timestamp) {
+        return timestamp.toLocalDate().toString();
+    }
+
+    @Override
+    public Optional<Transaction> findByTransactionId(String transactionId) {
+        // A transfer sits in both accounts' buckets - either copy will do; only the matching entry is returned
+        Document bucket = buckets().find(Filters.eq("e.i", transactionId))
+                .projection(Projections.elemMatch("e", Filters.eq("i", transactionId)))
+                .first();
+        return bucket == null ? Optional.empty() : entriesOf(bucket).stream().findFirst().map(mapper::toDomain);
+    }
+
+    @Override
+    public List<Transaction> findByAccountNumber(String accountNumber) {
+        List<Transaction> transactions = new ArrayList<>();
+        for (Document bucket : buckets().find(Filters.eq("acct", accountNumber)).sort(Sorts.ascending("day"))) {
+            entriesOf(bucket).forEach(entry -> transactions.add(mapper.toDomain(entry)));
+        }
+        return transactions;
+    }
+
+    @Override
+    public List<Transaction> findByAccountNumberBetween(String accountNumber, LocalDateTime from, LocalDateTime to, int limit) {
+        // Whole days from the first to the last one of the range, oldest first
+        Bson filter = Filters.and(Filters.eq("acct", accountNumber),
+                Filters.gte("day", dayOf(from)), Filters.lte("day", dayOf(to.minusNanos(1))));
+        List<Transaction> transactions = new ArrayList<>();
+        String currentDay = null;
+        for (Document bucket : buckets().find(filter).sort(Sorts.ascending("day"))) {
+            String day = bucket.getString("day");
+            if (!day.equals(currentDay) && transactions.size() >= limit) {
+                break;  // enough entries from earlier days
+            }
+            currentDay = day;
+            for (Document entry : entriesOf(bucket)) {
+                Transaction transaction = mapper.toDomain(entry);
+                if (!transaction.getTimestamp().isBefore(from) && transaction.getTimestamp().isBefore(to)) {
+                    transactions.add(transaction);
+                }
+            }
+        }
+        // Entries are appended in arrival order - sort within the days read
+        transactions.sort(Comparator.comparing(Transaction::getTimestamp));
+        return transactions.size() > limit ? new ArrayList<>(transactions.subList(0, limit)) : transactions;
+    }
+
+    /**
+     * Buckets in day order from one cursor; all buckets of a day are collected, sorted and passed on
+     * before the next day is read - memory is one day of the account, whatever the period.
+     */
+    @Override
+    public Stream<Transaction> streamByAccountNumberBetween(String accountNumber, LocalDateTime from, LocalDateTime to, int batchSize) {
+        Bson filter = Filters.and(Filters.eq("acct", accountNumber),
+                Filters.gte("day", dayOf(from)), Filters.lte("day", dayOf(to.minusNanos(1))));
+        MongoCursor<Document> cursor = buckets().find(filter)
+                .sort(Sorts.ascending("day"))
+                .batchSize(Math.max(1, batchSize / maxEntries))
+                .cursor();
+        Iterator<List<Transaction>> days = new Iterator<>() {
+            private Document nextDayFirstBucket;
+
+            @Override
+            public boolean hasNext() {
+                return nextDayFirstBucket != null || cursor.hasNext();
+            }
+
+            @Override
+            public List<Transaction> next() {
+                Document bucket = nextDayFirstBucket != null ? nextDayFirstBucket : cursor.next();
+                nextDayFirstBucket = null;
+                String day = bucket.getString("day");
+                List<Transaction> transactions = new ArrayList<>();
+                while (true) {
+                    for (Document entry : entriesOf(bucket)) {
+                        Transaction transaction = mapper.toDomain(entry);
+                        if (!transaction.getTimestamp().isBefore(from) && transaction.getTimestamp().isBefore(to)) {
+                            transactions.add(transaction);
+                        }
+                    }
+                    if (!cursor.hasNext()) {
+                        break;
+                    }
+                    bucket = cursor.next();
+                    if (!day.equals(bucket.getString("day"))) {
+                        nextDayFirstBucket = bucket;
+                        break;
+                    }
+                }
+                transactions.sort(Comparator.comparing(Transaction::getTimestamp));
+                return transactions;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(days, Spliterator.ORDERED), false)
+                .onClose(cursor::close)
+                .flatMap(List::stream);
+    }
+
+    @Override
+    public List<Transaction> findByType(String type) {
+        return findByCode("k", typeCode(type), null, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Transaction> findByStatus(String status) {
+        return findByCode("s", statusCode(status), null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Newest first by transaction ID. The cursor carries the day and the ID of the last entry, so the
+     * next page starts at that day's buckets.
+     */
+    @Override
+    public CursorPage<Transaction> findPageByAccountNumber(String accountNumber, String cursor, int limit) {
+        String key = PageCursor.decode(cursor);
+        String lastDay = null;
+        String lastId = null;
+        if (key != null) {
+            int separator = key.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid page cursor");
+            }
+            lastDay = key.substring(0, separator);
+            lastId = key.substring(separator + 1);
+        }
+
+        Bson filter = lastDay == null
+                ? Filters.eq("acct", accountNumber)
+                : Filters.and(Filters.eq("acct", accountNumber), Filters.lte("day", lastDay));
+        List<Transaction> transactions = new ArrayList<>();
+        String currentDay = null;
+        for (Document bucket : buckets().find(filter).sort(Sorts.descending("day"))) {
+            String day = bucket.getString("day");
+            if (!day.equals(currentDay) && transactions.size() > limit) {
+                break;  // a full page plus one from newer days
+            }
+            currentDay = day;
+            for (Document entry : entriesOf(bucket)) {
+                if (lastId == null || entry.getString("i").compareTo(lastId) < 0) {
+                    transactions.add(mapper.toDomain(entry));
+                }
+            }
+        }
+        transactions.sort(Comparator.comparing(Transaction::getTransactionId).reversed());
+        return CursorPage.of(transactions.size() > limit + 1 ? transactions.subList(0, limit + 1) : transactions,
+                limit, transaction -> dayOf(transaction.getTimestamp()) + "|" + transaction.getTransactionId());
+    }
+
+    @Override
+    public CursorPage<Transaction> findPageByType(String type, String cursor, int limit) {
+        List<Transaction> rows = findByCode("k", typeCode(type), PageCursor.decode(cursor), limit + 1);
+        return CursorPage.of(rows, limit, Transaction::getTransactionId);
+    }
+
+    @Override
+    public CursorPage<Transaction> findPageByStatus(String status, String cursor, int limit) {
+        List<Transaction> rows = findByCode("s", statusCode(status), PageCursor.decode(cursor), limit + 1);
+        return CursorPage.of(rows, limit, Transaction::getTransactionId);
+    }
+
+    @Override
+    public Stream<Transaction> streamByType(String type, int batchSize) {
+        return streamByCode("k", typeCode(type), batchSize);
+    }
+
+    @Override
+    public Stream<Transaction> streamByStatus(String status, int batchSize) {
+        return streamByCode("s", statusCode(status), batchSize);
+    }
+
+    /**
+     * Unwinds the buckets without grouping: a transfer sits in the sender's and the receiver's bucket,
+     * and only the sender's copy (receiver's for deposits) is passed on - so nothing has to be held
+     * server side to drop duplicates, and entries flow out in batches.
+     */
+    private Stream<Transaction> streamByCode(String field, int code, int batchSize) {
+        List<Document> pipeline = List.of(
+                new Document("$match", new Document("e." + field, code)),
+                new Document("$unwind", "$e"),
+                new Document("$match", new Document("e." + field, code)
+                        .append("$expr", new Document("$eq", List.of("$acct", ifNull("$e.f", "$e.t"))))),
+                new Document("$replaceWith", "$e"));
+        MongoCursor<Document> cursor = buckets().aggregate(pipeline).allowDiskUse(true).batchSize(batchSize).cursor();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED), false)
+                .onClose(cursor::close)
+                .map(mapper::toDomain);
+    }
+
+    // Unwinds the buckets; a transfer sits in two of them, so entries are grouped by transaction ID
+    private List<Transaction> findByCode(String field, int code, String beforeId, int limit) {
+        Document entryMatch = new Document("e." + field, code);
+        if (beforeId != null) {
+            entryMatch.append("e.i", new Document("$lt", beforeId));
+        }
+        List<Document> pipeline = List.of(
+                new Document("$match", new Document("e." + field, code)),
+                new Document("$unwind", "$e"),
+                new Document("$match", entryMatch),
+                new Document("$group", new Document("_id", "$e.i").append("e", new Document("$first", "$e"))),
+                new Document("$sort", new Document("_id", -1)),
+                new Document("$limit", limit));
+        List<Transaction> transactions = new ArrayList<>();
+        for (Document row : buckets().aggregate(pipeline).allowDiskUse(true)) {
+            transactions.add(mapper.toDomain(row.get("e", Document.class)));
+        }
+        return transactions;
+    }
+
+    // Unknown names match nothing
+    private static int typeCode(String type) {
+        for (TransactionCodes.Type known : TransactionCodes.Type.values()) {
+            if (known.name().equals(type)) {
+                return known.code;
+            }
+        }
+        return -1;
+    }
+
+    private static int statusCode(String status) {
+        for (TransactionCodes.Status known : TransactionCodes.Status.values()) {
+            if (known.name().equals(status)) {
+                return known.code;
+            }
+        }
+        return -1;
+    }
+
+    private static List<Document> entriesOf(Document bucket) {
+        List<Document> entries = bucket.getList("e", Document.class);
+        return entries != null ? entries : List.of();
+    }
+
+    record BucketKey(String account, String day) {}
+
+    private record StoredEntry(String account, String transactionId) {}
+}
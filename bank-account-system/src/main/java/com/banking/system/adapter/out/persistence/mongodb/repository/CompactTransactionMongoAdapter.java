@@ -0,0 +1,228 @@
+package com.banking.system.adapter.out.persistence.mongodb.repository;
+
+import com.banking.system.adapter.out.persistence.mongodb.document.CompactTransactionDocument;
+import com.banking.system.adapter.out.persistence.mongodb.document.TransactionCodes;
+import com.banking.system.adapter.out.persistence.mongodb.mapper.CompactTransactionDocumentMapper;
+import com.banking.system.application.pagination.CursorPage;
+import com.banking.system.application.pagination.PageCursor;
+import com.banking.system.application.port.out.persistence.TransactionRepository;
+import com.banking.system.domain.model.Transaction;
+import jakarta.annotation.PostConstruct;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * ADAPTER - transaction history in the compact schema ({@link CompactTransactionDocument})
+ *
+ * Same queries as {@link TransactionMongoAdapter}. The transaction ID is the _id, and IDs sort by time,
+ * so the keyset pages run on _id directly and the primary key doubles as the duplicate check.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.history.schema", havingValue = "compact")
+public class CompactTransactionMongoAdapter implements TransactionRepository {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final CompactTransactionDocumentMapper mapper;
+    private final MongoTemplate mongoTemplate;
+
+    public CompactTransactionMongoAdapter(CompactTransactionDocumentMapper mapper, MongoTemplate mongoTemplate) {
+        this.mapper = mapper;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * (account, _id) for the keyset pages, (account, timestamp) for statements, (code, _id) for type/status pages
+     */
+    @PostConstruct
+    void ensureIndexes() {
+        IndexOperations indexes = mongoTemplate.indexOps(CompactTransactionDocument.class);
+        indexes.createIndex(new Index().on("f", Sort.Direction.ASC).on("_id", Sort.Direction.DESC));
+        indexes.createIndex(new Index().on("t", Sort.Direction.ASC).on("_id", Sort.Direction.DESC));
+        indexes.createIndex(new Index().on("f", Sort.Direction.ASC).on("ts", Sort.Direction.ASC));
+        indexes.createIndex(new Index().on("t", Sort.Direction.ASC).on("ts", Sort.Direction.ASC));
+        indexes.createIndex(new Index().on("k", Sort.Direction.ASC).on("_id", Sort.Direction.DESC));
+        indexes.createIndex(new Index().on("s", Sort.Direction.ASC).on("_id", Sort.Direction.DESC));
+        System.out.println("🗂️ Compact transaction history indexes ready");
+    }
+
+    @Override
+    public Transaction save(Transaction transaction) {
+        // Upsert on _id - saving the same entry twice keeps one document
+        return mapper.toDomain(mongoTemplate.save(mapper.toDocument(transaction)));
+    }
+
+    @Override
+    public List<Transaction> saveAll(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return transactions;
+        }
+        List<CompactTransactionDocument> documents = transactions.stream()
+                .map(mapper::toDocument)
+                .collect(Collectors.toList());
+
+        // Unordered insertMany - documents already stored (same _id) are skipped, anything else fails
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CompactTransactionDocument.class)
+                    .insert(documents)
+                    .execute();
+        } catch (BulkOperationException e) {
+            boolean onlyDuplicates = e.getErrors().stream().allMatch(error -> error.getCode() == DUPLICATE_KEY);
+            if (!onlyDuplicates) {
+                throw e;
+            }
+        }
+        return transactions;
+    }
+
+    @Override
+    public Optional<Transaction> findByTransactionId(String transactionId) {
+        return Optional.ofNullable(mongoTemplate.findById(transactionId, CompactTransactionDocument.class))
+                .map(mapper::toDomain);
+    }
+
+    @Override
+    public List<Transaction> findByAccountNumber(String accountNumber) {
+        return find(new Query(accountCriteria(accountNumber)));
+    }
+
+    @Override
+    public List<Transaction> findByAccountNumberBetween(String accountNumber, LocalDateTime from, LocalDateTime to, int limit) {
+        // One range scan per side, merged in time order (a transfer to itself only on the sender side)
+        List<CompactTransactionDocument> sent = findInPeriod(Criteria.where("fromAccount").is(accountNumber), from, to, limit);
+        List<CompactTransactionDocument> received = findInPeriod(Criteria.where("toAccount").is(accountNumber)
+                .and("fromAccount").ne(accountNumber), from, to, limit);
+        return TransactionMongoAdapter.mergeByTimestamp(sent, received, limit, CompactTransactionDocument::getTimestamp)
+                .stream()
+                .map(mapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Stream<Transaction> streamByAccountNumberBetween(String accountNumber, LocalDateTime from, LocalDateTime to, int batchSize) {
+        return TransactionMongoAdapter.mergeByTimestamp(
+                () -> streamInPeriod(Criteria.where("fromAccount").is(accountNumber), from, to, batchSize),
+                () -> streamInPeriod(Criteria.where("toAccount").is(accountNumber)
+                        .and("fromAccount").ne(accountNumber), from, to, batchSize),
+                CompactTransactionDocument::getTimestamp)
+                .map(mapper::toDomain);
+    }
+
+    private Stream<CompactTransactionDocument> streamInPeriod(Criteria account, LocalDateTime from, LocalDateTime to, int batchSize) {
+        Query query = new Query(account.and("timestamp").gte(from).lt(to))
+                .with(Sort.by(Sort.Direction.ASC, "timestamp"))
+                .cursorBatchSize(batchSize);
+        query.fields().exclude("_class");
+        return mongoTemplate.stream(query, CompactTransactionDocument.class);
+    }
+
+    private List<CompactTransactionDocument> findInPeriod(Criteria account, LocalDateTime from, LocalDateTime to, int limit) {
+        Query query = new Query(account.and("timestamp").gte(from).lt(to))
+                .with(Sort.by(Sort.Direction.ASC, "timestamp"))
+                .limit(limit);
+        return mongoTemplate.find(query, CompactTransactionDocument.class);
+    }
+
+    @Override
+    public List<Transaction> findByType(String type) {
+        return find(new Query(typeCriteria(type)));
+    }
+
+    @Override
+    public List<Transaction> findByStatus(String status) {
+        return find(new Query(statusCriteria(status)));
+    }
+
+    @Override
+    public Stream<Transaction> streamByType(String type, int batchSize) {
+        return stream(typeCriteria(type), batchSize);
+    }
+
+    @Override
+    public Stream<Transaction> streamByStatus(String status, int batchSize) {
+        return stream(statusCriteria(status), batchSize);
+    }
+
+    @Override
+    public CursorPage<Transaction> findPageByAccountNumber(String accountNumber, String cursor, int limit) {
+        return findPage(accountCriteria(accountNumber), cursor, limit);
+    }
+
+    @Override
+    public CursorPage<Transaction> findPageByType(String type, String cursor, int limit) {
+        return findPage(typeCriteria(type), cursor, limit);
+    }
+
+    @Override
+    public CursorPage<Transaction> findPageByStatus(String status, String cursor, int limit) {
+        return findPage(statusCriteria(status), cursor, limit);
+    }
+
+    private Criteria accountCriteria(String accountNumber) {
+        return new Criteria().orOperator(
+                Criteria.where("fromAccount").is(accountNumber),
+                Criteria.where("toAccount").is(accountNumber));
+    }
+
+    // Unknown names match nothing instead of failing
+    private Criteria typeCriteria(String type) {
+        for (TransactionCodes.Type known : TransactionCodes.Type.values()) {
+            if (known.name().equals(type)) {
+                return Criteria.where("type").is(known.code);
+            }
+        }
+        return Criteria.where("type").is(-1);
+    }
+
+    private Criteria statusCriteria(String status) {
+        for (TransactionCodes.Status known : TransactionCodes.Status.values()) {
+            if (known.name().equals(status)) {
+                return Criteria.where("status").is(known.code);
+            }
+        }
+        return Criteria.where("status").is(-1);
+    }
+
+    private List<Transaction> find(Query query) {
+        return mongoTemplate.find(query, CompactTransactionDocument.class).stream()
+                .map(mapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    // Documents are already minimal - only the _class hint is left out (the codes rebuild descriptions)
+    private Stream<Transaction> stream(Criteria filter, int batchSize) {
+        Query query = new Query(filter).cursorBatchSize(batchSize);
+        query.fields().exclude("_class");
+        return mongoTemplate.stream(query, CompactTransactionDocument.class).map(mapper::toDomain);
+    }
+
+    // Keyset page on _id (transaction IDs sort by time): newest first, _id < last seen
+    private CursorPage<Transaction> findPage(Criteria filter, String cursor, int limit) {
+        Query query = new Query(filter);
+        String lastId = PageCursor.decode(cursor);
+        if (lastId != null) {
+            query.addCriteria(Criteria.where("id").lt(lastId));
+        }
+        query.with(Sort.by(Sort.Direction.DESC, "id")).limit(limit + 1);
+
+        List<CompactTransactionDocument> documents = mongoTemplate.find(query, CompactTransactionDocument.class);
+        CursorPage<CompactTransactionDocument> page = CursorPage.of(documents, limit, CompactTransactionDocument::getId);
+        return new CursorPage<>(page.items().stream()
+                .map(mapper::toDomain)
+                .collect(Collectors.toList()), page.nextCursor());
+    }
+}
@@ -2,23 +2,108 @@ package com.banking.system.adapter.out.persistence.mongodb.repository;
 
 import com.banking.system.adapter.out.persistence.mongodb.document.TransactionDocument;
 import com.banking.system.adapter.out.persistence.mongodb.mapper.TransactionDocumentMapper;
+import com.banking.system.application.pagination.CursorPage;
+import com.banking.system.application.pagination.PageCursor;
 import com.banking.system.application.port.out.persistence.TransactionRepository;
 import com.banking.system.domain.model.Transaction;
+import jakarta.annotation.PostConstruct;
+import org.bson.types.ObjectId;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Component
+@ConditionalOnProperty(name = "banking.history.schema", havingValue = "legacy", matchIfMissing = true)
 public class TransactionMongoAdapter implements TransactionRepository {
 
     private final TransactionMongoRepository transactionMongoRepository;
     private final TransactionDocumentMapper transactionDocumentMapper;
+    private final MongoTemplate mongoTemplate;
+
+    private static final int DUPLICATE_KEY = 11000;
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+
+    private volatile TransactionIdIndex transactionIdIndex = TransactionIdIndex.NONE;
 
     public TransactionMongoAdapter(TransactionMongoRepository transactionMongoRepository,
-                                   TransactionDocumentMapper transactionDocumentMapper) {
+                                   TransactionDocumentMapper transactionDocumentMapper,
+                                   MongoTemplate mongoTemplate) {
         this.transactionMongoRepository = transactionMongoRepository;
         this.transactionDocumentMapper = transactionDocumentMapper;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Indexes behind the keyset pages: equality field first, then _id for the sort and the cursor.
+     * (account, timestamp) serve the statement range queries.
+     * The unique transaction ID makes retried bulk inserts safe.
+     * createIndex is a no-op when the same index already exists.
+     */
+    @PostConstruct
+    void ensureIndexes() {
+        IndexOperations indexes = mongoTemplate.indexOps(TransactionDocument.class);
+        indexes.createIndex(new Index().on("from_account", Sort.Direction.ASC).on("_id", Sort.Direction.DESC));
+        indexes.createIndex(new Index().on("to_account", Sort.Direction.ASC).on("_id", Sort.Direction.DESC));
+        indexes.createIndex(new Index().on("from_account", Sort.Direction.ASC).on("timestamp", Sort.Direction.ASC));
+        indexes.createIndex(new Index().on("to_account", Sort.Direction.ASC).on("timestamp", Sort.Direction.ASC));
+        indexes.createIndex(new Index().on("type", Sort.Direction.ASC).on("_id", Sort.Direction.DESC));
+        indexes.createIndex(new Index().on("status", Sort.Direction.ASC).on("_id", Sort.Direction.DESC));
+        ensureUniqueTransactionIds(indexes);
+        System.out.println("🗂️ Transaction history indexes ready");
+    }
+
+    // History written before Snowflake IDs can hold colliding 8-hex IDs, and the unique index can't be built
+    // over them. Those entries are distinct transactions, so nothing is deleted. Instead a partial unique index
+    // covers the entries this writer marks with unique_id, so retried bulk inserts (outbox relay, spool replay)
+    // are still rejected as duplicates. Old entries stay unchecked until the duplicates are resolved by hand.
+    private void ensureUniqueTransactionIds(IndexOperations indexes) {
+        try {
+            indexes.createIndex(new Index().on("transaction_id", Sort.Direction.ASC).unique());
+            transactionIdIndex = TransactionIdIndex.ALL_ENTRIES;
+            return;
+        } catch (DataAccessException e) {
+            System.err.println("❌ Unique transaction_id index not created - the history holds duplicate IDs"
+                    + " (find them with an aggregation grouping on transaction_id, then restart): " + e.getMessage());
+        }
+        try {
+            indexes.createIndex(new Index().on("transaction_id", Sort.Direction.ASC).on("unique_id", Sort.Direction.ASC)
+                    .unique()
+                    .partial(PartialIndexFilter.of(Criteria.where("unique_id").is(true))));
+            transactionIdIndex = TransactionIdIndex.NEW_ENTRIES_ONLY;
+            System.err.println("⚠️ transaction_id is unique for new entries only - see /api/debug/history-index");
+        } catch (DataAccessException e) {
+            transactionIdIndex = TransactionIdIndex.NONE;
+            System.err.println("❌ No unique transaction_id index - retried inserts may store entries twice: "
+                    + e.getMessage());
+        }
+    }
+
+    public TransactionIdIndex transactionIdIndex() {
+        return transactionIdIndex;
     }
 
     @Override
@@ -33,6 +118,38 @@ public class TransactionMongoAdapter implements TransactionRepository {
         return transactionDocumentMapper.toDomain(savedDocument);
     }
 
+    @Override
+    public List<Transaction> saveAll(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return transactions;
+        }
+        List<TransactionDocument> documents = transactions.stream()
+                .map(transactionDocumentMapper::toDocument)
+                .collect(Collectors.toList());
+
+        // Unordered insertMany - one round trip, and one bad document does not stop the others
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TransactionDocument.class)
+                    .insert(documents)
+                    .execute();
+        } catch (BulkOperationException e) {
+            // Entries already stored by an earlier (retried) insert are fine - anything else is not
+            boolean onlyDuplicates = e.getErrors().stream().allMatch(error -> error.getCode() == DUPLICATE_KEY);
+            if (!onlyDuplicates) {
+                throw e;
+            }
+        }
+        return transactions;
+    }
+
+    @Override
+    public Optional<Transaction> findByTransactionId(String transactionId) {
+        // Indexed on transaction_id - with duplicate IDs in old history, the first match
+        Query query = new Query(Criteria.where("transactionId").is(transactionId));
+        return Optional.ofNullable(mongoTemplate.findOne(query, TransactionDocument.class))
+                .map(transactionDocumentMapper::toDomain);
+    }
+
     @Override
     public List<Transaction> findByAccountNumber(String accountNumber) {
         // Find all transactions where account was sender OR receiver
@@ -46,18 +163,195 @@ public class TransactionMongoAdapter implements TransactionRepository {
     }
 
     @Override
-    public List<Transaction> findByType(String type) {
-        List<TransactionDocument> documents = transactionMongoRepository.findByType(type);
-        return documents.stream()
+    public List<Transaction> findByAccountNumberBetween(String accountNumber, LocalDateTime from, LocalDateTime to, int limit) {
+        // One index range scan per side instead of an $or over the whole history, then merged in time order
+        // (a transfer to itself is on both sides - only the sender side keeps it)
+        List<TransactionDocument> sent = findInPeriod(Criteria.where("fromAccount").is(accountNumber), from, to, limit);
+        List<TransactionDocument> received = findInPeriod(Criteria.where("toAccount").is(accountNumber)
+                .and("fromAccount").ne(accountNumber), from, to, limit);
+        return mergeByTimestamp(sent, received, limit, TransactionDocument::getTimestamp).stream()
                 .map(transactionDocumentMapper::toDomain)
                 .collect(Collectors.toList());
     }
 
+    private List<TransactionDocument> findInPeriod(Criteria account, LocalDateTime from, LocalDateTime to, int limit) {
+        Query query = new Query(account.and("timestamp").gte(from).lt(to))
+                .with(Sort.by(Sort.Direction.ASC, "timestamp"))
+                .limit(limit);
+        return mongoTemplate.find(query, TransactionDocument.class);
+    }
+
+    @Override
+    public Stream<Transaction> streamByAccountNumberBetween(String accountNumber, LocalDateTime from, LocalDateTime to, int batchSize) {
+        // The same two range scans, merged while both cursors are read
+        return mergeByTimestamp(
+                () -> streamInPeriod(Criteria.where("fromAccount").is(accountNumber), from, to, batchSize),
+                () -> streamInPeriod(Criteria.where("toAccount").is(accountNumber)
+                        .and("fromAccount").ne(accountNumber), from, to, batchSize),
+                TransactionDocument::getTimestamp)
+                .map(transactionDocumentMapper::toDomain);
+    }
+
+    private Stream<TransactionDocument> streamInPeriod(Criteria account, LocalDateTime from, LocalDateTime to, int batchSize) {
+        Query query = new Query(account.and("timestamp").gte(from).lt(to))
+                .with(Sort.by(Sort.Direction.ASC, "timestamp"))
+                .cursorBatchSize(batchSize);
+        query.fields().exclude("id").exclude("_class");
+        return mongoTemplate.stream(query, TransactionDocument.class);
+    }
+
+    // Both lists are sorted by timestamp
+    static <D> List<D> mergeByTimestamp(List<D> a, List<D> b, int limit, Function<D, LocalDateTime> timestamp) {
+        List<D> merged = new ArrayList<>(Math.min(limit, a.size() + b.size()));
+        int i = 0;
+        int j = 0;
+        while (merged.size() < limit && (i < a.size() || j < b.size())) {
+            if (j >= b.size() || (i < a.size() && !timestamp.apply(a.get(i)).isAfter(timestamp.apply(b.get(j))))) {
+                merged.add(a.get(i++));
+            } else {
+                merged.add(b.get(j++));
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Streaming merge of two streams sorted by timestamp - one entry of each is held at a time.
+     * Closing the result closes both; if the second one cannot be opened the first is closed.
+     */
+    static <D> Stream<D> mergeByTimestamp(Supplier<Stream<D>> first, Supplier<Stream<D>> second,
+                                          Function<D, LocalDateTime> timestamp) {
+        Stream<D> a = first.get();
+        Stream<D> b;
+        try {
+            b = second.get();
+        } catch (RuntimeException e) {
+            a.close();
+            throw e;
+        }
+        Iterator<D> left = a.iterator();
+        Iterator<D> right = b.iterator();
+        Iterator<D> merged = new Iterator<>() {
+            private D nextLeft;
+            private D nextRight;
+
+            @Override
+            public boolean hasNext() {
+                return nextLeft != null || nextRight != null || left.hasNext() || right.hasNext();
+            }
+
+            @Override
+            public D next() {
+                if (nextLeft == null && left.hasNext()) {
+                    nextLeft = left.next();
+                }
+                if (nextRight == null && right.hasNext()) {
+                    nextRight = right.next();
+                }
+                if (nextLeft == null && nextRight == null) {
+                    throw new NoSuchElementException();
+                }
+                D next;
+                if (nextRight == null || (nextLeft != null && !timestamp.apply(nextLeft).isAfter(timestamp.apply(nextRight)))) {
+                    next = nextLeft;
+                    nextLeft = null;
+                } else {
+                    next = nextRight;
+                    nextRight = null;
+                }
+                return next;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged, Spliterator.ORDERED), false)
+                .onClose(() -> {
+                    try {
+                        a.close();
+                    } finally {
+                        b.close();
+                    }
+                });
+    }
+
+    @Override
+    public List<Transaction> findByType(String type) {
+        // Straight from the cursor into one list - no intermediate document list
+        try (Stream<Transaction> transactions = streamByType(type, DEFAULT_BATCH_SIZE)) {
+            return transactions.collect(Collectors.toList());
+        }
+    }
+
     @Override
     public List<Transaction> findByStatus(String status) {
-        List<TransactionDocument> documents = transactionMongoRepository.findByStatus(status);
-        return documents.stream()
+        try (Stream<Transaction> transactions = streamByStatus(status, DEFAULT_BATCH_SIZE)) {
+            return transactions.collect(Collectors.toList());
+        }
+    }
+
+    @Override
+    public Stream<Transaction> streamByType(String type, int batchSize) {
+        return stream("type", type, batchSize, transaction -> transaction.setType(type));
+    }
+
+    @Override
+    public Stream<Transaction> streamByStatus(String status, int batchSize) {
+        return stream("status", status, batchSize, transaction -> transaction.setStatus(status));
+    }
+
+    /**
+     * Cursor over the (field, _id) index. The projection leaves out what the export does not need:
+     * the ObjectId, the _class hint and the filtered field itself - every match has the same value,
+     * it is set back on the way out.
+     */
+    private Stream<Transaction> stream(String field, String value, int batchSize, Consumer<Transaction> restore) {
+        Query query = new Query(Criteria.where(field).is(value)).cursorBatchSize(batchSize);
+        query.fields().exclude("id").exclude("_class").exclude(field);
+        return mongoTemplate.stream(query, TransactionDocument.class).map(document -> {
+            Transaction transaction = transactionDocumentMapper.toDomain(document);
+            restore.accept(transaction);
+            return transaction;
+        });
+    }
+
+    @Override
+    public CursorPage<Transaction> findPageByAccountNumber(String accountNumber, String cursor, int limit) {
+        // Sender OR receiver - each branch uses its own (account, _id) index
+        return findPage(new Criteria().orOperator(
+                Criteria.where("fromAccount").is(accountNumber),
+                Criteria.where("toAccount").is(accountNumber)), cursor, limit);
+    }
+
+    @Override
+    public CursorPage<Transaction> findPageByType(String type, String cursor, int limit) {
+        return findPage(Criteria.where("type").is(type), cursor, limit);
+    }
+
+    @Override
+    public CursorPage<Transaction> findPageByStatus(String status, String cursor, int limit) {
+        return findPage(Criteria.where("status").is(status), cursor, limit);
+    }
+
+    /**
+     * Keyset page on _id (ObjectIds grow with insertion time): newest first, _id < last seen.
+     * No skip() - the cost of a page does not depend on how deep it is.
+     */
+    private CursorPage<Transaction> findPage(Criteria filter, String cursor, int limit) {
+        Query query = new Query(filter);
+        String lastId = PageCursor.decode(cursor);
+        if (lastId != null) {
+            if (!ObjectId.isValid(lastId)) {
+                throw new IllegalArgumentException("Invalid page cursor");
+            }
+            query.addCriteria(Criteria.where("id").lt(new ObjectId(lastId)));
+        }
+        query.with(Sort.by(Sort.Direction.DESC, "id")).limit(limit + 1);
+
+        List<TransactionDocument> documents = mongoTemplate.find(query, TransactionDocument.class);
+        CursorPage<TransactionDocument> page = CursorPage.of(documents, limit, TransactionDocument::getId);
+        return new CursorPage<>(page.items().stream()
                 .map(transactionDocumentMapper::toDomain)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()), page.nextCursor());
     }
-}
\ No newline at end of file
+
+    // Which entries the unique transaction_id index covers - duplicates are only rejected within it
+    public enum TransactionIdIndex { ALL_ENTRIES, NEW_ENTRIES_ONLY, NONE }
+}
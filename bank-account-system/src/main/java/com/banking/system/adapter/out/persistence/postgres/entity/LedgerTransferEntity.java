@@ -0,0 +1,49 @@
+package com.banking.system.adapter.out.persistence.postgres.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Schema of the ledger's cross-shard transfer journal - rows are written and read with plain JDBC
+ * (LedgerTransferJournalPostgresRepository), the entity only lets ddl-auto manage the table
+ */
+@Entity
+@Table(name = "ledger_transfers")
+public class LedgerTransferEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;  // recovery replays oldest first
+
+    @Column(name = "from_account", nullable = false)
+    private String fromAccount;
+
+    @Column(name = "to_account", nullable = false)
+    private String toAccount;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    @Column(nullable = false, length = 16)
+    private String stage;  // PENDING, DEBITED - finished transfers are deleted
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    // Default constructor (required by JPA)
+    public LedgerTransferEntity() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getStage() {
+        return stage;
+    }
+}
@@ -0,0 +1,66 @@
+package com.banking.system.adapter.out.persistence.postgres.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * Schema of the transaction outbox - rows are written and read with plain JDBC
+ * (TransactionOutboxPostgresRepository), the entity only lets ddl-auto manage the table
+ */
+@Entity
+@Table(name = "transaction_outbox")
+public class TransactionOutboxEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;  // insertion order - the relay publishes oldest first
+
+    @Column(name = "transaction_id", nullable = false, unique = true, length = 32)
+    private String transactionId;
+
+    @Column(name = "from_account")
+    private String fromAccount;
+
+    @Column(name = "to_account")
+    private String toAccount;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    @Column(nullable = false, length = 32)
+    private String type;
+
+    @Column(nullable = false, length = 16)
+    private String status;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(length = 512)
+    private String description;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    // Default constructor (required by JPA)
+    public TransactionOutboxEntity() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -3,6 +3,7 @@ package com.banking.system.adapter.out.persistence.postgres.mapper;
 import com.banking.system.adapter.out.persistence.postgres.entity.BankAccountEntity;
 import com.banking.system.adapter.out.persistence.postgres.entity.UserEntity;
 import com.banking.system.domain.model.BankAccount;
+import com.banking.system.domain.model.Money;
 import com.banking.system.domain.model.User;
 import org.springframework.stereotype.Component;
 
@@ -26,7 +27,7 @@ public class BankAccountEntityMapper {
         BankAccountEntity entity = new BankAccountEntity();
         entity.setId(bankAccount.getId());
         entity.setAccountNumber(bankAccount.getAccountNumber());
-        entity.setBalance(bankAccount.getBalance());
+        entity.setBalance(bankAccount.balance().toBigDecimal());
         entity.setCurrency(bankAccount.getCurrency());
         entity.setUser(userEntity);
 
@@ -44,8 +45,8 @@ public class BankAccountEntityMapper {
         BankAccount bankAccount = new BankAccount();
         bankAccount.setId(entity.getId());
         bankAccount.setAccountNumber(entity.getAccountNumber());
-        bankAccount.setBalance(entity.getBalance());
-        bankAccount.setCurrency(entity.getCurrency());
+        bankAccount.setCurrency(entity.getCurrency());  // currency first - it decides the balance scale
+        bankAccount.updateBalance(Money.of(entity.getBalance(), entity.getCurrency()));
         bankAccount.setUser(user);
 
         return bankAccount;
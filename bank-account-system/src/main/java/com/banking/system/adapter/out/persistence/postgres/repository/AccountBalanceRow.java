@@ -0,0 +1,6 @@
+package com.banking.system.adapter.out.persistence.postgres.repository;
+
+import java.math.BigDecimal;
+
+// JPQL constructor projection - three columns of bank_accounts JOIN users
+public record AccountBalanceRow(BigDecimal balance, String currency, boolean ownerBlocked) {}
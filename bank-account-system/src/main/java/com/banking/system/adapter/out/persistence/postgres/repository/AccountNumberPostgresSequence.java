@@ -0,0 +1,46 @@
+package com.banking.system.adapter.out.persistence.postgres.repository;
+
+import com.banking.system.application.port.out.persistence.AccountNumberSequence;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * ADAPTER - Account number blocks from a PostgreSQL sequence
+ *
+ * The sequence increments by the block size, so one nextval() reserves a whole block.
+ * The block size is read back from the sequence itself - changing banking.ids.account-block-size
+ * later cannot make blocks overlap, it only applies to newly created databases.
+ */
+@Component
+public class AccountNumberPostgresSequence implements AccountNumberSequence {
+
+    private static final String SEQUENCE = "account_number_seq";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int configuredBlockSize;
+    private int blockSize;
+
+    public AccountNumberPostgresSequence(JdbcTemplate jdbcTemplate,
+                                         @Value("${banking.ids.account-block-size:100}") int configuredBlockSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.configuredBlockSize = configuredBlockSize;
+    }
+
+    @PostConstruct
+    void createSequence() {
+        // ddl-auto does not manage sequences that no entity uses
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + SEQUENCE
+                + " START WITH 1 INCREMENT BY " + configuredBlockSize);
+        Integer increment = jdbcTemplate.queryForObject(
+                "SELECT increment_by FROM pg_sequences WHERE sequencename = ?", Integer.class, SEQUENCE);
+        this.blockSize = increment != null ? increment : configuredBlockSize;
+    }
+
+    @Override
+    public Block nextBlock() {
+        Long start = jdbcTemplate.queryForObject("SELECT nextval('" + SEQUENCE + "')", Long.class);
+        return new Block(start, blockSize);
+    }
+}
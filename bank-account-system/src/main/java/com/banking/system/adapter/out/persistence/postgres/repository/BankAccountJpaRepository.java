@@ -1,20 +1,35 @@
 package com.banking.system.adapter.out.persistence.postgres.repository;
 
 import com.banking.system.adapter.out.persistence.postgres.entity.BankAccountEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BankAccountJpaRepository extends JpaRepository<BankAccountEntity, Long> {
 
+    // The owner is LAZY - every read that maps to the domain model fetches it in the same SELECT
+    // (entity graph = LEFT JOIN users), otherwise the mapper triggers one extra query per account
+
+    @EntityGraph(attributePaths = "user")
     Optional<BankAccountEntity> findByAccountNumber(String accountNumber);
     // Spring Data JPA automatically creates this SQL:
     // SELECT * FROM bank_accounts WHERE account_number = ?
     // And handles: Parameters, Execution, Result mapping, Optional wrapping
 
+    @EntityGraph(attributePaths = "user")
     List<BankAccountEntity> findByUserId(Long userId);
     /** Spring looks at BankAccountEntity and sees:
     *@ManyToOne
@@ -26,4 +41,68 @@ public interface BankAccountJpaRepository extends JpaRepository<BankAccountEntit
     */
 
     boolean existsByAccountNumber(String accountNumber);
-}
\ No newline at end of file
+
+    @Override
+    @EntityGraph(attributePaths = "user")
+    Optional<BankAccountEntity> findById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = "user")
+    List<BankAccountEntity> findAll();
+
+    // Keyset page: WHERE id > :lastId ORDER BY id LIMIT n - uses the primary key index at any depth
+    @EntityGraph(attributePaths = "user")
+    List<BankAccountEntity> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Balance, currency and owner's blocked flag only - no entities, no persistence context
+     * (what getBalance and the blocked-owner check need)
+     */
+    @Query("SELECT new com.banking.system.adapter.out.persistence.postgres.repository.AccountBalanceRow(" +
+            "a.balance, a.currency, u.blocked) " +
+            "FROM BankAccountEntity a JOIN a.user u WHERE a.accountNumber = :accountNumber")
+    Optional<AccountBalanceRow> findBalanceRow(@Param("accountNumber") String accountNumber);
+
+    // One IN query, owners fetched in the same SELECT
+    @Query("SELECT a FROM BankAccountEntity a JOIN FETCH a.user WHERE a.accountNumber IN :accountNumbers")
+    List<BankAccountEntity> findAllByAccountNumberIn(@Param("accountNumbers") Collection<String> accountNumbers);
+
+    /**
+     * Add to the balance in one statement - the database does the arithmetic,
+     * so concurrent deposits can never overwrite each other.
+     * RETURNING hands back the new balance without a second SELECT.
+     */
+    @Transactional
+    @Query(value = "UPDATE bank_accounts SET balance = balance + :amount " +
+            "WHERE account_number = :accountNumber " +
+            "RETURNING balance", nativeQuery = true)
+    Optional<BigDecimal> incrementBalance(@Param("accountNumber") String accountNumber,
+                                          @Param("amount") BigDecimal amount);
+
+    /**
+     * Subtract from the balance in one statement, guarded by the WHERE clause:
+     * no row is updated (empty result) when the funds are not there.
+     */
+    @Transactional
+    @Query(value = "UPDATE bank_accounts SET balance = balance - :amount " +
+            "WHERE account_number = :accountNumber AND balance >= :amount " +
+            "RETURNING balance", nativeQuery = true)
+    Optional<BigDecimal> decrementBalanceIfSufficient(@Param("accountNumber") String accountNumber,
+                                                      @Param("amount") BigDecimal amount);
+
+    // Overwrites the balance without loading the entity first
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE BankAccountEntity a SET a.balance = :balance WHERE a.id = :id")
+    int updateBalance(@Param("id") Long id, @Param("balance") BigDecimal balance);
+
+    /**
+     * SELECT ... FOR UPDATE on several accounts at once.
+     * ORDER BY gives every caller the same lock acquisition order (canonical order),
+     * so two transfers touching the same rows queue up instead of deadlocking.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM BankAccountEntity a JOIN FETCH a.user " +
+            "WHERE a.accountNumber IN :accountNumbers ORDER BY a.accountNumber")
+    List<BankAccountEntity> findAllForUpdate(@Param("accountNumbers") Collection<String> accountNumbers);
+}
@@ -4,23 +4,34 @@ import com.banking.system.adapter.out.persistence.postgres.entity.BankAccountEnt
 import com.banking.system.adapter.out.persistence.postgres.mapper.BankAccountEntityMapper;
 import com.banking.system.application.port.out.persistence.BankAccountRepository;
 import com.banking.system.domain.model.BankAccount;
+import com.banking.system.domain.model.Money;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Component
 public class BankAccountPostgresRepository implements BankAccountRepository {
 
+    private static final int JDBC_BATCH_SIZE = 500;
+
     private final BankAccountJpaRepository bankAccountJpaRepository;
     private final BankAccountEntityMapper bankAccountEntityMapper;
+    private final JdbcTemplate jdbcTemplate;
 
     public BankAccountPostgresRepository(BankAccountJpaRepository bankAccountJpaRepository,
-                                         BankAccountEntityMapper bankAccountEntityMapper) {
+                                         BankAccountEntityMapper bankAccountEntityMapper,
+                                         JdbcTemplate jdbcTemplate) {
         this.bankAccountJpaRepository = bankAccountJpaRepository;
         this.bankAccountEntityMapper = bankAccountEntityMapper;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     @Override
@@ -49,6 +60,19 @@ public class BankAccountPostgresRepository implements BankAccountRepository {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<BankAccount> findByAccountNumbers(Collection<String> accountNumbers) {
+        return bankAccountJpaRepository.findAllByAccountNumberIn(accountNumbers).stream()
+                .map(bankAccountEntityMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Optional<BalanceSnapshot> findBalanceSnapshot(String accountNumber) {
+        return bankAccountJpaRepository.findBalanceRow(accountNumber)
+                .map(row -> new BalanceSnapshot(Money.of(row.balance(), row.currency()), row.ownerBlocked()));
+    }
+
     @Override
     public boolean existsByAccountNumber(String accountNumber) {
         return bankAccountJpaRepository.existsByAccountNumber(accountNumber);
@@ -67,11 +91,49 @@ public class BankAccountPostgresRepository implements BankAccountRepository {
     }
 
     @Override
-    public void updateBalance(Long accountId, BigDecimal newBalance) {
-        // For performance, we can update just the balance without full object mapping
-        bankAccountJpaRepository.findById(accountId).ifPresent(account -> {
-            account.setBalance(newBalance);
-            bankAccountJpaRepository.save(account);
-        });
-    }
-}
\ No newline at end of file
+    public void updateBalance(Long accountId, Money newBalance) {
+        // Single UPDATE statement - no need to load and re-save the whole entity
+        bankAccountJpaRepository.updateBalance(accountId, newBalance.toBigDecimal());
+    }
+
+    @Override
+    public Optional<Money> incrementBalance(String accountNumber, Money amount) {
+        return bankAccountJpaRepository.incrementBalance(accountNumber, amount.toBigDecimal())
+                .map(balance -> Money.of(balance, amount.getCurrency()));
+    }
+
+    @Override
+    public Optional<Money> decrementBalanceIfSufficient(String accountNumber, Money amount) {
+        return bankAccountJpaRepository.decrementBalanceIfSufficient(accountNumber, amount.toBigDecimal())
+                .map(balance -> Money.of(balance, amount.getCurrency()));
+    }
+
+    @Override
+    public List<BankAccount> findPageAfter(long afterId, int limit) {
+        return bankAccountJpaRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit)).stream()
+                .map(bankAccountEntityMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<BankAccount> findAllForUpdate(Collection<String> accountNumbers) {
+        return bankAccountJpaRepository.findAllForUpdate(accountNumbers).stream()
+                .map(bankAccountEntityMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public void updateBalances(Map<Long, Money> balances) {
+        if (balances.isEmpty()) {
+            return;
+        }
+        // Plain JDBC batches - one round trip per chunk instead of one UPDATE per account
+        List<Map.Entry<Long, Money>> rows = new ArrayList<>(balances.entrySet());
+        jdbcTemplate.batchUpdate("UPDATE bank_accounts SET balance = ? WHERE id = ?", rows, JDBC_BATCH_SIZE,
+                (statement, row) -> {
+                    statement.setBigDecimal(1, row.getValue().toBigDecimal());
+                    statement.setLong(2, row.getKey());
+                });
+    }
+}
@@ -0,0 +1,54 @@
+package com.banking.system.adapter.out.persistence.postgres.repository;
+
+import com.banking.system.adapter.out.persistence.postgres.entity.IdempotencyKeyEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Repository
+public interface IdempotencyKeyJpaRepository extends JpaRepository<IdempotencyKeyEntity, String> {
+
+    /**
+     * Insert the key, or take over an EXPIRED entry with the same key - a completed one past its TTL,
+     * or a reservation whose lease ran out (its node crashed).
+     * Returns 0 when a live entry exists - the primary key makes this race-free across nodes.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO idempotency_keys (idempotency_key, scope, owner, created_at, expires_at) " +
+            "VALUES (:key, :scope, :owner, now(), :expiresAt) " +
+            "ON CONFLICT (idempotency_key) DO UPDATE SET scope = EXCLUDED.scope, owner = EXCLUDED.owner, " +
+            "response_body = NULL, created_at = EXCLUDED.created_at, expires_at = EXCLUDED.expires_at " +
+            "WHERE idempotency_keys.expires_at < now()", nativeQuery = true)
+    int reserve(@Param("key") String key, @Param("scope") String scope, @Param("owner") String owner,
+                @Param("expiresAt") Instant expiresAt);
+
+    // Only the owner's running reservation, and only while its lease has not run out
+    @Modifying
+    @Transactional
+    @Query("UPDATE IdempotencyKeyEntity k SET k.expiresAt = :expiresAt " +
+            "WHERE k.key = :key AND k.owner = :owner AND k.responseBody IS NULL AND k.expiresAt > CURRENT_TIMESTAMP")
+    int renew(@Param("key") String key, @Param("owner") String owner, @Param("expiresAt") Instant expiresAt);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE IdempotencyKeyEntity k SET k.responseBody = :responseBody, k.expiresAt = :expiresAt " +
+            "WHERE k.key = :key AND k.owner = :owner")
+    int complete(@Param("key") String key, @Param("owner") String owner, @Param("responseBody") String responseBody,
+                 @Param("expiresAt") Instant expiresAt);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyKeyEntity k WHERE k.key = :key AND k.owner = :owner")
+    int release(@Param("key") String key, @Param("owner") String owner);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyKeyEntity k WHERE k.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,52 @@
+package com.banking.system.adapter.out.persistence.postgres.repository;
+
+import com.banking.system.application.port.out.persistence.IdempotencyKeyRepository;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * ADAPTER - Idempotency keys in PostgreSQL, so every node sees the same reservations
+ */
+@Component
+public class IdempotencyKeyPostgresRepository implements IdempotencyKeyRepository {
+
+    private final IdempotencyKeyJpaRepository idempotencyKeyJpaRepository;
+
+    public IdempotencyKeyPostgresRepository(IdempotencyKeyJpaRepository idempotencyKeyJpaRepository) {
+        this.idempotencyKeyJpaRepository = idempotencyKeyJpaRepository;
+    }
+
+    @Override
+    public boolean reserve(String key, String scope, String owner, Instant leaseUntil) {
+        return idempotencyKeyJpaRepository.reserve(key, scope, owner, leaseUntil) == 1;
+    }
+
+    @Override
+    public boolean renew(String key, String owner, Instant leaseUntil) {
+        return idempotencyKeyJpaRepository.renew(key, owner, leaseUntil) == 1;
+    }
+
+    @Override
+    public Optional<StoredResponse> find(String key) {
+        return idempotencyKeyJpaRepository.findById(key)
+                .filter(entity -> entity.getExpiresAt().isAfter(Instant.now()))
+                .map(entity -> new StoredResponse(entity.getScope(), entity.getResponseBody()));
+    }
+
+    @Override
+    public boolean complete(String key, String owner, String responseBody, Instant expiresAt) {
+        return idempotencyKeyJpaRepository.complete(key, owner, responseBody, expiresAt) == 1;
+    }
+
+    @Override
+    public void release(String key, String owner) {
+        idempotencyKeyJpaRepository.release(key, owner);
+    }
+
+    @Override
+    public int deleteExpired(Instant now) {
+        return idempotencyKeyJpaRepository.deleteExpired(now);
+    }
+}
@@ -0,0 +1,68 @@
+package com.banking.system.adapter.out.persistence.postgres.repository;
+
+import com.banking.system.application.port.out.persistence.LedgerTransferJournal;
+import com.banking.system.domain.model.Money;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * ADAPTER - Ledger transfer journal in PostgreSQL (table ledger_transfers)
+ *
+ * Plain JDBC like the outbox: the stage updates join the ledger shard's group-commit transaction.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.ledger.enabled", havingValue = "true")
+public class LedgerTransferJournalPostgresRepository implements LedgerTransferJournal {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LedgerTransferJournalPostgresRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)  // durable before the debit, whatever the caller does
+    public long begin(String fromAccountNumber, String toAccountNumber, Money amount) {
+        Long id = jdbcTemplate.queryForObject("INSERT INTO ledger_transfers (from_account, to_account, amount, " +
+                        "currency, stage, created_at) VALUES (?, ?, ?, ?, ?, ?) RETURNING id", Long.class,
+                fromAccountNumber, toAccountNumber, amount.toBigDecimal(), amount.getCurrency(),
+                Stage.PENDING.name(), Timestamp.from(Instant.now()));
+        if (id == null) {
+            throw new IllegalStateException("No ID returned for ledger transfer " + fromAccountNumber + " -> " + toAccountNumber);
+        }
+        return id;
+    }
+
+    @Override
+    public void markDebited(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("UPDATE ledger_transfers SET stage = ? WHERE id = ANY(?)",
+                Stage.DEBITED.name(), ids.toArray(new Long[0]));
+    }
+
+    @Override
+    public void finish(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("DELETE FROM ledger_transfers WHERE id = ANY(?)", (Object) ids.toArray(new Long[0]));
+    }
+
+    @Override
+    public List<PendingTransfer> unfinished() {
+        return jdbcTemplate.query("SELECT id, from_account, to_account, amount, currency, stage " +
+                        "FROM ledger_transfers ORDER BY id",
+                (row, rowNum) -> new PendingTransfer(row.getLong("id"), row.getString("from_account"),
+                        row.getString("to_account"), Money.of(row.getBigDecimal("amount"), row.getString("currency")),
+                        Stage.valueOf(row.getString("stage"))));
+    }
+}
@@ -0,0 +1,92 @@
+package com.banking.system.adapter.out.persistence.postgres.repository;
+
+import com.banking.system.application.port.out.persistence.TransactionOutbox;
+import com.banking.system.domain.model.Transaction;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * ADAPTER - Transaction outbox in PostgreSQL (table transaction_outbox)
+ *
+ * Plain JDBC: the inserts are batched and join the caller's transaction,
+ * and the relay needs FOR UPDATE SKIP LOCKED, which JPQL cannot express.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class TransactionOutboxPostgresRepository implements TransactionOutbox {
+
+    private static final int JDBC_BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransactionOutboxPostgresRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void append(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate("INSERT INTO transaction_outbox (transaction_id, from_account, to_account, " +
+                        "amount, currency, type, status, occurred_at, description, created_at) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", transactions, JDBC_BATCH_SIZE,
+                (statement, transaction) -> {
+                    statement.setString(1, transaction.getTransactionId());
+                    statement.setString(2, transaction.getFromAccount());
+                    statement.setString(3, transaction.getToAccount());
+                    statement.setBigDecimal(4, transaction.getAmount());
+                    statement.setString(5, transaction.getCurrency());
+                    statement.setString(6, transaction.getType());
+                    statement.setString(7, transaction.getStatus());
+                    statement.setTimestamp(8, Timestamp.valueOf(transaction.getTimestamp()));
+                    statement.setString(9, transaction.getDescription());
+                    statement.setTimestamp(10, now);
+                });
+    }
+
+    @Override
+    public List<OutboxEntry> claimBatch(int limit) {
+        return jdbcTemplate.query("SELECT id, transaction_id, from_account, to_account, amount, currency, type, " +
+                        "status, occurred_at, description FROM transaction_outbox " +
+                        "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED",
+                (row, rowNum) -> {
+                    Transaction transaction = new Transaction(row.getString("from_account"),
+                            row.getString("to_account"), row.getBigDecimal("amount"), row.getString("currency"),
+                            row.getString("type"), row.getString("status"), row.getString("description"));
+                    transaction.setTransactionId(row.getString("transaction_id"));
+                    transaction.setTimestamp(row.getTimestamp("occurred_at").toLocalDateTime());
+                    return new OutboxEntry(row.getLong("id"), transaction);
+                }, limit);
+    }
+
+    @Override
+    public void delete(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("DELETE FROM transaction_outbox WHERE id = ANY(?)",
+                (Object) ids.toArray(new Long[0]));
+    }
+
+    @Override
+    public long countPending() {
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM transaction_outbox", Long.class);
+        return count != null ? count : 0;
+    }
+
+    @Override
+    public Optional<Instant> oldestPendingCreatedAt() {
+        // Smallest id = oldest row - an index lookup instead of a scan over created_at
+        List<Timestamp> oldest = jdbcTemplate.queryForList(
+                "SELECT created_at FROM transaction_outbox ORDER BY id LIMIT 1", Timestamp.class);
+        return oldest.stream().findFirst().map(Timestamp::toInstant);
+    }
+}
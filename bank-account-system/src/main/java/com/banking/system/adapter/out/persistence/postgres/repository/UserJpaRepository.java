@@ -1,9 +1,11 @@
 package com.banking.system.adapter.out.persistence.postgres.repository;
 
 import com.banking.system.adapter.out.persistence.postgres.entity.UserEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -19,4 +21,7 @@ public interface UserJpaRepository extends JpaRepository<UserEntity, Long> {
     Optional<UserEntity> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    // Keyset page: WHERE id > :lastId ORDER BY id LIMIT n
+    List<UserEntity> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import com.banking.system.adapter.out.persistence.postgres.entity.UserEntity;
 import com.banking.system.adapter.out.persistence.postgres.mapper.UserEntityMapper;
 import com.banking.system.application.port.out.persistence.UserRepository;
 import com.banking.system.domain.model.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -81,6 +82,14 @@ public class UserPostgresRepository implements UserRepository {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<User> findPageAfter(long afterId, int limit) {
+        // Keyset page - reads only the rows it returns, however deep the page
+        return userJpaRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit)).stream()
+                .map(userEntityMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public void deleteById(Long id) {
         userJpaRepository.deleteById(id);
@@ -0,0 +1,273 @@
+package com.banking.system.adapter.out.persistence.spool;
+
+import com.banking.system.application.port.out.persistence.TransactionSpool;
+import com.banking.system.domain.model.Transaction;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * ADAPTER - Transaction spool in memory-mapped, append-only segment files on local disk
+ *
+ * 1. append() encodes entries compactly and copies them into the active segment - no system call,
+ *    so an append costs a few microseconds. A full segment is rotated to a new file.
+ * 2. Positions are global: segment sequence * segment size + offset. The writer publishes the end
+ *    of the data through a volatile field; the reader (replayer) never reads past it, without locking.
+ * 3. The read position is kept in a small mapped cursor file, so a restart resumes where replay stopped.
+ *    Consumed segments are deleted.
+ *
+ * Entries survive a process crash (the page cache is written back by the OS). After a restart
+ * the active segment is scanned with the record checksums to find the end of the valid data.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.transaction-log.spool.enabled", havingValue = "true", matchIfMissing = true)
+public class MappedTransactionSpool implements TransactionSpool {
+
+    private static final String CURSOR_FILE = "spool.cursor";
+
+    private final Path directory;
+    private final long segmentSize;
+    private final int maxSegments;
+
+    // Open segments by sequence, from the read position to the active one
+    private final ConcurrentSkipListMap<Long, SpoolSegment> segments = new ConcurrentSkipListMap<>();
+
+    // Writer state - guarded by this
+    private SpoolSegment active;
+    private int writeOffset;
+    private byte[] scratch = new byte[4096];
+
+    // End of the published data (global position), written by the writer, read by the reader
+    private volatile long committed;
+
+    // Reader state - guarded by readLock
+    private final Object readLock = new Object();
+    private final MappedByteBuffer cursor;
+    private long readPosition;
+    private final List<Long> peekedEnds = new ArrayList<>();
+
+    private final AtomicLong pending = new AtomicLong();
+    private final LongAdder appended = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder corrupted = new LongAdder();
+    private final LongAdder appendNanos = new LongAdder();
+    private final LongAdder appendCalls = new LongAdder();
+
+    public MappedTransactionSpool(@Value("${banking.transaction-log.spool.dir:./data/transaction-spool}") String directory,
+                                  @Value("${banking.transaction-log.spool.segment-bytes:67108864}") int segmentBytes,
+                                  @Value("${banking.transaction-log.spool.max-segments:64}") int maxSegments) {
+        this.directory = Paths.get(directory);
+        this.maxSegments = maxSegments;
+        try {
+            Files.createDirectories(this.directory);
+            FileChannel cursorChannel = FileChannel.open(this.directory.resolve(CURSOR_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.cursor = cursorChannel.map(FileChannel.MapMode.READ_WRITE, 0, 16);
+            cursorChannel.close();  // the mapping stays valid
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open transaction spool in " + directory, e);
+        }
+        // The segment size is fixed once the spool exists - positions depend on it
+        long storedSize = cursor.getLong(0);
+        this.segmentSize = storedSize > 0 ? storedSize : segmentBytes;
+        cursor.putLong(0, segmentSize);
+        recover();
+    }
+
+    private void recover() {
+        List<Long> sequences = listSegmentSequences();
+        readPosition = cursor.getLong(8);
+        long readSequence = readPosition / segmentSize;
+
+        // 1. Segments before the read position were fully replayed - remove leftovers
+        for (long sequence : sequences) {
+            if (sequence < readSequence) {
+                SpoolSegment.open(directory, sequence, (int) segmentSize).delete();
+            }
+        }
+
+        // 2. Open the rest; the last one is where writing continues
+        long lastSequence = sequences.isEmpty() ? readSequence : Math.max(readSequence, sequences.get(sequences.size() - 1));
+        for (long sequence : sequences) {
+            if (sequence >= readSequence) {
+                segments.put(sequence, SpoolSegment.open(directory, sequence, (int) segmentSize));
+            }
+        }
+        active = segments.computeIfAbsent(lastSequence, s -> SpoolSegment.open(directory, s, (int) segmentSize));
+        if (readSequence < segments.firstKey()) {
+            readPosition = segments.firstKey() * segmentSize;
+        }
+
+        // 3. Find the end of the valid data and clear anything half-written behind it
+        int startOffset = active.sequence == readPosition / segmentSize ? (int) (readPosition % segmentSize) : 0;
+        writeOffset = active.findEnd(startOffset);
+        active.zeroFrom(writeOffset);
+        committed = active.sequence * segmentSize + writeOffset;
+
+        // 4. Count what is still waiting for replay - record headers only, checksums are verified on replay
+        long count = 0;
+        long position = readPosition;
+        while (position < committed) {
+            long sequence = position / segmentSize;
+            SpoolSegment segment = segments.get(sequence);
+            int length = segment != null ? segment.recordLength((int) (position % segmentSize)) : 0;
+            if (length <= 0) {
+                position = (sequence + 1) * segmentSize;
+                continue;
+            }
+            count++;
+            position += SpoolSegment.HEADER_BYTES + length;
+        }
+        pending.set(count);
+        if (count > 0) {
+            System.out.println("💾 Transaction spool recovered " + count + " entries waiting for MongoDB");
+        }
+    }
+
+    @Override
+    public synchronized void append(List<Transaction> transactions) {
+        long start = System.nanoTime();
+        int written = 0;
+        try {
+            for (Transaction transaction : transactions) {
+                int length = encode(transaction);
+                if (length + SpoolSegment.HEADER_BYTES > segmentSize) {
+                    throw new IllegalArgumentException("Transaction too large for the spool: " + length + " bytes");
+                }
+                if (writeOffset + SpoolSegment.HEADER_BYTES + length > segmentSize) {
+                    rotate();
+                }
+                active.write(writeOffset, scratch, length);
+                writeOffset += SpoolSegment.HEADER_BYTES + length;
+                written++;
+            }
+        } finally {
+            // Publish what made it in - on failure the caller stores the whole batch elsewhere,
+            // and the replay duplicates are skipped by MongoDB's unique transaction ID
+            committed = active.sequence * segmentSize + writeOffset;
+            pending.addAndGet(written);
+            appended.add(written);
+            appendNanos.add(System.nanoTime() - start);
+            appendCalls.increment();
+        }
+    }
+
+    private int encode(Transaction transaction) {
+        while (true) {
+            ByteBuffer buffer = ByteBuffer.wrap(scratch);
+            try {
+                TransactionCodec.encode(transaction, buffer);
+                return buffer.position();
+            } catch (BufferOverflowException e) {
+                scratch = new byte[scratch.length * 2];
+            }
+        }
+    }
+
+    private void rotate() {
+        if (segments.size() >= maxSegments) {
+            throw new IllegalStateException("Transaction spool is full (" + maxSegments + " segments)");
+        }
+        long next = active.sequence + 1;
+        active = SpoolSegment.open(directory, next, (int) segmentSize);
+        segments.put(next, active);
+        writeOffset = 0;
+    }
+
+    @Override
+    public List<Transaction> peek(int max) {
+        synchronized (readLock) {
+            peekedEnds.clear();
+            return scan(readPosition, max, peekedEnds);
+        }
+    }
+
+    // Decode up to max records from position, never past the committed end; ends gets each record's end position
+    private List<Transaction> scan(long position, int max, List<Long> ends) {
+        List<Transaction> transactions = new ArrayList<>();
+        while (transactions.size() < max && position < committed) {
+            long sequence = position / segmentSize;
+            int offset = (int) (position % segmentSize);
+            SpoolSegment segment = segments.get(sequence);
+            int length = segment != null ? segment.recordLength(offset) : 0;
+            if (length <= 0) {
+                position = (sequence + 1) * segmentSize;  // rest of this segment is unused
+                continue;
+            }
+            ByteBuffer payload = segment.payload(offset, length);
+            if (payload == null) {
+                corrupted.increment();
+                System.err.println("⚠️ Corrupted spool record in " + segment.file + " at " + offset + " - skipping segment");
+                position = (sequence + 1) * segmentSize;
+                continue;
+            }
+            transactions.add(TransactionCodec.decode(payload));
+            position += SpoolSegment.HEADER_BYTES + length;
+            ends.add(position);
+        }
+        return transactions;
+    }
+
+    @Override
+    public void advance(int count) {
+        if (count <= 0) {
+            return;
+        }
+        synchronized (readLock) {
+            readPosition = peekedEnds.get(count - 1);
+            cursor.putLong(8, readPosition);
+            peekedEnds.subList(0, count).clear();
+            pending.addAndGet(-count);
+            replayed.add(count);
+
+            // Segments entirely behind the read position are done
+            long readSequence = readPosition / segmentSize;
+            for (Long sequence : segments.headMap(readSequence).keySet()) {
+                if (sequence != active.sequence) {
+                    segments.remove(sequence).delete();
+                }
+            }
+        }
+    }
+
+    @Override
+    public SpoolStats stats() {
+        long calls = appendCalls.sum();
+        return new SpoolStats(pending.get(), segments.size(), appended.sum(), replayed.sum(), corrupted.sum(),
+                calls == 0 ? 0 : appendNanos.sum() / 1_000.0 / calls);
+    }
+
+    private List<Long> listSegmentSequences() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".seg"))
+                    .map(SpoolSegment::sequenceOf)
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list transaction spool " + directory, e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        segments.values().forEach(SpoolSegment::close);
+    }
+}
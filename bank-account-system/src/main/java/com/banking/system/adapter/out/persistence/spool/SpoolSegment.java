@@ -0,0 +1,126 @@
+package com.banking.system.adapter.out.persistence.spool;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * One fixed-size, memory-mapped spool file
+ *
+ * Records: [int length][int CRC32C of the payload][payload]. A zero length marks the end of the data -
+ * new files are all zeros, and the length is written LAST, so a record is either complete or invisible.
+ * Writes land in the page cache: they survive a process crash without an fsync.
+ */
+final class SpoolSegment {
+
+    static final int HEADER_BYTES = 8;
+
+    final long sequence;
+    final Path file;
+    final MappedByteBuffer buffer;
+    private final FileChannel channel;
+
+    private SpoolSegment(long sequence, Path file, FileChannel channel, MappedByteBuffer buffer) {
+        this.sequence = sequence;
+        this.file = file;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    static Path fileFor(Path directory, long sequence) {
+        return directory.resolve(String.format("spool-%020d.seg", sequence));
+    }
+
+    static long sequenceOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring("spool-".length(), name.length() - ".seg".length()));
+    }
+
+    // Creates the file (sparse, zero-filled) if it does not exist yet
+    static SpoolSegment open(Path directory, long sequence, int size) {
+        Path file = fileFor(directory, sequence);
+        try {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            return new SpoolSegment(sequence, file, channel, buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open spool segment " + file, e);
+        }
+    }
+
+    /**
+     * Length of the record at offset, 0 if there is none (end of data or end of file)
+     */
+    int recordLength(int offset) {
+        if (offset + HEADER_BYTES > buffer.capacity()) {
+            return 0;
+        }
+        return buffer.getInt(offset);
+    }
+
+    /**
+     * @return the payload of the record at offset, null if its checksum does not match (torn write)
+     */
+    ByteBuffer payload(int offset, int length) {
+        if (length < 0 || offset + HEADER_BYTES + length > buffer.capacity()) {
+            return null;
+        }
+        ByteBuffer payload = buffer.slice(offset + HEADER_BYTES, length);
+        CRC32C crc = new CRC32C();
+        crc.update(payload.duplicate());
+        return (int) crc.getValue() == buffer.getInt(offset + 4) ? payload : null;
+    }
+
+    void write(int offset, byte[] payload, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload, 0, length);
+        buffer.put(offset + HEADER_BYTES, payload, 0, length);
+        buffer.putInt(offset + 4, (int) crc.getValue());
+        buffer.putInt(offset, length);  // publish
+    }
+
+    /**
+     * Walk the valid records from offset
+     * @return offset just past the last valid record
+     */
+    int findEnd(int offset) {
+        int length;
+        while ((length = recordLength(offset)) > 0 && payload(offset, length) != null) {
+            offset += HEADER_BYTES + length;
+        }
+        return offset;
+    }
+
+    // Clear whatever follows the last valid record (half-written data from a crash)
+    void zeroFrom(int offset) {
+        for (int i = offset; i < buffer.capacity(); i++) {
+            if (buffer.get(i) != 0) {
+                buffer.put(i, (byte) 0);
+            }
+        }
+    }
+
+    void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // mapping stays valid until collected - nothing to do
+        }
+    }
+
+    void delete() {
+        close();
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot delete spool segment " + file, e);
+        }
+    }
+}
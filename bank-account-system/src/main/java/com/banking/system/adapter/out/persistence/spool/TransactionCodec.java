@@ -0,0 +1,109 @@
+package com.banking.system.adapter.out.persistence.spool;
+
+import com.banking.system.domain.model.Transaction;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Compact binary form of a {@link Transaction} for the spool
+ *
+ * version byte, 7 length-prefixed UTF-8 strings (-1 = null), amount as scale + unscaled bytes,
+ * timestamp as UTC epoch seconds + nanos. A typical entry is ~120 bytes instead of ~400 as JSON.
+ */
+final class TransactionCodec {
+
+    private static final byte VERSION = 1;
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    private TransactionCodec() {
+    }
+
+    /**
+     * @throws java.nio.BufferOverflowException if the entry does not fit - the caller grows the buffer
+     */
+    static void encode(Transaction transaction, ByteBuffer out) {
+        out.put(VERSION);
+        putString(out, transaction.getTransactionId());
+        putString(out, transaction.getFromAccount());
+        putString(out, transaction.getToAccount());
+        putString(out, transaction.getCurrency());
+        putString(out, transaction.getType());
+        putString(out, transaction.getStatus());
+        putString(out, transaction.getDescription());
+
+        BigDecimal amount = transaction.getAmount();
+        if (amount == null) {
+            out.put((byte) -1);
+        } else {
+            byte[] unscaled = amount.unscaledValue().toByteArray();
+            out.put((byte) unscaled.length);
+            out.put((byte) amount.scale());
+            out.put(unscaled);
+        }
+
+        LocalDateTime timestamp = transaction.getTimestamp();
+        if (timestamp == null) {
+            out.putLong(NO_TIMESTAMP);
+        } else {
+            out.putLong(timestamp.toEpochSecond(ZoneOffset.UTC));
+            out.putInt(timestamp.getNano());
+        }
+    }
+
+    static Transaction decode(ByteBuffer in) {
+        byte version = in.get();
+        if (version != VERSION) {
+            throw new IllegalStateException("Unknown spool record version " + version);
+        }
+        Transaction transaction = new Transaction();
+        transaction.setTransactionId(getString(in));
+        transaction.setFromAccount(getString(in));
+        transaction.setToAccount(getString(in));
+        transaction.setCurrency(getString(in));
+        transaction.setType(getString(in));
+        transaction.setStatus(getString(in));
+        transaction.setDescription(getString(in));
+
+        byte unscaledLength = in.get();
+        if (unscaledLength >= 0) {
+            int scale = in.get();
+            byte[] unscaled = new byte[unscaledLength];
+            in.get(unscaled);
+            transaction.setAmount(new BigDecimal(new BigInteger(unscaled), scale));
+        }
+
+        long epochSecond = in.getLong();
+        transaction.setTimestamp(epochSecond == NO_TIMESTAMP
+                ? null
+                : LocalDateTime.ofEpochSecond(epochSecond, in.getInt(), ZoneOffset.UTC));
+        return transaction;
+    }
+
+    private static void putString(ByteBuffer out, String value) {
+        if (value == null) {
+            out.putShort((short) -1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Spool field too long: " + bytes.length + " bytes");
+        }
+        out.putShort((short) bytes.length);
+        out.put(bytes);
+    }
+
+    private static String getString(ByteBuffer in) {
+        short length = in.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
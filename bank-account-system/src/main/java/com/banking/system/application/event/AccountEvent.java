@@ -0,0 +1,43 @@
+package com.banking.system.application.event;
+
+import com.banking.system.application.port.in.AccountUseCase.BatchTransferResult;
+import com.banking.system.domain.model.Money;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * What happened to an account - published by the account service after every money movement.
+ * Immutable; amounts and balances carry the account's own currency.
+ */
+public sealed interface AccountEvent {
+
+    LocalDateTime occurredAt();
+
+    record MoneyDeposited(String accountNumber, Money amount, Money balance,
+                          LocalDateTime occurredAt) implements AccountEvent {}
+
+    record MoneyWithdrawn(String accountNumber, Money amount, Money balance,
+                          LocalDateTime occurredAt) implements AccountEvent {}
+
+    record MoneyTransferred(String fromAccount, String toAccount, Money amount,
+                            Money fromBalance, Money toBalance,
+                            LocalDateTime occurredAt) implements AccountEvent {}
+
+    // One event per batch - the lines keep their own success flag and failure reason
+    record BatchTransferCompleted(List<BatchTransferResult> lines,
+                                  LocalDateTime occurredAt) implements AccountEvent {
+        public BatchTransferCompleted {
+            lines = List.copyOf(lines);
+        }
+    }
+
+    /**
+     * A rejected or failed movement - nothing was changed.
+     * The currency is null when the movement failed before its account was loaded.
+     */
+    record MoneyMovementFailed(String type, String fromAccount, String toAccount, BigDecimal amount,
+                               String currency, String reason,
+                               LocalDateTime occurredAt) implements AccountEvent {}
+}
@@ -0,0 +1,70 @@
+package com.banking.system.application.event;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * In-process event bus for {@link AccountEvent}s
+ *
+ * Listeners run synchronously on the publishing thread, so they must be quick
+ * (hand slow work to a queue, like the history listener does). Subscriptions are resolved per
+ * concrete event class when they are made - publish() is one map lookup and a loop over an array,
+ * no reflection and no proxies. A failing listener is counted and never breaks the publisher.
+ */
+@Component
+public class AccountEventBus {
+
+    private static final Consumer<?>[] NONE = new Consumer<?>[0];
+
+    // Concrete event class -> listeners; replaced as a whole on subscribe (rare), read lock-free on publish
+    private volatile Map<Class<?>, Consumer<?>[]> listeners = Map.of();
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder listenerFailures = new LongAdder();
+
+    /**
+     * @param type an event record, or AccountEvent itself for every event
+     * @param listener called on the publishing thread
+     */
+    public synchronized <E extends AccountEvent> void subscribe(Class<E> type, Consumer<? super E> listener) {
+        Map<Class<?>, Consumer<?>[]> updated = new HashMap<>(listeners);
+        for (Class<?> eventClass : AccountEvent.class.getPermittedSubclasses()) {
+            if (type.isAssignableFrom(eventClass)) {
+                Consumer<?>[] current = updated.getOrDefault(eventClass, NONE);
+                Consumer<?>[] extended = Arrays.copyOf(current, current.length + 1);
+                extended[current.length] = listener;
+                updated.put(eventClass, extended);
+            }
+        }
+        listeners = Map.copyOf(updated);
+    }
+
+    @SuppressWarnings("unchecked")
+    public void publish(AccountEvent event) {
+        published.increment();
+        Consumer<?>[] subscribed = listeners.get(event.getClass());
+        if (subscribed == null) {
+            return;
+        }
+        for (Consumer<?> listener : subscribed) {
+            try {
+                ((Consumer<AccountEvent>) listener).accept(event);
+            } catch (RuntimeException e) {
+                listenerFailures.increment();
+                System.err.println("❌ Event listener failed for " + event.getClass().getSimpleName() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    public EventBusStats stats() {
+        return new EventBusStats(published.sum(), listenerFailures.sum());
+    }
+
+    // Snapshot of the bus counters
+    public record EventBusStats(long published, long listenerFailures) {}
+}
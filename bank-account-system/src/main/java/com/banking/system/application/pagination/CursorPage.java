@@ -0,0 +1,26 @@
+package com.banking.system.application.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing
+ * @param items the page content, in stable order
+ * @param nextCursor opaque token for the next page, null on the last page
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    /**
+     * Build a page from a query that fetched limit + 1 rows - the extra row only tells us there is more
+     * @param rows up to limit + 1 rows, in key order
+     * @param limit the page size
+     * @param keyOf the sort key of a row (encoded into the cursor)
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, String> keyOf) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new CursorPage<>(List.copyOf(items), PageCursor.encode(keyOf.apply(items.get(limit - 1))));
+    }
+}
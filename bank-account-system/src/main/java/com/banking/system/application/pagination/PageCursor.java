@@ -0,0 +1,54 @@
+package com.banking.system.application.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque continuation tokens - base64url of a versioned sort key.
+ * Clients must pass them back unchanged; the format may change between releases.
+ */
+public final class PageCursor {
+
+    private static final String VERSION = "v1:";
+
+    private PageCursor() {
+    }
+
+    public static String encode(String key) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((VERSION + key).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the sort key, null for the first page (no cursor)
+     * @throws IllegalArgumentException for tokens we did not issue
+     */
+    public static String decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid page cursor");
+        }
+        if (!decoded.startsWith(VERSION)) {
+            throw new IllegalArgumentException("Invalid page cursor");
+        }
+        return decoded.substring(VERSION.length());
+    }
+
+    // Numeric keys (database IDs) - 0 before the first row
+    public static long decodeId(String cursor) {
+        String key = decode(cursor);
+        if (key == null) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(key);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid page cursor");
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.banking.system.application.pagination;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Page size rules shared by every listing endpoint
+ */
+@Component
+public class PageLimits {
+
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public PageLimits(@Value("${banking.pagination.default-page-size:50}") int defaultPageSize,
+                      @Value("${banking.pagination.max-page-size:500}") int maxPageSize) {
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * @param requested the client's page size (null = default)
+     * @return a page size between 1 and the configured maximum
+     */
+    public int clamp(Integer requested) {
+        if (requested == null) {
+            return defaultPageSize;
+        }
+        return Math.max(1, Math.min(requested, maxPageSize));
+    }
+}
@@ -1,5 +1,6 @@
 package com.banking.system.application.port.in;
 
+import com.banking.system.application.pagination.CursorPage;
 import com.banking.system.domain.model.BankAccount;
 import java.math.BigDecimal;
 import java.util.List;
@@ -14,6 +15,14 @@ public interface AccountUseCase {
     // For listing All Accounts
     List<BankAccount> getAllAccounts();
 
+    /**
+     * List accounts page by page (ID order)
+     * @param cursor nextCursor of the previous page, null for the first page
+     * @param limit requested page size (null = default, capped at the configured maximum)
+     * @return one page of accounts
+     */
+    CursorPage<BankAccount> listAccounts(String cursor, Integer limit);
+
     /**
      * Create a new bank account for a user
      * @param userId the user ID who owns the account
@@ -79,10 +88,35 @@ public interface AccountUseCase {
      * Check if account has sufficient balance for a transaction
      * @param accountNumber the account number
      * @param amount the amount to check
-     * @return true if sufficient balance exists
+     * @return true if sufficient balance exists and the owner is not blocked
      */
     boolean hasSufficientBalance(String accountNumber, BigDecimal amount);
 
+    /**
+     * Apply many transfers at once (e.g. a payroll run)
+     * @param instructions the transfers, applied in order
+     * @return one result per instruction, in the same order
+     */
+    List<BatchTransferResult> batchTransfer(List<TransferInstruction> instructions);
+
     // Simple record to return transfer results
     record TransferResult(BankAccount fromAccount, BankAccount toAccount, BigDecimal amount, String currency) {}
+
+    // One line of a batch transfer request
+    record TransferInstruction(String fromAccount, String toAccount, BigDecimal amount) {}
+
+    // Outcome of one batch line - failureReason is null on success
+    record BatchTransferResult(int index, String fromAccount, String toAccount, BigDecimal amount,
+                               String currency, boolean success, String failureReason) {
+
+        public static BatchTransferResult succeeded(int index, TransferInstruction instruction, String currency) {
+            return new BatchTransferResult(index, instruction.fromAccount(), instruction.toAccount(),
+                    instruction.amount(), currency, true, null);
+        }
+
+        public static BatchTransferResult failed(int index, TransferInstruction instruction, String reason) {
+            return new BatchTransferResult(index, instruction.fromAccount(), instruction.toAccount(),
+                    instruction.amount(), null, false, reason);
+        }
+    }
 }
\ No newline at end of file
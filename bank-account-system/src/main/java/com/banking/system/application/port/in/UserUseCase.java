@@ -1,5 +1,6 @@
 package com.banking.system.application.port.in;
 
+import com.banking.system.application.pagination.CursorPage;
 import com.banking.system.domain.model.User;
 
 import java.util.List;
@@ -38,6 +39,14 @@ public interface UserUseCase {
      */
     List<User> getAllUsers();
 
+    /**
+     * List users page by page (ID order)
+     * @param cursor nextCursor of the previous page, null for the first page
+     * @param limit requested page size (null = default, capped at the configured maximum)
+     * @return one page of users
+     */
+    CursorPage<User> listUsers(String cursor, Integer limit);
+
     /**
      * Block a user - prevents them from performing transactions
      * @param userId the user ID to block
@@ -2,6 +2,10 @@ package com.banking.system.application.port.out.pdf;
 
 import com.banking.system.domain.model.BankAccount;
 import com.banking.system.domain.model.Transaction;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -18,10 +22,36 @@ public interface PdfGenerator {
      * @param periodEnd end date of the statement period
      * @return byte array of the generated PDF
      */
+    default byte[] generateAccountStatement(BankAccount account,
+                                            List<Transaction> transactions,
+                                            String periodStart,
+                                            String periodEnd) {
+        return generateAccountStatement(account, transactions, periodStart, periodEnd, null);
+    }
+
+    /**
+     * Generate an account statement PDF with the period's balances
+     * @param summary opening/closing balance and totals of the period, null to print none
+     */
     byte[] generateAccountStatement(BankAccount account,
                                     List<Transaction> transactions,
                                     String periodStart,
-                                    String periodEnd);
+                                    String periodEnd,
+                                    StatementSummary summary);
+
+    /**
+     * Write an account statement PDF to a stream while it is built - streaming mode for long periods.
+     * Rows are taken from the iterator one at a time and finished pages are written out as they fill,
+     * so memory does not grow with the number of transactions.
+     * @param transactions the period's transactions, oldest first (e.g. from an open cursor)
+     * @param output where the PDF goes - it is flushed, not closed
+     */
+    void writeAccountStatement(BankAccount account,
+                               Iterator<Transaction> transactions,
+                               String periodStart,
+                               String periodEnd,
+                               StatementSummary summary,
+                               OutputStream output);
 
     /**
      * Generate a transaction receipt PDF
@@ -29,4 +59,15 @@ public interface PdfGenerator {
      * @return byte array of the generated PDF
      */
     byte[] generateTransactionReceipt(Transaction transaction);
-}
\ No newline at end of file
+
+    /**
+     * Balances and totals of a statement period, in the account's currency
+     * @param openingBalance balance at the start of the first day
+     * @param closingBalance balance at the end of the last day
+     * @param credits successful money in during the period
+     * @param debits successful money out during the period
+     * @param transactionCount entries in the period, failed ones included
+     */
+    record StatementSummary(BigDecimal openingBalance, BigDecimal closingBalance,
+                            BigDecimal credits, BigDecimal debits, long transactionCount) {}
+}
@@ -0,0 +1,37 @@
+package com.banking.system.application.port.out.pdf;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * OUTPUT PORT for generated statement files, kept for later downloads
+ * Keys identify the statement (account + period); the store decides how much it keeps.
+ */
+public interface StatementCache {
+
+    /**
+     * A stored statement
+     * @param key account + period
+     * @return the file, if it is still stored
+     */
+    Optional<Path> find(String key);
+
+    /**
+     * Write a statement and store it under key, replacing any earlier one - readers never see
+     * a half-written file
+     * @param writer writes the PDF
+     * @return the stored file
+     */
+    Path store(String key, Writer writer) throws IOException;
+
+    CacheStats stats();
+
+    @FunctionalInterface
+    interface Writer {
+        void writeTo(OutputStream output) throws IOException;
+    }
+
+    record CacheStats(int files, long bytes, long maxBytes, long hits, long misses, long evictions) {}
+}
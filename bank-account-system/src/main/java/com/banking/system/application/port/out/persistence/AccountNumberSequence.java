@@ -0,0 +1,16 @@
+package com.banking.system.application.port.out.persistence;
+
+/**
+ * OUTPUT PORT for the shared account number sequence
+ * Numbers are handed out in blocks, so the database is asked once per block - not once per account
+ */
+public interface AccountNumberSequence {
+
+    /**
+     * Reserve the next block of account numbers (unique across all nodes)
+     * @return the reserved range [start, start + size)
+     */
+    Block nextBlock();
+
+    record Block(long start, int size) {}
+}
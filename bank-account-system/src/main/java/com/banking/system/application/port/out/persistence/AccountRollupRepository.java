@@ -0,0 +1,50 @@
+package com.banking.system.application.port.out.persistence;
+
+import com.banking.system.domain.model.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * OUTPUT PORT for per-account daily rollups - aggregates kept up to date as history entries are
+ * stored, so summaries over a period read one row per day instead of every transaction
+ */
+public interface AccountRollupRepository {
+
+    /**
+     * Add entries to the rollups of their accounts and days. Entries already added (same
+     * transaction ID) are ignored, so a retried batch is counted once.
+     */
+    void record(List<Transaction> transactions);
+
+    /**
+     * Totals over whole days
+     * @param from first day (inclusive)
+     * @param to last day (inclusive)
+     */
+    RollupTotals totals(String accountNumber, LocalDate from, LocalDate to);
+
+    /**
+     * One row per day with activity, oldest first
+     */
+    List<DailyRollup> daily(String accountNumber, LocalDate from, LocalDate to);
+
+    /**
+     * @param count entries of any status
+     * @param credits successful money in
+     * @param debits successful money out
+     * @param countByType entries per transaction type
+     */
+    record RollupTotals(long count, BigDecimal credits, BigDecimal debits, Map<String, Long> countByType) {
+
+        public static final RollupTotals EMPTY = new RollupTotals(0, BigDecimal.ZERO, BigDecimal.ZERO, Map.of());
+
+        public BigDecimal net() {
+            return credits.subtract(debits);
+        }
+    }
+
+    record DailyRollup(LocalDate day, long count, BigDecimal credits, BigDecimal debits) {}
+}
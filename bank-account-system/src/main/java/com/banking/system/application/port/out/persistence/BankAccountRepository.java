@@ -1,6 +1,7 @@
 package com.banking.system.application.port.out.persistence;
 
 import com.banking.system.domain.model.BankAccount;
+import com.banking.system.domain.model.Money;
 import java.util.List;
 import java.util.Optional;
 
@@ -38,6 +39,20 @@ public interface BankAccountRepository {
      */
     List<BankAccount> findByUserId(Long userId);
 
+    /**
+     * Find many accounts with a single IN query
+     * @param accountNumbers the account numbers to load
+     * @return the accounts found (unknown numbers are skipped)
+     */
+    List<BankAccount> findByAccountNumbers(java.util.Collection<String> accountNumbers);
+
+    /**
+     * Read only what balance checks need (one narrow query, no owner entity)
+     * @param accountNumber the account number
+     * @return balance and owner status, empty if the account does not exist
+     */
+    Optional<BalanceSnapshot> findBalanceSnapshot(String accountNumber);
+
     /**
      * Check if an account number already exists
      * @param accountNumber the account number to check
@@ -51,6 +66,14 @@ public interface BankAccountRepository {
      */
     List<BankAccount> findAll();
 
+    /**
+     * Keyset page of accounts in ID order
+     * @param afterId the last ID of the previous page (0 for the first page)
+     * @param limit maximum number of accounts
+     * @return accounts with an ID greater than afterId
+     */
+    List<BankAccount> findPageAfter(long afterId, int limit);
+
     /**
      * Delete an account by ID
      * @param id the account ID to delete
@@ -62,5 +85,45 @@ public interface BankAccountRepository {
      * @param accountId the account ID
      * @param newBalance the new balance to set
      */
-    void updateBalance(Long accountId, java.math.BigDecimal newBalance);
-}
\ No newline at end of file
+    void updateBalance(Long accountId, Money newBalance);
+
+    /**
+     * Atomically add an amount to the balance (single conditional statement, no read-modify-write)
+     * @param accountNumber the account number
+     * @param amount the amount to add
+     * @return the balance after the update, empty if the account does not exist
+     */
+    Optional<Money> incrementBalance(String accountNumber, Money amount);
+
+    /**
+     * Atomically subtract an amount, only if the current balance covers it
+     * @param accountNumber the account number
+     * @param amount the amount to subtract
+     * @return the balance after the update, empty if the account does not exist or has insufficient funds
+     */
+    Optional<Money> decrementBalanceIfSufficient(String accountNumber, Money amount);
+
+    /**
+     * Lock accounts for update, always in canonical (account number) order.
+     * Must be called inside a transaction - the locks are held until it ends.
+     * @param accountNumbers the account numbers to lock
+     * @return the locked accounts, sorted by account number (missing numbers are skipped)
+     */
+    List<BankAccount> findAllForUpdate(java.util.Collection<String> accountNumbers);
+
+    /**
+     * Overwrite many balances at once (one JDBC batch, one transaction)
+     * @param balances new balance per account ID
+     */
+    void updateBalances(java.util.Map<Long, Money> balances);
+
+    /**
+     * Drop cached copies of a user's accounts (the owner changed, e.g. was blocked)
+     * @param userId the user ID
+     */
+    default void evictUserAccounts(Long userId) {
+        // Nothing cached by default
+    }
+
+    record BalanceSnapshot(Money balance, boolean ownerBlocked) {}
+}
@@ -0,0 +1,18 @@
+package com.banking.system.application.port.out.persistence;
+
+import com.banking.system.domain.model.Transaction;
+
+import java.util.List;
+
+/**
+ * OUTPUT PORT for views derived from the transaction history (rollups, caches) - told about
+ * entries right after the {@link TransactionRepository} stored them
+ */
+public interface HistoryWriteListener {
+
+    /**
+     * Entries just stored. A retried batch is passed again, so the same transaction ID can arrive
+     * more than once. Throwing fails the save - the caller retries the whole batch.
+     */
+    void onStored(List<Transaction> transactions);
+}
@@ -0,0 +1,62 @@
+package com.banking.system.application.port.out.persistence;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * OUTPUT PORT for idempotency keys shared by all application nodes
+ * A key is reserved before the request runs and completed with the serialized response afterwards.
+ * The reserving request is its owner: renewing, completing and releasing only work for the owner,
+ * so a node whose lease ran out cannot overwrite the request that took the key over.
+ */
+public interface IdempotencyKeyRepository {
+
+    /**
+     * Reserve a key (atomic - only one caller across all nodes wins)
+     * @param key the client supplied idempotency key
+     * @param scope what the key was used for (endpoint + parameters)
+     * @param owner unique ID of the reserving request
+     * @param leaseUntil when the reservation may be taken over if it was never completed (crashed node)
+     * @return true if reserved, false if a live entry already exists
+     */
+    boolean reserve(String key, String scope, String owner, Instant leaseUntil);
+
+    /**
+     * Extend the lease of a running request
+     * @return false if the reservation is no longer the owner's (lease ran out and was taken over)
+     */
+    boolean renew(String key, String owner, Instant leaseUntil);
+
+    /**
+     * Find a live (not expired) entry
+     * @param key the idempotency key
+     * @return the stored entry; responseBody is null while the request is still running
+     */
+    Optional<StoredResponse> find(String key);
+
+    /**
+     * Store the response of a reserved key
+     * @param key the idempotency key
+     * @param owner the reserving request
+     * @param responseBody the serialized response
+     * @param expiresAt when the key may be reused
+     * @return false if the reservation is no longer the owner's
+     */
+    boolean complete(String key, String owner, String responseBody, Instant expiresAt);
+
+    /**
+     * Drop a reservation (the request failed, so the client may retry with the same key)
+     * @param key the idempotency key
+     * @param owner the reserving request - another owner's reservation is left alone
+     */
+    void release(String key, String owner);
+
+    /**
+     * Delete expired entries
+     * @param now the current time
+     * @return number of entries deleted
+     */
+    int deleteExpired(Instant now);
+
+    record StoredResponse(String scope, String responseBody) {}
+}
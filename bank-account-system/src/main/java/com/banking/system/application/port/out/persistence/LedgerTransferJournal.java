@@ -0,0 +1,41 @@
+package com.banking.system.application.port.out.persistence;
+
+import com.banking.system.domain.model.Money;
+
+import java.util.List;
+
+/**
+ * OUTPUT PORT for the ledger's cross-shard transfer journal - every cross-shard transfer is recorded
+ * before its debit, and advanced in the SAME database transaction as the group commit of each leg,
+ * so after a crash the journal says exactly which legs are durable
+ */
+public interface LedgerTransferJournal {
+
+    enum Stage {
+        PENDING,  // recorded, debit not committed (yet)
+        DEBITED   // debit committed, credit (or compensation) not
+    }
+
+    /**
+     * Record a new transfer as PENDING - committed on its own, before the caller goes on
+     * @return the transfer's journal ID
+     */
+    long begin(String fromAccountNumber, String toAccountNumber, Money amount);
+
+    /**
+     * Debits committed - joins the group commit's transaction
+     */
+    void markDebited(List<Long> ids);
+
+    /**
+     * Transfers credited, compensated or never debited - removed; joins the caller's transaction if any
+     */
+    void finish(List<Long> ids);
+
+    /**
+     * @return every transfer not finished, oldest first
+     */
+    List<PendingTransfer> unfinished();
+
+    record PendingTransfer(long id, String fromAccountNumber, String toAccountNumber, Money amount, Stage stage) {}
+}
@@ -0,0 +1,47 @@
+package com.banking.system.application.port.out.persistence;
+
+import com.banking.system.domain.model.Transaction;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * OUTPUT PORT for the transaction outbox - history entries stored in the SAME database
+ * transaction as the balance change, then relayed to the {@link TransactionRepository}
+ */
+public interface TransactionOutbox {
+
+    /**
+     * Store history entries - joins the caller's transaction, so they commit (or roll back)
+     * together with the balance change
+     * @param transactions the entries to store
+     */
+    void append(List<Transaction> transactions);
+
+    /**
+     * Lock the oldest pending entries, skipping rows another relay already holds (SKIP LOCKED).
+     * Must be called inside a transaction - the locks are held until it ends.
+     * @param limit maximum number of entries
+     * @return the locked entries, oldest first
+     */
+    List<OutboxEntry> claimBatch(int limit);
+
+    /**
+     * Remove published entries (same transaction as claimBatch)
+     * @param ids the outbox row IDs
+     */
+    void delete(List<Long> ids);
+
+    /**
+     * @return number of entries waiting to be published
+     */
+    long countPending();
+
+    /**
+     * @return creation time of the oldest pending entry, empty when the outbox is drained
+     */
+    Optional<Instant> oldestPendingCreatedAt();
+
+    record OutboxEntry(long id, Transaction transaction) {}
+}
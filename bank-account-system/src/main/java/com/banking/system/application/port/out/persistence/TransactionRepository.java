@@ -1,7 +1,12 @@
 package com.banking.system.application.port.out.persistence;
 
+import com.banking.system.application.pagination.CursorPage;
 import com.banking.system.domain.model.Transaction;
+
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * OUTPUT PORT for Transaction logging to MongoDB
@@ -10,9 +15,48 @@ public interface TransactionRepository {
 
     Transaction save(Transaction transaction);
 
+    // Bulk insert - one round trip for many log entries, entries already stored (same transaction ID) are skipped
+    List<Transaction> saveAll(List<Transaction> transactions);
+
     List<Transaction> findByAccountNumber(String accountNumber);
 
+    // One entry by its transaction ID - receipts
+    Optional<Transaction> findByTransactionId(String transactionId);
+
+    /**
+     * Entries where the account was sender or receiver, within a time range - statements
+     * @param from inclusive start
+     * @param to exclusive end
+     * @param limit maximum number of entries
+     * @return up to limit entries, oldest first
+     */
+    List<Transaction> findByAccountNumberBetween(String accountNumber, LocalDateTime from, LocalDateTime to, int limit);
+
+    /**
+     * Same entries as findByAccountNumberBetween, without a limit, from open cursors - streamed statements.
+     * Fetched batchSize at a time; close the stream (try-with-resources) to release the cursors.
+     */
+    Stream<Transaction> streamByAccountNumberBetween(String accountNumber, LocalDateTime from, LocalDateTime to, int batchSize);
+
     List<Transaction> findByType(String type);
 
     List<Transaction> findByStatus(String status);
+
+    /**
+     * Every entry of a type from an open cursor - exports. Entries are fetched batchSize at a time and
+     * mapped as the stream is consumed, so memory does not grow with the number of matches.
+     * The stream holds the cursor until it is closed (try-with-resources).
+     */
+    Stream<Transaction> streamByType(String type, int batchSize);
+
+    // Same for a status
+    Stream<Transaction> streamByStatus(String status, int batchSize);
+
+    // Keyset pages, newest first - cursor from the previous page (null for the first page)
+
+    CursorPage<Transaction> findPageByAccountNumber(String accountNumber, String cursor, int limit);
+
+    CursorPage<Transaction> findPageByType(String type, String cursor, int limit);
+
+    CursorPage<Transaction> findPageByStatus(String status, String cursor, int limit);
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.banking.system.application.port.out.persistence;
+
+import com.banking.system.domain.model.Transaction;
+
+import java.util.List;
+
+/**
+ * OUTPUT PORT for the local transaction spool - history entries parked on disk while MongoDB
+ * is unavailable or too slow, replayed in bulk once it is back
+ */
+public interface TransactionSpool {
+
+    /**
+     * Append entries - they survive a process crash once this returns
+     * @param transactions the entries to park
+     * @throws IllegalStateException when the spool has reached its size limit
+     */
+    void append(List<Transaction> transactions);
+
+    /**
+     * Read the oldest entries without consuming them (single reader)
+     * @param max maximum number of entries
+     * @return up to max entries, oldest first (empty when drained)
+     */
+    List<Transaction> peek(int max);
+
+    /**
+     * Consume entries returned by the last peek, once they are safely stored elsewhere
+     * @param count how many of them (from the start of the last peek)
+     */
+    void advance(int count);
+
+    SpoolStats stats();
+
+    record SpoolStats(long pending, int segments, long appended, long replayed, long corrupted,
+                      double averageAppendMicros) {}
+}
@@ -58,6 +58,14 @@ public interface UserRepository {
      */
     List<User> findAll();
 
+    /**
+     * Keyset page of users in ID order
+     * @param afterId the last ID of the previous page (0 for the first page)
+     * @param limit maximum number of users
+     * @return users with an ID greater than afterId
+     */
+    List<User> findPageAfter(long afterId, int limit);
+
     /**
      * Delete a user by ID
      * @param id the user ID to delete
@@ -1,17 +1,34 @@
 package com.banking.system.application.service;
 
-import com.banking.system.adapter.aop.LogTransaction;
+import com.banking.system.application.event.AccountEvent;
+import com.banking.system.application.event.AccountEventBus;
+import com.banking.system.application.pagination.CursorPage;
+import com.banking.system.application.pagination.PageCursor;
+import com.banking.system.application.pagination.PageLimits;
 import com.banking.system.application.port.in.AccountUseCase;
 import com.banking.system.application.port.out.persistence.BankAccountRepository;
+import com.banking.system.application.port.out.persistence.TransactionOutbox;
 import com.banking.system.application.port.out.persistence.UserRepository;
+import com.banking.system.application.service.ledger.ShardedLedger;
 import com.banking.system.domain.model.BankAccount;
+import com.banking.system.domain.model.Money;
+import com.banking.system.domain.model.Transaction;
 import com.banking.system.domain.model.User;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 /**
  * APPLICATION SERVICE - Implements banking use cases
@@ -22,12 +39,35 @@ public class AccountApplicationService implements AccountUseCase {
 
     private final BankAccountRepository accountRepository;
     private final UserRepository userRepository;
-
-    // Constructor injection - Spring provides both repositories
+    private final TransferEngine transferEngine;
+    private final AccountNumberGenerator accountNumberGenerator;
+    private final PageLimits pageLimits;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionOutbox outbox;  // null when banking.outbox.enabled=false
+    private final AccountEventBus eventBus;
+    private final ShardedLedger ledger;  // null unless banking.ledger.enabled=true
+
+    // Constructor injection - Spring provides both repositories, the transfer engine,
+    // the account number generator, the page size rules, the transaction manager,
+    // the event bus and the optional outbox and ledger
     public AccountApplicationService(BankAccountRepository accountRepository,
-                                     UserRepository userRepository) {
+                                     UserRepository userRepository,
+                                     TransferEngine transferEngine,
+                                     AccountNumberGenerator accountNumberGenerator,
+                                     PageLimits pageLimits,
+                                     PlatformTransactionManager transactionManager,
+                                     Optional<TransactionOutbox> outbox,
+                                     AccountEventBus eventBus,
+                                     Optional<ShardedLedger> ledger) {
         this.accountRepository = accountRepository;
         this.userRepository = userRepository;
+        this.transferEngine = transferEngine;
+        this.accountNumberGenerator = accountNumberGenerator;
+        this.pageLimits = pageLimits;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.outbox = outbox.orElse(null);
+        this.eventBus = eventBus;
+        this.ledger = ledger.orElse(null);
     }
 
     @Override
@@ -35,6 +75,14 @@ public class AccountApplicationService implements AccountUseCase {
         return accountRepository.findAll();
     }
 
+    @Override
+    public CursorPage<BankAccount> listAccounts(String cursor, Integer limit) {
+        // Fetch one extra row to know whether another page exists
+        int pageSize = pageLimits.clamp(limit);
+        List<BankAccount> rows = accountRepository.findPageAfter(PageCursor.decodeId(cursor), pageSize + 1);
+        return CursorPage.of(rows, pageSize, account -> account.getId().toString());
+    }
+
     @Override
     public BankAccount createAccount(Long userId, String currency) {
         // 1. Validate user exists
@@ -75,8 +123,17 @@ public class AccountApplicationService implements AccountUseCase {
     }
 
     @Override
-    @LogTransaction(type = "DEPOSIT", description = "Money deposited to account")
     public BankAccount deposit(String accountNumber, BigDecimal amount) {
+        AtomicReference<String> currency = new AtomicReference<>();  // set once the account is loaded
+        try {
+            return depositOnce(accountNumber, amount, currency);
+        } catch (RuntimeException e) {
+            eventBus.publish(failed("DEPOSIT", null, accountNumber, amount, currency.get(), e));
+            throw e;
+        }
+    }
+
+    private BankAccount depositOnce(String accountNumber, BigDecimal amount, AtomicReference<String> currency) {
         // 1. Validate amount is positive
         if (amount.compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("Deposit amount must be positive");
@@ -86,23 +143,45 @@ public class AccountApplicationService implements AccountUseCase {
         BankAccount account = accountRepository.findByAccountNumber(accountNumber)
                 .orElseThrow(() -> new IllegalArgumentException("Account not found: " + accountNumber));
 
+        currency.set(account.getCurrency());
+
         // 3. Check if account owner is blocked
         if (account.getUser().isBlocked()) {
             throw new IllegalArgumentException("Account owner is blocked from transactions");
         }
 
-        // 4. Perform deposit (domain logic)
-        account.deposit(amount);
-
-        // 5. Save updated account
-        BankAccount updatedAccount = accountRepository.save(account);
-
-        return updatedAccount;
+        // 4. Apply the deposit atomically - on the owning ledger shard if enabled, otherwise
+        //    in the database (no read-modify-write, so concurrent deposits cannot lose an update)
+        //    together with its outbox entry
+        Money money = Money.of(amount, account.getCurrency());
+        Money newBalance = ledger != null
+                ? ledger.deposit(accountNumber, money)
+                : inTransaction(() -> {
+                    Money balance = accountRepository.incrementBalance(accountNumber, money)
+                            .orElseThrow(() -> new IllegalArgumentException("Account not found: " + accountNumber));
+                    recordHistory(Transaction.deposit(accountNumber, amount, account.getCurrency()));
+                    return balance;
+                });
+
+        // 5. Reflect the persisted balance in the returned account and tell the listeners
+        account.updateBalance(newBalance);
+        eventBus.publish(new AccountEvent.MoneyDeposited(accountNumber, money, newBalance, LocalDateTime.now()));
+
+        return account;
     }
 
     @Override
-    @LogTransaction(type = "WITHDRAW", description = "Money withdrawn from account")
     public BankAccount withdraw(String accountNumber, BigDecimal amount) {
+        AtomicReference<String> currency = new AtomicReference<>();  // set once the account is loaded
+        try {
+            return withdrawOnce(accountNumber, amount, currency);
+        } catch (RuntimeException e) {
+            eventBus.publish(failed("WITHDRAW", accountNumber, null, amount, currency.get(), e));
+            throw e;
+        }
+    }
+
+    private BankAccount withdrawOnce(String accountNumber, BigDecimal amount, AtomicReference<String> currency) {
         // 1. Validate amount is positive
         if (amount.compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("Withdrawal amount must be positive");
@@ -112,78 +191,179 @@ public class AccountApplicationService implements AccountUseCase {
         BankAccount account = accountRepository.findByAccountNumber(accountNumber)
                 .orElseThrow(() -> new IllegalArgumentException("Account not found: " + accountNumber));
 
+        currency.set(account.getCurrency());
+
         // 3. Check if account owner is blocked
         if (account.getUser().isBlocked()) {
             throw new IllegalArgumentException("Account owner is blocked from transactions");
         }
 
-        // 4. Perform withdrawal (domain logic)
-        account.withdraw(amount);
-
-        // 5. Save updated account
-        BankAccount updatedAccount = accountRepository.save(account);
-
-        return updatedAccount;
+        // 4. Apply the withdrawal atomically - the ledger shard or the database
+        //    only subtracts when the current balance covers the amount
+        Money money = Money.of(amount, account.getCurrency());
+        Money newBalance = ledger != null
+                ? ledger.withdraw(accountNumber, money)
+                : inTransaction(() -> {
+                    Money balance = accountRepository.decrementBalanceIfSufficient(accountNumber, money)
+                            .orElseThrow(() -> new IllegalArgumentException("Insufficient funds"));
+                    recordHistory(Transaction.withdrawal(accountNumber, amount, account.getCurrency()));
+                    return balance;
+                });
+
+        // 5. Reflect the persisted balance in the returned account and tell the listeners
+        account.updateBalance(newBalance);
+        eventBus.publish(new AccountEvent.MoneyWithdrawn(accountNumber, money, newBalance, LocalDateTime.now()));
+
+        return account;
     }
 
     @Override
-    @LogTransaction(type = "TRANSFER", description = "Money transferred between accounts")
     public TransferResult transfer(String fromAccountNumber, String toAccountNumber, BigDecimal amount) {
+        AtomicReference<String> currency = new AtomicReference<>();  // set once the accounts are loaded
+        TransferResult result;
+        try {
+            result = transferOnce(fromAccountNumber, toAccountNumber, amount, currency);
+        } catch (RuntimeException e) {
+            eventBus.publish(failed("TRANSFER", fromAccountNumber, toAccountNumber, amount, currency.get(), e));
+            throw e;
+        }
+        eventBus.publish(new AccountEvent.MoneyTransferred(fromAccountNumber, toAccountNumber,
+                Money.of(amount, result.currency()), result.fromAccount().balance(), result.toAccount().balance(),
+                LocalDateTime.now()));
+        return result;
+    }
+
+    private TransferResult transferOnce(String fromAccountNumber, String toAccountNumber, BigDecimal amount,
+                                        AtomicReference<String> currency) {
         // 1. Validate amount is positive
         if (amount.compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("Transfer amount must be positive");
         }
 
-        // 2. Find both accounts
+        // 2. A transfer needs two distinct accounts
+        if (fromAccountNumber.equals(toAccountNumber)) {
+            throw new IllegalArgumentException("Cannot transfer to the same account");
+        }
+
+        // 3. Ledger engine enabled - it owns the balances
+        if (ledger != null) {
+            return transferThroughLedger(fromAccountNumber, toAccountNumber, amount, currency);
+        }
+
+        // 4. Lock both accounts, validate and move the money in one database transaction
+        return transferEngine.transfer(fromAccountNumber, toAccountNumber, amount, currency::set);
+    }
+
+    private TransferResult transferThroughLedger(String fromAccountNumber, String toAccountNumber, BigDecimal amount,
+                                                 AtomicReference<String> currency) {
+        // 1. Find both accounts
         BankAccount fromAccount = accountRepository.findByAccountNumber(fromAccountNumber)
                 .orElseThrow(() -> new IllegalArgumentException("Source account not found: " + fromAccountNumber));
-
+        currency.set(fromAccount.getCurrency());
         BankAccount toAccount = accountRepository.findByAccountNumber(toAccountNumber)
                 .orElseThrow(() -> new IllegalArgumentException("Target account not found: " + toAccountNumber));
 
-        // 3. Check if source account owner is blocked
-        if (fromAccount.getUser().isBlocked()) {
-            throw new IllegalArgumentException("Source account owner is blocked from transactions");
-        }
+        // 2. Same business rules as the database path
+        TransferEngine.checkTransferAllowed(fromAccount, toAccount);
 
-        // 4. Check if accounts have same currency
-        if (!fromAccount.getCurrency().equals(toAccount.getCurrency())) {
-            throw new IllegalArgumentException("Currency mismatch - use forex transfer for different currencies");
-        }
+        // 3. Move the money on the ledger shards and return the persisted balances
+        ShardedLedger.TransferBalances balances = ledger.transfer(fromAccountNumber, toAccountNumber,
+                Money.of(amount, fromAccount.getCurrency()));
+        fromAccount.updateBalance(balances.fromBalance());
+        toAccount.updateBalance(balances.toBalance());
+        return new TransferResult(fromAccount, toAccount, amount, fromAccount.getCurrency());
+    }
 
-        // 5. Perform transfer - withdraw from source, deposit to target
-        fromAccount.withdraw(amount);
-        toAccount.deposit(amount);
+    @Override
+    public List<BatchTransferResult> batchTransfer(List<TransferInstruction> instructions) {
+        // Ledger engine enabled - it owns the balances;
+        // otherwise chunked: one lock query + one JDBC batch per chunk instead of four queries per transfer
+        List<BatchTransferResult> results = ledger != null
+                ? batchTransferThroughLedger(instructions)
+                : transferEngine.transferBatch(instructions);
+
+        eventBus.publish(new AccountEvent.BatchTransferCompleted(results, LocalDateTime.now()));
+        return results;
+    }
 
-        // 6. Save both accounts
-        BankAccount updatedFromAccount = accountRepository.save(fromAccount);
-        BankAccount updatedToAccount = accountRepository.save(toAccount);
+    private List<BatchTransferResult> batchTransferThroughLedger(List<TransferInstruction> instructions) {
+        // 1. Load every referenced account with one IN query
+        Set<String> accountNumbers = new HashSet<>();
+        for (TransferInstruction instruction : instructions) {
+            accountNumbers.add(instruction.fromAccount());
+            accountNumbers.add(instruction.toAccount());
+        }
+        accountNumbers.remove(null);
+        Map<String, BankAccount> accounts = new HashMap<>();
+        for (BankAccount account : accountRepository.findByAccountNumbers(accountNumbers)) {
+            accounts.put(account.getAccountNumber(), account);
+        }
 
-        // 7. Return transfer result
-        return new TransferResult(updatedFromAccount, updatedToAccount, amount, fromAccount.getCurrency());
+        // 2. Validate and apply each line on the ledger shards
+        List<BatchTransferResult> results = new ArrayList<>(instructions.size());
+        for (int i = 0; i < instructions.size(); i++) {
+            TransferInstruction instruction = instructions.get(i);
+            try {
+                TransferEngine.checkInstruction(instruction);
+                BankAccount fromAccount = accounts.get(instruction.fromAccount());
+                BankAccount toAccount = accounts.get(instruction.toAccount());
+                if (fromAccount == null || toAccount == null) {
+                    throw new IllegalArgumentException("Account not found: "
+                            + (fromAccount == null ? instruction.fromAccount() : instruction.toAccount()));
+                }
+                TransferEngine.checkTransferAllowed(fromAccount, toAccount);
+                ledger.transfer(instruction.fromAccount(), instruction.toAccount(),
+                        Money.of(instruction.amount(), fromAccount.getCurrency()));
+                results.add(BatchTransferResult.succeeded(i, instruction, fromAccount.getCurrency()));
+            } catch (IllegalArgumentException e) {
+                results.add(BatchTransferResult.failed(i, instruction, e.getMessage()));
+            }
+        }
+        return results;
     }
 
     @Override
     public BigDecimal getBalance(String accountNumber) {
-        BankAccount account = accountRepository.findByAccountNumber(accountNumber)
+        // Balance projection - no account/owner entities needed
+        BankAccountRepository.BalanceSnapshot snapshot = accountRepository.findBalanceSnapshot(accountNumber)
                 .orElseThrow(() -> new IllegalArgumentException("Account not found: " + accountNumber));
 
-        return account.getBalance();
+        return snapshot.balance().toBigDecimal();
     }
 
     @Override
     public boolean hasSufficientBalance(String accountNumber, BigDecimal amount) {
-        BankAccount account = accountRepository.findByAccountNumber(accountNumber)
+        BankAccountRepository.BalanceSnapshot snapshot = accountRepository.findBalanceSnapshot(accountNumber)
                 .orElseThrow(() -> new IllegalArgumentException("Account not found: " + accountNumber));
 
-        return account.hasSufficientBalance(amount);
+        // A blocked owner cannot withdraw or transfer, whatever the balance
+        return !snapshot.ownerBlocked()
+                && snapshot.balance().isAtLeast(Money.of(amount, snapshot.balance().getCurrency()));
+    }
+
+    // Currency of the account the movement already loaded - null when it failed before (e.g. "account not found")
+    private AccountEvent.MoneyMovementFailed failed(String type, String fromAccount, String toAccount,
+                                                    BigDecimal amount, String currency, RuntimeException cause) {
+        return new AccountEvent.MoneyMovementFailed(type, fromAccount, toAccount, amount, currency,
+                cause.getMessage(), LocalDateTime.now());
+    }
+
+    // Balance change + outbox entry commit together; without the outbox this is just the single update
+    private Money inTransaction(Supplier<Money> work) {
+        return outbox != null ? transactionTemplate.execute(status -> work.get()) : work.get();
+    }
+
+    private void recordHistory(Transaction transaction) {
+        if (outbox != null) {
+            outbox.append(List.of(transaction));
+        }
     }
 
     /**
      * Helper method to generate unique account number
      */
     private String generateAccountNumber() {
-        // Simple implementation - in real bank, this would follow specific format
-        return "ACC" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        // Block-allocated database sequence + check digit - unique across nodes, no random collisions
+        return accountNumberGenerator.nextId();
     }
 }
\ No newline at end of file
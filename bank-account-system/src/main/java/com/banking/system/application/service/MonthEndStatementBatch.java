@@ -0,0 +1,292 @@
+package com.banking.system.application.service;
+
+import com.banking.system.application.port.out.pdf.PdfGenerator;
+import com.banking.system.application.port.out.persistence.BankAccountRepository;
+import com.banking.system.application.port.out.persistence.TransactionRepository;
+import com.banking.system.domain.model.BankAccount;
+import com.banking.system.domain.model.Transaction;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * MONTH-END STATEMENTS - one statement PDF per account for a whole month, written to a local directory
+ *
+ * 1. One reader walks the accounts in ID order, chunk-size per keyset query (with their owners) - the
+ *    only PostgreSQL connection the batch uses
+ * 2. Each account is rendered on its own virtual thread, fed by its history cursor; at most max-in-flight
+ *    statements are open at once, which bounds memory and the MongoDB connections the batch can take
+ *    (keep it under the driver's pool size). Rendering is CPU work, so the carrier threads keep every core busy
+ * 3. Files are written under a temporary name and moved into place: output-dir/2024-01/statement-ACC123.pdf
+ * 4. After every chunk the checkpoint file records the account ID below which everything is done.
+ *    A run for the same month starts after it, and skips accounts whose file already exists
+ *
+ * A failed account is logged and counted, and the batch goes on. Delete the month's checkpoint file and run
+ * again to retry failures - finished files are skipped, so only the missing ones are generated.
+ */
+@Service
+public class MonthEndStatementBatch {
+
+    public enum State { RUNNING, DONE, FAILED }
+
+    static final String CHECKPOINT_FILE = "checkpoint";
+    private static final int MAX_FAILED_LISTED = 50;
+
+    private final BankAccountRepository bankAccountRepository;
+    private final TransactionRepository transactionRepository;
+    private final PdfGenerator pdfGenerator;
+    private final StatementBalanceService statementBalanceService;
+    private final Path outputDir;
+    private final int chunkSize;
+    private final int maxInFlight;
+    private final int batchSize;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile Run current;
+
+    public MonthEndStatementBatch(BankAccountRepository bankAccountRepository,
+                                  TransactionRepository transactionRepository,
+                                  PdfGenerator pdfGenerator,
+                                  StatementBalanceService statementBalanceService,
+                                  @Value("${banking.statement.month-end.output-dir:./data/statements}") String outputDir,
+                                  @Value("${banking.statement.month-end.chunk-size:500}") int chunkSize,
+                                  @Value("${banking.statement.month-end.max-in-flight:0}") int maxInFlight,
+                                  @Value("${banking.statement.batch-size:1000}") int batchSize) {
+        this.bankAccountRepository = bankAccountRepository;
+        this.transactionRepository = transactionRepository;
+        this.pdfGenerator = pdfGenerator;
+        this.statementBalanceService = statementBalanceService;
+        this.outputDir = Paths.get(outputDir);
+        this.chunkSize = chunkSize;
+        // 0 = two per core: enough to cover the cursor round trips while the cores render
+        this.maxInFlight = maxInFlight > 0 ? maxInFlight : Runtime.getRuntime().availableProcessors() * 2;
+        this.batchSize = batchSize;
+    }
+
+    // Month-end run for the month just closed - off unless banking.statement.month-end.cron is set
+    @Scheduled(cron = "${banking.statement.month-end.cron:-}")
+    public void runForLastMonth() {
+        start(YearMonth.now().minusMonths(1));
+    }
+
+    /**
+     * Run the batch for a month in the background
+     * @return false when a run is already going on
+     */
+    public boolean start(YearMonth month) {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                execute(month);
+            } catch (RuntimeException e) {
+                // Already recorded in the progress
+            }
+        }, "month-end-statements");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    /**
+     * Run the batch for a month on the calling thread, resuming from the month's checkpoint
+     * @throws IllegalStateException when a run is already going on
+     */
+    public BatchProgress run(YearMonth month) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A month-end statement run is already going on");
+        }
+        return execute(month);
+    }
+
+    private BatchProgress execute(YearMonth month) {
+        Run run = new Run(month);
+        current = run;
+        try {
+            Path directory = outputDir.resolve(month.toString());
+            Files.createDirectories(directory);
+            long afterId = readCheckpoint(directory);
+            run.checkpoint = afterId;
+            System.out.println("🗓️ Month-end statements for " + month + (afterId > 0 ? ", resuming after account ID " + afterId : ""));
+
+            generateAll(run, directory, afterId);
+
+            run.state = State.DONE;
+            BatchProgress progress = run.progress();
+            System.out.println("✅ Month-end statements for " + month + ": " + progress.generated() + " generated, "
+                    + progress.skipped() + " already there, " + progress.failed() + " failed, "
+                    + Math.round(progress.statementsPerMinute()) + " statements/minute");
+            return progress;
+        } catch (IOException e) {
+            run.state = State.FAILED;
+            throw new UncheckedIOException("Month-end statements for " + month + " stopped", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.state = State.FAILED;
+            throw new IllegalStateException("Month-end statements for " + month + " interrupted", e);
+        } catch (RuntimeException e) {
+            run.state = State.FAILED;
+            throw e;
+        } finally {
+            run.finishedNanos = System.nanoTime();
+            running.set(false);
+        }
+    }
+
+    private void generateAll(Run run, Path directory, long afterId) throws IOException, InterruptedException {
+        LocalDate start = run.month.atDay(1);
+        LocalDate end = run.month.atEndOfMonth();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        ConcurrentSkipListSet<Long> rendering = new ConcurrentSkipListSet<>();
+        long lastRead = afterId;
+
+        try (ExecutorService renderers = Executors.newVirtualThreadPerTaskExecutor()) {
+            while (true) {
+                // 1. Next chunk of accounts
+                List<BankAccount> chunk = bankAccountRepository.findPageAfter(lastRead, chunkSize);
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                run.accountsRead.add(chunk.size());
+
+                // 2. One virtual thread per account, max-in-flight at a time
+                for (BankAccount account : chunk) {
+                    inFlight.acquire();
+                    rendering.add(account.getId());
+                    renderers.execute(() -> {
+                        try {
+                            generate(run, directory, account, start, end);
+                        } finally {
+                            rendering.remove(account.getId());
+                            inFlight.release();
+                        }
+                    });
+                }
+                lastRead = chunk.get(chunk.size() - 1).getId();
+
+                // 3. Everything below the oldest statement still rendering is done
+                Long oldest = rendering.ceiling(Long.MIN_VALUE);
+                writeCheckpoint(run, directory, oldest != null ? oldest - 1 : lastRead);
+            }
+        }  // waits for the last statements
+        writeCheckpoint(run, directory, lastRead);
+    }
+
+    private void generate(Run run, Path directory, BankAccount account, LocalDate start, LocalDate end) {
+        String fileName = "statement-" + account.getAccountNumber() + ".pdf";
+        Path target = directory.resolve(fileName);
+        if (Files.exists(target)) {
+            run.skipped.increment();
+            return;
+        }
+        Path temp = directory.resolve(fileName + ".tmp");
+        try {
+            PdfGenerator.StatementSummary summary = statementBalanceService.summarize(account, start, end).orElse(null);
+            try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(temp), 64 * 1024);
+                 Stream<Transaction> transactions = transactionRepository.streamByAccountNumberBetween(
+                         account.getAccountNumber(), start.atStartOfDay(), end.plusDays(1).atStartOfDay(), batchSize)) {
+                pdfGenerator.writeAccountStatement(account, transactions.iterator(), start.toString(), end.toString(),
+                        summary, output);
+            }
+            run.bytesWritten.add(Files.size(temp));
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            run.generated.increment();
+        } catch (Exception e) {
+            run.failed(account.getAccountNumber());
+            System.out.println("❌ Statement for " + account.getAccountNumber() + " failed: " + e.getMessage());
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // Overwritten by the next attempt
+            }
+        }
+    }
+
+    private static long readCheckpoint(Path directory) throws IOException {
+        Path file = directory.resolve(CHECKPOINT_FILE);
+        return Files.exists(file) ? Long.parseLong(Files.readString(file).trim()) : 0;
+    }
+
+    // Replaced in one move - a crash leaves the old checkpoint or the new one
+    private static void writeCheckpoint(Run run, Path directory, long doneUpToId) throws IOException {
+        if (doneUpToId <= run.checkpoint) {
+            return;
+        }
+        Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        Files.writeString(temp, Long.toString(doneUpToId));
+        Files.move(temp, directory.resolve(CHECKPOINT_FILE), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        run.checkpoint = doneUpToId;
+    }
+
+    /**
+     * The current or last run - null before the first one
+     */
+    public BatchProgress progress() {
+        Run run = current;
+        return run != null ? run.progress() : null;
+    }
+
+    public record BatchProgress(YearMonth month, State state, long accountsRead, long generated, long skipped,
+                                long failed, long bytesWritten, long checkpoint, long elapsedMillis,
+                                double statementsPerMinute, List<String> failedAccounts) {}
+
+    private static final class Run {
+        final YearMonth month;
+        final long startNanos = System.nanoTime();
+        final LongAdder accountsRead = new LongAdder();
+        final LongAdder generated = new LongAdder();
+        final LongAdder skipped = new LongAdder();
+        final LongAdder failedCount = new LongAdder();
+        final LongAdder bytesWritten = new LongAdder();
+        final List<String> failedAccounts = Collections.synchronizedList(new ArrayList<>());
+        volatile State state = State.RUNNING;
+        volatile long checkpoint;
+        volatile long finishedNanos;
+
+        Run(YearMonth month) {
+            this.month = month;
+        }
+
+        void failed(String accountNumber) {
+            failedCount.increment();
+            if (failedAccounts.size() < MAX_FAILED_LISTED) {
+                failedAccounts.add(accountNumber);
+            }
+        }
+
+        BatchProgress progress() {
+            long elapsedNanos = (finishedNanos > 0 ? finishedNanos : System.nanoTime()) - startNanos;
+            double minutes = elapsedNanos / 60e9;
+            long done = generated.sum();
+            List<String> failed;
+            synchronized (failedAccounts) {
+                failed = List.copyOf(failedAccounts);
+            }
+            return new BatchProgress(month, state, accountsRead.sum(), done, skipped.sum(), failedCount.sum(),
+                    bytesWritten.sum(), checkpoint, elapsedNanos / 1_000_000, minutes > 0 ? done / minutes : 0, failed);
+        }
+    }
+}
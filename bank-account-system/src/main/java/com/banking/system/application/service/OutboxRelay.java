@@ -0,0 +1,124 @@
+package com.banking.system.application.service;
+
+import com.banking.system.application.port.out.persistence.TransactionOutbox;
+import com.banking.system.application.port.out.persistence.TransactionOutbox.OutboxEntry;
+import com.banking.system.application.port.out.persistence.TransactionRepository;
+import com.banking.system.domain.model.Transaction;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * OUTBOX RELAY - moves committed history entries from the PostgreSQL outbox to MongoDB
+ *
+ * One poll = up to max-batches-per-poll rounds of:
+ * 1. Lock the oldest batch-size rows with FOR UPDATE SKIP LOCKED - relays on other nodes take other rows
+ * 2. Bulk insert them into MongoDB
+ * 3. Delete them and commit
+ *
+ * Delivery is at-least-once: if MongoDB fails, the transaction rolls back and the rows are retried on the
+ * next poll; if the commit fails after the insert, the retry hits MongoDB's unique transaction ID index
+ * and the duplicates are skipped.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private final TransactionOutbox outbox;
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerPoll;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private volatile double lastPollPerSecond;
+    private volatile String lastError;
+
+    public OutboxRelay(TransactionOutbox outbox,
+                       TransactionRepository transactionRepository,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${banking.outbox.batch-size:1000}") int batchSize,
+                       @Value("${banking.outbox.max-batches-per-poll:50}") int maxBatchesPerPoll) {
+        this.outbox = outbox;
+        this.transactionRepository = transactionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatchesPerPoll = maxBatchesPerPoll;
+    }
+
+    /**
+     * Drain the outbox - keeps going while batches come back full, so a backlog is cleared quickly
+     * @return how many entries were published
+     */
+    @Scheduled(fixedDelayString = "${banking.outbox.poll-interval-millis:200}")
+    public int relay() {
+        long start = System.nanoTime();
+        int total = 0;
+        for (int round = 0; round < maxBatchesPerPoll; round++) {
+            int relayed;
+            try {
+                relayed = relayBatch();
+            } catch (RuntimeException e) {
+                // Rolled back - the rows stay in the outbox for the next poll
+                failures.increment();
+                lastError = e.getMessage();
+                System.err.println("❌ Outbox relay failed, will retry: " + e.getMessage());
+                break;
+            }
+            total += relayed;
+            if (relayed < batchSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            lastPollPerSecond = total / ((System.nanoTime() - start) / 1e9);
+        }
+        return total;
+    }
+
+    private int relayBatch() {
+        Integer relayed = transactionTemplate.execute(status -> {
+            List<OutboxEntry> entries = outbox.claimBatch(batchSize);
+            if (entries.isEmpty()) {
+                return 0;
+            }
+            List<Transaction> transactions = new ArrayList<>(entries.size());
+            List<Long> ids = new ArrayList<>(entries.size());
+            for (OutboxEntry entry : entries) {
+                transactions.add(entry.transaction());
+                ids.add(entry.id());
+            }
+            transactionRepository.saveAll(transactions);
+            outbox.delete(ids);
+            return entries.size();
+        });
+        if (relayed != null && relayed > 0) {
+            published.add(relayed);
+            batches.increment();
+        }
+        return relayed != null ? relayed : 0;
+    }
+
+    public OutboxStats stats() {
+        long lagMillis = outbox.oldestPendingCreatedAt()
+                .map(oldest -> Math.max(0, Duration.between(oldest, Instant.now()).toMillis()))
+                .orElse(0L);
+        return new OutboxStats(outbox.countPending(), lagMillis, published.sum(), batches.sum(),
+                Math.round(lastPollPerSecond), failures.sum(), lastError);
+    }
+
+    // Snapshot of the relay: backlog, age of the oldest entry, throughput and failures
+    public record OutboxStats(long pending, long lagMillis, long published, long batches,
+                              long lastPollPerSecond, long failures, String lastError) {}
+}
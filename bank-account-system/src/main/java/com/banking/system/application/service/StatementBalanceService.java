@@ -0,0 +1,65 @@
+package com.banking.system.application.service;
+
+import com.banking.system.application.port.out.pdf.PdfGenerator.StatementSummary;
+import com.banking.system.application.port.out.persistence.AccountRollupRepository;
+import com.banking.system.application.port.out.persistence.AccountRollupRepository.RollupTotals;
+import com.banking.system.domain.model.BankAccount;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Period totals and statement balances from the daily account rollups
+ *
+ * Balances are worked back from the account's current balance, not stored per day - entries that
+ * arrive late or out of order change the totals of their own day and nothing else:
+ * 1. closing = current balance - net movement of every day after the period
+ * 2. opening = closing - net movement of the period
+ *
+ * Entries still queued for the history (async log writer, outbox) are not in the rollups yet, so
+ * for a period ending today the balances can trail the account by the writer's flush delay.
+ * Rollups only hold entries written since they were enabled - banking.rollups.complete-since tells
+ * from which day on that covers the whole history; earlier periods get no balances.
+ */
+@Service
+public class StatementBalanceService {
+
+    // Last day any history entry can be on - ISO days compare as strings, so no LocalDate.MAX
+    private static final LocalDate END_OF_HISTORY = LocalDate.of(9999, 12, 31);
+
+    private final Optional<AccountRollupRepository> rollups;
+    private final LocalDate completeSince;
+
+    public StatementBalanceService(Optional<AccountRollupRepository> rollups,
+                                   @Value("${banking.rollups.complete-since:}") String completeSince) {
+        this.rollups = rollups;
+        this.completeSince = completeSince.isBlank() ? LocalDate.MIN : LocalDate.parse(completeSince);
+    }
+
+    /**
+     * Totals of whole days, both inclusive - empty when rollups are disabled
+     */
+    public Optional<RollupTotals> totals(String accountNumber, LocalDate from, LocalDate to) {
+        return rollups.map(repository -> repository.totals(accountNumber, from, to));
+    }
+
+    /**
+     * Opening/closing balance and totals of a statement period, both days inclusive - empty when
+     * rollups are disabled or do not cover the period
+     */
+    public Optional<StatementSummary> summarize(BankAccount account, LocalDate start, LocalDate end) {
+        if (start.isBefore(completeSince)) {
+            return Optional.empty();
+        }
+        return rollups.map(repository -> {
+            RollupTotals period = repository.totals(account.getAccountNumber(), start, end);
+            RollupTotals later = repository.totals(account.getAccountNumber(), end.plusDays(1), END_OF_HISTORY);
+            BigDecimal closing = account.getBalance().subtract(later.net());
+            BigDecimal opening = closing.subtract(period.net());
+            return new StatementSummary(opening, closing, period.credits(), period.debits(), period.count());
+        });
+    }
+}
@@ -0,0 +1,322 @@
+package com.banking.system.application.service;
+
+import com.banking.system.application.port.out.pdf.PdfGenerator;
+import com.banking.system.application.port.out.pdf.StatementCache;
+import com.banking.system.application.port.out.persistence.BankAccountRepository;
+import com.banking.system.application.port.out.persistence.TransactionRepository;
+import com.banking.system.domain.model.BankAccount;
+import com.banking.system.domain.model.Transaction;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * STATEMENT JOBS - statement PDFs generated in the background, downloaded when ready
+ *
+ * 1. submit() queues a job and returns at once; a fixed pool of workers generates the PDFs,
+ *    so month-end traffic waits in the queue instead of holding request threads
+ * 2. Fair queuing: each user (account holder) has a FIFO queue, and workers take one job per user
+ *    in turn - a user asking for a hundred statements doesn't hold up the next one asking for one
+ * 3. Identical requests (same account and period) while a job is queued or running get that job
+ * 4. Results are stored in the StatementCache under account + period. A closed period (ended before
+ *    today) already stored is answered from there without a new job; an open one is regenerated
+ * 5. The queue is bounded in total and per user - submit() throws IllegalStateException when full
+ *
+ * Job records are kept for retention-minutes after they finish; the files live as long as the cache keeps them.
+ */
+@Service
+public class StatementJobService {
+
+    public enum State { QUEUED, RUNNING, DONE, FAILED }
+
+    private final BankAccountRepository bankAccountRepository;
+    private final TransactionRepository transactionRepository;
+    private final PdfGenerator pdfGenerator;
+    private final StatementBalanceService statementBalanceService;
+    private final StatementCache statementCache;
+    private final int maxQueued;
+    private final int maxQueuedPerUser;
+    private final int batchSize;
+    private final Duration retention;
+
+    private final Map<String, StatementJob> jobs = new ConcurrentHashMap<>();
+
+    // Queue state - guarded by lock
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition jobsWaiting = lock.newCondition();
+    private final Map<String, ArrayDeque<StatementJob>> queues = new HashMap<>();
+    private final ArrayDeque<String> turns = new ArrayDeque<>();  // users with queued jobs, next one first
+    private final Map<String, StatementJob> inFlight = new HashMap<>();  // queued or running, by key
+    private int queued;
+    private int running;
+    private long coalesced;
+    private long fromCache;
+    private long completed;
+    private long failed;
+    private LocalDateTime lastPurge = LocalDateTime.now();  // guarded by lock
+
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean stopped;
+
+    public StatementJobService(BankAccountRepository bankAccountRepository,
+                               TransactionRepository transactionRepository,
+                               PdfGenerator pdfGenerator,
+                               StatementBalanceService statementBalanceService,
+                               StatementCache statementCache,
+                               @Value("${banking.statement.jobs.workers:4}") int workerCount,
+                               @Value("${banking.statement.jobs.max-queued:1000}") int maxQueued,
+                               @Value("${banking.statement.jobs.max-queued-per-user:10}") int maxQueuedPerUser,
+                               @Value("${banking.statement.batch-size:1000}") int batchSize,
+                               @Value("${banking.statement.jobs.retention-minutes:1440}") long retentionMinutes) {
+        this.bankAccountRepository = bankAccountRepository;
+        this.transactionRepository = transactionRepository;
+        this.pdfGenerator = pdfGenerator;
+        this.statementBalanceService = statementBalanceService;
+        this.statementCache = statementCache;
+        this.maxQueued = maxQueued;
+        this.maxQueuedPerUser = maxQueuedPerUser;
+        this.batchSize = batchSize;
+        this.retention = Duration.ofMinutes(retentionMinutes);
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::work, "statement-job-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    /**
+     * Ask for a statement of the account, both days inclusive
+     * @return the job - possibly an identical one already queued, or a finished one from the cache;
+     *         empty when the account doesn't exist
+     * @throws IllegalStateException when the queue (or the user's share of it) is full
+     */
+    public Optional<JobStatus> submit(String accountNumber, LocalDate start, LocalDate end) {
+        Optional<BankAccount> account = bankAccountRepository.findByAccountNumber(accountNumber);
+        if (account.isEmpty()) {
+            return Optional.empty();
+        }
+        String owner = account.get().getUser() != null ? account.get().getUser().getUsername() : accountNumber;
+        String key = accountNumber + "|" + start + "|" + end;
+
+        lock.lock();
+        try {
+            purgeFinished();
+
+            // 1. Same statement already on its way
+            StatementJob pending = inFlight.get(key);
+            if (pending != null) {
+                coalesced++;
+                return Optional.of(pending.status());
+            }
+
+            // 2. Closed period stored before - served as it is
+            if (end.isBefore(LocalDate.now())) {
+                Optional<Path> stored = statementCache.find(key);
+                if (stored.isPresent()) {
+                    fromCache++;
+                    StatementJob job = new StatementJob(key, accountNumber, start, end, true);
+                    job.finish(stored.get(), null);
+                    jobs.put(job.id, job);
+                    return Optional.of(job.status());
+                }
+            }
+
+            // 3. A new job at the end of the user's queue
+            ArrayDeque<StatementJob> queue = queues.get(owner);
+            if (queued >= maxQueued) {
+                throw new IllegalStateException("Statement queue is full (" + maxQueued + " jobs)");
+            }
+            if (queue != null && queue.size() >= maxQueuedPerUser) {
+                throw new IllegalStateException("Too many statements queued for " + owner + " (" + maxQueuedPerUser + ")");
+            }
+            StatementJob job = new StatementJob(key, accountNumber, start, end, false);
+            if (queue == null) {
+                queue = new ArrayDeque<>();
+                queues.put(owner, queue);
+                turns.addLast(owner);
+            }
+            queue.addLast(job);
+            queued++;
+            inFlight.put(key, job);
+            jobs.put(job.id, job);
+            jobsWaiting.signal();
+            return Optional.of(job.status());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Optional<JobStatus> status(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(StatementJob::status);
+    }
+
+    /**
+     * The PDF of a finished job - empty while it runs, when it failed, or when the cache dropped the file
+     */
+    public Optional<Path> file(String jobId) {
+        StatementJob job = jobs.get(jobId);
+        if (job == null || job.state != State.DONE || !Files.exists(job.file)) {
+            return Optional.empty();
+        }
+        return Optional.of(job.file);
+    }
+
+    // Next job: the first one of the user whose turn it is; that user goes to the back of the line
+    private StatementJob take() throws InterruptedException {
+        lock.lock();
+        try {
+            while (turns.isEmpty()) {
+                jobsWaiting.await();
+            }
+            String owner = turns.pollFirst();
+            ArrayDeque<StatementJob> queue = queues.get(owner);
+            StatementJob job = queue.pollFirst();
+            if (queue.isEmpty()) {
+                queues.remove(owner);
+            } else {
+                turns.addLast(owner);
+            }
+            queued--;
+            running++;
+            job.state = State.RUNNING;
+            return job;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void work() {
+        while (!stopped) {
+            StatementJob job;
+            try {
+                job = take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            Path file = null;
+            String error = null;
+            try {
+                file = generate(job);
+            } catch (Exception e) {
+                error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+                System.out.println("❌ Statement job " + job.id + " failed: " + error);
+            }
+            lock.lock();
+            try {
+                job.finish(file, error);
+                inFlight.remove(job.key, job);
+                running--;
+                if (error == null) {
+                    completed++;
+                } else {
+                    failed++;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // Same output as the streamed download, written to the cache instead of a response
+    private Path generate(StatementJob job) throws Exception {
+        // Loaded now, not at submit: the balances are worked back from the current balance
+        BankAccount account = bankAccountRepository.findByAccountNumber(job.accountNumber)
+                .orElseThrow(() -> new IllegalStateException("Account " + job.accountNumber + " no longer exists"));
+        PdfGenerator.StatementSummary summary = statementBalanceService.summarize(account, job.start, job.end).orElse(null);
+        return statementCache.store(job.key, output -> {
+            try (Stream<Transaction> transactions = transactionRepository.streamByAccountNumberBetween(
+                    job.accountNumber, job.start.atStartOfDay(), job.end.plusDays(1).atStartOfDay(), batchSize)) {
+                pdfGenerator.writeAccountStatement(account, transactions.iterator(), job.start.toString(),
+                        job.end.toString(), summary, output);
+            }
+        });
+    }
+
+    // Forget finished jobs past their retention, at most once a minute
+    private void purgeFinished() {
+        LocalDateTime now = LocalDateTime.now();
+        if (lastPurge.plusMinutes(1).isAfter(now)) {
+            return;
+        }
+        lastPurge = now;
+        LocalDateTime cutoff = now.minus(retention);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stopped = true;
+        workers.forEach(Thread::interrupt);
+    }
+
+    public JobStats stats() {
+        lock.lock();
+        try {
+            return new JobStats(workers.size(), queued, running, queues.size(), completed, failed, coalesced,
+                    fromCache, jobs.size(), statementCache.stats());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * What a client polls - error is set for FAILED jobs
+     */
+    public record JobStatus(String jobId, String accountNumber, LocalDate periodStart, LocalDate periodEnd,
+                            State state, boolean fromCache, LocalDateTime submittedAt, LocalDateTime finishedAt,
+                            String error) {}
+
+    public record JobStats(int workers, int queued, int running, int usersWaiting, long completed, long failed,
+                           long coalesced, long fromCache, int jobsKept, StatementCache.CacheStats cache) {}
+
+    private static final class StatementJob {
+        final String id = UUID.randomUUID().toString();
+        final String key;
+        final String accountNumber;
+        final LocalDate start;
+        final LocalDate end;
+        final boolean fromCache;
+        final LocalDateTime submittedAt = LocalDateTime.now();
+        volatile State state = State.QUEUED;
+        volatile Path file;
+        volatile String error;
+        volatile LocalDateTime finishedAt;
+
+        StatementJob(String key, String accountNumber, LocalDate start, LocalDate end, boolean fromCache) {
+            this.key = key;
+            this.accountNumber = accountNumber;
+            this.start = start;
+            this.end = end;
+            this.fromCache = fromCache;
+        }
+
+        void finish(Path file, String error) {
+            this.file = file;
+            this.error = error;
+            this.finishedAt = LocalDateTime.now();
+            this.state = error == null ? State.DONE : State.FAILED;  // last: readers check the state first
+        }
+
+        JobStatus status() {
+            return new JobStatus(id, accountNumber, start, end, state, fromCache, submittedAt, finishedAt, error);
+        }
+    }
+}
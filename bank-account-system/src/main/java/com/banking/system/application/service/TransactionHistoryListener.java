@@ -0,0 +1,92 @@
+package com.banking.system.application.service;
+
+import com.banking.system.application.event.AccountEvent;
+import com.banking.system.application.event.AccountEvent.BatchTransferCompleted;
+import com.banking.system.application.event.AccountEvent.MoneyDeposited;
+import com.banking.system.application.event.AccountEvent.MoneyMovementFailed;
+import com.banking.system.application.event.AccountEvent.MoneyTransferred;
+import com.banking.system.application.event.AccountEvent.MoneyWithdrawn;
+import com.banking.system.application.event.AccountEventBus;
+import com.banking.system.application.port.in.AccountUseCase.BatchTransferResult;
+import com.banking.system.application.port.out.persistence.TransactionOutbox;
+import com.banking.system.application.service.ledger.ShardedLedger;
+import com.banking.system.domain.model.Transaction;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Turns account events into MongoDB history entries (through the async {@link TransactionLogWriter})
+ *
+ * Successful database movements are already in the transaction outbox - they are only logged here
+ * when the outbox is disabled or the ledger engine owns the balances. Failed movements change nothing,
+ * so they are always logged here, with status FAILED and the reason as description.
+ */
+@Component
+public class TransactionHistoryListener {
+
+    private final TransactionLogWriter transactionLogWriter;
+    private final boolean outboxRecordsHistory;
+
+    public TransactionHistoryListener(AccountEventBus eventBus,
+                                      TransactionLogWriter transactionLogWriter,
+                                      Optional<TransactionOutbox> outbox,
+                                      Optional<ShardedLedger> ledger) {
+        this.transactionLogWriter = transactionLogWriter;
+        this.outboxRecordsHistory = outbox.isPresent() && ledger.isEmpty();
+        eventBus.subscribe(AccountEvent.class, this::onEvent);
+    }
+
+    void onEvent(AccountEvent event) {
+        switch (event) {
+            case MoneyMovementFailed failed -> transactionLogWriter.append(toFailedTransaction(failed));
+            case BatchTransferCompleted batch -> transactionLogWriter.appendAll(toBatchTransactions(batch));
+            case MoneyDeposited deposited -> {
+                if (!outboxRecordsHistory) {
+                    transactionLogWriter.append(withTime(Transaction.deposit(deposited.accountNumber(),
+                            deposited.amount().toBigDecimal(), deposited.amount().getCurrency()), event));
+                }
+            }
+            case MoneyWithdrawn withdrawn -> {
+                if (!outboxRecordsHistory) {
+                    transactionLogWriter.append(withTime(Transaction.withdrawal(withdrawn.accountNumber(),
+                            withdrawn.amount().toBigDecimal(), withdrawn.amount().getCurrency()), event));
+                }
+            }
+            case MoneyTransferred transferred -> {
+                if (!outboxRecordsHistory) {
+                    transactionLogWriter.append(withTime(Transaction.transfer(transferred.fromAccount(),
+                            transferred.toAccount(), transferred.amount().toBigDecimal(),
+                            transferred.amount().getCurrency()), event));
+                }
+            }
+        }
+    }
+
+    // Rejected lines are always logged; successful ones only when the outbox does not have them
+    private List<Transaction> toBatchTransactions(BatchTransferCompleted batch) {
+        List<Transaction> transactions = new ArrayList<>(batch.lines().size());
+        for (BatchTransferResult line : batch.lines()) {
+            if (!line.success()) {
+                transactions.add(withTime(new Transaction(line.fromAccount(), line.toAccount(), line.amount(),
+                        line.currency(), "TRANSFER", "FAILED", line.failureReason()), batch));
+            } else if (!outboxRecordsHistory) {
+                transactions.add(withTime(Transaction.batchTransfer(line.fromAccount(), line.toAccount(),
+                        line.amount(), line.currency()), batch));
+            }
+        }
+        return transactions;
+    }
+
+    private Transaction toFailedTransaction(MoneyMovementFailed failed) {
+        return withTime(new Transaction(failed.fromAccount(), failed.toAccount(), failed.amount(),
+                failed.currency(), failed.type(), "FAILED", failed.reason()), failed);
+    }
+
+    private Transaction withTime(Transaction transaction, AccountEvent event) {
+        transaction.setTimestamp(event.occurredAt());
+        return transaction;
+    }
+}
@@ -0,0 +1,281 @@
+package com.banking.system.application.service;
+
+import com.banking.system.application.port.out.persistence.TransactionRepository;
+import com.banking.system.application.port.out.persistence.TransactionSpool;
+import com.banking.system.common.concurrent.RingBuffer;
+import com.banking.system.domain.model.Transaction;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * TRANSACTION LOG WRITER - takes the MongoDB history write off the request thread
+ *
+ * 1. Callers enqueue log entries into a bounded lock-free ring buffer and return immediately
+ * 2. One background thread drains it and writes up to batch-size entries per unordered bulk insert,
+ *    waiting at most linger-millis for a batch to fill up
+ * 3. When the buffer is full the backpressure policy decides: BLOCK the caller until there is room,
+ *    write on the CALLER thread (nothing is lost, the caller pays the round trip), DROP, or SPOOL
+ *    (default) to the local disk spool - a few microseconds, replayed later by {@link TransactionSpoolReplayer}
+ * 4. With the spool, a batch whose insert fails or takes longer than write-budget-millis is not retried
+ *    in place: it goes to the spool, and so do the following batches for cooldown-millis, so a stalled
+ *    MongoDB does not hold up the pipeline
+ *
+ * With banking.transaction-log.async=false every entry is written synchronously (the old behaviour).
+ */
+@Component
+public class TransactionLogWriter implements Runnable {
+
+    public enum Backpressure { BLOCK, CALLER_RUNS, DROP, SPOOL }
+
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+    private static final long RETRY_BACKOFF_MILLIS = 100;
+
+    private final TransactionRepository transactionRepository;
+    private final boolean async;
+    private final RingBuffer<Transaction> queue;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final Backpressure backpressure;
+    private final TransactionSpool spool;
+    private final long writeBudgetNanos;
+    private final long cooldownNanos;
+
+    // Writer-thread-only state
+    private final List<Transaction> batch = new ArrayList<>();
+    private long spoolUntilNanos;
+
+    private final Thread thread;
+    private volatile boolean running = true;
+    private volatile boolean sleeping;
+
+    // Caller-side counters
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder callerRuns = new LongAdder();
+    private final LongAdder blocked = new LongAdder();
+    private final LongAdder spooled = new LongAdder();
+
+    // Written by the writer thread only, read by stats()
+    private volatile long written;
+    private volatile long batches;
+    private volatile long failed;
+
+    public TransactionLogWriter(TransactionRepository transactionRepository,
+                                @Value("${banking.transaction-log.async:true}") boolean async,
+                                @Value("${banking.transaction-log.capacity:65536}") int capacity,
+                                @Value("${banking.transaction-log.batch-size:500}") int batchSize,
+                                @Value("${banking.transaction-log.linger-millis:5}") long lingerMillis,
+                                @Value("${banking.transaction-log.backpressure:SPOOL}") Backpressure backpressure,
+                                Optional<TransactionSpool> spool,
+                                @Value("${banking.transaction-log.spool.write-budget-millis:500}") long writeBudgetMillis,
+                                @Value("${banking.transaction-log.spool.cooldown-millis:1000}") long cooldownMillis) {
+        this.transactionRepository = transactionRepository;
+        this.async = async;
+        this.queue = new RingBuffer<>(capacity);
+        this.batchSize = batchSize;
+        this.lingerNanos = lingerMillis * 1_000_000;
+        this.spool = spool.orElse(null);
+        // Without a spool, SPOOL falls back to writing on the caller thread
+        this.backpressure = backpressure == Backpressure.SPOOL && this.spool == null ? Backpressure.CALLER_RUNS : backpressure;
+        this.writeBudgetNanos = writeBudgetMillis * 1_000_000;
+        this.cooldownNanos = cooldownMillis * 1_000_000;
+        this.thread = new Thread(this, "transaction-log-writer");
+        this.thread.setDaemon(true);
+        if (async) {
+            thread.start();
+        }
+    }
+
+    /**
+     * Log one money movement - returns before MongoDB is touched (async mode)
+     */
+    public void append(Transaction transaction) {
+        if (!async) {
+            transactionRepository.save(transaction);
+            return;
+        }
+        enqueue(transaction);
+    }
+
+    /**
+     * Log many money movements (batch transfers) - same rules as append, entry by entry
+     */
+    public void appendAll(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+        if (!async) {
+            transactionRepository.saveAll(transactions);
+            return;
+        }
+        for (Transaction transaction : transactions) {
+            enqueue(transaction);
+        }
+    }
+
+    private void enqueue(Transaction transaction) {
+        if (queue.offer(transaction)) {
+            enqueued.increment();
+            wakeWriter();
+            return;
+        }
+
+        // Buffer full - apply the backpressure policy
+        switch (backpressure) {
+            case BLOCK -> {
+                blocked.increment();
+                while (!queue.offer(transaction)) {
+                    if (!running) {
+                        writeOnCaller(transaction);
+                        return;
+                    }
+                    wakeWriter();
+                    LockSupport.parkNanos(10_000);
+                }
+                enqueued.increment();
+                wakeWriter();
+            }
+            case CALLER_RUNS -> writeOnCaller(transaction);
+            case DROP -> {
+                dropped.increment();
+                System.err.println("⚠️ Transaction log full - dropped " + transaction.getTransactionId());
+            }
+            case SPOOL -> {
+                if (!spool(List.of(transaction))) {
+                    writeOnCaller(transaction);
+                }
+            }
+        }
+    }
+
+    // false if the spool is full or broken - the caller falls back
+    private boolean spool(List<Transaction> transactions) {
+        try {
+            spool.append(transactions);
+            spooled.add(transactions.size());
+            return true;
+        } catch (RuntimeException e) {
+            System.err.println("❌ Transaction spool rejected " + transactions.size() + " entries: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void writeOnCaller(Transaction transaction) {
+        callerRuns.increment();
+        transactionRepository.save(transaction);
+    }
+
+    private void wakeWriter() {
+        if (sleeping) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    @Override
+    public void run() {
+        while (running || !queue.isEmpty()) {
+            int drained = queue.drainTo(batch::add, batchSize);
+            if (drained == 0) {
+                idle();
+                continue;
+            }
+            linger();
+            write();
+            batch.clear();
+        }
+    }
+
+    // A partial batch waits briefly for more entries - fewer, larger inserts under load
+    private void linger() {
+        long deadline = System.nanoTime() + lingerNanos;
+        while (running && batch.size() < batchSize) {
+            if (queue.drainTo(batch::add, batchSize - batch.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            LockSupport.parkNanos(Math.min(remaining, 100_000));
+        }
+    }
+
+    private void idle() {
+        sleeping = true;
+        if (running && queue.isEmpty()) {
+            LockSupport.parkNanos(this, 1_000_000);
+        }
+        sleeping = false;
+    }
+
+    // Retried as a whole - the insert skips entries that were already stored (unique transaction ID)
+    private void write() {
+        if (spool != null && System.nanoTime() - spoolUntilNanos < 0) {
+            // MongoDB was failing or slow a moment ago - straight to the spool
+            if (spool(batch)) {
+                return;
+            }
+        }
+        for (int attempt = 1; ; attempt++) {
+            long start = System.nanoTime();
+            try {
+                transactionRepository.saveAll(batch);
+                written += batch.size();
+                batches++;
+                if (spool != null && System.nanoTime() - start > writeBudgetNanos) {
+                    spoolUntilNanos = System.nanoTime() + cooldownNanos;
+                }
+                return;
+            } catch (RuntimeException e) {
+                if (spool != null) {
+                    spoolUntilNanos = System.nanoTime() + cooldownNanos;
+                    if (spool(batch)) {
+                        return;
+                    }
+                }
+                if (attempt >= MAX_WRITE_ATTEMPTS) {
+                    failed += batch.size();
+                    System.err.println("❌ Failed to write " + batch.size() + " transaction log entries: " + e.getMessage());
+                    return;
+                }
+                LockSupport.parkNanos(RETRY_BACKOFF_MILLIS * attempt * 1_000_000);
+            }
+        }
+    }
+
+    /**
+     * Flush everything still queued, then stop the writer thread
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (!async) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(10_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public TransactionLogStats stats() {
+        long batchCount = batches;
+        return new TransactionLogStats(async, backpressure.name(), queue.size(), queue.capacity(),
+                enqueued.sum(), written, batchCount, batchCount == 0 ? 0 : (double) written / batchCount,
+                blocked.sum(), callerRuns.sum(), dropped.sum(), spooled.sum(), failed);
+    }
+
+    // Snapshot of the pipeline counters
+    public record TransactionLogStats(boolean async, String backpressure, int queueDepth, int capacity,
+                                      long enqueued, long written, long batches, double averageBatchSize,
+                                      long blocked, long callerRuns, long dropped, long spooled, long failed) {}
+}
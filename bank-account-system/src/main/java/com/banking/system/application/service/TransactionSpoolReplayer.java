@@ -0,0 +1,81 @@
+package com.banking.system.application.service;
+
+import com.banking.system.application.port.out.persistence.TransactionRepository;
+import com.banking.system.application.port.out.persistence.TransactionSpool;
+import com.banking.system.domain.model.Transaction;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SPOOL REPLAYER - drains the local transaction spool into MongoDB once it answers again
+ *
+ * 1. Read the oldest batch-size entries without removing them
+ * 2. Bulk insert them into MongoDB
+ * 3. Move the spool's read position past them
+ *
+ * A failed insert leaves the entries in the spool for the next run. A crash between 2 and 3 replays
+ * the batch - MongoDB's unique transaction ID index skips the duplicates.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.transaction-log.spool.enabled", havingValue = "true", matchIfMissing = true)
+public class TransactionSpoolReplayer {
+
+    private final TransactionSpool spool;
+    private final TransactionRepository transactionRepository;
+    private final int batchSize;
+
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private volatile String lastError;
+
+    public TransactionSpoolReplayer(TransactionSpool spool,
+                                    TransactionRepository transactionRepository,
+                                    @Value("${banking.transaction-log.spool.replay-batch-size:1000}") int batchSize) {
+        this.spool = spool;
+        this.transactionRepository = transactionRepository;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Replay until the spool is empty or MongoDB fails
+     * @return how many entries were replayed
+     */
+    @Scheduled(fixedDelayString = "${banking.transaction-log.spool.replay-interval-millis:1000}")
+    public int replay() {
+        int total = 0;
+        while (true) {
+            List<Transaction> batch = spool.peek(batchSize);
+            if (batch.isEmpty()) {
+                break;
+            }
+            try {
+                transactionRepository.saveAll(batch);
+            } catch (RuntimeException e) {
+                // Still down - try again on the next run
+                failures.increment();
+                lastError = e.getMessage();
+                break;
+            }
+            spool.advance(batch.size());
+            replayed.add(batch.size());
+            total += batch.size();
+        }
+        if (total > 0) {
+            System.out.println("💾 Replayed " + total + " spooled transaction log entries into MongoDB");
+        }
+        return total;
+    }
+
+    public ReplayStats stats() {
+        TransactionSpool.SpoolStats spoolStats = spool.stats();
+        return new ReplayStats(spoolStats, replayed.sum(), failures.sum(), lastError);
+    }
+
+    // Spool state plus what this replayer has moved to MongoDB
+    public record ReplayStats(TransactionSpool.SpoolStats spool, long replayed, long failures, String lastError) {}
+}
@@ -0,0 +1,277 @@
+package com.banking.system.application.service;
+
+import com.banking.system.application.port.in.AccountUseCase.BatchTransferResult;
+import com.banking.system.application.port.in.AccountUseCase.TransferInstruction;
+import com.banking.system.application.port.in.AccountUseCase.TransferResult;
+import com.banking.system.application.port.out.persistence.BankAccountRepository;
+import com.banking.system.application.port.out.persistence.TransactionOutbox;
+import com.banking.system.domain.model.BankAccount;
+import com.banking.system.domain.model.Money;
+import com.banking.system.domain.model.Transaction;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * TRANSFER ENGINE - Moves money between two accounts in ONE database transaction
+ *
+ * 1. Both rows are locked (SELECT ... FOR UPDATE) in canonical account-number order,
+ *    so A->B and B->A transfers queue behind each other instead of deadlocking
+ * 2. Both balances are written before the commit - a crash can never create or destroy money
+ * 3. Lock/serialization failures are retried with exponential backoff and jitter
+ *
+ * Batches (payroll runs) use the same rules, one transaction per chunk of instructions:
+ * every account of the chunk is locked with one IN query, the transfers are applied in memory
+ * and the changed balances are written with JDBC batch updates.
+ *
+ * With the transaction outbox enabled, the history entries are inserted in the same transaction
+ * as the balances - a committed transfer always has its history entry.
+ */
+@Component
+public class TransferEngine {
+
+    private final BankAccountRepository accountRepository;
+    private final TransactionOutbox outbox;  // null when banking.outbox.enabled=false
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long backoffMillis;
+    private final long maxBackoffMillis;
+    private final int batchChunkSize;
+
+    // Counters - LongAdder keeps them cheap under contention
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+
+    public TransferEngine(BankAccountRepository accountRepository,
+                          Optional<TransactionOutbox> outbox,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${banking.transfer.max-attempts:5}") int maxAttempts,
+                          @Value("${banking.transfer.backoff-millis:5}") long backoffMillis,
+                          @Value("${banking.transfer.max-backoff-millis:200}") long maxBackoffMillis,
+                          @Value("${banking.transfer.batch-chunk-size:1000}") int batchChunkSize) {
+        this.accountRepository = accountRepository;
+        this.outbox = outbox.orElse(null);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.batchChunkSize = batchChunkSize;
+    }
+
+    /**
+     * Execute a transfer, retrying on lock contention
+     * @param currencyFound told the source account's currency once it is locked - lets the caller report a failure in it
+     * @throws IllegalArgumentException for business rule violations (never retried)
+     * @throws ConcurrencyFailureException when all attempts failed on contention
+     */
+    public TransferResult transfer(String fromAccountNumber, String toAccountNumber, BigDecimal amount,
+                                   Consumer<String> currencyFound) {
+        TransferResult result = withRetry(() -> transferOnce(fromAccountNumber, toAccountNumber, amount, currencyFound));
+        completed.increment();
+        return result;
+    }
+
+    /**
+     * Execute a batch of transfers, one transaction per chunk
+     * @return one result per instruction, in the same order
+     */
+    public List<BatchTransferResult> transferBatch(List<TransferInstruction> instructions) {
+        List<BatchTransferResult> results = new ArrayList<>(instructions.size());
+        for (int start = 0; start < instructions.size(); start += batchChunkSize) {
+            int offset = start;
+            List<TransferInstruction> chunk =
+                    instructions.subList(start, Math.min(start + batchChunkSize, instructions.size()));
+            try {
+                results.addAll(withRetry(() -> transferChunk(chunk, offset)));
+            } catch (ConcurrencyFailureException e) {
+                // Earlier chunks are already committed - report this one as failed instead of losing all results
+                for (int i = 0; i < chunk.size(); i++) {
+                    results.add(BatchTransferResult.failed(offset + i, chunk.get(i),
+                            "Accounts are busy - retry this transfer later"));
+                }
+            }
+        }
+        completed.add(results.stream().filter(BatchTransferResult::success).count());
+        return results;
+    }
+
+    // Runs the work in a transaction, retrying the whole transaction on contention
+    private <T> T withRetry(Supplier<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (ConcurrencyFailureException e) {
+                conflicts.increment();
+                if (attempt >= maxAttempts) {
+                    exhausted.increment();
+                    throw e;
+                }
+                retries.increment();
+                backoff(attempt, e);
+            }
+        }
+    }
+
+    private TransferResult transferOnce(String fromAccountNumber, String toAccountNumber, BigDecimal amount,
+                                        Consumer<String> currencyFound) {
+        // 1. Lock both rows in canonical order - the balances we read below cannot change until commit
+        List<BankAccount> locked = accountRepository.findAllForUpdate(List.of(fromAccountNumber, toAccountNumber));
+
+        BankAccount fromAccount = findLocked(locked, fromAccountNumber)
+                .orElseThrow(() -> new IllegalArgumentException("Source account not found: " + fromAccountNumber));
+        currencyFound.accept(fromAccount.getCurrency());
+        BankAccount toAccount = findLocked(locked, toAccountNumber)
+                .orElseThrow(() -> new IllegalArgumentException("Target account not found: " + toAccountNumber));
+
+        // 2. Business rules
+        checkTransferAllowed(fromAccount, toAccount);
+
+        // 3. Apply both legs in memory (throws on insufficient funds -> rollback)
+        Money money = Money.of(amount, fromAccount.getCurrency());
+        fromAccount.withdraw(money);
+        toAccount.deposit(money);
+
+        // 4. Write both balances - committed together or not at all
+        accountRepository.updateBalance(fromAccount.getId(), fromAccount.balance());
+        accountRepository.updateBalance(toAccount.getId(), toAccount.balance());
+
+        // 5. History entry in the same transaction
+        if (outbox != null) {
+            outbox.append(List.of(Transaction.transfer(fromAccountNumber, toAccountNumber, amount,
+                    fromAccount.getCurrency())));
+        }
+
+        return new TransferResult(fromAccount, toAccount, amount, fromAccount.getCurrency());
+    }
+
+    private List<BatchTransferResult> transferChunk(List<TransferInstruction> chunk, int offset) {
+        // 1. Lock every account of the chunk with one IN query (canonical order, like single transfers)
+        TreeSet<String> accountNumbers = new TreeSet<>();
+        for (TransferInstruction instruction : chunk) {
+            if (instruction.fromAccount() != null && instruction.toAccount() != null) {
+                accountNumbers.add(instruction.fromAccount());
+                accountNumbers.add(instruction.toAccount());
+            }
+        }
+        Map<String, BankAccount> accounts = new HashMap<>();
+        for (BankAccount account : accountRepository.findAllForUpdate(accountNumbers)) {
+            accounts.put(account.getAccountNumber(), account);
+        }
+
+        // 2. Apply the transfers in memory - a rejected line does not affect the others
+        List<BatchTransferResult> results = new ArrayList<>(chunk.size());
+        Map<Long, Money> changedBalances = new HashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            TransferInstruction instruction = chunk.get(i);
+            try {
+                String currency = applyInstruction(instruction, accounts, changedBalances);
+                results.add(BatchTransferResult.succeeded(offset + i, instruction, currency));
+            } catch (IllegalArgumentException e) {
+                results.add(BatchTransferResult.failed(offset + i, instruction, e.getMessage()));
+            }
+        }
+
+        // 3. Write the final balances with JDBC batch updates - same transaction as the locks
+        accountRepository.updateBalances(changedBalances);
+
+        // 4. History entries of the successful lines, same transaction
+        if (outbox != null) {
+            List<Transaction> entries = new ArrayList<>();
+            for (BatchTransferResult result : results) {
+                if (result.success()) {
+                    entries.add(Transaction.batchTransfer(result.fromAccount(), result.toAccount(),
+                            result.amount(), result.currency()));
+                }
+            }
+            outbox.append(entries);
+        }
+        return results;
+    }
+
+    private String applyInstruction(TransferInstruction instruction, Map<String, BankAccount> accounts,
+                                    Map<Long, Money> changedBalances) {
+        checkInstruction(instruction);
+        BankAccount fromAccount = accounts.get(instruction.fromAccount());
+        if (fromAccount == null) {
+            throw new IllegalArgumentException("Source account not found: " + instruction.fromAccount());
+        }
+        BankAccount toAccount = accounts.get(instruction.toAccount());
+        if (toAccount == null) {
+            throw new IllegalArgumentException("Target account not found: " + instruction.toAccount());
+        }
+        checkTransferAllowed(fromAccount, toAccount);
+
+        Money amount = Money.of(instruction.amount(), fromAccount.getCurrency());
+        fromAccount.withdraw(amount);
+        toAccount.deposit(amount);
+        changedBalances.put(fromAccount.getId(), fromAccount.balance());
+        changedBalances.put(toAccount.getId(), toAccount.balance());
+        return fromAccount.getCurrency();
+    }
+
+    // Shape of one batch line - checked before any account is looked at
+    static void checkInstruction(TransferInstruction instruction) {
+        if (instruction.fromAccount() == null || instruction.toAccount() == null) {
+            throw new IllegalArgumentException("Source and target accounts are required");
+        }
+        if (instruction.amount() == null || instruction.amount().compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Transfer amount must be positive");
+        }
+        if (instruction.fromAccount().equals(instruction.toAccount())) {
+            throw new IllegalArgumentException("Cannot transfer to the same account");
+        }
+    }
+
+    // Business rules shared by every transfer path (database, batch and ledger)
+    static void checkTransferAllowed(BankAccount fromAccount, BankAccount toAccount) {
+        if (fromAccount.getUser().isBlocked()) {
+            throw new IllegalArgumentException("Source account owner is blocked from transactions");
+        }
+        if (!fromAccount.getCurrency().equals(toAccount.getCurrency())) {
+            throw new IllegalArgumentException("Currency mismatch - use forex transfer for different currencies");
+        }
+    }
+
+    private Optional<BankAccount> findLocked(List<BankAccount> locked, String accountNumber) {
+        return locked.stream()
+                .filter(account -> account.getAccountNumber().equals(accountNumber))
+                .findFirst();
+    }
+
+    /**
+     * Exponential backoff with jitter - spreads retries so competing transfers don't collide again
+     */
+    private void backoff(int attempt, ConcurrencyFailureException cause) {
+        long ceiling = Math.min(maxBackoffMillis, backoffMillis << Math.min(attempt - 1, 20));
+        long sleepMillis = ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1);
+        try {
+            Thread.sleep(sleepMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+
+    public TransferStats stats() {
+        return new TransferStats(completed.sum(), conflicts.sum(), retries.sum(), exhausted.sum());
+    }
+
+    // Snapshot of the engine counters
+    public record TransferStats(long completed, long conflicts, long retries, long exhausted) {}
+}
@@ -1,6 +1,10 @@
 package com.banking.system.application.service;
 
+import com.banking.system.application.pagination.CursorPage;
+import com.banking.system.application.pagination.PageCursor;
+import com.banking.system.application.pagination.PageLimits;
 import com.banking.system.application.port.in.UserUseCase;
+import com.banking.system.application.port.out.persistence.BankAccountRepository;
 import com.banking.system.application.port.out.persistence.UserRepository;
 import com.banking.system.domain.model.User;
 import org.springframework.stereotype.Service;
@@ -16,10 +20,15 @@ import java.util.Optional;
 public class UserApplicationService implements UserUseCase {
 
     private final UserRepository userRepository;
+    private final BankAccountRepository accountRepository;
+    private final PageLimits pageLimits;
 
-    // Constructor injection - Spring will provide the UserRepository
-    public UserApplicationService(UserRepository userRepository) {
+    // Constructor injection - Spring will provide both repositories and the page size rules
+    public UserApplicationService(UserRepository userRepository, BankAccountRepository accountRepository,
+                                  PageLimits pageLimits) {
         this.userRepository = userRepository;
+        this.accountRepository = accountRepository;
+        this.pageLimits = pageLimits;
     }
 
     @Override
@@ -63,6 +72,14 @@ public class UserApplicationService implements UserUseCase {
         return userRepository.findAll();
     }
 
+    @Override
+    public CursorPage<User> listUsers(String cursor, Integer limit) {
+        // Fetch one extra row to know whether another page exists
+        int pageSize = pageLimits.clamp(limit);
+        List<User> rows = userRepository.findPageAfter(PageCursor.decodeId(cursor), pageSize + 1);
+        return CursorPage.of(rows, pageSize, user -> user.getId().toString());
+    }
+
     @Override
     public User blockUser(Long userId) {
         // 1. Find the user
@@ -75,6 +92,9 @@ public class UserApplicationService implements UserUseCase {
         // 3. Save the updated user
         User blockedUser = userRepository.save(user);
 
+        // 4. Cached accounts carry the owner - they must not keep the unblocked copy
+        accountRepository.evictUserAccounts(userId);
+
         return blockedUser;
     }
 
@@ -90,6 +110,9 @@ public class UserApplicationService implements UserUseCase {
         // 3. Save the updated user
         User unblockedUser = userRepository.save(user);
 
+        // 4. Refresh cached accounts of this owner
+        accountRepository.evictUserAccounts(userId);
+
         return unblockedUser;
     }
 
@@ -0,0 +1,73 @@
+package com.banking.system.application.service.ledger;
+
+import com.banking.system.domain.model.Money;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * One balance operation queued to a ledger shard.
+ * The shard thread fills in the result fields, then completes {@link #done} -
+ * completing the future publishes those writes to the waiting caller.
+ */
+final class LedgerCommand {
+
+    enum Kind { CREDIT, DEBIT, TRANSFER }
+
+    // How a cross-shard transfer's journal entry moves when this command is committed
+    enum JournalStep { DEBITED, FINISHED }
+
+    final Kind kind;
+    final String accountNumber;
+    final String counterAccountNumber;  // TRANSFER only - target on the same shard
+    final Money amount;
+    final CompletableFuture<Void> done = new CompletableFuture<>();
+
+    // Cross-shard transfer advanced in this command's group commit - null when not journaled
+    Long transferId;
+    JournalStep journalStep;
+
+    // Results - written by the shard thread before done is completed
+    Money balance;
+    Money counterBalance;
+    RuntimeException failure;
+
+    private LedgerCommand(Kind kind, String accountNumber, String counterAccountNumber, Money amount) {
+        this.kind = kind;
+        this.accountNumber = accountNumber;
+        this.counterAccountNumber = counterAccountNumber;
+        this.amount = amount;
+    }
+
+    static LedgerCommand credit(String accountNumber, Money amount) {
+        return new LedgerCommand(Kind.CREDIT, accountNumber, null, amount);
+    }
+
+    static LedgerCommand debit(String accountNumber, Money amount) {
+        return new LedgerCommand(Kind.DEBIT, accountNumber, null, amount);
+    }
+
+    static LedgerCommand transfer(String fromAccountNumber, String toAccountNumber, Money amount) {
+        return new LedgerCommand(Kind.TRANSFER, fromAccountNumber, toAccountNumber, amount);
+    }
+
+    /**
+     * Advance a journaled transfer in the same database transaction as this command's balance
+     */
+    LedgerCommand journaled(long transferId, JournalStep step) {
+        this.transferId = transferId;
+        this.journalStep = step;
+        return this;
+    }
+
+    /**
+     * Wait for the group commit that contains this command
+     * @return the balance of {@link #accountNumber} after the command
+     */
+    Money await() {
+        done.join();
+        if (failure != null) {
+            throw failure;
+        }
+        return balance;
+    }
+}
@@ -0,0 +1,239 @@
+package com.banking.system.application.service.ledger;
+
+import com.banking.system.application.port.out.persistence.BankAccountRepository;
+import com.banking.system.application.port.out.persistence.LedgerTransferJournal;
+import com.banking.system.common.concurrent.RingBuffer;
+import com.banking.system.domain.model.BankAccount;
+import com.banking.system.domain.model.Money;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * One partition of the ledger - a single thread owns every account hashed to it.
+ *
+ * Commands arrive through a lock-free ring buffer and are applied one after another
+ * against plain (unsynchronized) in-memory balances. After each drained batch all
+ * changed balances are written in ONE JDBC batch (group commit), and only then are
+ * the callers released - an acknowledged operation is always durable. Journal steps of
+ * cross-shard transfers are written in the same database transaction as the balances.
+ */
+final class LedgerShard implements Runnable {
+
+    private final int index;
+    private final BankAccountRepository accountRepository;
+    private final LedgerTransferJournal journal;
+    private final TransactionTemplate transactionTemplate;
+    private final RingBuffer<LedgerCommand> commands;
+    private final int maxBatch;
+
+    // Shard-thread-only state - no locks needed
+    private final Map<String, LedgerAccount> accounts;
+    private final Map<Long, LedgerAccount> dirty = new HashMap<>();
+    private final List<LedgerCommand> batch = new ArrayList<>();
+
+    private final Thread thread;
+    private volatile boolean running = true;
+    private volatile boolean sleeping;
+
+    // Written by the shard thread only, read by stats()
+    private volatile long processed;
+    private volatile long groupCommits;
+
+    LedgerShard(int index, BankAccountRepository accountRepository, LedgerTransferJournal journal,
+                TransactionTemplate transactionTemplate, int ringSize, int maxBatch, int maxCachedAccounts) {
+        this.index = index;
+        this.accountRepository = accountRepository;
+        this.journal = journal;
+        this.transactionTemplate = transactionTemplate;
+        this.commands = new RingBuffer<>(ringSize);
+        this.maxBatch = maxBatch;
+        this.accounts = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, LedgerAccount> eldest) {
+                // Only clean accounts can be dropped - they are reloaded from the database on next use
+                return size() > maxCachedAccounts && !eldest.getValue().dirty;
+            }
+        };
+        this.thread = new Thread(this, "ledger-shard-" + index);
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    void stop() {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(5_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Queue a command. Spins (backpressure) while the ring buffer is full.
+     */
+    void submit(LedgerCommand command) {
+        while (!commands.offer(command)) {
+            if (!running) {
+                throw new IllegalStateException("Ledger shard " + index + " is stopped");
+            }
+            LockSupport.parkNanos(1_000);
+        }
+        if (sleeping) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    @Override
+    public void run() {
+        while (running || !commands.isEmpty()) {
+            int drained = commands.drainTo(batch::add, maxBatch);
+            if (drained == 0) {
+                idle();
+                continue;
+            }
+            try {
+                for (LedgerCommand command : batch) {
+                    apply(command);
+                }
+                commit();
+            } catch (RuntimeException e) {
+                rollback(e);
+            } finally {
+                for (LedgerCommand command : batch) {
+                    command.done.complete(null);
+                }
+                processed += drained;
+                batch.clear();
+            }
+        }
+    }
+
+    private void idle() {
+        sleeping = true;
+        if (running && commands.isEmpty()) {
+            LockSupport.parkNanos(this, 1_000_000);
+        }
+        sleeping = false;
+    }
+
+    private void apply(LedgerCommand command) {
+        try {
+            LedgerAccount account = account(command.accountNumber);
+            switch (command.kind) {
+                case CREDIT -> account.credit(command.amount);
+                case DEBIT -> account.debit(command.amount);
+                case TRANSFER -> {
+                    LedgerAccount counter = account(command.counterAccountNumber);
+                    account.debit(command.amount);
+                    counter.credit(command.amount);
+                    markDirty(counter);
+                    command.counterBalance = counter.balance;
+                }
+            }
+            markDirty(account);
+            command.balance = account.balance;
+        } catch (IllegalArgumentException e) {
+            command.failure = e; // business rule - nothing was changed
+        }
+    }
+
+    private LedgerAccount account(String accountNumber) {
+        LedgerAccount account = accounts.get(accountNumber);
+        if (account == null) {
+            // First touch - load through from the database (the shard owns the row from now on)
+            BankAccount loaded = accountRepository.findByAccountNumber(accountNumber)
+                    .orElseThrow(() -> new IllegalArgumentException("Account not found: " + accountNumber));
+            account = new LedgerAccount(loaded.getId(), accountNumber, loaded.balance());
+            accounts.put(accountNumber, account);
+        }
+        return account;
+    }
+
+    private void markDirty(LedgerAccount account) {
+        account.dirty = true;
+        dirty.put(account.id, account);
+    }
+
+    // Group commit - one JDBC batch for every balance changed by this batch, with the journal steps it completes
+    private void commit() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        Map<Long, Money> balances = new HashMap<>(dirty.size() * 2);
+        dirty.forEach((id, account) -> balances.put(id, account.balance));
+        List<Long> debited = new ArrayList<>();
+        List<Long> finished = new ArrayList<>();
+        for (LedgerCommand command : batch) {
+            if (command.transferId != null && command.failure == null) {
+                (command.journalStep == LedgerCommand.JournalStep.DEBITED ? debited : finished).add(command.transferId);
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            accountRepository.updateBalances(balances);
+            journal.markDebited(debited);
+            journal.finish(finished);
+        });
+        dirty.values().forEach(account -> account.dirty = false);
+        dirty.clear();
+        groupCommits++;
+    }
+
+    // The batch was not persisted - forget the in-memory changes and fail every command that made one
+    private void rollback(RuntimeException cause) {
+        dirty.values().forEach(account -> accounts.remove(account.accountNumber));
+        dirty.clear();
+        IllegalStateException failure = new IllegalStateException("Ledger group commit failed", cause);
+        for (LedgerCommand command : batch) {
+            if (command.failure == null) {
+                command.failure = failure;
+            }
+        }
+    }
+
+    int queueDepth() {
+        return commands.size();
+    }
+
+    long processed() {
+        return processed;
+    }
+
+    long groupCommits() {
+        return groupCommits;
+    }
+
+    // In-memory balance of one account, owned by the shard thread
+    private static final class LedgerAccount {
+        final Long id;
+        final String accountNumber;
+        Money balance;
+        boolean dirty;
+
+        LedgerAccount(Long id, String accountNumber, Money balance) {
+            this.id = id;
+            this.accountNumber = accountNumber;
+            this.balance = balance;
+        }
+
+        void credit(Money amount) {
+            balance = balance.plus(amount);
+        }
+
+        void debit(Money amount) {
+            if (!balance.isAtLeast(amount)) {
+                throw new IllegalArgumentException("Insufficient funds");
+            }
+            balance = balance.minus(amount);
+        }
+    }
+}
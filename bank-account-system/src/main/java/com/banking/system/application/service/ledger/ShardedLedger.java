@@ -0,0 +1,193 @@
+package com.banking.system.application.service.ledger;
+
+import com.banking.system.application.port.out.persistence.BankAccountRepository;
+import com.banking.system.application.port.out.persistence.LedgerTransferJournal;
+import com.banking.system.application.port.out.persistence.LedgerTransferJournal.PendingTransfer;
+import com.banking.system.application.service.ledger.LedgerCommand.JournalStep;
+import com.banking.system.domain.model.Money;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * SHARDED LEDGER - optional in-memory balance engine for hot (e.g. merchant) accounts
+ *
+ * Accounts are partitioned by hash of the account number onto N single-threaded shards.
+ * Each shard applies deposits/withdrawals/transfers in memory without locks and persists
+ * changed balances through {@link BankAccountRepository#updateBalances} in group commits.
+ *
+ * Transfers inside one shard are a single command. Cross-shard transfers are journaled:
+ * 0. The transfer is recorded in the {@link LedgerTransferJournal} (PENDING) and committed
+ * 1. DEBIT the source on its shard - the same group commit marks the transfer DEBITED
+ * 2. CREDIT the target on its shard - the same group commit finishes the transfer; if the credit
+ *    fails, the debit is compensated by a CREDIT back, which finishes it instead
+ *
+ * A crash (or a failed compensation) between the legs leaves the transfer DEBITED in the journal;
+ * at startup {@link #recover()} credits the target, or refunds the source when the target is gone.
+ * PENDING transfers never had their debit committed and are dropped.
+ *
+ * Enable with banking.ledger.enabled=true - the ledger must then be the only balance writer.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.ledger.enabled", havingValue = "true")
+public class ShardedLedger {
+
+    private final LedgerShard[] shards;
+    private final LedgerTransferJournal journal;
+
+    public ShardedLedger(BankAccountRepository accountRepository,
+                         LedgerTransferJournal journal,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${banking.ledger.shards:0}") int shardCount,
+                         @Value("${banking.ledger.ring-size:4096}") int ringSize,
+                         @Value("${banking.ledger.max-batch:256}") int maxBatch,
+                         @Value("${banking.ledger.max-cached-accounts:100000}") int maxCachedAccounts) {
+        int count = shardCount > 0 ? shardCount : Runtime.getRuntime().availableProcessors();
+        this.journal = journal;
+        this.shards = new LedgerShard[count];
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int i = 0; i < count; i++) {
+            shards[i] = new LedgerShard(i, accountRepository, journal, transactionTemplate,
+                    ringSize, maxBatch, maxCachedAccounts);
+            shards[i].start();
+        }
+    }
+
+    /**
+     * @return the balance after the deposit (already persisted)
+     */
+    public Money deposit(String accountNumber, Money amount) {
+        return execute(LedgerCommand.credit(accountNumber, amount));
+    }
+
+    /**
+     * @return the balance after the withdrawal (already persisted)
+     */
+    public Money withdraw(String accountNumber, Money amount) {
+        return execute(LedgerCommand.debit(accountNumber, amount));
+    }
+
+    public TransferBalances transfer(String fromAccountNumber, String toAccountNumber, Money amount) {
+        LedgerShard source = shardFor(fromAccountNumber);
+        LedgerShard target = shardFor(toAccountNumber);
+
+        // Same shard - both legs in one command, one group commit
+        if (source == target) {
+            LedgerCommand command = LedgerCommand.transfer(fromAccountNumber, toAccountNumber, amount);
+            source.submit(command);
+            Money fromBalance = command.await();
+            return new TransferBalances(fromBalance, command.counterBalance);
+        }
+
+        // Step 0 - journal the transfer; from here on a crash is finished by recover()
+        long transferId = journal.begin(fromAccountNumber, toAccountNumber, amount);
+
+        // Step 1 - debit the source (throws on insufficient funds, nothing to undo)
+        Money fromBalance;
+        try {
+            fromBalance = execute(LedgerCommand.debit(fromAccountNumber, amount)
+                    .journaled(transferId, JournalStep.DEBITED));
+        } catch (RuntimeException e) {
+            journal.finish(List.of(transferId));
+            throw e;
+        }
+
+        // Step 2 - credit the target, compensating the debit if the credit fails
+        try {
+            Money toBalance = execute(LedgerCommand.credit(toAccountNumber, amount)
+                    .journaled(transferId, JournalStep.FINISHED));
+            return new TransferBalances(fromBalance, toBalance);
+        } catch (RuntimeException e) {
+            try {
+                execute(LedgerCommand.credit(fromAccountNumber, amount).journaled(transferId, JournalStep.FINISHED));
+            } catch (RuntimeException compensationFailure) {
+                // Still DEBITED in the journal - recover() finishes it at the next start
+                e.addSuppressed(compensationFailure);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Finish the cross-shard transfers a previous run left between their legs - runs before the ledger takes traffic
+     */
+    @PostConstruct
+    public void recover() {
+        List<PendingTransfer> unfinished = journal.unfinished();
+        if (unfinished.isEmpty()) {
+            return;
+        }
+        int credited = 0;
+        int refunded = 0;
+        int dropped = 0;
+        int left = 0;
+        for (PendingTransfer transfer : unfinished) {
+            if (transfer.stage() == LedgerTransferJournal.Stage.PENDING) {
+                journal.finish(List.of(transfer.id()));  // the debit never committed
+                dropped++;
+                continue;
+            }
+            try {
+                execute(LedgerCommand.credit(transfer.toAccountNumber(), transfer.amount())
+                        .journaled(transfer.id(), JournalStep.FINISHED));
+                credited++;
+            } catch (IllegalArgumentException targetGone) {
+                try {
+                    execute(LedgerCommand.credit(transfer.fromAccountNumber(), transfer.amount())
+                            .journaled(transfer.id(), JournalStep.FINISHED));
+                    refunded++;
+                } catch (RuntimeException e) {
+                    left++;
+                    System.out.println("❌ Ledger transfer " + transfer.id() + " not refunded: " + e.getMessage());
+                }
+            } catch (RuntimeException e) {
+                left++;
+                System.out.println("❌ Ledger transfer " + transfer.id() + " not credited: " + e.getMessage());
+            }
+        }
+        System.out.println("🔁 Ledger recovery: " + credited + " transfers credited, " + refunded + " refunded, "
+                + dropped + " never debited" + (left > 0 ? ", " + left + " left for the next start" : ""));
+    }
+
+    private Money execute(LedgerCommand command) {
+        shardFor(command.accountNumber).submit(command);
+        return command.await();
+    }
+
+    LedgerShard shardFor(String accountNumber) {
+        int hash = accountNumber.hashCode();
+        hash ^= (hash >>> 16); // spread the high bits, like HashMap
+        return shards[Math.floorMod(hash, shards.length)];
+    }
+
+    public LedgerStats stats() {
+        int[] queueDepths = new int[shards.length];
+        long processed = 0;
+        long groupCommits = 0;
+        for (int i = 0; i < shards.length; i++) {
+            queueDepths[i] = shards[i].queueDepth();
+            processed += shards[i].processed();
+            groupCommits += shards[i].groupCommits();
+        }
+        return new LedgerStats(shards.length, processed, groupCommits, queueDepths);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (LedgerShard shard : shards) {
+            shard.stop();
+        }
+    }
+
+    // Balances of both accounts after a transfer
+    public record TransferBalances(Money fromBalance, Money toBalance) {}
+
+    // Snapshot of the ledger counters
+    public record LedgerStats(int shards, long processedCommands, long groupCommits, int[] queueDepths) {}
+}
@@ -0,0 +1,14 @@
+package com.banking.system.common.id;
+
+/**
+ * Source of unique identifiers (transaction IDs, account numbers).
+ * Implementations must be thread-safe and must not block on a shared lock.
+ */
+@FunctionalInterface
+public interface IdGenerator {
+
+    /**
+     * @return a new identifier, never returned before by this generator
+     */
+    String nextId();
+}
@@ -1,10 +0,0 @@
-package com.banking.system.config;
-
-import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.EnableAspectJAutoProxy;
-
-@Configuration
-@EnableAspectJAutoProxy
-public class AopConfig {
-    // This enables AOP in your Spring Boot application
-}
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.banking.system.config;
+
+import com.banking.system.common.id.SnowflakeIdGenerator;
+import com.banking.system.domain.model.Transaction;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+
+@Configuration
+public class IdGeneratorConfig {
+
+    // Transaction IDs - every node needs its own node ID (0-1023); -1 derives one from host + PID,
+    // which can collide between nodes, so it is only accepted with the dev profile
+    @Bean
+    public SnowflakeIdGenerator transactionIdGenerator(@Value("${banking.ids.node-id:-1}") int nodeId,
+                                                       Environment environment) {
+        if (nodeId < 0 && !environment.acceptsProfiles(Profiles.of("dev"))) {
+            throw new IllegalStateException("banking.ids.node-id is not set - give every node a distinct ID (0-"
+                    + SnowflakeIdGenerator.MAX_NODE_ID + "), or run with the dev profile to derive one from host + PID");
+        }
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator("TXN",
+                nodeId >= 0 ? nodeId : SnowflakeIdGenerator.defaultNodeId());
+        Transaction.useIdGenerator(generator);
+        System.out.println("🆔 Transaction IDs use node " + generator.getNodeId());
+        return generator;
+    }
+}
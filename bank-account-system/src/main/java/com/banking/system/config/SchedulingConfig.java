@@ -0,0 +1,10 @@
+package com.banking.system.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+    // This enables @Scheduled background jobs (cleanup, relays, ...)
+}
@@ -1,19 +1,23 @@
 package com.banking.system.domain.model;
 
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
 import java.math.BigDecimal;
 import java.util.Objects;
 
+// Currency before balance - JSON is read in order, and the balance is parsed at the currency's scale
+@JsonPropertyOrder({"id", "accountNumber", "currency", "balance"})
 public class BankAccount {
     private Long id;
-    private String accountNumber;  // Format: "ACC123456789"
-    private BigDecimal balance;    // Use BigDecimal for money to avoid floating-point errors
+    private String accountNumber;  // Format: "ACC" + 9 digits + check digit, e.g. "ACC0000000018"
+    private Money balance;         // Exact minor units (cents) - no floating-point errors, no BigDecimal churn
     private String currency;       // "USD", "EUR" etc.
     private User user;             // Each account belongs to one user
 
     // Default constructor (required by JPA)
     public BankAccount() {
-        this.balance = BigDecimal.ZERO;  // Start with zero balance
-        this.currency = "USD";           // Default currency
+        this.currency = "USD";                  // Default currency
+        this.balance = Money.zero(currency);    // Start with zero balance
     }
 
     // Constructor for creating new accounts
@@ -26,7 +30,7 @@ public class BankAccount {
     // Constructor with custom currency
     public BankAccount(String accountNumber, User user, String currency) {
         this(accountNumber, user);
-        this.currency = currency;
+        setCurrency(currency);
     }
 
     // Getters and Setters
@@ -46,11 +50,23 @@ public class BankAccount {
         this.accountNumber = accountNumber;
     }
 
+    // Decimal view for JSON and the database
     public BigDecimal getBalance() {
-        return balance;
+        return balance.toBigDecimal();
     }
 
     public void setBalance(BigDecimal balance) {
+        this.balance = Money.of(balance, currency);
+    }
+
+    public Money balance() {
+        return balance;
+    }
+
+    public void updateBalance(Money balance) {
+        if (!balance.getCurrency().equals(currency)) {
+            throw new IllegalArgumentException("Balance currency " + balance.getCurrency() + " does not match " + currency);
+        }
         this.balance = balance;
     }
 
@@ -59,6 +75,10 @@ public class BankAccount {
     }
 
     public void setCurrency(String currency) {
+        // Re-express the balance in the new currency's scale (e.g. 2 decimals -> 0 for JPY)
+        this.balance = balance == null || balance.isZero()
+                ? Money.zero(currency)
+                : Money.of(balance.toBigDecimal(), currency);
         this.currency = currency;
     }
 
@@ -75,38 +95,50 @@ public class BankAccount {
     /**
      * Deposit money into the account
      */
-    public void deposit(BigDecimal amount) {
-        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+    public void deposit(Money amount) {
+        if (!amount.isPositive()) {
             throw new IllegalArgumentException("Deposit amount must be positive");
         }
-        this.balance = this.balance.add(amount);
+        this.balance = this.balance.plus(amount);
+    }
+
+    public void deposit(BigDecimal amount) {
+        deposit(Money.of(amount, currency));
     }
 
     /**
      * Withdraw money from the account
      */
-    public void withdraw(BigDecimal amount) {
-        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+    public void withdraw(Money amount) {
+        if (!amount.isPositive()) {
             throw new IllegalArgumentException("Withdrawal amount must be positive");
         }
-        if (this.balance.compareTo(amount) < 0) {
+        if (!this.balance.isAtLeast(amount)) {
             throw new IllegalArgumentException("Insufficient funds");
         }
-        this.balance = this.balance.subtract(amount);
+        this.balance = this.balance.minus(amount);
+    }
+
+    public void withdraw(BigDecimal amount) {
+        withdraw(Money.of(amount, currency));
     }
 
     /**
      * Check if account has sufficient balance
      */
+    public boolean hasSufficientBalance(Money amount) {
+        return this.balance.isAtLeast(amount);
+    }
+
     public boolean hasSufficientBalance(BigDecimal amount) {
-        return this.balance.compareTo(amount) >= 0;
+        return hasSufficientBalance(Money.of(amount, currency));
     }
 
     /**
      * Get formatted balance string
      */
     public String getFormattedBalance() {
-        return String.format("%s %.2f", currency, balance);
+        return balance.format();
     }
 
     // equals and hashCode
@@ -0,0 +1,160 @@
+package com.banking.system.domain.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Amount of money as a whole number of minor units (cents) plus a currency code.
+ *
+ * Arithmetic is plain long math (exact, overflow-checked), so the balance hot path
+ * allocates one small object per operation instead of BigDecimal intermediates.
+ * The scale follows the currency: USD 12.34 = 1234, JPY 500 = 500, KWD 1.250 = 1250.
+ */
+public final class Money implements Comparable<Money> {
+
+    private static final long[] POWERS_OF_TEN = {1L, 10L, 100L, 1_000L, 10_000L};
+    private static final Map<String, Integer> SCALES = new ConcurrentHashMap<>();
+
+    private final long minorUnits;
+    private final String currency;
+    private final int scale;
+
+    private Money(long minorUnits, String currency, int scale) {
+        this.minorUnits = minorUnits;
+        this.currency = currency;
+        this.scale = scale;
+    }
+
+    public static Money ofMinor(long minorUnits, String currency) {
+        return new Money(minorUnits, currency, scaleOf(currency));
+    }
+
+    public static Money zero(String currency) {
+        return ofMinor(0, currency);
+    }
+
+    /**
+     * Convert a decimal amount (request parameter, database column)
+     * @throws IllegalArgumentException if the amount has more decimals than the currency allows
+     */
+    public static Money of(BigDecimal amount, String currency) {
+        int scale = scaleOf(currency);
+        try {
+            long minorUnits = amount.setScale(scale, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+            return new Money(minorUnits, currency, scale);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Invalid " + currency + " amount: " + amount.toPlainString());
+        }
+    }
+
+    // Decimal places of a currency (ISO 4217), cached - Currency.getInstance is not free
+    static int scaleOf(String currency) {
+        Integer scale = SCALES.get(currency);
+        if (scale == null) {
+            int digits;
+            try {
+                digits = Currency.getInstance(currency).getDefaultFractionDigits();
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown currency: " + currency);
+            }
+            scale = digits < 0 ? 2 : digits; // pseudo currencies (XAU, XXX) have none - use cents
+            SCALES.put(currency, scale);
+        }
+        return scale;
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public int getScale() {
+        return scale;
+    }
+
+    // Business Methods - exact arithmetic
+
+    public Money plus(Money other) {
+        checkCurrency(other);
+        return new Money(Math.addExact(minorUnits, other.minorUnits), currency, scale);
+    }
+
+    public Money minus(Money other) {
+        checkCurrency(other);
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits), currency, scale);
+    }
+
+    public boolean isPositive() {
+        return minorUnits > 0;
+    }
+
+    public boolean isZero() {
+        return minorUnits == 0;
+    }
+
+    public boolean isAtLeast(Money other) {
+        checkCurrency(other);
+        return minorUnits >= other.minorUnits;
+    }
+
+    private void checkCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Currency mismatch: " + currency + " vs " + other.currency);
+        }
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, scale);
+    }
+
+    /**
+     * "USD 1234.50" - built by hand, String.format is far too slow for a hot path
+     */
+    public String format() {
+        StringBuilder text = new StringBuilder(currency.length() + 24).append(currency).append(' ');
+        long units = minorUnits;
+        if (units < 0) {
+            text.append('-');
+        }
+        if (scale == 0) {
+            return text.append(Math.abs(units)).toString();
+        }
+        long divisor = POWERS_OF_TEN[scale];
+        long major = Math.abs(units / divisor);
+        long minor = Math.abs(units % divisor);
+        text.append(major).append('.');
+        for (long pad = divisor / 10; pad > 1 && minor < pad; pad /= 10) {
+            text.append('0');
+        }
+        return text.append(minor).toString();
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        checkCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Money that)) return false;
+        return minorUnits == that.minorUnits && currency.equals(that.currency);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(minorUnits) + currency.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return format();
+    }
+}
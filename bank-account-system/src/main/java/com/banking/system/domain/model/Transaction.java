@@ -1,10 +1,15 @@
 package com.banking.system.domain.model;
 
+import com.banking.system.common.id.IdGenerator;
+import com.banking.system.common.id.SnowflakeIdGenerator;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.UUID;
 
 public class Transaction {
+    // Snowflake-style IDs; replaced at startup by the generator for the configured node
+    private static volatile IdGenerator idGenerator =
+            new SnowflakeIdGenerator("TXN", SnowflakeIdGenerator.defaultNodeId());
+
     private String transactionId;
     private String fromAccount;
     private String toAccount;
@@ -34,9 +39,51 @@ public class Transaction {
         this.description = description;
     }
 
+    // Factories for the money movements the service records
+
+    public static Transaction deposit(String accountNumber, BigDecimal amount, String currency) {
+        return new Transaction(null, accountNumber, amount, currency, "DEPOSIT", "SUCCESS",
+                standardDescription("DEPOSIT", null, accountNumber));
+    }
+
+    public static Transaction withdrawal(String accountNumber, BigDecimal amount, String currency) {
+        return new Transaction(accountNumber, null, amount, currency, "WITHDRAW", "SUCCESS",
+                standardDescription("WITHDRAW", accountNumber, null));
+    }
+
+    public static Transaction transfer(String fromAccount, String toAccount, BigDecimal amount, String currency) {
+        return new Transaction(fromAccount, toAccount, amount, currency, "TRANSFER", "SUCCESS",
+                standardDescription("TRANSFER", fromAccount, toAccount));
+    }
+
+    public static Transaction batchTransfer(String fromAccount, String toAccount, BigDecimal amount, String currency) {
+        return new Transaction(fromAccount, toAccount, amount, currency, "TRANSFER", "SUCCESS",
+                "Batch transfer from " + fromAccount + " to " + toAccount);
+    }
+
+    /**
+     * Description the factories give a successful movement - stores can leave it out and rebuild it
+     * @return null for types without a standard description
+     */
+    public static String standardDescription(String type, String fromAccount, String toAccount) {
+        if (type == null) {
+            return null;
+        }
+        return switch (type) {
+            case "DEPOSIT" -> "Deposit to account: " + toAccount;
+            case "WITHDRAW" -> "Withdrawal from account: " + fromAccount;
+            case "TRANSFER" -> "Transfer from " + fromAccount + " to " + toAccount;
+            default -> null;
+        };
+    }
+
     // Generate unique transaction ID
     private String generateTransactionId() {
-        return "TXN" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        return idGenerator.nextId();
+    }
+
+    public static void useIdGenerator(IdGenerator generator) {
+        idGenerator = generator;
     }
 
     // Getters and Setters
@@ -0,0 +1,312 @@
+package com.banking.system.adapter.in.web;
+
+import com.banking.system.application.port.out.persistence.IdempotencyKeyRepository;
+import com.banking.system.domain.model.BankAccount;
+import com.banking.system.domain.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IdempotencyStoreTest {
+
+    // "Database" shared by all nodes - key -> (scope, response, expiry, owner)
+    private final Map<String, Row> table = new ConcurrentHashMap<>();
+    private IdempotencyKeyRepository keyRepository;
+
+    private record Row(IdempotencyKeyRepository.StoredResponse stored, Instant expiresAt, String owner) {}
+
+    @BeforeEach
+    void setUp() {
+        keyRepository = new IdempotencyKeyRepository() {
+            public boolean reserve(String key, String scope, String owner, Instant leaseUntil) {
+                Row reserved = new Row(new StoredResponse(scope, null), leaseUntil, owner);
+                // Insert, or take over an expired row
+                return table.compute(key, (k, row) -> row == null || row.expiresAt().isBefore(Instant.now())
+                        ? reserved : row) == reserved;
+            }
+            public Optional<StoredResponse> find(String key) {
+                return Optional.ofNullable(table.get(key))
+                        .filter(row -> row.expiresAt().isAfter(Instant.now()))
+                        .map(Row::stored);
+            }
+            public boolean renew(String key, String owner, Instant leaseUntil) {
+                Row renewed = table.computeIfPresent(key, (k, row) -> row.owner().equals(owner)
+                        && row.stored().responseBody() == null && row.expiresAt().isAfter(Instant.now())
+                        ? new Row(row.stored(), leaseUntil, owner) : row);
+                return renewed != null && renewed.expiresAt().equals(leaseUntil);
+            }
+            public boolean complete(String key, String owner, String responseBody, Instant expiresAt) {
+                Row completed = table.computeIfPresent(key, (k, row) -> row.owner().equals(owner)
+                        ? new Row(new StoredResponse(row.stored().scope(), responseBody), expiresAt, owner) : row);
+                return completed != null && completed.owner().equals(owner);
+            }
+            public void release(String key, String owner) {
+                table.computeIfPresent(key, (k, row) -> row.owner().equals(owner) ? null : row);
+            }
+            public int deleteExpired(Instant now) {
+                return 0;
+            }
+        };
+    }
+
+    private IdempotencyStore newNode() {
+        return newNode(Duration.ofSeconds(30));
+    }
+
+    private IdempotencyStore newNode(Duration lease) {
+        return new IdempotencyStore(keyRepository, new ObjectMapper(), 1000, Duration.ofHours(1), lease, true);
+    }
+
+    @Test
+    void concurrentRetriesRunTheActionOnce() throws Exception {
+        System.out.println("🧪 Testing concurrent requests with one Idempotency-Key...");
+
+        // Given - one node and 32 simultaneous requests with the same key
+        IdempotencyStore store = newNode();
+        AtomicInteger executions = new AtomicInteger();
+        AtomicInteger replays = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+
+        // When
+        for (int i = 0; i < 32; i++) {
+            pool.submit(() -> {
+                start.await();
+                IdempotencyStore.Outcome<String> outcome = store.execute("key-1", "deposit:ACC1:10", String.class, () -> {
+                    executions.incrementAndGet();
+                    return "done";
+                });
+                if (outcome.replayed()) {
+                    replays.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Then - money moved once, every other request got the stored response
+        assertEquals(1, executions.get());
+        assertEquals(31, replays.get());
+        System.out.println("✅ Executed once, replayed " + replays.get() + " times: " + store.stats());
+    }
+
+    @Test
+    void otherNodeReplaysStoredResponse() {
+        System.out.println("🧪 Testing replay across nodes...");
+
+        // Given - node A handled the request
+        newNode().execute("key-2", "transfer:A:B:5", String.class, () -> "first");
+
+        // When - the retry lands on node B
+        IdempotencyStore.Outcome<String> outcome =
+                newNode().execute("key-2", "transfer:A:B:5", String.class, () -> "second");
+
+        // Then
+        assertTrue(outcome.replayed());
+        assertEquals("first", outcome.body());
+        System.out.println("✅ Node B replayed: " + outcome.body());
+    }
+
+    @Test
+    void keyReusedForDifferentRequestIsRejected() {
+        System.out.println("🧪 Testing key reuse with different parameters...");
+
+        IdempotencyStore store = newNode();
+        store.execute("key-3", "withdraw:ACC1:10", String.class, () -> "ok");
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> store.execute("key-3", "withdraw:ACC1:99", String.class, () -> "ok"));
+        assertEquals(422, e.getStatusCode().value());
+        System.out.println("✅ Rejected: " + e.getReason());
+    }
+
+    @Test
+    void failedRequestCanBeRetriedWithSameKey() {
+        System.out.println("🧪 Testing retry after a failed request...");
+
+        IdempotencyStore store = newNode();
+        assertThrows(IllegalArgumentException.class, () -> store.execute("key-4", "withdraw:ACC1:10", String.class,
+                () -> { throw new IllegalArgumentException("Insufficient funds"); }));
+
+        IdempotencyStore.Outcome<String> outcome =
+                store.execute("key-4", "withdraw:ACC1:10", String.class, () -> "ok");
+        assertFalse(outcome.replayed());
+        assertEquals("ok", outcome.body());
+        System.out.println("✅ Retry executed after failure");
+    }
+
+    @Test
+    void reservationOfACrashedNodeIsTakenOverAfterItsLease() {
+        System.out.println("🧪 Testing takeover of a stale reservation...");
+
+        // Given - node A reserved two keys and died before completing them; one lease has run out
+        keyRepository.reserve("key-5", "deposit:ACC1:10", "node-a", Instant.now().minusSeconds(1));
+        keyRepository.reserve("key-6", "deposit:ACC1:10", "node-a", Instant.now().plusSeconds(30));
+        IdempotencyStore nodeB = newNode();
+
+        // When - the retries land on node B
+        IdempotencyStore.Outcome<String> outcome =
+                nodeB.execute("key-5", "deposit:ACC1:10", String.class, () -> "retried");
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> nodeB.execute("key-6", "deposit:ACC1:10", String.class, () -> "retried"));
+
+        // Then - the stale key is run, the live one is still in progress; a completed key keeps the full TTL
+        assertFalse(outcome.replayed());
+        assertEquals("retried", outcome.body());
+        assertEquals(409, e.getStatusCode().value());
+        assertTrue(table.get("key-5").expiresAt().isAfter(Instant.now().plus(Duration.ofMinutes(59))));
+        System.out.println("✅ Stale reservation taken over, live one rejected: " + e.getReason());
+    }
+
+    @Test
+    void accountInAThreeDecimalCurrencyIsReplayedAcrossNodes() {
+        System.out.println("🧪 Testing replay of a KWD account...");
+
+        // Given - node A answered a deposit into a KWD account (3 decimals); nodes use Spring's mapper setup
+        BankAccount account = new BankAccount("ACC0000000018", new User("owner", "owner@test.com", "pw", "Owner"), "KWD");
+        account.setId(18L);
+        account.setBalance(new BigDecimal("1.255"));
+        new IdempotencyStore(keyRepository, Jackson2ObjectMapperBuilder.json().build(), 1000, Duration.ofHours(1),
+                Duration.ofSeconds(30), true)
+                .execute("key-7", "deposit:ACC0000000018:1.255", BankAccount.class, () -> account);
+
+        // When - the retry lands on node B, which only has the stored JSON
+        IdempotencyStore.Outcome<BankAccount> outcome = new IdempotencyStore(keyRepository,
+                Jackson2ObjectMapperBuilder.json().build(), 1000, Duration.ofHours(1), Duration.ofSeconds(30), true)
+                .execute("key-7", "deposit:ACC0000000018:1.255", BankAccount.class, () -> account);
+
+        // Then - the currency was applied before the balance
+        assertTrue(outcome.replayed());
+        assertEquals("KWD", outcome.body().getCurrency());
+        assertEquals(new BigDecimal("1.255"), outcome.body().getBalance());
+        System.out.println("✅ Replayed: " + outcome.body());
+    }
+
+    @Test
+    void slowRequestKeepsItsKeyWhileItsLeaseIsRenewed() {
+        System.out.println("🧪 Testing lease renewal of a slow request...");
+
+        // Given - node A runs a request that takes longer than its lease, renewing it halfway
+        IdempotencyStore nodeA = newNode(Duration.ofMillis(600));
+        IdempotencyStore nodeB = newNode(Duration.ofMillis(600));
+        ResponseStatusException[] retry = new ResponseStatusException[1];
+
+        // When - the retry lands on node B after the original lease ran out
+        nodeA.execute("key-8", "deposit:ACC1:10", String.class, () -> {
+            sleep(400);
+            nodeA.renewLeases();
+            sleep(400);
+            retry[0] = assertThrows(ResponseStatusException.class,
+                    () -> nodeB.execute("key-8", "deposit:ACC1:10", String.class, () -> "again"));
+            return "first";
+        });
+
+        // Then - node B did not run it again, and the key now replays the response
+        assertEquals(409, retry[0].getStatusCode().value());
+        assertEquals("first", nodeB.execute("key-8", "deposit:ACC1:10", String.class, () -> "again").body());
+        System.out.println("✅ Renewed lease kept the key: " + retry[0].getReason());
+    }
+
+    @Test
+    void requestThatLostItsReservationCannotOverwriteTheNewOwner() {
+        System.out.println("🧪 Testing completion after a lost lease...");
+
+        // Given - node A stalls past its lease, and node B takes the key over and completes it
+        IdempotencyStore nodeA = newNode(Duration.ofMillis(50));
+        nodeA.execute("key-9", "deposit:ACC1:10", String.class, () -> {
+            sleep(100);
+            newNode().execute("key-9", "deposit:ACC1:10", String.class, () -> "second");
+            return "first";
+        });
+
+        // When - a later retry lands on a third node
+        IdempotencyStore.Outcome<String> outcome =
+                newNode().execute("key-9", "deposit:ACC1:10", String.class, () -> "third");
+
+        // Then - node A's late completion was rejected
+        assertTrue(outcome.replayed());
+        assertEquals("second", outcome.body());
+        System.out.println("✅ Stored response stayed: " + outcome.body());
+    }
+
+    @Test
+    void responseThatCouldNotBeStoredKeepsTheKeyReserved() {
+        System.out.println("🧪 Testing a failed completion...");
+
+        // Given - storing the response fails once
+        IdempotencyKeyRepository shared = keyRepository;
+        AtomicInteger failures = new AtomicInteger(1);
+        keyRepository = new IdempotencyKeyRepository() {
+            public boolean reserve(String key, String scope, String owner, Instant leaseUntil) {
+                return shared.reserve(key, scope, owner, leaseUntil);
+            }
+            public Optional<StoredResponse> find(String key) {
+                return shared.find(key);
+            }
+            public boolean renew(String key, String owner, Instant leaseUntil) {
+                return shared.renew(key, owner, leaseUntil);
+            }
+            public boolean complete(String key, String owner, String responseBody, Instant expiresAt) {
+                if (failures.getAndDecrement() > 0) {
+                    throw new IllegalStateException("connection reset");
+                }
+                return shared.complete(key, owner, responseBody, expiresAt);
+            }
+            public void release(String key, String owner) {
+                shared.release(key, owner);
+            }
+            public int deleteExpired(Instant now) {
+                return 0;
+            }
+        };
+        IdempotencyStore nodeA = newNode();
+
+        // When
+        IdempotencyStore.Outcome<String> outcome =
+                nodeA.execute("key-10", "withdraw:ACC1:10", String.class, () -> "done");
+
+        // Then - the client got its response, the key is still held, and the next renewal stores it
+        assertEquals("done", outcome.body());
+        assertEquals(409, assertThrows(ResponseStatusException.class,
+                () -> newNode().execute("key-10", "withdraw:ACC1:10", String.class, () -> "again"))
+                .getStatusCode().value());
+        nodeA.renewLeases();
+        assertEquals("done", newNode().execute("key-10", "withdraw:ACC1:10", String.class, () -> "again").body());
+        System.out.println("✅ Response stored on the next renewal");
+    }
+
+    @Test
+    void equalAmountsShareAScope() {
+        assertEquals(IdempotencyStore.scopeOf(new BigDecimal("100")), IdempotencyStore.scopeOf(new BigDecimal("100.00")));
+        assertEquals("100", IdempotencyStore.scopeOf(new BigDecimal("1E+2")));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
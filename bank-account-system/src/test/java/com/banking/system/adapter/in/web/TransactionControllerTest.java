@@ -0,0 +1,36 @@
+package com.banking.system.adapter.in.web;
+
+import com.banking.system.application.port.in.AccountUseCase.TransferInstruction;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+public class TransactionControllerTest {
+
+    @Test
+    void batchDigestCoversEveryInstruction() {
+        System.out.println("🧪 Testing the batch Idempotency-Key scope...");
+
+        // Given
+        List<TransferInstruction> batch = List.of(
+                new TransferInstruction("ACC1", "ACC2", new BigDecimal("100.00")),
+                new TransferInstruction("ACC2", "ACC3", new BigDecimal("5")));
+
+        // Then - equal amounts hash the same; any other change gives a new scope
+        String digest = TransactionController.digest(batch);
+        assertEquals(64, digest.length());
+        assertEquals(digest, TransactionController.digest(List.of(
+                new TransferInstruction("ACC1", "ACC2", new BigDecimal("100")),
+                new TransferInstruction("ACC2", "ACC3", new BigDecimal("5.00")))));
+        assertNotEquals(digest, TransactionController.digest(List.of(batch.get(1), batch.get(0))));
+        assertNotEquals(digest, TransactionController.digest(List.of(
+                new TransferInstruction("ACC1", "ACC2", new BigDecimal("100.01")), batch.get(1))));
+        assertNotEquals(digest, TransactionController.digest(List.of(
+                new TransferInstruction("ACC1", "ACC2,ACC3", new BigDecimal("100")))));
+        System.out.println("✅ Batch scope digest: " + digest);
+    }
+}
@@ -0,0 +1,131 @@
+package com.banking.system.adapter.out.pdf;
+
+import com.banking.system.adapter.out.pdf.ReceiptCache.ReceiptVersion;
+import com.banking.system.application.port.out.pdf.PdfGenerator;
+import com.banking.system.application.port.out.persistence.TransactionRepository;
+import com.banking.system.domain.model.BankAccount;
+import com.banking.system.domain.model.Transaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+public class ReceiptCacheTest {
+
+    // The "history", and how many receipts were actually rendered
+    private final Map<String, Transaction> history = new ConcurrentHashMap<>();
+    private final AtomicInteger renders = new AtomicInteger();
+    private TransactionRepository transactionRepository;
+    private PdfGenerator pdfGenerator;
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        transactionRepository = mock(TransactionRepository.class, withSettings().stubOnly());
+        when(transactionRepository.findByTransactionId(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(history.get(invocation.<String>getArgument(0))));
+        pdfGenerator = new PdfGenerator() {
+            public byte[] generateAccountStatement(BankAccount account, List<Transaction> transactions,
+                                                   String periodStart, String periodEnd, StatementSummary summary) {
+                throw new UnsupportedOperationException();
+            }
+            public void writeAccountStatement(BankAccount account, Iterator<Transaction> transactions,
+                                              String periodStart, String periodEnd, StatementSummary summary,
+                                              OutputStream output) {
+                throw new UnsupportedOperationException();
+            }
+            public byte[] generateTransactionReceipt(Transaction transaction) {
+                renders.incrementAndGet();
+                return ("%PDF " + transaction.getTransactionId() + " " + transaction.getStatus()).getBytes();
+            }
+        };
+        directory = Files.createTempDirectory("receipt-cache");
+    }
+
+    private ReceiptCache cache() {
+        return new ReceiptCache(transactionRepository, pdfGenerator, 1024 * 1024, directory.toString(), 1024 * 1024);
+    }
+
+    private Transaction transaction(String id, String status) {
+        Transaction transaction = new Transaction("ACC123456", "ACC789012", new BigDecimal("100.00"),
+                "USD", "TRANSFER", status, "Rent");
+        transaction.setTransactionId(id);
+        transaction.setTimestamp(LocalDateTime.of(2024, 1, 31, 12, 0));
+        history.put(id, transaction);
+        return transaction;
+    }
+
+    private static byte[] download(ReceiptCache cache, String id) {
+        ReceiptVersion version = cache.lookup(id).orElseThrow();
+        return cache.pdf(version);
+    }
+
+    @Test
+    void finalReceiptsAreRenderedOnceAndSurviveARestart() {
+        System.out.println("🧪 Testing receipt cache tiers...");
+
+        // Given
+        transaction("TX-1", "SUCCESS");
+        ReceiptCache cache = cache();
+
+        // When - three downloads, then a new cache over the same directory (a restart)
+        byte[] first = download(cache, "TX-1");
+        download(cache, "TX-1");
+        download(cache, "TX-1");
+        ReceiptCache restarted = cache();
+        byte[] afterRestart = download(restarted, "TX-1");
+
+        // Then - one render; the ETag is known from memory without a lookup, and stays the same
+        assertEquals(1, renders.get());
+        assertArrayEquals(first, afterRestart);
+        assertEquals(cache.lookup("TX-1").orElseThrow().etag(), cache.knownEtag("TX-1").orElseThrow());
+        assertEquals(cache.lookup("TX-1").orElseThrow().etag(), restarted.lookup("TX-1").orElseThrow().etag());
+        assertEquals(1, restarted.stats().fromDisk());
+        System.out.println("✅ " + cache.stats());
+    }
+
+    @Test
+    void aChangedTransactionGetsANewEtagAndPendingOnesAreNotKept() {
+        System.out.println("🧪 Testing receipt versions...");
+
+        // Given - a pending transfer, downloaded twice
+        Transaction transaction = transaction("TX-2", "PENDING");
+        ReceiptCache cache = cache();
+        String pendingEtag = cache.lookup("TX-2").orElseThrow().etag();
+        download(cache, "TX-2");
+        download(cache, "TX-2");
+
+        // When - it completes
+        transaction.setStatus("SUCCESS");
+        ReceiptVersion done = cache.lookup("TX-2").orElseThrow();
+        byte[] receipt = cache.pdf(done);
+
+        // Then - pending receipts rendered every time, the final one under a new ETag
+        assertEquals(3, renders.get());
+        assertTrue(cache.knownEtag("TX-2").isPresent());
+        assertNotEquals(pendingEtag, done.etag());
+        assertEquals("%PDF TX-2 SUCCESS", new String(receipt));
+        assertTrue(cache.lookup("TX-404").isEmpty());
+        System.out.println("✅ " + pendingEtag + " -> " + done.etag());
+    }
+}
@@ -0,0 +1,140 @@
+package com.banking.system.adapter.out.persistence.cache;
+
+import com.banking.system.adapter.out.persistence.postgres.repository.BankAccountPostgresRepository;
+import com.banking.system.domain.model.BankAccount;
+import com.banking.system.domain.model.Money;
+import com.banking.system.domain.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+public class CachingBankAccountRepositoryTest {
+
+    // "Database" row and a counter of database reads
+    private final AtomicInteger databaseReads = new AtomicInteger();
+    private Money persistedBalance = Money.of(new BigDecimal("100.00"), "USD");
+    private boolean ownerBlocked = false;
+
+    private CachingBankAccountRepository repository;
+
+    private BankAccount row() {
+        User owner = new User("owner", "owner@test.com", "pw", "Owner");
+        owner.setId(7L);
+        owner.setBlocked(ownerBlocked);
+        BankAccount account = new BankAccount("ACC1", owner, "USD");
+        account.setId(1L);
+        account.updateBalance(persistedBalance);
+        return account;
+    }
+
+    @BeforeEach
+    void setUp() {
+        BankAccountPostgresRepository database = mock(BankAccountPostgresRepository.class, withSettings().stubOnly());
+        when(database.findByAccountNumber(anyString())).thenAnswer(invocation -> {
+            databaseReads.incrementAndGet();
+            if (!"ACC1".equals(invocation.getArgument(0))) {
+                return Optional.empty();
+            }
+            return Optional.of(row());
+        });
+        when(database.findAllForUpdate(any())).thenAnswer(invocation -> List.of(row()));
+        when(database.incrementBalance(anyString(), any(Money.class))).thenAnswer(invocation -> {
+            persistedBalance = persistedBalance.plus(invocation.getArgument(1));
+            return Optional.of(persistedBalance);
+        });
+        repository = new CachingBankAccountRepository(database, 1000, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void repeatedLookupsHitTheCache() {
+        System.out.println("🧪 Testing read-through caching...");
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(repository.findByAccountNumber("ACC1").isPresent());
+        }
+        assertFalse(repository.findByAccountNumber("ACC999").isPresent());
+
+        assertEquals(2, databaseReads.get());  // one miss per number
+        System.out.println("✅ " + repository.stats());
+    }
+
+    @Test
+    void writesInvalidateTheCachedAccount() {
+        System.out.println("🧪 Testing invalidation on balance updates...");
+
+        repository.findByAccountNumber("ACC1");
+        repository.incrementBalance("ACC1", Money.ofMinor(2_500, "USD"));
+
+        assertEquals(new BigDecimal("125.00"), repository.findByAccountNumber("ACC1").get().getBalance());
+        System.out.println("✅ Fresh balance after write");
+    }
+
+    @Test
+    void lockedTransfersEvictAfterCommit() {
+        System.out.println("🧪 Testing invalidation after a locked transfer...");
+
+        // Given - a transfer locks the row (bypassing the cache) and writes the new balance by ID
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            repository.findAllForUpdate(List.of("ACC1"));
+            repository.updateBalances(Map.of(1L, Money.of(new BigDecimal("150.00"), "USD")));
+
+            // When - another reader caches the pre-commit row, then the transfer commits
+            repository.findByAccountNumber("ACC1");
+            persistedBalance = Money.of(new BigDecimal("150.00"), "USD");
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then - the committed balance, not the one cached before the commit
+        assertEquals(new BigDecimal("150.00"), repository.findByAccountNumber("ACC1").orElseThrow().getBalance());
+        System.out.println("✅ Stale balance evicted at commit");
+    }
+
+    @Test
+    void callersGetCopies() {
+        System.out.println("🧪 Testing defensive copies...");
+
+        BankAccount first = repository.findByAccountNumber("ACC1").get();
+        first.deposit(new BigDecimal("50.00"));
+        first.getUser().blockUser();
+
+        BankAccount second = repository.findByAccountNumber("ACC1").get();
+        assertEquals(new BigDecimal("100.00"), second.getBalance());
+        assertFalse(second.getUser().isBlocked());
+        System.out.println("✅ Cached account unchanged by caller");
+    }
+
+    @Test
+    void blockingTheOwnerEvictsAccounts() {
+        System.out.println("🧪 Testing eviction when the owner changes...");
+
+        repository.findByAccountNumber("ACC1");
+        ownerBlocked = true;
+        repository.evictUserAccounts(7L);
+
+        assertTrue(repository.findByAccountNumber("ACC1").get().getUser().isBlocked());
+        assertTrue(repository.findBalanceSnapshot("ACC1").get().ownerBlocked());
+        System.out.println("✅ Blocked owner visible immediately");
+    }
+}
@@ -0,0 +1,109 @@
+package com.banking.system.adapter.out.persistence.cache;
+
+import com.banking.system.application.pagination.CursorPage;
+import com.banking.system.application.port.out.persistence.TransactionRepository;
+import com.banking.system.domain.model.Transaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+public class RecentTransactionCacheTest {
+
+    private static final LocalDateTime MORNING = LocalDateTime.of(2024, 1, 15, 9, 0);
+
+    // "MongoDB" history and a counter of history queries
+    private final List<Transaction> history = new ArrayList<>();
+    private final AtomicInteger historyReads = new AtomicInteger();
+    private RecentTransactionCache cache;
+
+    @BeforeEach
+    void setUp() {
+        TransactionRepository repository = mock(TransactionRepository.class, withSettings().stubOnly());
+        when(repository.findPageByAccountNumber(anyString(), any(), anyInt())).thenAnswer(invocation -> {
+            historyReads.incrementAndGet();
+            String account = invocation.getArgument(0);
+            int limit = invocation.getArgument(2);
+            List<Transaction> page = history.stream()
+                    .filter(t -> account.equals(t.getFromAccount()) || account.equals(t.getToAccount()))
+                    .sorted(Comparator.comparing(Transaction::getTimestamp).reversed())
+                    .limit(limit)
+                    .toList();
+            return new CursorPage<>(page, null);
+        });
+        cache = new RecentTransactionCache(repository, 5, 1000);
+    }
+
+    // Stored in the history, then passed to the listener - as the history decorator does
+    private Transaction store(Transaction transaction, LocalDateTime timestamp) {
+        transaction.setTimestamp(timestamp);
+        history.add(transaction);
+        cache.onStored(List.of(transaction));
+        return transaction;
+    }
+
+    private static List<String> ids(List<Transaction> transactions) {
+        return transactions.stream().map(Transaction::getTransactionId).toList();
+    }
+
+    @Test
+    void firstReadBackfillsThenWritesKeepTheAccountCurrent() {
+        System.out.println("🧪 Testing recent transactions cache...");
+
+        // Given - three deposits before anyone asked
+        List<Transaction> older = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            older.add(store(Transaction.deposit("ACC1", BigDecimal.TEN, "USD"), MORNING.plusMinutes(i)));
+        }
+
+        // When - first read, then two more movements (one of them written twice), then more reads
+        assertEquals(3, cache.recent("ACC1", 5).size());
+        Transaction transfer = store(Transaction.transfer("ACC2", "ACC1", BigDecimal.ONE, "USD"), MORNING.plusHours(1));
+        Transaction withdrawal = store(Transaction.withdrawal("ACC1", BigDecimal.ONE, "USD"), MORNING.plusHours(2));
+        cache.onStored(List.of(withdrawal));
+        List<Transaction> recent = null;
+        for (int i = 0; i < 100; i++) {
+            recent = cache.recent("ACC1", 5);
+        }
+
+        // Then - one history query in total, newest first, capped at the cache size
+        assertEquals(1, historyReads.get());
+        assertEquals(List.of(withdrawal.getTransactionId(), transfer.getTransactionId(),
+                older.get(2).getTransactionId(), older.get(1).getTransactionId(), older.get(0).getTransactionId()), ids(recent));
+        assertEquals(2, cache.recent("ACC1", 2).size());
+        System.out.println("✅ 101 reads, " + historyReads.get() + " history query");
+    }
+
+    @Test
+    void writesDoNotCacheColdAccountsAndLateEntriesArePlacedByTime() {
+        System.out.println("🧪 Testing cache admission and ordering...");
+
+        // Given - ACC1 is being read, ACC2 is not
+        store(Transaction.deposit("ACC1", BigDecimal.TEN, "USD"), MORNING.plusHours(3));
+        cache.recent("ACC1", 5);
+        store(Transaction.deposit("ACC2", BigDecimal.TEN, "USD"), MORNING);
+
+        // When - an entry from earlier in the morning arrives late (spool replay)
+        Transaction late = store(Transaction.withdrawal("ACC1", BigDecimal.ONE, "USD"), MORNING);
+
+        // Then - ACC2 was not cached by the write; the late entry sits behind the newer one
+        assertEquals(1, cache.stats().accounts());
+        assertEquals(late.getTransactionId(), cache.recent("ACC1", 5).get(1).getTransactionId());
+        assertEquals(1, cache.recent("ACC2", 5).size());
+        assertEquals(2, historyReads.get());
+        System.out.println("✅ " + cache.stats());
+    }
+}
@@ -0,0 +1,125 @@
+package com.banking.system.adapter.out.persistence.mongodb.mapper;
+
+import com.banking.system.adapter.out.persistence.mongodb.document.CompactTransactionDocument;
+import com.banking.system.adapter.out.persistence.mongodb.document.TransactionDocument;
+import com.banking.system.domain.model.Transaction;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompactTransactionDocumentMapperTest {
+
+    private final CompactTransactionDocumentMapper compactMapper = new CompactTransactionDocumentMapper();
+    private final TransactionDocumentMapper legacyMapper = new TransactionDocumentMapper();
+
+    private static List<Transaction> sampleHistory() {
+        Transaction failed = new Transaction("ACC123456", null, new BigDecimal("5000.00"), "USD",
+                "WITHDRAW", "FAILED", "Insufficient funds");
+        List<Transaction> history = List.of(
+                Transaction.deposit("ACC123456", new BigDecimal("1000.00"), "USD"),
+                Transaction.withdrawal("ACC123456", new BigDecimal("50.25"), "USD"),
+                Transaction.transfer("ACC123456", "ACC789012", new BigDecimal("100.00"), "USD"),
+                Transaction.batchTransfer("ACC789012", "ACC345678", new BigDecimal("7.50"), "EUR"),
+                failed);
+        history.forEach(transaction -> transaction.setTimestamp(LocalDateTime.of(2024, 1, 15, 10, 30)));
+        return history;
+    }
+
+    // Converter built as the application's is: default conversions, also telling the mapping context which types are simple
+    private static MappingMongoConverter applicationConverter() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+
+    // BSON as MongoDB stores it - same converter rules as the application
+    private static Document toBson(MappingMongoConverter converter, Object document) {
+        Document bson = new Document();
+        converter.write(document, bson);
+        return bson;
+    }
+
+    private static int bsonSize(Document bson) {
+        return new RawBsonDocument(bson, new DocumentCodec()).getByteBuffer().remaining();
+    }
+
+    @Test
+    void roundTripKeepsEveryField() {
+        System.out.println("🧪 Testing compact document round trip...");
+
+        for (Transaction original : sampleHistory()) {
+            // When
+            CompactTransactionDocument document = compactMapper.toDocument(original);
+            Transaction restored = compactMapper.toDomain(document);
+
+            // Then - identical domain entry; standard descriptions are not stored
+            assertEquals(original.getTransactionId(), document.getId());
+            assertEquals(original.getTransactionId(), restored.getTransactionId());
+            assertEquals(original.getFromAccount(), restored.getFromAccount());
+            assertEquals(original.getToAccount(), restored.getToAccount());
+            assertEquals(original.getAmount(), restored.getAmount());
+            assertEquals(original.getCurrency(), restored.getCurrency());
+            assertEquals(original.getType(), restored.getType());
+            assertEquals(original.getStatus(), restored.getStatus());
+            assertEquals(original.getTimestamp(), restored.getTimestamp());
+            assertEquals(original.getDescription(), restored.getDescription());
+        }
+        assertNull(compactMapper.toDocument(sampleHistory().get(0)).getDescription());
+        assertEquals("Insufficient funds", compactMapper.toDocument(sampleHistory().get(4)).getDescription());
+        System.out.println("✅ All movement kinds survive the compact schema");
+    }
+
+    @Test
+    void compactDocumentsAreLessThanHalfTheSize() {
+        System.out.println("🧪 Measuring bytes per document...");
+
+        MappingMongoConverter converter = applicationConverter();
+
+        long legacyBytes = 0;
+        long compactBytes = 0;
+        for (Transaction transaction : sampleHistory()) {
+            // Given - the same entry in both schemas (legacy documents get an ObjectId _id on insert)
+            TransactionDocument legacy = legacyMapper.toDocument(transaction);
+            legacy.setId(new ObjectId().toHexString());
+            CompactTransactionDocument migrated = compactMapper.fromLegacy(legacy);
+
+            // When
+            Document legacyBson = toBson(converter, legacy);
+            Document compactBson = toBson(converter, migrated);
+            legacyBytes += bsonSize(legacyBson);
+            compactBytes += bsonSize(compactBson);
+
+            // Then - the transaction ID is the key, the amount a Decimal128
+            assertEquals(transaction.getTransactionId(), compactBson.get("_id"));
+            assertInstanceOf(Decimal128.class, compactBson.get("a"));
+            assertFalse(compactBson.containsKey("transaction_id"));
+        }
+
+        int count = sampleHistory().size();
+        System.out.println("📏 Bytes per document: legacy " + legacyBytes / count + ", compact " + compactBytes / count);
+        assertTrue(compactBytes * 2 < legacyBytes, "compact " + compactBytes + " vs legacy " + legacyBytes);
+        System.out.println("✅ Compact schema saves " + (100 - compactBytes * 100 / legacyBytes) + "%");
+    }
+}
@@ -0,0 +1,112 @@
+package com.banking.system.adapter.out.persistence.mongodb.migration;
+
+import com.banking.system.adapter.out.persistence.mongodb.document.CompactTransactionDocument;
+import com.banking.system.adapter.out.persistence.mongodb.document.TransactionDocument;
+import com.banking.system.adapter.out.persistence.mongodb.mapper.CompactTransactionDocumentMapper;
+import com.banking.system.adapter.out.persistence.mongodb.mapper.TransactionDocumentMapper;
+import com.banking.system.domain.model.Transaction;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.BsonDocument;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+public class TransactionSchemaMigrationTest {
+
+    // "transactions_compact" - _id -> document
+    private final Map<String, CompactTransactionDocument> compact = new ConcurrentHashMap<>();
+    private final CompactTransactionDocumentMapper compactMapper = new CompactTransactionDocumentMapper();
+    private final TransactionDocumentMapper legacyMapper = new TransactionDocumentMapper();
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class, withSettings().stubOnly());
+        when(mongoTemplate.findById(anyString(), eq(CompactTransactionDocument.class)))
+                .thenAnswer(invocation -> compact.get(invocation.<String>getArgument(0)));
+        // Unordered bulk insert: every document is tried, duplicates of _id are reported by index
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CompactTransactionDocument.class)).thenAnswer(bulk -> {
+            List<CompactTransactionDocument> pending = new ArrayList<>();
+            BulkOperations operations = mock(BulkOperations.class, withSettings().stubOnly());
+            when(operations.insert(anyList())).thenAnswer(insert -> {
+                pending.addAll(insert.getArgument(0));
+                return operations;
+            });
+            when(operations.execute()).thenAnswer(execute -> {
+                List<BulkWriteError> errors = new ArrayList<>();
+                for (int i = 0; i < pending.size(); i++) {
+                    if (compact.putIfAbsent(pending.get(i).getId(), pending.get(i)) != null) {
+                        errors.add(new BulkWriteError(11000, "E11000 duplicate key", new BsonDocument(), i));
+                    }
+                }
+                BulkWriteResult result = BulkWriteResult.acknowledged(pending.size() - errors.size(), 0, 0, 0,
+                        List.of(), List.of());
+                if (!errors.isEmpty()) {
+                    throw new BulkOperationException("duplicates",
+                            new MongoBulkWriteException(result, errors, null, new ServerAddress(), Set.of()));
+                }
+                return result;
+            });
+            return operations;
+        });
+    }
+
+    private TransactionDocument legacy(String transactionId, String amount) {
+        Transaction transaction = Transaction.deposit("ACC123456", new BigDecimal(amount), "USD");
+        transaction.setTransactionId(transactionId);
+        transaction.setTimestamp(LocalDateTime.of(2024, 1, 15, 10, 30));
+        TransactionDocument document = legacyMapper.toDocument(transaction);
+        document.setId(new ObjectId().toHexString());
+        return document;
+    }
+
+    @Test
+    void collidingLegacyIdsAreReportedNotCountedAsMigrated() throws Exception {
+        System.out.println("🧪 Testing migration of colliding legacy transaction IDs...");
+
+        // Given - TX-A was migrated by an earlier run; a different deposit reuses its old 8-hex ID
+        TransactionDocument migratedBefore = legacy("TXN1A2B3C4D", "100.00");
+        TransactionDocument collision = legacy("TXN1A2B3C4D", "250.00");
+        TransactionDocument fresh = legacy("TXN5E6F7A8B", "75.00");
+        compact.put(migratedBefore.getTransactionId(), compactMapper.fromLegacy(migratedBefore));
+        when(mongoTemplate.find(any(Query.class), eq(TransactionDocument.class)))
+                .thenReturn(List.of(migratedBefore, collision, fresh), List.of());
+
+        // When
+        TransactionSchemaMigration.MigrationReport report =
+                new TransactionSchemaMigration(mongoTemplate, compactMapper, 100, 2).migrate();
+
+        // Then - only the real insert counts; the collision is reported and the stored entry is untouched
+        assertEquals(1, report.migrated());
+        assertEquals(1, report.alreadyMigrated());
+        assertEquals(1, report.collisions());
+        assertEquals(0, new BigDecimal("100.00").compareTo(compact.get("TXN1A2B3C4D").getAmount()));
+        System.out.println("✅ " + report.migrated() + " migrated, " + report.alreadyMigrated() + " already there, "
+                + report.collisions() + " collision reported");
+    }
+}
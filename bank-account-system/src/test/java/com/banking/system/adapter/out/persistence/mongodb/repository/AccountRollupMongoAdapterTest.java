@@ -0,0 +1,106 @@
+package com.banking.system.adapter.out.persistence.mongodb.repository;
+
+import com.banking.system.adapter.out.persistence.mongodb.mapper.TransactionBucketMapper;
+import com.banking.system.domain.model.Transaction;
+import com.mongodb.client.AggregateIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+public class AccountRollupMongoAdapterTest {
+
+    private static final LocalDateTime MORNING = LocalDateTime.of(2024, 1, 15, 9, 0);
+
+    // Bulk writes sent to MongoDB, and the (acct, transaction ID) pairs they added
+    private final List<List<UpdateOneModel<Document>>> bulkWrites = new ArrayList<>();
+    private final List<Document> addedIds = new ArrayList<>();
+    private AccountRollupMongoAdapter adapter;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MongoCollection<Document> collection = mock(MongoCollection.class, withSettings().stubOnly());
+        when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class))).thenAnswer(invocation -> {
+            List<UpdateOneModel<Document>> updates = new ArrayList<>(invocation.getArgument(0));
+            bulkWrites.add(updates);
+            for (UpdateOneModel<Document> update : updates) {
+                String account = condition(update, "acct").asString().getValue();
+                entries(update).forEach(entry -> addedIds.add(new Document("acct", account).append("i", entry.getString("i"))));
+            }
+            return null;
+        });
+        AggregateIterable<Document> added = mock(AggregateIterable.class, withSettings().stubOnly());
+        when(added.into(any())).thenAnswer(invocation -> {
+            Collection<Document> target = invocation.getArgument(0);
+            target.addAll(addedIds);
+            return target;
+        });
+        when(collection.aggregate(anyList())).thenReturn(added);
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class, withSettings().stubOnly());
+        when(mongoTemplate.getCollection(AccountRollupMongoAdapter.COLLECTION)).thenReturn(collection);
+        adapter = new AccountRollupMongoAdapter(new TransactionBucketMapper(), mongoTemplate, 100);
+    }
+
+    private static BsonValue condition(UpdateOneModel<Document> update, String field) {
+        for (BsonValue clause : update.getFilter().toBsonDocument().getArray("$and")) {
+            BsonDocument document = clause.asDocument();
+            if (document.containsKey(field)) {
+                return document.get(field);
+            }
+        }
+        throw new AssertionError("No " + field + " condition in " + update.getFilter());
+    }
+
+    // {$set: {_new: {$filter: {input: {$literal: [entries]}, ...}}}}
+    @SuppressWarnings("unchecked")
+    private static List<Document> entries(UpdateOneModel<Document> update) {
+        Document set = (Document) update.getUpdatePipeline().get(0);
+        Document filter = (Document) ((Document) ((Document) set.get("$set")).get("_new")).get("$filter");
+        return (List<Document>) ((Document) filter.get("input")).get("$literal");
+    }
+
+    @Test
+    void busyDaysAreSplitAndRetriesAreCountedOnce() {
+        System.out.println("🧪 Testing rollup documents of a busy day...");
+
+        // Given - 250 deposits to one account on one day
+        List<Transaction> deposits = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            deposits.add(Transaction.deposit("ACC1", BigDecimal.ONE, "USD"));
+            deposits.get(i).setTimestamp(MORNING.plusSeconds(i));
+        }
+
+        // When - recorded, then the first twenty retried
+        adapter.record(deposits);
+        adapter.record(deposits.subList(0, 20));
+
+        // Then - three documents of at most 100 IDs (each only matching one with room for the chunk),
+        // and nothing written for the retry
+        List<Integer> sizes = bulkWrites.get(0).stream().map(update -> entries(update).size()).toList();
+        List<Integer> room = bulkWrites.get(0).stream()
+                .map(update -> condition(update, "n").asDocument().getInt32("$lte").getValue()).toList();
+        assertEquals(List.of(100, 100, 50), sizes);
+        assertEquals(List.of(0, 0, 50), room);
+        assertEquals(1, bulkWrites.size());
+        System.out.println("✅ 250 entries -> " + sizes + ", retry of 20 left out");
+    }
+}
@@ -0,0 +1,208 @@
+package com.banking.system.adapter.out.persistence.mongodb.repository;
+
+import com.banking.system.adapter.out.persistence.mongodb.mapper.TransactionBucketMapper;
+import com.banking.system.domain.model.Transaction;
+import com.mongodb.client.AggregateIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+public class BucketedTransactionMongoAdapterTest {
+
+    private static final LocalDateTime MORNING = LocalDateTime.of(2024, 1, 15, 9, 0);
+
+    // Bulk writes sent to MongoDB: one list of bucket upserts per saveAll
+    private final List<List<UpdateOneModel<Document>>> bulkWrites = new ArrayList<>();
+    // Entries written so far, as the stored-entry lookup returns them: {acct, i}
+    private final List<Document> storedEntries = new ArrayList<>();
+    private final TransactionBucketMapper mapper = new TransactionBucketMapper();
+    private BucketedTransactionMongoAdapter adapter;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MongoCollection<Document> collection = mock(MongoCollection.class, withSettings().stubOnly());
+        when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class))).thenAnswer(invocation -> {
+            List<UpdateOneModel<Document>> updates = new ArrayList<>(invocation.getArgument(0));
+            bulkWrites.add(updates);
+            for (UpdateOneModel<Document> update : updates) {
+                String account = bucketOf(update).split("/")[0];
+                entries(update).forEach(entry -> storedEntries.add(new Document("acct", account).append("i", entry.getString("i"))));
+            }
+            return null;
+        });
+        AggregateIterable<Document> stored = mock(AggregateIterable.class, withSettings().stubOnly());
+        when(stored.into(any())).thenAnswer(invocation -> {
+            Collection<Document> target = invocation.getArgument(0);
+            target.addAll(storedEntries);
+            return target;
+        });
+        when(collection.aggregate(anyList())).thenReturn(stored);
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class, withSettings().stubOnly());
+        when(mongoTemplate.getCollection(BucketedTransactionMongoAdapter.COLLECTION)).thenReturn(collection);
+        adapter = new BucketedTransactionMongoAdapter(mapper, mongoTemplate, 200);
+    }
+
+    private static Transaction at(Transaction transaction, LocalDateTime timestamp) {
+        transaction.setTimestamp(timestamp);
+        return transaction;
+    }
+
+    // Bucket filter (account, day) -> number of entries appended to it, for the last bulk write
+    private Map<String, Integer> entriesPerBucket() {
+        Map<String, Integer> buckets = new TreeMap<>();
+        for (UpdateOneModel<Document> update : bulkWrites.get(bulkWrites.size() - 1)) {
+            buckets.merge(bucketOf(update), entriesIn(update), Integer::sum);
+        }
+        return buckets;
+    }
+
+    private static String bucketOf(UpdateOneModel<Document> update) {
+        String account = null;
+        String day = null;
+        for (BsonValue clause : update.getFilter().toBsonDocument().getArray("$and")) {
+            BsonDocument condition = clause.asDocument();
+            if (condition.containsKey("acct")) {
+                account = condition.getString("acct").getValue();
+            }
+            if (condition.containsKey("day")) {
+                day = condition.getString("day").getValue();
+            }
+        }
+        return account + "/" + day;
+    }
+
+    // {$set: {_new: {$filter: {input: {$literal: [entries]}, ...}}}}
+    @SuppressWarnings("unchecked")
+    private static List<Document> entries(UpdateOneModel<Document> update) {
+        Document set = (Document) update.getUpdatePipeline().get(0);
+        Document filter = (Document) ((Document) ((Document) set.get("$set")).get("_new")).get("$filter");
+        return (List<Document>) ((Document) filter.get("input")).get("$literal");
+    }
+
+    private static int entriesIn(UpdateOneModel<Document> update) {
+        return entries(update).size();
+    }
+
+    // Most entries a bucket may already hold to match: {n: {$lte: x}}
+    private static int roomCondition(UpdateOneModel<Document> update) {
+        for (BsonValue clause : update.getFilter().toBsonDocument().getArray("$and")) {
+            if (clause.asDocument().containsKey("n")) {
+                return clause.asDocument().getDocument("n").getInt32("$lte").getValue();
+            }
+        }
+        throw new AssertionError("No room condition in " + update.getFilter());
+    }
+
+    @Test
+    void movementsAreAppendedToEachAccountsDailyBucket() {
+        System.out.println("🧪 Testing bucket routing...");
+
+        // Given - a deposit, a transfer and a withdrawal on one day, a deposit on the next
+        List<Transaction> history = List.of(
+                at(Transaction.deposit("ACC1", new BigDecimal("100.00"), "USD"), MORNING),
+                at(Transaction.transfer("ACC1", "ACC2", new BigDecimal("40.00"), "USD"), MORNING.plusHours(1)),
+                at(Transaction.withdrawal("ACC2", new BigDecimal("10.00"), "USD"), MORNING.plusHours(2)),
+                at(Transaction.deposit("ACC1", new BigDecimal("5.00"), "USD"), MORNING.plusDays(1)));
+
+        // When - one saveAll
+        adapter.saveAll(history);
+
+        // Then - one bulk write, one upsert per (account, day); the transfer is in both accounts' buckets
+        assertEquals(1, bulkWrites.size());
+        assertEquals(Map.of("ACC1/2024-01-15", 2, "ACC2/2024-01-15", 2, "ACC1/2024-01-16", 1), entriesPerBucket());
+        System.out.println("✅ 4 movements -> " + bulkWrites.get(0).size() + " bucket upserts");
+    }
+
+    @Test
+    void largeBatchesAreSplitAtTheBucketSize() {
+        System.out.println("🧪 Testing bucket size limit...");
+
+        // Given - 450 deposits to one account on one day
+        List<Transaction> deposits = new ArrayList<>();
+        for (int i = 0; i < 450; i++) {
+            deposits.add(at(Transaction.deposit("ACC1", BigDecimal.ONE, "USD"), MORNING.plusSeconds(i)));
+        }
+
+        // When
+        adapter.saveAll(deposits);
+
+        // Then - three upserts of at most 200 entries, each only matching a bucket with room for all of them
+        List<Integer> sizes = bulkWrites.get(0).stream().map(BucketedTransactionMongoAdapterTest::entriesIn).toList();
+        List<Integer> room = bulkWrites.get(0).stream().map(BucketedTransactionMongoAdapterTest::roomCondition).toList();
+        assertEquals(List.of(200, 200, 50), sizes);
+        assertEquals(List.of(0, 0, 150), room);
+        System.out.println("✅ 450 entries -> " + sizes + ", buckets holding at most " + room);
+    }
+
+    @Test
+    void retriedEntriesAreLeftOutWhateverBucketTheyAreIn() {
+        System.out.println("🧪 Testing retried writes across full buckets...");
+
+        // Given - 450 deposits stored over three buckets
+        List<Transaction> deposits = new ArrayList<>();
+        for (int i = 0; i < 450; i++) {
+            deposits.add(at(Transaction.deposit("ACC1", BigDecimal.ONE, "USD"), MORNING.plusSeconds(i)));
+        }
+        adapter.saveAll(deposits);
+
+        // When - the first ten (now in a full bucket) are retried together with one new deposit,
+        // and the new one is listed twice
+        Transaction fresh = at(Transaction.deposit("ACC1", BigDecimal.TEN, "USD"), MORNING.plusHours(5));
+        List<Transaction> retry = new ArrayList<>(deposits.subList(0, 10));
+        retry.add(fresh);
+        retry.add(fresh);
+        adapter.saveAll(retry);
+
+        // Then - only the new deposit is appended, once
+        List<UpdateOneModel<Document>> lastWrite = bulkWrites.get(bulkWrites.size() - 1);
+        assertEquals(1, lastWrite.size());
+        assertEquals(List.of(fresh.getTransactionId()), entries(lastWrite.get(0)).stream().map(entry -> entry.getString("i")).toList());
+        System.out.println("✅ 10 retried entries left out, 1 appended");
+    }
+
+    @Test
+    void entriesRoundTripWithoutStandardDescriptions() {
+        System.out.println("🧪 Testing bucket entry encoding...");
+
+        Transaction transfer = at(Transaction.transfer("ACC1", "ACC2", new BigDecimal("40.10"), "EUR"), MORNING);
+        Transaction failed = at(new Transaction("ACC1", null, new BigDecimal("900.00"), "EUR",
+                "WITHDRAW", "FAILED", "Insufficient funds"), MORNING);
+
+        for (Transaction original : List.of(transfer, failed)) {
+            Transaction restored = mapper.toDomain(mapper.toEntry(original));
+            assertEquals(original.getTransactionId(), restored.getTransactionId());
+            assertEquals(original.getFromAccount(), restored.getFromAccount());
+            assertEquals(original.getToAccount(), restored.getToAccount());
+            assertEquals(original.getAmount(), restored.getAmount());
+            assertEquals(original.getType(), restored.getType());
+            assertEquals(original.getStatus(), restored.getStatus());
+            assertEquals(original.getTimestamp(), restored.getTimestamp());
+            assertEquals(original.getDescription(), restored.getDescription());
+        }
+        assertNull(mapper.toEntry(transfer).get("d"));
+        System.out.println("✅ Entries survive the bucket encoding");
+    }
+}
@@ -0,0 +1,171 @@
+package com.banking.system.adapter.out.persistence.mongodb.repository;
+
+import com.banking.system.adapter.out.persistence.mongodb.document.TransactionDocument;
+import com.banking.system.adapter.out.persistence.mongodb.mapper.TransactionDocumentMapper;
+import com.banking.system.domain.model.Transaction;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+public class TransactionMongoAdapterTest {
+
+    private static final LocalDateTime JANUARY = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private static TransactionDocument entry(String id, String from, String to, int day) {
+        TransactionDocument document = new TransactionDocument(id, from, to, BigDecimal.TEN, "USD",
+                "TRANSFER", "SUCCESS", "Transfer " + id);
+        document.setId(id);
+        document.setTimestamp(JANUARY.plusDays(day));
+        return document;
+    }
+
+    @Test
+    void startupSurvivesDuplicateTransactionIds() {
+        System.out.println("🧪 Testing index setup over old duplicate IDs...");
+
+        // Given - old 8-hex IDs collide, so MongoDB refuses to build the unique index over the whole history
+        IndexOperations indexes = mock(IndexOperations.class);
+        when(indexes.createIndex(argThat(index -> index.getIndexOptions().containsKey("unique")
+                && !index.getIndexOptions().containsKey("partialFilterExpression"))))
+                .thenThrow(new DuplicateKeyException("E11000 duplicate key error collection: transactions"));
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class, withSettings().stubOnly());
+        when(mongoTemplate.indexOps(TransactionDocument.class)).thenReturn(indexes);
+        TransactionMongoAdapter adapter = new TransactionMongoAdapter(
+                mock(TransactionMongoRepository.class, withSettings().stubOnly()),
+                new TransactionDocumentMapper(), mongoTemplate);
+
+        // When
+        adapter.ensureIndexes();
+
+        // Then - no exception, every query index is still there, and new entries are unique
+        verify(indexes, times(8)).createIndex(any());
+        verify(indexes).createIndex(argThat(index -> index.getIndexOptions().containsKey("unique")
+                && index.getIndexOptions().get("partialFilterExpression") != null
+                && index.getIndexOptions().get("partialFilterExpression").toString().contains("unique_id")));
+        assertEquals(TransactionMongoAdapter.TransactionIdIndex.NEW_ENTRIES_ONLY, adapter.transactionIdIndex());
+        assertEquals(Boolean.TRUE, new TransactionDocumentMapper().toDocument(
+                Transaction.deposit("ACC1", BigDecimal.TEN, "USD")).getUniqueId());
+        System.out.println("✅ Started with a unique index for new entries only");
+    }
+
+    @Test
+    void statementMergesBothSidesInTimeOrder() {
+        System.out.println("🧪 Testing time-ranged statement query...");
+
+        // Given - MongoDB answers the sender-side range scan, then the receiver-side one
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class, withSettings().stubOnly());
+        when(mongoTemplate.find(any(Query.class), eq(TransactionDocument.class)))
+                .thenReturn(List.of(entry("s1", "ACC1", "ACC2", 1), entry("s2", "ACC1", "ACC3", 4),
+                        entry("s3", "ACC1", "ACC2", 9)))
+                .thenReturn(List.of(entry("r1", "ACC2", "ACC1", 2), entry("r2", "ACC3", "ACC1", 4),
+                        entry("r3", "ACC2", "ACC1", 7)));
+        TransactionMongoAdapter adapter = new TransactionMongoAdapter(
+                mock(TransactionMongoRepository.class, withSettings().stubOnly()),
+                new TransactionDocumentMapper(), mongoTemplate);
+
+        // When - at most 5 entries of January
+        List<Transaction> statement = adapter.findByAccountNumberBetween("ACC1", JANUARY, JANUARY.plusMonths(1), 5);
+
+        // Then - oldest first across both sides, cut at the limit
+        assertEquals(List.of("s1", "r1", "s2", "r2", "r3"),
+                statement.stream().map(Transaction::getTransactionId).toList());
+        for (int i = 1; i < statement.size(); i++) {
+            assertTrue(!statement.get(i).getTimestamp().isBefore(statement.get(i - 1).getTimestamp()));
+        }
+        System.out.println("✅ " + statement.size() + " entries merged from two index range scans");
+    }
+
+    @Test
+    void mergeHandlesEmptySides() {
+        System.out.println("🧪 Testing merge with one side empty...");
+
+        List<TransactionDocument> received = List.of(entry("r1", "ACC2", "ACC1", 2), entry("r2", "ACC2", "ACC1", 3));
+
+        assertEquals(received, TransactionMongoAdapter.mergeByTimestamp(List.of(), received, 10, TransactionDocument::getTimestamp));
+        assertEquals(List.of(), TransactionMongoAdapter.<TransactionDocument>mergeByTimestamp(List.of(), List.of(), 10, TransactionDocument::getTimestamp));
+        assertEquals(1, TransactionMongoAdapter.mergeByTimestamp(received, List.of(), 1, TransactionDocument::getTimestamp).size());
+        System.out.println("✅ Empty sides merged");
+    }
+
+    @Test
+    void streamedMergeKeepsTimeOrderAndClosesBothCursors() {
+        System.out.println("🧪 Testing streamed statement merge...");
+
+        // Given - the sender-side and receiver-side cursors
+        AtomicInteger closed = new AtomicInteger();
+        Stream<TransactionDocument> sent = Stream.of(entry("s1", "ACC1", "ACC2", 1), entry("s2", "ACC1", "ACC3", 4))
+                .onClose(closed::incrementAndGet);
+        Stream<TransactionDocument> received = Stream.of(entry("r1", "ACC2", "ACC1", 2), entry("r2", "ACC3", "ACC1", 4),
+                entry("r3", "ACC2", "ACC1", 7)).onClose(closed::incrementAndGet);
+
+        // When
+        List<String> ids;
+        try (Stream<TransactionDocument> merged = TransactionMongoAdapter.mergeByTimestamp(
+                () -> sent, () -> received, TransactionDocument::getTimestamp)) {
+            ids = merged.map(TransactionDocument::getTransactionId).toList();
+        }
+
+        // Then - oldest first (sender side first on ties), both cursors released
+        assertEquals(List.of("s1", "r1", "s2", "r2", "r3"), ids);
+        assertEquals(2, closed.get());
+        System.out.println("✅ Merged " + ids.size() + " entries from two cursors");
+    }
+
+    @Test
+    void exportsReadTheCursorLazilyWithAProjection() {
+        System.out.println("🧪 Testing streamed export...");
+
+        // Given - a cursor over a million transfers that builds documents only when asked (type not projected)
+        AtomicInteger documentsRead = new AtomicInteger();
+        List<Query> queries = new ArrayList<>();
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class, withSettings().stubOnly());
+        when(mongoTemplate.stream(any(Query.class), eq(TransactionDocument.class))).thenAnswer(invocation -> {
+            queries.add(invocation.getArgument(0));
+            return Stream.iterate(0, i -> i < 1_000_000, i -> i + 1).map(i -> {
+                documentsRead.incrementAndGet();
+                TransactionDocument document = entry("t" + i, "ACC1", "ACC2", i % 28);
+                document.setType(null);
+                return document;
+            });
+        });
+        TransactionMongoAdapter adapter = new TransactionMongoAdapter(
+                mock(TransactionMongoRepository.class, withSettings().stubOnly()),
+                new TransactionDocumentMapper(), mongoTemplate);
+
+        // When - the export's consumer has taken 10 rows
+        List<Transaction> first;
+        try (Stream<Transaction> transfers = adapter.streamByType("TRANSFER", 500)) {
+            first = transfers.limit(10).toList();
+        }
+
+        // Then - only those 10 were read and mapped; the filtered field is set back, projected fields stay out
+        assertEquals(10, documentsRead.get());
+        assertEquals("TRANSFER", first.get(9).getType());
+        assertEquals(500, queries.get(0).getMeta().getCursorBatchSize());
+        assertEquals(0, queries.get(0).getFieldsObject().get("type"));
+        assertEquals(0, queries.get(0).getFieldsObject().get("_class"));
+        assertNull(queries.get(0).getFieldsObject().get("amount"));
+        System.out.println("✅ 10 of 1,000,000 documents read for 10 exported rows");
+    }
+}
@@ -0,0 +1,161 @@
+package com.banking.system.adapter.out.persistence.postgres.repository;
+
+import com.banking.system.adapter.out.persistence.postgres.entity.BankAccountEntity;
+import com.banking.system.adapter.out.persistence.postgres.entity.UserEntity;
+import com.banking.system.adapter.out.persistence.postgres.mapper.BankAccountEntityMapper;
+import com.banking.system.adapter.out.persistence.postgres.mapper.UserEntityMapper;
+import com.banking.system.application.port.out.persistence.BankAccountRepository;
+import com.banking.system.domain.model.BankAccount;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Counts SQL statements per repository call on an in-memory H2 database -
+ * every account read must load its owner in the same statement (no N+1)
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+public class BankAccountQueryCountTest {
+
+    private static final int OWNERS = 5;
+    private static final int ACCOUNTS_PER_OWNER = 4;
+
+    // JPA only - the application class also enables the MongoDB repositories
+    @Configuration
+    @EntityScan(basePackageClasses = BankAccountEntity.class)
+    @EnableJpaRepositories(basePackageClasses = BankAccountJpaRepository.class)
+    @Import({BankAccountPostgresRepository.class, BankAccountEntityMapper.class, UserEntityMapper.class})
+    static class JpaOnlyConfig {
+    }
+
+    @Autowired
+    private BankAccountPostgresRepository repository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Long> ownerIds = new ArrayList<>();
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        // Given - 5 owners with 4 accounts each
+        for (int owner = 0; owner < OWNERS; owner++) {
+            UserEntity user = entityManager.persist(new UserEntity("owner" + owner,
+                    "owner" + owner + "@test.com", "password", "Owner " + owner));
+            ownerIds.add(user.getId());
+            for (int i = 0; i < ACCOUNTS_PER_OWNER; i++) {
+                BankAccountEntity account = new BankAccountEntity("ACC" + owner + "_" + i, user, "USD");
+                account.setBalance(new BigDecimal("100.00"));
+                entityManager.persist(account);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();  // nothing may come from the persistence context
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findAllLoadsOwnersInOneStatement() {
+        System.out.println("🧪 Testing findAll query count...");
+
+        List<BankAccount> accounts = repository.findAll();
+
+        assertEquals(OWNERS * ACCOUNTS_PER_OWNER, accounts.size());
+        assertTrue(accounts.stream().allMatch(account -> account.getUser().getUsername() != null));
+        assertStatements(1);
+    }
+
+    @Test
+    void findByUserIdLoadsOwnerInOneStatement() {
+        System.out.println("🧪 Testing findByUserId query count...");
+
+        List<BankAccount> accounts = repository.findByUserId(ownerIds.get(0));
+
+        assertEquals(ACCOUNTS_PER_OWNER, accounts.size());
+        assertStatements(1);
+    }
+
+    @Test
+    void singleAccountLookupsUseOneStatement() {
+        System.out.println("🧪 Testing single account lookups...");
+
+        BankAccount byNumber = repository.findByAccountNumber("ACC1_2").orElseThrow();
+        assertEquals("owner1", byNumber.getUser().getUsername());
+        assertStatements(1);
+
+        statistics.clear();
+        entityManager.clear();
+        BankAccount byId = repository.findById(byNumber.getId()).orElseThrow();
+        assertEquals("owner1", byId.getUser().getUsername());
+        assertStatements(1);
+    }
+
+    @Test
+    void batchLookupUsesOneStatement() {
+        System.out.println("🧪 Testing IN lookup query count...");
+
+        List<BankAccount> accounts = repository.findByAccountNumbers(List.of("ACC0_0", "ACC1_1", "ACC2_2", "ACC3_3"));
+
+        assertEquals(4, accounts.size());
+        assertStatements(1);
+    }
+
+    @Test
+    void keysetPageLoadsOwnersInOneStatement() {
+        System.out.println("🧪 Testing keyset page query count...");
+
+        List<BankAccount> first = repository.findPageAfter(0L, 7);
+        assertEquals(7, first.size());
+        assertStatements(1);
+
+        statistics.clear();
+        List<BankAccount> second = repository.findPageAfter(first.get(6).getId(), 7);
+        assertEquals(7, second.size());
+        assertTrue(second.get(0).getId() > first.get(6).getId());
+        assertTrue(second.stream().allMatch(account -> account.getUser().getUsername() != null));
+        assertStatements(1);
+    }
+
+    @Test
+    void balanceSnapshotIsOneNarrowStatement() {
+        System.out.println("🧪 Testing balance projection...");
+
+        BankAccountRepository.BalanceSnapshot snapshot = repository.findBalanceSnapshot("ACC4_0").orElseThrow();
+
+        assertEquals(new BigDecimal("100.00"), snapshot.balance().toBigDecimal());
+        assertEquals(false, snapshot.ownerBlocked());
+        assertStatements(1);
+        assertEquals(0, statistics.getEntityLoadCount(), "projection must not load entities");
+    }
+
+    private void assertStatements(long expected) {
+        long executed = statistics.getPrepareStatementCount();
+        System.out.println("📊 SQL statements: " + executed + ", entities loaded: " + statistics.getEntityLoadCount());
+        assertEquals(expected, executed);
+    }
+}
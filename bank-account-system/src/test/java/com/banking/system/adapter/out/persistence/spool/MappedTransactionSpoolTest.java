@@ -0,0 +1,135 @@
+package com.banking.system.adapter.out.persistence.spool;
+
+import com.banking.system.domain.model.Transaction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MappedTransactionSpoolTest {
+
+    private static final int SMALL_SEGMENT = 4096;
+
+    @TempDir
+    Path directory;
+
+    private static List<Transaction> deposits(int from, int count) {
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = from; i < from + count; i++) {
+            Transaction transaction = Transaction.deposit("ACC" + i, new BigDecimal("10.25").add(BigDecimal.valueOf(i)), "USD");
+            transaction.setTimestamp(LocalDateTime.of(2024, 1, 15, 10, 30, 0, i));
+            transactions.add(transaction);
+        }
+        return transactions;
+    }
+
+    private MappedTransactionSpool open(int maxSegments) {
+        return new MappedTransactionSpool(directory.toString(), SMALL_SEGMENT, maxSegments);
+    }
+
+    private long segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".seg")).count();
+        }
+    }
+
+    @Test
+    void entriesSurviveRestartAcrossSegments() throws IOException {
+        System.out.println("🧪 Testing spool round trip and restart...");
+
+        // Given - 500 entries (~20 segments), 200 of them replayed
+        MappedTransactionSpool spool = open(64);
+        List<Transaction> appended = deposits(0, 500);
+        for (int i = 0; i < appended.size(); i += 50) {
+            spool.append(appended.subList(i, i + 50));
+        }
+        assertEquals(200, spool.peek(200).size());
+        spool.advance(200);
+
+        // When - the process dies without closing anything, and restarts
+        MappedTransactionSpool restarted = open(64);
+
+        // Then - exactly the 300 unreplayed entries come back, intact and in order
+        assertEquals(300, restarted.stats().pending());
+        List<Transaction> remaining = restarted.peek(1_000);
+        assertEquals(300, remaining.size());
+        for (int i = 0; i < remaining.size(); i++) {
+            Transaction expected = appended.get(200 + i);
+            Transaction actual = remaining.get(i);
+            assertEquals(expected.getTransactionId(), actual.getTransactionId());
+            assertEquals(expected.getToAccount(), actual.getToAccount());
+            assertNull(actual.getFromAccount());
+            assertEquals(expected.getAmount(), actual.getAmount());
+            assertEquals(expected.getTimestamp(), actual.getTimestamp());
+            assertEquals(expected.getStatus(), actual.getStatus());
+        }
+
+        // Consumed segments are deleted
+        restarted.advance(300);
+        assertEquals(0, restarted.stats().pending());
+        assertEquals(1, segmentFiles());
+        assertTrue(restarted.peek(10).isEmpty());
+        System.out.println("✅ 300 entries recovered after restart, append avg "
+                + spool.stats().averageAppendMicros() + " µs");
+    }
+
+    @Test
+    void tornRecordIsDiscardedOnRecovery() throws IOException {
+        System.out.println("🧪 Testing recovery from a half-written record...");
+
+        // Given - 10 complete entries, then a record header whose payload never made it to the page cache
+        MappedTransactionSpool spool = open(64);
+        spool.append(deposits(0, 10));
+        long end;
+        try (FileChannel channel = FileChannel.open(SpoolSegment.fileFor(directory, 0), StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            end = SpoolSegment.open(directory, 0, SMALL_SEGMENT).findEnd(0);
+            channel.write(ByteBuffer.allocate(8).putInt(0, 120).putInt(4, 0xBAD), end);
+        }
+
+        // When - restart, then keep spooling
+        MappedTransactionSpool restarted = open(64);
+        restarted.append(deposits(10, 5));
+
+        // Then - the torn record is gone, new entries follow the last complete one
+        List<Transaction> entries = restarted.peek(100);
+        assertEquals(15, entries.size());
+        assertEquals("ACC14", entries.get(14).getToAccount());
+        assertEquals(0, restarted.stats().corrupted());
+        System.out.println("✅ Torn record at offset " + end + " discarded");
+    }
+
+    @Test
+    void fullSpoolRejectsAppends() {
+        System.out.println("🧪 Testing spool size limit...");
+
+        // Given - room for 2 small segments
+        MappedTransactionSpool spool = open(2);
+
+        // When / Then - appends fail once both are full, nothing already spooled is lost
+        assertThrows(IllegalStateException.class, () -> {
+            for (int i = 0; ; i += 10) {
+                spool.append(deposits(i, 10));
+            }
+        });
+        long pending = spool.stats().pending();
+        assertTrue(pending > 0);
+        assertEquals(2, spool.stats().segments());
+        System.out.println("✅ Spool full after " + pending + " entries");
+    }
+}
@@ -0,0 +1,67 @@
+package com.banking.system.application.event;
+
+import com.banking.system.domain.model.Money;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class AccountEventBusTest {
+
+    private static AccountEvent.MoneyDeposited deposit() {
+        return new AccountEvent.MoneyDeposited("ACC1", Money.ofMinor(1000, "EUR"), Money.ofMinor(5000, "EUR"),
+                LocalDateTime.now());
+    }
+
+    private static AccountEvent.MoneyMovementFailed failure() {
+        return new AccountEvent.MoneyMovementFailed("WITHDRAW", "ACC1", null, BigDecimal.TEN, "EUR",
+                "Insufficient funds", LocalDateTime.now());
+    }
+
+    @Test
+    void listenersReceiveTheTypesTheySubscribedTo() {
+        System.out.println("🧪 Testing event routing...");
+
+        // Given - one listener for everything, one for failures only
+        AccountEventBus bus = new AccountEventBus();
+        List<AccountEvent> all = new ArrayList<>();
+        List<AccountEvent.MoneyMovementFailed> failures = new ArrayList<>();
+        bus.subscribe(AccountEvent.class, all::add);
+        bus.subscribe(AccountEvent.MoneyMovementFailed.class, failures::add);
+
+        // When
+        AccountEvent.MoneyDeposited deposited = deposit();
+        AccountEvent.MoneyMovementFailed failed = failure();
+        bus.publish(deposited);
+        bus.publish(failed);
+
+        // Then - the real currency travels with the event
+        assertEquals(List.of(deposited, failed), all);
+        assertEquals(List.of(failed), failures);
+        assertEquals("EUR", ((AccountEvent.MoneyDeposited) all.get(0)).balance().getCurrency());
+        System.out.println("✅ Events routed by type");
+    }
+
+    @Test
+    void failingListenerDoesNotStopOthers() {
+        System.out.println("🧪 Testing listener isolation...");
+
+        AccountEventBus bus = new AccountEventBus();
+        List<AccountEvent> received = new ArrayList<>();
+        bus.subscribe(AccountEvent.class, event -> {
+            throw new IllegalStateException("listener bug");
+        });
+        bus.subscribe(AccountEvent.class, received::add);
+
+        bus.publish(deposit());
+
+        assertEquals(1, received.size());
+        assertEquals(1, bus.stats().listenerFailures());
+        assertEquals(1, bus.stats().published());
+        System.out.println("✅ Publisher unaffected by a failing listener");
+    }
+}
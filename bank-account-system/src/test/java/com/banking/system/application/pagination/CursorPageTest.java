@@ -0,0 +1,72 @@
+package com.banking.system.application.pagination;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CursorPageTest {
+
+    @Test
+    void walksEveryRowExactlyOnce() {
+        System.out.println("🧪 Testing keyset walk...");
+
+        // Given - IDs 1..23 with gaps (deleted rows), pages of 5
+        List<Long> table = LongStream.rangeClosed(1, 23).filter(id -> id % 7 != 0).boxed().toList();
+        PageLimits limits = new PageLimits(5, 10);
+
+        // When - follow nextCursor until the last page
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            int pageSize = limits.clamp(null);
+            long afterId = PageCursor.decodeId(cursor);
+            List<Long> rows = table.stream().filter(id -> id > afterId).limit(pageSize + 1).toList();
+            CursorPage<Long> page = CursorPage.of(rows, pageSize, String::valueOf);
+            seen.addAll(page.items());
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        // Then - no duplicates, no gaps, no empty trailing page
+        assertEquals(table, seen);
+        assertEquals(4, pages);
+        System.out.println("✅ " + seen.size() + " rows in " + pages + " pages");
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        CursorPage<Long> page = CursorPage.of(List.of(1L, 2L), 2, String::valueOf);
+
+        assertEquals(List.of(1L, 2L), page.items());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void rejectsForeignCursors() {
+        System.out.println("🧪 Testing cursor validation...");
+
+        assertEquals(0L, PageCursor.decodeId(null));
+        assertEquals(42L, PageCursor.decodeId(PageCursor.encode("42")));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decodeId("42"));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decodeId("%%%"));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decodeId(PageCursor.encode("abc")));
+        System.out.println("✅ Invalid cursors rejected");
+    }
+
+    @Test
+    void clampsPageSize() {
+        PageLimits limits = new PageLimits(50, 500);
+
+        assertEquals(50, limits.clamp(null));
+        assertEquals(1, limits.clamp(0));
+        assertEquals(500, limits.clamp(10_000));
+        assertEquals(20, limits.clamp(20));
+    }
+}
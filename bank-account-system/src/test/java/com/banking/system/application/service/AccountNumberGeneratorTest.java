@@ -0,0 +1,65 @@
+package com.banking.system.application.service;
+
+import com.banking.system.application.port.out.persistence.AccountNumberSequence;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AccountNumberGeneratorTest {
+
+    @Test
+    void parallelAccountNumbersAreUniqueAndValid() throws Exception {
+        System.out.println("🧪 Testing block-allocated account numbers...");
+
+        // Given - an in-memory "database sequence" handing out blocks of 100
+        AtomicLong sequence = new AtomicLong(1);
+        AtomicInteger roundTrips = new AtomicInteger();
+        AccountNumberGenerator generator = new AccountNumberGenerator(() -> {
+            roundTrips.incrementAndGet();
+            return new AccountNumberSequence.Block(sequence.getAndAdd(100), 100);
+        });
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+
+        // When
+        for (int t = 0; t < 8; t++) {
+            pool.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    numbers.add(generator.nextId());
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(1, TimeUnit.MINUTES));
+
+        // Then - no duplicates, every number passes its check digit, far fewer round trips than numbers
+        assertEquals(80_000, numbers.size());
+        assertTrue(numbers.stream().allMatch(AccountNumberGenerator::isValid));
+        assertTrue(roundTrips.get() < 80_000 / 10);
+        System.out.println("✅ 80k numbers with " + roundTrips.get() + " sequence round trips");
+    }
+
+    @Test
+    void checkDigitCatchesTypos() {
+        System.out.println("🧪 Testing the Luhn check digit...");
+
+        String number = AccountNumberGenerator.format(123_456_789);
+        assertEquals("ACC1234567897", number);
+        assertTrue(AccountNumberGenerator.isValid(number));
+
+        assertFalse(AccountNumberGenerator.isValid("ACC1234567887"));  // one digit changed
+        assertFalse(AccountNumberGenerator.isValid("ACC2134567897"));  // two digits swapped
+        assertFalse(AccountNumberGenerator.isValid("ACC123456"));      // old format
+        System.out.println("✅ " + number + " valid, typos rejected");
+    }
+}
@@ -0,0 +1,151 @@
+package com.banking.system.application.service;
+
+import com.banking.system.application.port.out.pdf.PdfGenerator;
+import com.banking.system.application.port.out.persistence.BankAccountRepository;
+import com.banking.system.application.port.out.persistence.TransactionRepository;
+import com.banking.system.application.service.MonthEndStatementBatch.BatchProgress;
+import com.banking.system.domain.model.BankAccount;
+import com.banking.system.domain.model.Transaction;
+import com.banking.system.domain.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+public class MonthEndStatementBatchTest {
+
+    private static final YearMonth JANUARY = YearMonth.of(2024, 1);
+
+    // 25 accounts in "PostgreSQL", the keyset positions asked for, and accounts whose statement fails
+    private final List<BankAccount> accounts = new ArrayList<>();
+    private final List<Long> pagesAfter = new ArrayList<>();
+    private final Set<String> failing = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger rendering = new AtomicInteger();
+    private final AtomicInteger mostAtOnce = new AtomicInteger();
+    private Path outputDir;
+    private MonthEndStatementBatch batch;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        User owner = new User("john_doe", "john@email.com", "password", "John Doe");
+        for (long id = 1; id <= 25; id++) {
+            BankAccount account = new BankAccount("ACC" + (1000 + id), owner);
+            account.setId(id);
+            accounts.add(account);
+        }
+        BankAccountRepository accountRepository = mock(BankAccountRepository.class, withSettings().stubOnly());
+        when(accountRepository.findPageAfter(anyLong(), anyInt())).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            int limit = invocation.getArgument(1);
+            pagesAfter.add(afterId);
+            return accounts.stream().filter(account -> account.getId() > afterId).limit(limit).toList();
+        });
+        TransactionRepository history = mock(TransactionRepository.class, withSettings().stubOnly());
+        when(history.streamByAccountNumberBetween(anyString(), any(), any(), anyInt()))
+                .thenAnswer(invocation -> Stream.empty());
+        PdfGenerator pdfGenerator = new PdfGenerator() {
+            public byte[] generateAccountStatement(BankAccount account, List<Transaction> transactions,
+                                                   String periodStart, String periodEnd, StatementSummary summary) {
+                throw new UnsupportedOperationException();
+            }
+            public void writeAccountStatement(BankAccount account, Iterator<Transaction> transactions,
+                                              String periodStart, String periodEnd, StatementSummary summary,
+                                              OutputStream output) {
+                mostAtOnce.accumulateAndGet(rendering.incrementAndGet(), Math::max);
+                try {
+                    if (failing.contains(account.getAccountNumber())) {
+                        throw new IllegalStateException("MongoDB timeout");
+                    }
+                    Thread.sleep(2);
+                    output.write(("%PDF " + account.getAccountNumber() + " " + periodStart).getBytes());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    rendering.decrementAndGet();
+                }
+            }
+            public byte[] generateTransactionReceipt(Transaction transaction) {
+                throw new UnsupportedOperationException();
+            }
+        };
+        outputDir = Files.createTempDirectory("month-end");
+        batch = new MonthEndStatementBatch(accountRepository, history, pdfGenerator,
+                new StatementBalanceService(Optional.empty(), ""), outputDir.toString(), 10, 4, 1000);
+    }
+
+    private long statementFiles() throws IOException {
+        try (Stream<Path> files = Files.list(outputDir.resolve("2024-01"))) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".pdf")).count();
+        }
+    }
+
+    @Test
+    void everyAccountGetsAStatementWithBoundedConcurrency() throws IOException {
+        System.out.println("🧪 Testing month-end statements...");
+
+        // Given - one account whose history can't be read
+        failing.add("ACC1007");
+
+        // When
+        BatchProgress progress = batch.run(JANUARY);
+
+        // Then - 24 files, the failure listed, never more than max-in-flight statements open at once
+        assertEquals(MonthEndStatementBatch.State.DONE, progress.state());
+        assertEquals(25, progress.accountsRead());
+        assertEquals(24, progress.generated());
+        assertEquals(List.of("ACC1007"), progress.failedAccounts());
+        assertEquals(24, statementFiles());
+        assertEquals("%PDF ACC1001 2024-01-01", Files.readString(outputDir.resolve("2024-01/statement-ACC1001.pdf")));
+        assertEquals("25", Files.readString(outputDir.resolve("2024-01/" + MonthEndStatementBatch.CHECKPOINT_FILE)));
+        assertTrue(mostAtOnce.get() <= 4, mostAtOnce.get() + " statements at once");
+        System.out.println("✅ " + progress.generated() + " statements, " + mostAtOnce.get() + " at most at once");
+    }
+
+    @Test
+    void aRunResumesFromItsCheckpointAndSkipsWrittenFiles() throws IOException {
+        System.out.println("🧪 Testing month-end resume...");
+
+        // Given - a run that stopped after account 12: checkpoint at 10, and the files of 11 and 12 written
+        Path month = Files.createDirectories(outputDir.resolve("2024-01"));
+        Files.writeString(month.resolve(MonthEndStatementBatch.CHECKPOINT_FILE), "10");
+        Files.writeString(month.resolve("statement-ACC1011.pdf"), "%PDF earlier");
+        Files.writeString(month.resolve("statement-ACC1012.pdf"), "%PDF earlier");
+
+        // When
+        BatchProgress progress = batch.run(JANUARY);
+
+        // Then - accounts 1-10 not read again, 11 and 12 kept, 13-25 generated
+        assertEquals(10L, pagesAfter.get(0));
+        assertEquals(15, progress.accountsRead());
+        assertEquals(2, progress.skipped());
+        assertEquals(13, progress.generated());
+        assertEquals("%PDF earlier", Files.readString(month.resolve("statement-ACC1011.pdf")));
+        assertEquals(15, statementFiles());
+        System.out.println("✅ Resumed: " + progress);
+    }
+}
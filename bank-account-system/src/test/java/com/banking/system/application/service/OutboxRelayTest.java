@@ -0,0 +1,139 @@
+package com.banking.system.application.service;
+
+import com.banking.system.application.port.out.persistence.TransactionOutbox;
+import com.banking.system.application.port.out.persistence.TransactionRepository;
+import com.banking.system.domain.model.Transaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+public class OutboxRelayTest {
+
+    // "PostgreSQL" outbox rows (id -> entry) and "MongoDB" documents (unique transaction ID -> entry)
+    private final TreeMap<Long, Transaction> outboxRows = new TreeMap<>();
+    private final Map<String, Transaction> mongo = new ConcurrentHashMap<>();
+    private final AtomicInteger mongoFailures = new AtomicInteger();
+    private final AtomicInteger deleteFailures = new AtomicInteger();
+    private long nextId = 1;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        TransactionOutbox outbox = new TransactionOutbox() {
+            public void append(List<Transaction> transactions) {
+                transactions.forEach(transaction -> outboxRows.put(nextId++, transaction));
+            }
+            public List<OutboxEntry> claimBatch(int limit) {
+                List<OutboxEntry> entries = new ArrayList<>();
+                for (Map.Entry<Long, Transaction> row : outboxRows.entrySet()) {
+                    if (entries.size() == limit) {
+                        break;
+                    }
+                    entries.add(new OutboxEntry(row.getKey(), row.getValue()));
+                }
+                return entries;
+            }
+            public void delete(List<Long> ids) {
+                if (deleteFailures.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                    throw new IllegalStateException("connection lost before commit");
+                }
+                ids.forEach(outboxRows::remove);
+            }
+            public long countPending() {
+                return outboxRows.size();
+            }
+            public Optional<Instant> oldestPendingCreatedAt() {
+                return outboxRows.isEmpty() ? Optional.empty() : Optional.of(Instant.now().minusSeconds(2));
+            }
+        };
+
+        // Unordered insert with a unique transaction ID - duplicates are skipped
+        TransactionRepository repository = mock(TransactionRepository.class, withSettings().stubOnly());
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+            if (mongoFailures.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                throw new IllegalStateException("MongoDB unavailable");
+            }
+            List<Transaction> batch = invocation.getArgument(0);
+            batch.forEach(transaction -> mongo.putIfAbsent(transaction.getTransactionId(), transaction));
+            return batch;
+        });
+
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class, withSettings().stubOnly());
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        relay = new OutboxRelay(outbox, repository, transactionManager, 1000, 50);
+    }
+
+    private void commitMovements(int count) {
+        List<Transaction> entries = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            entries.add(Transaction.deposit("ACC" + i, BigDecimal.TEN, "USD"));
+        }
+        entries.forEach(entry -> outboxRows.put(nextId++, entry));
+    }
+
+    @Test
+    void drainsBacklogInBulkBatches() {
+        System.out.println("🧪 Testing outbox drain...");
+
+        // Given - 2,500 committed movements waiting in the outbox
+        commitMovements(2_500);
+        assertEquals(2_500, relay.stats().pending());
+        assertTrue(relay.stats().lagMillis() > 0);
+
+        // When - one poll
+        int published = relay.relay();
+
+        // Then - everything in MongoDB after 3 bulk inserts, nothing left behind
+        OutboxRelay.OutboxStats stats = relay.stats();
+        assertEquals(2_500, published);
+        assertEquals(2_500, mongo.size());
+        assertEquals(0, stats.pending());
+        assertEquals(0, stats.lagMillis());
+        assertEquals(3, stats.batches());
+        System.out.println("✅ " + stats.published() + " entries relayed, " + stats.lastPollPerSecond() + "/s");
+    }
+
+    @Test
+    void failuresAreRetriedWithoutDuplicates() {
+        System.out.println("🧪 Testing at-least-once delivery...");
+
+        // Given - MongoDB down for one poll, then a commit lost after a successful insert
+        commitMovements(1_500);
+        mongoFailures.set(1);
+        deleteFailures.set(1);
+
+        // When - poll until drained
+        assertEquals(0, relay.relay());    // MongoDB down - rolled back, rows kept
+        assertEquals(1_500, outboxRows.size());
+        assertEquals(0, relay.relay());    // inserted, but the delete/commit failed - rows kept
+        assertEquals(1_000, mongo.size());
+        assertEquals(1_500, relay.relay()); // re-publishes the first batch, then the rest
+
+        // Then - every entry exactly once in MongoDB, outbox empty, failures counted
+        assertEquals(1_500, mongo.size());
+        assertEquals(0, outboxRows.size());
+        assertEquals(2, relay.stats().failures());
+        System.out.println("✅ Every entry delivered once after " + relay.stats().failures() + " failures");
+    }
+}
@@ -1,16 +1,31 @@
 package com.banking.system.application.service;
 
 import com.banking.system.adapter.out.pdf.PdfGeneratorAdapter;
+import com.banking.system.adapter.out.pdf.PdfTemplates;
 import com.banking.system.domain.model.BankAccount;
 import com.banking.system.domain.model.Transaction;
 import com.banking.system.domain.model.User;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfIndirectReference;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfReader;
 import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 public class PdfGenerationTest {
 
     @Test
@@ -18,7 +33,7 @@ public class PdfGenerationTest {
         System.out.println("🧪 Testing Transaction Receipt PDF Generation...");
 
         // Given
-        PdfGeneratorAdapter pdfGenerator = new PdfGeneratorAdapter();
+        PdfGeneratorAdapter pdfGenerator = new PdfGeneratorAdapter(new PdfTemplates(true, ""));
 
         Transaction transaction = new Transaction(
                 "ACC123456", "ACC789012", new BigDecimal("150.00"),
@@ -52,7 +67,7 @@ public class PdfGenerationTest {
         System.out.println("🧪 Testing Account Statement PDF Generation...");
 
         // Given
-        PdfGeneratorAdapter pdfGenerator = new PdfGeneratorAdapter();
+        PdfGeneratorAdapter pdfGenerator = new PdfGeneratorAdapter(new PdfTemplates(true, ""));
 
         // Create test user and account
         User user = new User("john_doe", "john@email.com", "password", "John Doe");
@@ -92,4 +107,79 @@ public class PdfGenerationTest {
             System.out.println("❌ PDF generation failed!");
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldStreamLongStatementAsRowsAreRead() {
+        System.out.println("🧪 Testing streamed statement PDF...");
+
+        // Given - 50,000 rows produced on demand, and an output that only counts bytes
+        PdfGeneratorAdapter pdfGenerator = new PdfGeneratorAdapter(new PdfTemplates(true, ""));
+        User user = new User("john_doe", "john@email.com", "password", "John Doe");
+        BankAccount account = new BankAccount("ACC123456", user);
+        int rows = 50_000;
+        AtomicInteger rowsRead = new AtomicInteger();
+        AtomicLong bytesWhenHalfRead = new AtomicLong();
+        AtomicLong bytesWritten = new AtomicLong();
+        Iterator<Transaction> transactions = new Iterator<>() {
+            public boolean hasNext() {
+                return rowsRead.get() < rows;
+            }
+            public Transaction next() {
+                if (rowsRead.incrementAndGet() == rows / 2) {
+                    bytesWhenHalfRead.set(bytesWritten.get());
+                }
+                return new Transaction("ACC123456", "ACC789012", new BigDecimal("10.00"),
+                        "USD", "TRANSFER", "SUCCESS", "Payment " + rowsRead.get());
+            }
+        };
+        OutputStream output = new OutputStream() {
+            public void write(int b) {
+                bytesWritten.incrementAndGet();
+            }
+            public void write(byte[] b, int off, int len) {
+                bytesWritten.addAndGet(len);
+            }
+        };
+
+        // When
+        pdfGenerator.writeAccountStatement(account, transactions, "2020-01-01", "2024-12-31", null, output);
+
+        // Then - every row read once, and pages were already going out half way through
+        assertEquals(rows, rowsRead.get());
+        assertTrue(bytesWhenHalfRead.get() > bytesWritten.get() / 4,
+                bytesWhenHalfRead.get() + " of " + bytesWritten.get() + " bytes out at half way");
+        System.out.println("✅ " + bytesWritten.get() / 1024 + " KB streamed, "
+                + bytesWhenHalfRead.get() / 1024 + " KB of it before the second half of the rows was read");
+    }
+
+    @Test
+    void templatedReceiptsShareOneResourceSetAndAreRepeatable() throws Exception {
+        System.out.println("🧪 Testing PDF templates...");
+
+        // Given
+        Transaction transaction = new Transaction("ACC123456", "ACC789012", new BigDecimal("150.00"),
+                "USD", "TRANSFER", "SUCCESS", "Dinner payment");
+        PdfGeneratorAdapter fromScratch = new PdfGeneratorAdapter(new PdfTemplates(false, ""));
+        PdfGeneratorAdapter templated = new PdfGeneratorAdapter(new PdfTemplates(true, ""));
+
+        // When - the templates are used for several documents
+        byte[] plain = fromScratch.generateTransactionReceipt(transaction);
+        byte[] first = templated.generateTransactionReceipt(transaction);
+        byte[] second = templated.generateTransactionReceipt(transaction);
+
+        // Then - the title and the closing line are form XObjects pointing at one resource dictionary
+        assertTrue(new String(first, 0, 8).startsWith("%PDF-"));
+        assertEquals(first.length, second.length);
+        try (PdfDocument pdf = new PdfDocument(new PdfReader(new ByteArrayInputStream(first)))) {
+            PdfDictionary xObjects = pdf.getPage(1).getResources().getResource(PdfName.XObject);
+            List<PdfIndirectReference> shared = xObjects.keySet().stream()
+                    .map(name -> xObjects.getAsStream(name).getAsDictionary(PdfName.Resources).getIndirectReference())
+                    .distinct()
+                    .toList();
+            assertEquals(2, xObjects.size());
+            assertEquals(1, shared.size());
+            assertTrue(shared.get(0) != null, "shared resources are one indirect object");
+        }
+        System.out.println("✅ Receipt: " + plain.length + " bytes from scratch, " + first.length + " templated");
+    }
+}
@@ -0,0 +1,150 @@
+package com.banking.system.application.service;
+
+import com.banking.system.application.port.out.pdf.PdfGenerator.StatementSummary;
+import com.banking.system.application.port.out.persistence.AccountRollupRepository;
+import com.banking.system.domain.model.BankAccount;
+import com.banking.system.domain.model.Money;
+import com.banking.system.domain.model.Transaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StatementBalanceServiceTest {
+
+    private static final LocalDate JAN_1 = LocalDate.of(2024, 1, 1);
+
+    // "MongoDB" rollups: every entry recorded once, kept per account
+    private final Set<String> recordedIds = new HashSet<>();
+    private final List<Transaction> recorded = new ArrayList<>();
+    private final AtomicInteger totalsQueries = new AtomicInteger();
+    private AccountRollupRepository rollups;
+
+    @BeforeEach
+    void setUp() {
+        rollups = new AccountRollupRepository() {
+            public void record(List<Transaction> transactions) {
+                transactions.stream().filter(transaction -> recordedIds.add(transaction.getTransactionId()))
+                        .forEach(recorded::add);
+            }
+            public RollupTotals totals(String accountNumber, LocalDate from, LocalDate to) {
+                totalsQueries.incrementAndGet();
+                long count = 0;
+                BigDecimal credits = BigDecimal.ZERO;
+                BigDecimal debits = BigDecimal.ZERO;
+                Map<String, Long> countByType = new LinkedHashMap<>();
+                for (Transaction transaction : recorded) {
+                    LocalDate day = transaction.getTimestamp().toLocalDate();
+                    boolean in = accountNumber.equals(transaction.getToAccount());
+                    boolean out = accountNumber.equals(transaction.getFromAccount());
+                    if ((!in && !out) || day.isBefore(from) || day.isAfter(to)) {
+                        continue;
+                    }
+                    count++;
+                    countByType.merge(transaction.getType(), 1L, Long::sum);
+                    if ("SUCCESS".equals(transaction.getStatus())) {
+                        credits = in ? credits.add(transaction.getAmount()) : credits;
+                        debits = out ? debits.add(transaction.getAmount()) : debits;
+                    }
+                }
+                return new RollupTotals(count, credits, debits, countByType);
+            }
+            public List<DailyRollup> daily(String accountNumber, LocalDate from, LocalDate to) {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    private static Transaction on(Transaction transaction, LocalDate day) {
+        transaction.setTimestamp(day.atTime(12, 0));
+        return transaction;
+    }
+
+    // One movement a day for January: deposits, withdrawals, transfers both ways and a failed withdrawal
+    private static List<Transaction> january() {
+        List<Transaction> history = new ArrayList<>();
+        for (int i = 0; i < 31; i++) {
+            LocalDate day = JAN_1.plusDays(i);
+            BigDecimal amount = new BigDecimal(10 + i + ".25");
+            history.add(on(switch (i % 5) {
+                case 0 -> Transaction.deposit("ACC1", amount.multiply(BigDecimal.TEN), "USD");
+                case 1 -> Transaction.withdrawal("ACC1", amount, "USD");
+                case 2 -> Transaction.transfer("ACC1", "ACC2", amount, "USD");
+                case 3 -> Transaction.transfer("ACC2", "ACC1", amount, "USD");
+                default -> new Transaction("ACC1", null, amount, "USD", "WITHDRAW", "FAILED", "Insufficient funds");
+            }, day));
+        }
+        return history;
+    }
+
+    // Net successful movement of ACC1 over [from, to] by reading every entry - what the rollups replace
+    private static BigDecimal scanNet(List<Transaction> history, LocalDate from, LocalDate to) {
+        BigDecimal net = BigDecimal.ZERO;
+        for (Transaction transaction : history) {
+            LocalDate day = transaction.getTimestamp().toLocalDate();
+            if (!"SUCCESS".equals(transaction.getStatus()) || day.isBefore(from) || day.isAfter(to)) {
+                continue;
+            }
+            net = "ACC1".equals(transaction.getToAccount()) ? net.add(transaction.getAmount()) : net;
+            net = "ACC1".equals(transaction.getFromAccount()) ? net.subtract(transaction.getAmount()) : net;
+        }
+        return net;
+    }
+
+    private static BankAccount accountWithBalance(BigDecimal balance) {
+        BankAccount account = new BankAccount("ACC1", null, "USD");
+        account.updateBalance(Money.of(balance, "USD"));
+        return account;
+    }
+
+    @Test
+    void balancesMatchAFullScanOfTheHistory() {
+        System.out.println("🧪 Testing statement balances from rollups...");
+
+        // Given - January recorded (the last batch twice, as after a retry); the balance is the sum of it all
+        List<Transaction> history = january();
+        rollups.record(history);
+        rollups.record(history.subList(25, 31));
+        BankAccount account = accountWithBalance(scanNet(history, JAN_1, JAN_1.plusDays(30)));
+        StatementBalanceService service = new StatementBalanceService(Optional.of(rollups), "");
+
+        // When - a statement for the 10th to the 20th
+        LocalDate start = JAN_1.plusDays(9);
+        LocalDate end = JAN_1.plusDays(19);
+        StatementSummary summary = service.summarize(account, start, end).orElseThrow();
+
+        // Then - same balances as adding up the history, from two rollup queries
+        assertEquals(0, scanNet(history, JAN_1, start.minusDays(1)).compareTo(summary.openingBalance()));
+        assertEquals(0, scanNet(history, JAN_1, end).compareTo(summary.closingBalance()));
+        assertEquals(0, summary.closingBalance().subtract(summary.openingBalance())
+                .compareTo(summary.credits().subtract(summary.debits())));
+        assertEquals(11, summary.transactionCount());
+        assertEquals(2, totalsQueries.get());
+        System.out.println("✅ Opening " + summary.openingBalance() + ", closing " + summary.closingBalance());
+    }
+
+    @Test
+    void periodsBeforeTheRollupsStartedGetNoBalances() {
+        System.out.println("🧪 Testing rollup coverage...");
+
+        StatementBalanceService service = new StatementBalanceService(Optional.of(rollups), "2024-01-15");
+        BankAccount account = accountWithBalance(BigDecimal.ZERO);
+
+        assertTrue(service.summarize(account, JAN_1, JAN_1.plusDays(30)).isEmpty());
+        assertTrue(service.summarize(account, JAN_1.plusDays(14), JAN_1.plusDays(30)).isPresent());
+        assertTrue(new StatementBalanceService(Optional.empty(), "").summarize(account, JAN_1, JAN_1).isEmpty());
+        System.out.println("✅ Only covered periods are summarized");
+    }
+}
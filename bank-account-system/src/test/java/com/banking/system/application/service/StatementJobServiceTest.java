@@ -0,0 +1,170 @@
+package com.banking.system.application.service;
+
+import com.banking.system.adapter.out.pdf.StatementFileCache;
+import com.banking.system.application.port.out.pdf.PdfGenerator;
+import com.banking.system.application.port.out.persistence.BankAccountRepository;
+import com.banking.system.application.port.out.persistence.TransactionRepository;
+import com.banking.system.application.service.StatementJobService.JobStatus;
+import com.banking.system.application.service.StatementJobService.State;
+import com.banking.system.domain.model.BankAccount;
+import com.banking.system.domain.model.Transaction;
+import com.banking.system.domain.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+public class StatementJobServiceTest {
+
+    private static final LocalDate JAN_1 = LocalDate.of(2024, 1, 1);
+
+    // Statements generated, in order ("ACC-A 2024-01-01"), and a gate holding the workers back
+    private final List<String> generated = Collections.synchronizedList(new ArrayList<>());
+    private final CountDownLatch release = new CountDownLatch(1);
+    private BankAccountRepository accounts;
+    private TransactionRepository history;
+    private PdfGenerator pdfGenerator;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, BankAccount> byNumber = Map.of(
+                "ACC-A", new BankAccount("ACC-A", new User("alice", "alice@email.com", "password", "Alice")),
+                "ACC-B", new BankAccount("ACC-B", new User("bob", "bob@email.com", "password", "Bob")),
+                "ACC-C", new BankAccount("ACC-C", new User("carol", "carol@email.com", "password", "Carol")));
+        accounts = mock(BankAccountRepository.class, withSettings().stubOnly());
+        when(accounts.findByAccountNumber(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(byNumber.get(invocation.<String>getArgument(0))));
+        history = mock(TransactionRepository.class, withSettings().stubOnly());
+        when(history.streamByAccountNumberBetween(anyString(), any(), any(), anyInt()))
+                .thenAnswer(invocation -> Stream.empty());
+        pdfGenerator = new PdfGenerator() {
+            public byte[] generateAccountStatement(BankAccount account, List<Transaction> transactions,
+                                                   String periodStart, String periodEnd, StatementSummary summary) {
+                throw new UnsupportedOperationException();
+            }
+            public void writeAccountStatement(BankAccount account, Iterator<Transaction> transactions,
+                                              String periodStart, String periodEnd, StatementSummary summary,
+                                              OutputStream output) {
+                try {
+                    release.await();
+                    generated.add(account.getAccountNumber() + " " + periodStart);
+                    output.write(("%PDF " + account.getAccountNumber() + " " + periodStart).getBytes());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            public byte[] generateTransactionReceipt(Transaction transaction) {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    private StatementJobService service(int workers, int maxQueuedPerUser) throws IOException {
+        StatementFileCache cache = new StatementFileCache(
+                Files.createTempDirectory("statement-cache").toString(), 1024 * 1024);
+        return new StatementJobService(accounts, history, pdfGenerator,
+                new StatementBalanceService(Optional.empty(), ""), cache, workers, 100, maxQueuedPerUser, 1000, 60);
+    }
+
+    private static LocalDate month(int n) {
+        return JAN_1.plusMonths(n - 1);
+    }
+
+    private JobStatus submit(StatementJobService service, String account, int month) {
+        return service.submit(account, month(month), month(month).plusMonths(1).minusDays(1)).orElseThrow();
+    }
+
+    private static JobStatus awaitState(StatementJobService service, String jobId, State... states) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            JobStatus status = service.status(jobId).orElseThrow();
+            if (List.of(states).contains(status.state())) {
+                return status;
+            }
+            Thread.sleep(5);
+        }
+        throw new AssertionError("Job " + jobId + " never reached " + List.of(states));
+    }
+
+    @Test
+    void identicalRequestsShareOneJobAndClosedPeriodsComeFromTheCache() throws Exception {
+        System.out.println("🧪 Testing statement job coalescing...");
+
+        // Given - workers held back while the same statement is asked for three times
+        StatementJobService service = service(2, 10);
+        JobStatus first = submit(service, "ACC-A", 1);
+        JobStatus second = submit(service, "ACC-A", 1);
+        JobStatus third = submit(service, "ACC-A", 1);
+
+        // When - the job runs, then January is asked for again
+        release.countDown();
+        JobStatus done = awaitState(service, first.jobId(), State.DONE, State.FAILED);
+        JobStatus again = submit(service, "ACC-A", 1);
+
+        // Then - one PDF generated; the later request is answered from the stored file
+        assertEquals(first.jobId(), second.jobId());
+        assertEquals(first.jobId(), third.jobId());
+        assertEquals(State.DONE, done.state());
+        assertEquals(State.DONE, again.state());
+        assertTrue(again.fromCache());
+        assertEquals(List.of("ACC-A 2024-01-01"), generated);
+        assertEquals("%PDF ACC-A 2024-01-01", Files.readString(service.file(again.jobId()).orElseThrow()));
+        assertEquals(2, service.stats().coalesced());
+        service.shutdown();
+        System.out.println("✅ " + service.stats());
+    }
+
+    @Test
+    void accountHoldersAreServedInTurn() throws Exception {
+        System.out.println("🧪 Testing fair statement queuing...");
+
+        // Given - one worker, busy with Alice's first statement
+        StatementJobService service = service(1, 3);
+        JobStatus busy = submit(service, "ACC-A", 1);
+        awaitState(service, busy.jobId(), State.RUNNING);
+
+        // When - Alice queues three more (a fourth is refused), then Bob and Carol one each
+        List<JobStatus> queued = new ArrayList<>();
+        for (int month = 2; month <= 4; month++) {
+            queued.add(submit(service, "ACC-A", month));
+        }
+        assertThrows(IllegalStateException.class, () -> submit(service, "ACC-A", 5));
+        queued.add(submit(service, "ACC-B", 1));
+        queued.add(submit(service, "ACC-C", 1));
+        release.countDown();
+        for (JobStatus job : queued) {
+            awaitState(service, job.jobId(), State.DONE, State.FAILED);
+        }
+
+        // Then - Bob and Carol did not wait for all of Alice's statements
+        assertEquals(List.of("ACC-A 2024-01-01", "ACC-A 2024-02-01", "ACC-B 2024-01-01", "ACC-C 2024-01-01",
+                "ACC-A 2024-03-01", "ACC-A 2024-04-01"), generated);
+        service.shutdown();
+        System.out.println("✅ Order: " + generated);
+    }
+}
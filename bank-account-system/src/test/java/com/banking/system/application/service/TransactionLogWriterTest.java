@@ -0,0 +1,193 @@
+package com.banking.system.application.service;
+
+import com.banking.system.application.port.out.persistence.TransactionRepository;
+import com.banking.system.application.port.out.persistence.TransactionSpool;
+import com.banking.system.application.service.TransactionLogWriter.Backpressure;
+import com.banking.system.domain.model.Transaction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+public class TransactionLogWriterTest {
+
+    // "MongoDB" - transaction IDs stored, and which threads wrote them
+    private final Set<String> stored = ConcurrentHashMap.newKeySet();
+    private final Set<String> writerThreads = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger inserts = new AtomicInteger();
+    private final CountDownLatch mongoAvailable = new CountDownLatch(1);
+    private TransactionRepository repository;
+    private TransactionLogWriter writer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        repository = mock(TransactionRepository.class, withSettings().stubOnly());
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+            mongoAvailable.await();
+            List<Transaction> batch = invocation.getArgument(0);
+            batch.forEach(transaction -> stored.add(transaction.getTransactionId()));
+            writerThreads.add(Thread.currentThread().getName());
+            inserts.incrementAndGet();
+            return batch;
+        });
+        when(repository.save(any(Transaction.class))).thenAnswer(invocation -> {
+            Transaction transaction = invocation.getArgument(0);
+            stored.add(transaction.getTransactionId());
+            writerThreads.add(Thread.currentThread().getName());
+            return transaction;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongoAvailable.countDown();
+        if (writer != null) {
+            writer.shutdown();
+        }
+    }
+
+    private static Transaction deposit(int i) {
+        return new Transaction(null, "ACC" + i, BigDecimal.TEN, "USD", "DEPOSIT", "SUCCESS", "Deposit " + i);
+    }
+
+    @Test
+    void concurrentEntriesAreWrittenOnceInBatches() throws Exception {
+        System.out.println("🧪 Testing batched background writes...");
+
+        // Given - 8 request threads logging 2,000 deposits each
+        mongoAvailable.countDown();
+        writer = new TransactionLogWriter(repository, true, 65_536, 500, 5, Backpressure.CALLER_RUNS, Optional.empty(), 500, 1000);
+        int threads = 8;
+        int perThread = 2_000;
+
+        // When
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            int offset = t * perThread;
+            executor.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    writer.append(deposit(offset + i));
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        writer.shutdown();
+
+        // Then - every entry stored exactly once, by the writer thread, in far fewer inserts
+        TransactionLogWriter.TransactionLogStats stats = writer.stats();
+        assertEquals(threads * perThread, stored.size());
+        assertEquals(threads * perThread, stats.written());
+        assertEquals(Set.of("transaction-log-writer"), writerThreads);
+        assertTrue(inserts.get() < threads * perThread / 10, "expected batched inserts, got " + inserts.get());
+        System.out.println("✅ " + stats.written() + " entries in " + stats.batches() + " inserts (avg "
+                + Math.round(stats.averageBatchSize()) + ")");
+    }
+
+    @Test
+    void appendDoesNotWaitForMongo() {
+        System.out.println("🧪 Testing append while MongoDB is stalled...");
+
+        // Given - MongoDB does not answer
+        writer = new TransactionLogWriter(repository, true, 1024, 100, 5, Backpressure.CALLER_RUNS, Optional.empty(), 500, 1000);
+
+        // When - requests keep logging
+        for (int i = 0; i < 500; i++) {
+            writer.append(deposit(i));
+        }
+
+        // Then - all of them returned, nothing written yet; the backlog drains once MongoDB is back
+        assertEquals(0, stored.size());
+        mongoAvailable.countDown();
+        writer.shutdown();
+        assertEquals(500, stored.size());
+        System.out.println("✅ Requests never waited for MongoDB");
+    }
+
+    @Test
+    void fullBufferAppliesBackpressurePolicy() {
+        System.out.println("🧪 Testing backpressure policies...");
+
+        // CALLER_RUNS - the overflow is written on the request thread, nothing is lost
+        writer = new TransactionLogWriter(repository, true, 16, 4, 0, Backpressure.CALLER_RUNS, Optional.empty(), 500, 1000);
+        for (int i = 0; i < 100; i++) {
+            writer.append(deposit(i));
+        }
+        assertTrue(writer.stats().callerRuns() > 0);
+        assertTrue(writerThreads.contains(Thread.currentThread().getName()));
+        mongoAvailable.countDown();
+        writer.shutdown();
+        assertEquals(100, stored.size());
+
+        // DROP - the overflow is counted and discarded
+        stored.clear();
+        TransactionLogWriter dropping = new TransactionLogWriter(repository, true, 16, 4, 0, Backpressure.DROP, Optional.empty(), 500, 1000);
+        dropping.shutdown(); // writer stopped -> the buffer can only fill up
+        for (int i = 0; i < 100; i++) {
+            dropping.append(deposit(i));
+        }
+        TransactionLogWriter.TransactionLogStats stats = dropping.stats();
+        assertEquals(16, stats.enqueued());
+        assertEquals(84, stats.dropped());
+        System.out.println("✅ Caller-runs and drop policies applied");
+    }
+
+    @Test
+    void failedInsertsGoToTheSpool() {
+        System.out.println("🧪 Testing spooling while MongoDB is down...");
+
+        // Given - MongoDB rejects every insert, a local spool is available
+        TransactionRepository failing = mock(TransactionRepository.class, withSettings().stubOnly());
+        when(failing.saveAll(anyList())).thenThrow(new IllegalStateException("MongoDB unavailable"));
+        List<Transaction> spooled = new CopyOnWriteArrayList<>();
+        TransactionSpool spool = new TransactionSpool() {
+            public void append(List<Transaction> transactions) {
+                spooled.addAll(transactions);
+            }
+            public List<Transaction> peek(int max) {
+                return new ArrayList<>(spooled.subList(0, Math.min(max, spooled.size())));
+            }
+            public void advance(int count) {
+                spooled.subList(0, count).clear();
+            }
+            public SpoolStats stats() {
+                return new SpoolStats(spooled.size(), 1, 0, 0, 0, 0);
+            }
+        };
+        writer = new TransactionLogWriter(failing, true, 1024, 100, 1, Backpressure.SPOOL, Optional.of(spool), 500, 1000);
+
+        // When
+        for (int i = 0; i < 1_000; i++) {
+            writer.append(deposit(i));
+        }
+        writer.shutdown();
+
+        // Then - nothing lost or retried in place: every entry is waiting in the spool for the replayer
+        TransactionLogWriter.TransactionLogStats stats = writer.stats();
+        assertEquals(1_000, spooled.size());
+        assertEquals(1_000, stats.spooled());
+        assertEquals(0, stats.failed());
+        System.out.println("✅ " + stats.spooled() + " entries spooled while MongoDB was down");
+    }
+}
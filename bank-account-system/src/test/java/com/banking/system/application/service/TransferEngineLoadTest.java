@@ -0,0 +1,99 @@
+package com.banking.system.application.service;
+
+import com.banking.system.application.port.in.AccountUseCase;
+import com.banking.system.application.port.in.UserUseCase;
+import com.banking.system.domain.model.BankAccount;
+import com.banking.system.domain.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Load test - hammers a small set of accounts with parallel transfers in both directions
+ * and checks that no money is created or lost (requires the local PostgreSQL/MongoDB, like contextLoads)
+ */
+@SpringBootTest
+@ActiveProfiles("dev")
+public class TransferEngineLoadTest {
+
+    private static final int ACCOUNTS = 8;
+    private static final int THREADS = 16;
+    private static final int TRANSFERS = 4000;
+
+    @Autowired
+    private AccountUseCase accountUseCase;
+
+    @Autowired
+    private UserUseCase userUseCase;
+
+    @Autowired
+    private TransferEngine transferEngine;
+
+    @Test
+    void parallelTransfersKeepTotalBalanceConstant() throws Exception {
+        System.out.println("🧪 Testing parallel transfers for balance drift...");
+
+        // Given - a few hot accounts with 1000.00 each
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        List<String> accountNumbers = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            User user = userUseCase.registerUser(new User("load_" + run + "_" + i,
+                    "load_" + run + "_" + i + "@test.com", "password", "Load Test " + i));
+            BankAccount account = accountUseCase.createAccount(user.getId(), "USD");
+            accountUseCase.deposit(account.getAccountNumber(), new BigDecimal("1000.00"));
+            accountNumbers.add(account.getAccountNumber());
+        }
+        BigDecimal totalBefore = totalBalance(accountNumbers);
+
+        // When - random A->B / B->A transfers from many threads
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        long start = System.nanoTime();
+        for (int i = 0; i < TRANSFERS; i++) {
+            pool.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                int from = random.nextInt(ACCOUNTS);
+                int to = (from + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+                try {
+                    accountUseCase.transfer(accountNumbers.get(from), accountNumbers.get(to),
+                            BigDecimal.valueOf(random.nextInt(1, 5000), 2));
+                    succeeded.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    rejected.incrementAndGet(); // insufficient funds is a valid outcome
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.MINUTES));
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        // Then - zero drift
+        assertEquals(0, totalBefore.compareTo(totalBalance(accountNumbers)));
+        assertEquals(TRANSFERS, succeeded.get() + rejected.get());
+
+        System.out.println("✅ Transfers: " + succeeded.get() + " ok, " + rejected.get() + " rejected");
+        System.out.println("📈 Throughput: " + Math.round(TRANSFERS / seconds) + " transfers/s");
+        System.out.println("🔁 Engine stats: " + transferEngine.stats());
+    }
+
+    private BigDecimal totalBalance(List<String> accountNumbers) {
+        return accountNumbers.stream()
+                .map(accountUseCase::getBalance)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+}
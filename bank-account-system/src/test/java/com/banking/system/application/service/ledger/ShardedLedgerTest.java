@@ -0,0 +1,216 @@
+package com.banking.system.application.service.ledger;
+
+import com.banking.system.application.port.out.persistence.BankAccountRepository;
+import com.banking.system.application.port.out.persistence.LedgerTransferJournal;
+import com.banking.system.application.port.out.persistence.LedgerTransferJournal.PendingTransfer;
+import com.banking.system.application.port.out.persistence.LedgerTransferJournal.Stage;
+import com.banking.system.domain.model.BankAccount;
+import com.banking.system.domain.model.Money;
+import com.banking.system.domain.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+public class ShardedLedgerTest {
+
+    private static final int ACCOUNTS = 20;
+
+    // "Database" - account number -> persisted balance, and account ID -> account number
+    private final Map<String, BigDecimal> persisted = new ConcurrentHashMap<>();
+    private final Map<Long, String> numbersById = new ConcurrentHashMap<>();
+    private final InMemoryJournal journal = new InMemoryJournal();
+    private BankAccountRepository repository;
+    private PlatformTransactionManager transactionManager;
+    private ShardedLedger ledger;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        repository = mock(BankAccountRepository.class, withSettings().stubOnly());
+        for (long id = 1; id <= ACCOUNTS; id++) {
+            persisted.put("ACC" + id, new BigDecimal("1000.00"));
+            numbersById.put(id, "ACC" + id);
+        }
+        when(repository.findByAccountNumber(anyString())).thenAnswer(invocation -> {
+            String number = invocation.getArgument(0);
+            if (!persisted.containsKey(number)) {
+                return Optional.empty();
+            }
+            BankAccount account = new BankAccount(number, new User("owner", "owner@test.com", "pw", "Owner"));
+            account.setId(Long.parseLong(number.substring(3)));
+            account.setBalance(persisted.get(number));
+            return Optional.of(account);
+        });
+        doAnswer(invocation -> {
+            Map<Long, Money> balances = invocation.getArgument(0);
+            balances.forEach((id, balance) -> persisted.put(numbersById.get(id), balance.toBigDecimal()));
+            return null;
+        }).when(repository).updateBalances(anyMap());
+
+        transactionManager = mock(PlatformTransactionManager.class, withSettings().stubOnly());
+
+        ledger = new ShardedLedger(repository, journal, transactionManager, 4, 1024, 64, 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ledger.shutdown();
+    }
+
+    @Test
+    void depositAndWithdrawArePersistedBeforeReturning() {
+        // When
+        Money afterDeposit = ledger.deposit("ACC1", usd("250.00"));
+        Money afterWithdraw = ledger.withdraw("ACC1", usd("50.00"));
+
+        // Then
+        assertEquals(usd("1250.00"), afterDeposit);
+        assertEquals(usd("1200.00"), afterWithdraw);
+        assertEquals(new BigDecimal("1200.00"), persisted.get("ACC1"));
+    }
+
+    @Test
+    void rejectsOverdraftAndUnknownAccounts() {
+        assertThrows(IllegalArgumentException.class,
+                () -> ledger.withdraw("ACC2", usd("1000.01")));
+        assertThrows(IllegalArgumentException.class,
+                () -> ledger.deposit("ACC999", usd("1.00")));
+        assertEquals(new BigDecimal("1000.00"), persisted.get("ACC2"));
+    }
+
+    @Test
+    void failedCrossShardCreditIsCompensated() {
+        // Find a target on another shard that does not exist in the "database"
+        String target = "ACC999";
+        for (int i = 1000; ledger.shardFor(target) == ledger.shardFor("ACC3"); i++) {
+            target = "ACC" + i;
+        }
+        String missingTarget = target;
+
+        // When - the debit succeeds, the credit fails
+        assertThrows(IllegalArgumentException.class,
+                () -> ledger.transfer("ACC3", missingTarget, usd("100.00")));
+
+        // Then - the source got its money back, and the transfer is off the journal
+        assertEquals(0, new BigDecimal("1000.00").compareTo(persisted.get("ACC3")));
+        assertTrue(journal.unfinished().isEmpty());
+    }
+
+    @Test
+    void recoveryFinishesTransfersInterruptedBetweenTheirLegs() {
+        System.out.println("🧪 Testing ledger recovery after a crash...");
+
+        // Given - a previous run crashed: ACC4 -> ACC5 debited but not credited, ACC6 -> ACC7 never debited,
+        // and ACC8 -> (closed account) debited
+        persisted.put("ACC4", new BigDecimal("900.00"));
+        persisted.put("ACC8", new BigDecimal("800.00"));
+        journal.begin("ACC4", "ACC5", usd("100.00"));
+        journal.markDebited(List.of(1L));
+        journal.begin("ACC6", "ACC7", usd("100.00"));
+        journal.begin("ACC8", "ACC999", usd("200.00"));
+        journal.markDebited(List.of(3L));
+
+        // When
+        ShardedLedger restarted = new ShardedLedger(repository, journal, transactionManager, 4, 1024, 64, 1000);
+        try {
+            restarted.recover();
+        } finally {
+            restarted.shutdown();
+        }
+
+        // Then - credited, dropped and refunded respectively; nothing left to recover
+        assertEquals(0, new BigDecimal("1100.00").compareTo(persisted.get("ACC5")));
+        assertEquals(0, new BigDecimal("1000.00").compareTo(persisted.get("ACC6")));
+        assertEquals(0, new BigDecimal("1000.00").compareTo(persisted.get("ACC7")));
+        assertEquals(0, new BigDecimal("1000.00").compareTo(persisted.get("ACC8")));
+        assertTrue(journal.unfinished().isEmpty());
+        System.out.println("✅ Interrupted transfers finished");
+    }
+
+    @Test
+    void parallelTransfersHaveZeroDrift() throws Exception {
+        System.out.println("🧪 Testing parallel ledger transfers for balance drift...");
+
+        // When - random transfers (same-shard and cross-shard) from many threads
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 20_000; i++) {
+            pool.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                int from = random.nextInt(1, ACCOUNTS + 1);
+                int to = from % ACCOUNTS + 1;
+                try {
+                    ledger.transfer("ACC" + from, "ACC" + to, Money.ofMinor(random.nextInt(1, 10_000), "USD"));
+                } catch (IllegalArgumentException e) {
+                    // insufficient funds - valid outcome
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(1, TimeUnit.MINUTES));
+
+        // Then - the persisted total is unchanged
+        BigDecimal total = persisted.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertEquals(0, new BigDecimal("20000.00").compareTo(total));
+        assertTrue(journal.unfinished().isEmpty());
+        System.out.println("✅ Ledger stats: " + ledger.stats());
+    }
+
+    private static Money usd(String amount) {
+        return Money.of(new BigDecimal(amount), "USD");
+    }
+
+    // Journal "table"
+    private static class InMemoryJournal implements LedgerTransferJournal {
+
+        private final AtomicLong ids = new AtomicLong();
+        private final Map<Long, PendingTransfer> transfers = new ConcurrentHashMap<>();
+
+        @Override
+        public long begin(String fromAccountNumber, String toAccountNumber, Money amount) {
+            long id = ids.incrementAndGet();
+            transfers.put(id, new PendingTransfer(id, fromAccountNumber, toAccountNumber, amount, Stage.PENDING));
+            return id;
+        }
+
+        @Override
+        public void markDebited(List<Long> ids) {
+            ids.forEach(id -> transfers.computeIfPresent(id, (key, transfer) -> new PendingTransfer(id,
+                    transfer.fromAccountNumber(), transfer.toAccountNumber(), transfer.amount(), Stage.DEBITED)));
+        }
+
+        @Override
+        public void finish(List<Long> ids) {
+            ids.forEach(transfers::remove);
+        }
+
+        @Override
+        public List<PendingTransfer> unfinished() {
+            List<PendingTransfer> unfinished = new ArrayList<>(transfers.values());
+            unfinished.sort((a, b) -> Long.compare(a.id(), b.id()));
+            return unfinished;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.banking.system.benchmark;
+
+import com.banking.system.application.event.AccountEvent;
+import com.banking.system.application.event.AccountEventBus;
+import com.banking.system.domain.model.Money;
+import com.banking.system.domain.model.Transaction;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of recording a deposit: the old @LogTransaction path (Spring AOP proxy + @AfterReturning advice
+ * reading the arguments by position) vs publishing a typed event on the AccountEventBus.
+ * Both sides build the same history entry; the service work itself is a trivial balance update.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=com.banking.system.benchmark.EventBusBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventBusBenchmark {
+
+    @Target(ElementType.METHOD)
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Logged {
+        String type();
+    }
+
+    public interface Deposits {
+        Money deposit(String accountNumber, BigDecimal amount);
+    }
+
+    // The service as it was - annotated, history written by the aspect
+    public static class AnnotatedDeposits implements Deposits {
+        private Money balance = Money.zero("EUR");
+
+        @Logged(type = "DEPOSIT")
+        public Money deposit(String accountNumber, BigDecimal amount) {
+            balance = balance.plus(Money.of(amount, "EUR"));
+            return balance;
+        }
+    }
+
+    // The old aspect's work: positional casts, a Transaction built from the arguments
+    @Aspect
+    public static class SniffingAspect {
+        Transaction last;
+
+        @AfterReturning(pointcut = "@annotation(logged)", returning = "result")
+        public void log(JoinPoint joinPoint, Logged logged, Object result) {
+            Object[] args = joinPoint.getArgs();
+            String accountNumber = (String) args[0];
+            BigDecimal amount = (BigDecimal) args[1];
+            last = new Transaction(null, accountNumber, amount, "USD", logged.type(), "SUCCESS",
+                    "Deposit to account: " + accountNumber);
+        }
+    }
+
+    // The service now - publishes a typed event
+    public static class PublishingDeposits implements Deposits {
+        private final AccountEventBus eventBus;
+        private Money balance = Money.zero("EUR");
+
+        PublishingDeposits(AccountEventBus eventBus) {
+            this.eventBus = eventBus;
+        }
+
+        public Money deposit(String accountNumber, BigDecimal amount) {
+            Money money = Money.of(amount, "EUR");
+            balance = balance.plus(money);
+            eventBus.publish(new AccountEvent.MoneyDeposited(accountNumber, money, balance, LocalDateTime.now()));
+            return balance;
+        }
+    }
+
+    private final BigDecimal amount = new BigDecimal("12.34");
+    private Deposits plain;
+    private Deposits proxied;
+    private Deposits publishing;
+    private Transaction lastFromEvent;
+
+    @Setup
+    public void setUp() {
+        plain = new AnnotatedDeposits();
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(new AnnotatedDeposits());
+        factory.addAspect(new SniffingAspect());
+        proxied = factory.getProxy();
+
+        AccountEventBus eventBus = new AccountEventBus();
+        eventBus.subscribe(AccountEvent.MoneyDeposited.class, event -> lastFromEvent = Transaction.deposit(
+                event.accountNumber(), event.amount().toBigDecimal(), event.amount().getCurrency()));
+        publishing = new PublishingDeposits(eventBus);
+    }
+
+    // Baseline - the business work without any history recording
+    @Benchmark
+    public Money noRecording() {
+        return plain.deposit("ACC000000001", amount);
+    }
+
+    @Benchmark
+    public Money aopProxy() {
+        return proxied.deposit("ACC000000001", amount);
+    }
+
+    @Benchmark
+    public Money eventBus() {
+        Money balance = publishing.deposit("ACC000000001", amount);
+        return lastFromEvent != null ? balance : null;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(EventBusBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,63 @@
+package com.banking.system.benchmark;
+
+import com.banking.system.application.port.out.persistence.AccountNumberSequence;
+import com.banking.system.application.service.AccountNumberGenerator;
+import com.banking.system.common.id.SnowflakeIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * IDs per second under contention: old UUID prefix vs Snowflake vs block-allocated account numbers
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=com.banking.system.benchmark.IdGeneratorBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(Threads.MAX)
+public class IdGeneratorBenchmark {
+
+    private final SnowflakeIdGenerator snowflake = new SnowflakeIdGenerator("TXN", 1);
+
+    // The database sequence replaced by an in-memory counter - measures the generator, not PostgreSQL
+    private final AtomicLong sequence = new AtomicLong(1);
+    private final AccountNumberGenerator accountNumbers =
+            new AccountNumberGenerator(() -> new AccountNumberSequence.Block(sequence.getAndAdd(100), 100));
+
+    @Benchmark
+    public String uuidPrefix() {
+        return "TXN" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+
+    @Benchmark
+    public String snowflakeTransactionId() {
+        return snowflake.nextId();
+    }
+
+    @Benchmark
+    public String blockAccountNumber() {
+        return accountNumbers.nextId();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(IdGeneratorBenchmark.class.getSimpleName()).build()).run();
+    }
+}
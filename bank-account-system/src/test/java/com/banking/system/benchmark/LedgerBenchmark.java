@@ -0,0 +1,85 @@
+package com.banking.system.benchmark;
+
+import com.banking.system.application.port.out.persistence.BankAccountRepository;
+import com.banking.system.application.port.out.persistence.LedgerTransferJournal;
+import com.banking.system.application.service.ledger.ShardedLedger;
+import com.banking.system.domain.model.BankAccount;
+import com.banking.system.domain.model.Money;
+import com.banking.system.domain.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Ledger throughput vs. shard count - deposits spread over 10k accounts from all cores.
+ * Persistence is a no-op stub, so this measures the ledger core itself.
+ *
+ * Run: ./mvnw test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.banking.system.benchmark.LedgerBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(Threads.MAX)
+public class LedgerBenchmark {
+
+    private static final int ACCOUNTS = 10_000;
+    private static final Money AMOUNT = Money.ofMinor(100, "USD");
+
+    @Param({"1", "2", "4", "8"})
+    public int shards;
+
+    private ShardedLedger ledger;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BankAccountRepository repository = mock(BankAccountRepository.class, withSettings().stubOnly());
+        when(repository.findByAccountNumber(anyString())).thenAnswer(invocation -> {
+            String number = invocation.getArgument(0);
+            BankAccount account = new BankAccount(number, new User("bench", "bench@test.com", "pw", "Bench"));
+            account.setId(Long.parseLong(number.substring(3)));
+            return Optional.of(account);
+        });
+        ledger = new ShardedLedger(repository, mock(LedgerTransferJournal.class, withSettings().stubOnly()),
+                mock(PlatformTransactionManager.class, withSettings().stubOnly()), shards, 8192, 512, ACCOUNTS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ledger.shutdown();
+    }
+
+    @Benchmark
+    public Money deposit() {
+        return ledger.deposit("ACC" + ThreadLocalRandom.current().nextInt(ACCOUNTS), AMOUNT);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(LedgerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,80 @@
+package com.banking.system.benchmark;
+
+import com.banking.system.domain.model.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BigDecimal balance arithmetic (the old BankAccount code) vs long minor units (Money)
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=com.banking.system.benchmark.MoneyBenchmark
+ * Add -prof gc (OptionsBuilder.addProfiler) to compare allocation per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+
+    private BigDecimal decimalBalance = new BigDecimal("1000.00");
+    private final BigDecimal decimalAmount = new BigDecimal("12.34");
+
+    private Money moneyBalance = Money.of(new BigDecimal("1000.00"), "USD");
+    private final Money moneyAmount = Money.of(new BigDecimal("12.34"), "USD");
+
+    // Deposit + guarded withdrawal, as BankAccount did with BigDecimal
+    @Benchmark
+    public BigDecimal bigDecimalDepositWithdraw() {
+        if (decimalAmount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException();
+        }
+        decimalBalance = decimalBalance.add(decimalAmount);
+        if (decimalBalance.compareTo(decimalAmount) < 0) {
+            throw new IllegalArgumentException();
+        }
+        decimalBalance = decimalBalance.subtract(decimalAmount);
+        return decimalBalance;
+    }
+
+    @Benchmark
+    public Money moneyDepositWithdraw() {
+        if (!moneyAmount.isPositive()) {
+            throw new IllegalArgumentException();
+        }
+        moneyBalance = moneyBalance.plus(moneyAmount);
+        if (!moneyBalance.isAtLeast(moneyAmount)) {
+            throw new IllegalArgumentException();
+        }
+        moneyBalance = moneyBalance.minus(moneyAmount);
+        return moneyBalance;
+    }
+
+    @Benchmark
+    public String bigDecimalFormat() {
+        return String.format("%s %.2f", "USD", decimalBalance);
+    }
+
+    @Benchmark
+    public String moneyFormat() {
+        return moneyBalance.format();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(MoneyBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,80 @@
+package com.banking.system.benchmark;
+
+import com.banking.system.adapter.out.pdf.PdfGeneratorAdapter;
+import com.banking.system.adapter.out.pdf.PdfTemplates;
+import com.banking.system.domain.model.BankAccount;
+import com.banking.system.domain.model.Transaction;
+import com.banking.system.domain.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PDFs per second on one core: documents built from scratch (templates=false, as before) vs. cached
+ * fonts and pre-drawn static blocks (templates=true). A one-month statement of 30 rows and a receipt.
+ * Sizes of both kinds of document are printed at setup.
+ *
+ * Run: ./mvnw test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.banking.system.benchmark.PdfGenerationBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class PdfGenerationBenchmark {
+
+    @Param({"false", "true"})
+    public boolean templates;
+
+    private PdfGeneratorAdapter generator;
+    private BankAccount account;
+    private List<Transaction> month;
+    private Transaction transfer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        generator = new PdfGeneratorAdapter(new PdfTemplates(templates, ""));
+        account = new BankAccount("ACC123456", new User("john_doe", "john@email.com", "password", "John Doe"));
+        month = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            month.add(new Transaction("ACC123456", "ACC789012", new BigDecimal(10 + i + ".50"),
+                    "USD", "TRANSFER", "SUCCESS", "Payment " + i));
+        }
+        transfer = month.get(0);
+        System.out.println("📄 templates=" + templates + ": statement " + statement().length
+                + " bytes, receipt " + receipt().length + " bytes");
+    }
+
+    @Benchmark
+    public byte[] statement() {
+        return generator.generateAccountStatement(account, month, "2024-01-01", "2024-01-31");
+    }
+
+    @Benchmark
+    public byte[] receipt() {
+        return generator.generateTransactionReceipt(transfer);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(PdfGenerationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
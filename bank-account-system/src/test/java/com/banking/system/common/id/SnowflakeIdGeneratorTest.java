@@ -0,0 +1,65 @@
+package com.banking.system.common.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SnowflakeIdGeneratorTest {
+
+    @Test
+    void parallelIdsAreUnique() throws Exception {
+        System.out.println("🧪 Testing Snowflake IDs from many threads...");
+
+        // Given
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator("TXN", 7);
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+
+        // When - 8 x 100k IDs, far beyond the 4096-per-millisecond sequence
+        for (int t = 0; t < 8; t++) {
+            pool.submit(() -> {
+                for (int i = 0; i < 100_000; i++) {
+                    ids.add(generator.nextId());
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(1, TimeUnit.MINUTES));
+
+        // Then
+        assertEquals(800_000, ids.size());
+        String sample = ids.iterator().next();
+        assertEquals(16, sample.length());
+        assertTrue(sample.startsWith("TXN"));
+        System.out.println("✅ 800k unique IDs, e.g. " + sample);
+    }
+
+    @Test
+    void idsStayMonotonicWhenClockGoesBack() {
+        System.out.println("🧪 Testing a clock that jumps backwards...");
+
+        long[] now = {SnowflakeIdGenerator.EPOCH_MILLIS + 10_000};
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator("TXN", 1, () -> now[0]);
+
+        String first = generator.nextId();
+        now[0] -= 5_000;  // NTP correction
+        String second = generator.nextId();
+
+        assertTrue(second.compareTo(first) > 0, "IDs must keep increasing (fixed-width text sorts like the number)");
+        System.out.println("✅ " + first + " < " + second);
+    }
+
+    @Test
+    void nodeIdMustFitTenBits() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator("TXN", 1024));
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator("TXN", -1));
+    }
+}
@@ -0,0 +1,69 @@
+package com.banking.system.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MoneyTest {
+
+    @Test
+    void scaleFollowsCurrency() {
+        System.out.println("🧪 Testing currency-aware scale...");
+
+        assertEquals(1234, Money.of(new BigDecimal("12.34"), "USD").getMinorUnits());
+        assertEquals(500, Money.of(new BigDecimal("500"), "JPY").getMinorUnits());
+        assertEquals(1250, Money.of(new BigDecimal("1.25"), "KWD").getMinorUnits());
+        assertEquals(new BigDecimal("12.30"), Money.of(new BigDecimal("12.3"), "USD").toBigDecimal());
+
+        // More decimals than the currency has is rejected, not rounded
+        assertThrows(IllegalArgumentException.class, () -> Money.of(new BigDecimal("0.001"), "USD"));
+        assertThrows(IllegalArgumentException.class, () -> Money.of(new BigDecimal("1.5"), "JPY"));
+        System.out.println("✅ Scales ok");
+    }
+
+    @Test
+    void arithmeticIsExact() {
+        System.out.println("🧪 Testing exact arithmetic...");
+
+        Money balance = Money.ofMinor(10, "USD");
+        assertEquals(Money.ofMinor(30, "USD"), balance.plus(Money.ofMinor(20, "USD")));
+        assertEquals(Money.ofMinor(-10, "USD"), balance.minus(Money.ofMinor(20, "USD")));
+        assertTrue(balance.isAtLeast(Money.ofMinor(10, "USD")));
+        assertFalse(balance.isAtLeast(Money.ofMinor(11, "USD")));
+
+        assertThrows(ArithmeticException.class, () -> Money.ofMinor(Long.MAX_VALUE, "USD").plus(Money.ofMinor(1, "USD")));
+        assertThrows(IllegalArgumentException.class, () -> balance.plus(Money.ofMinor(1, "EUR")));
+        System.out.println("✅ Arithmetic ok");
+    }
+
+    @Test
+    void formatMatchesCurrencyScale() {
+        System.out.println("🧪 Testing formatting...");
+
+        assertEquals("USD 1234.05", Money.ofMinor(123405, "USD").format());
+        assertEquals("USD 0.00", Money.zero("USD").format());
+        assertEquals("USD -0.07", Money.ofMinor(-7, "USD").format());
+        assertEquals("JPY 500", Money.ofMinor(500, "JPY").format());
+        assertEquals("KWD 1.005", Money.ofMinor(1005, "KWD").format());
+        System.out.println("✅ Formatting ok");
+    }
+
+    @Test
+    void bankAccountKeepsDecimalView() {
+        System.out.println("🧪 Testing BankAccount balance conversions...");
+
+        BankAccount account = new BankAccount("ACC1", null, "USD");
+        account.deposit(new BigDecimal("100.50"));
+        account.withdraw(Money.ofMinor(50, "USD"));
+
+        assertEquals(new BigDecimal("100.00"), account.getBalance());
+        assertEquals("USD 100.00", account.getFormattedBalance());
+        assertThrows(IllegalArgumentException.class, () -> account.withdraw(new BigDecimal("100.01")));
+        System.out.println("✅ Balance: " + account.getFormattedBalance());
+    }
+}